@@ -16,6 +16,7 @@
 
 package org.tctalent.server.api.admin;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -93,6 +94,7 @@ import org.tctalent.server.service.db.CandidateService;
 import org.tctalent.server.service.db.SavedListService;
 import org.tctalent.server.service.db.SavedSearchService;
 import org.tctalent.server.util.dto.DtoBuilder;
+import org.tctalent.server.util.dto.DtoResponseWriter;
 
 @RestController
 @RequestMapping("/api/admin/candidate")
@@ -109,6 +111,7 @@ public class CandidateAdminApi {
     private final CandidateIntakeDataBuilderSelector intakeDataBuilderSelector;
     private final CandidateTokenProvider candidateTokenProvider;
     private final CandidateErasureService candidateErasureService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("search")
     public Map<String, Object> search(@RequestBody SearchCandidateRequest request) {
@@ -131,6 +134,19 @@ public class CandidateAdminApi {
         return stringObjectMap;
     }
 
+    /**
+     * Same as {@link #search} except that the JSON is streamed straight into the response
+     * rather than building the whole page in memory first. Useful for large pages.
+     */
+    @PostMapping(value = "search-stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void searchStream(@RequestBody SearchCandidateRequest request,
+        HttpServletResponse response) throws IOException {
+        Page<CandidateReadDto> candidates = savedSearchService.searchCandidateDtos(request);
+
+        DtoBuilder builder = builderSelector.selectBuilder(request.getDtoType());
+        DtoResponseWriter.writePage(response, objectMapper, builder, candidates);
+    }
+
     @PostMapping("search-old-fetch")
     public Map<String, Object> searchOldFetch(@RequestBody SearchCandidateRequest request) {
         Page<Candidate> candidates = savedSearchService.searchCandidates(request);
@@ -18,7 +18,6 @@ package org.tctalent.server.api.admin;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,7 +33,6 @@ import org.springframework.web.bind.annotation.RestController;
 import org.tctalent.server.exception.InvalidSessionException;
 import org.tctalent.server.exception.NoSuchObjectException;
 import org.tctalent.server.logging.LogBuilder;
-import org.tctalent.server.model.db.Candidate;
 import org.tctalent.server.model.db.Country;
 import org.tctalent.server.model.db.DataRow;
 import org.tctalent.server.model.db.Gender;
@@ -114,20 +112,15 @@ public class CandidateStatAdminApi {
                 .message("Getting all stats for list with id: " + request.getListId())
                 .logInfo();
 
-            //Get candidates from list
+            //Check that the list exists, then constrain the stats to the list's candidates
+            //with a subquery, rather than loading the candidates and passing their ids.
             SavedList list = savedListService.get(request.getListId());
-            Set<Candidate> candidates = list.getCandidates();
+            String constraint = "candidate.id in (select candidate_id from candidate_saved_list"
+                + " where saved_list_id = " + list.getId() + ")";
 
-            Set<Long> candidateIds = new HashSet<>();
-            for (Candidate candidate : candidates) {
-                candidateIds.add(candidate.getId());
-            }
-
-            convertDateRangeDefaults(request);
-
-            //Report based on set of candidates or date range
+            //Report based on list of candidates and date range
             statReports = createNewReports(request.getDateFrom(), request.getDateTo(),
-                candidateIds, sourceCountryIds, null, request.getSelectedStats());
+                null, sourceCountryIds, constraint, request.getSelectedStats());
         } else {
             final Long searchId = request.getSearchId();
             if (searchId == null) {
@@ -144,16 +137,13 @@ public class CandidateStatAdminApi {
                     //by a set of candidate ids (because SQL Subquery constraints can only be used
                     //to constrain Postgres - not Elastic search).
 
-                    //Run the search and collect the candidateIds.
-                    //Warning that this call clears the JPA persistence context - see its JavaDoc
-                    //Also note that the following call will throw an InvalidRequestException if
-                    //the number of candidates returned by the search is greater than 32,000.
-                    //Stats cannot be gathered from searches containing an Elastic search which
-                    //return more than that number of candidates.
+                    //Run the search and collect the candidateIds, then compute all the stats
+                    //against those ids, which are only sent to the database once.
                     Set<Long> candidateIds = savedSearchService.searchCandidates(searchId);
 
-                    statReports = createNewReports(request.getDateFrom(), request.getDateTo(),
-                        candidateIds, sourceCountryIds, null, request.getSelectedStats());
+                    statReports = candidateStatsService.computeForCandidateIds(candidateIds,
+                        constraint -> createNewReports(request.getDateFrom(), request.getDateTo(),
+                            null, sourceCountryIds, constraint, request.getSelectedStats()));
 
                 } else {
                     //SEARCH just containing Postgres SQL (no Elastic search)
@@ -51,11 +51,13 @@ import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
 import org.tctalent.server.request.candidate.SavedListGetRequest;
 import org.tctalent.server.request.candidate.UpdateCandidateStatusInfo;
 import org.tctalent.server.request.candidate.UpdateCandidateStatusRequest;
+import org.tctalent.server.request.list.CandidateSetRequest;
 import org.tctalent.server.request.list.ContentUpdateType;
 import org.tctalent.server.request.list.UpdateExplicitSavedListContentsRequest;
 import org.tctalent.server.service.db.CandidateDtoService;
 import org.tctalent.server.service.db.CandidateSavedListService;
 import org.tctalent.server.service.db.CandidateService;
+import org.tctalent.server.service.db.CandidateSetService;
 import org.tctalent.server.service.db.SavedListService;
 import org.tctalent.server.service.db.SavedSearchService;
 import org.tctalent.server.util.dto.DtoBuilder;
@@ -88,6 +90,7 @@ public class SavedListCandidateAdminApi implements
     private final CandidateDtoService candidateDtoService;
     private final CandidateService candidateService;
     private final CandidateSavedListService candidateSavedListService;
+    private final CandidateSetService candidateSetService;
     private final SavedListService savedListService;
     private final SavedSearchService savedSearchService;
     private final CandidateBuilderSelector candidateBuilderSelector;
@@ -122,6 +125,20 @@ public class SavedListCandidateAdminApi implements
         savedListService.mergeSavedList(savedListId, request);
     }
 
+    /**
+     * Adds the candidates in a combination (union, intersection or difference) of saved lists
+     * and saved searches to a list. The combination is evaluated in the database.
+     * @param savedListId List to be added to.
+     * @param request Defines the combination of lists and searches
+     * @throws NoSuchObjectException If there is no list with that id, or if a list or search in
+     * the request does not exist
+     */
+    @PutMapping("{id}/merge-set")
+    public void mergeSet(@PathVariable("id") long savedListId,
+        @RequestBody CandidateSetRequest request) throws NoSuchObjectException {
+        candidateSetService.addCandidatesToList(savedListId, request);
+    }
+
     /**
      * Merge the contents of the SavedList with the given id with the
      * candidates whose candidate numbers (NOT ids) appear in the given file.
@@ -268,7 +285,7 @@ public class SavedListCandidateAdminApi implements
 
         response.setHeader("Content-Disposition", "attachment; filename=\"" + "candidates.csv\"");
         response.setContentType("text/csv; charset=utf-8");
-        candidateService.exportToCsv(savedList, request, response.getWriter());
+        savedListService.exportToCsv(savedList, request, response.getWriter());
     }
 
     @PutMapping(value = "{id}/create-folders")
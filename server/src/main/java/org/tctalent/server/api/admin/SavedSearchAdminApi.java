@@ -16,14 +16,18 @@
 
 package org.tctalent.server.api.admin;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -64,6 +68,7 @@ import org.tctalent.server.service.db.CandidateService;
 import org.tctalent.server.service.db.SavedListService;
 import org.tctalent.server.service.db.SavedSearchService;
 import org.tctalent.server.util.dto.DtoBuilder;
+import org.tctalent.server.util.dto.DtoResponseWriter;
 
 @RestController
 @RequestMapping("/api/admin/saved-search")
@@ -79,6 +84,7 @@ public class SavedSearchAdminApi implements
     private final SavedSearchService savedSearchService;
     private final SavedListBuilderSelector savedListBuilderSelector;
     private final ExportColumnsBuilderSelector exportColumnsBuilderSelector;
+    private final ObjectMapper objectMapper;
 
     /*
         Standard ITableApi methods
@@ -126,6 +132,18 @@ public class SavedSearchAdminApi implements
         return builder.buildPage(savedSearches);
     }
 
+    /**
+     * Same as {@link #searchPaged} except that the JSON is streamed straight into the response
+     * rather than building the whole page in memory first.
+     */
+    @PostMapping(value = "search-paged-stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void searchPagedStream(@Valid @RequestBody SearchSavedSearchRequest request,
+        HttpServletResponse response) throws IOException {
+        Page<SavedSearch> savedSearches = this.savedSearchService.searchPaged(request);
+        DtoBuilder builder = selectedDtoBuilder(request);
+        DtoResponseWriter.writePage(response, objectMapper, builder, savedSearches);
+    }
+
     @Override
     public @NotNull Map<String, Object> update(long id, @Valid UpdateSavedSearchRequest request)
             throws EntityExistsException, InvalidRequestException, NoSuchObjectException {
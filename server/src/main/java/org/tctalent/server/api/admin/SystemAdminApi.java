@@ -64,6 +64,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.tctalent.server.batchjob.candidate.CandidateBatchJobFactory;
+import org.tctalent.server.batchjob.candidate.CandidateColumn;
 import org.tctalent.server.batchjob.candidate.CandidateBatchJobFactory.CandidateBatchJobBuilder;
 import org.tctalent.server.casi.application.providers.linkedin.LinkedInService;
 import org.tctalent.server.configuration.GoogleDriveConfig;
@@ -391,8 +392,10 @@ public class SystemAdminApi {
                 .builder("candidateTextJob", request, candidateUpdateTextProcessor);
         }
 
+        //Only the text column is changed, so write it with batched JDBC updates
         Job candidateUpdateTextJob= jobBuilder
             .percentageOfCpu(cpu)
+            .bulkUpdate(CandidateColumn.of("text", Candidate::getText))
             .build();
 
         String response = batchJobService.launchJob(candidateUpdateTextJob, false);
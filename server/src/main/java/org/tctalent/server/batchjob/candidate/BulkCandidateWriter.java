@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.batchjob.candidate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.tctalent.server.logging.LogBuilder;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.service.db.cache.CacheService;
+
+/**
+ * High throughput CandidateWriter for CandidateJob batches which writes just the given columns
+ * of each candidate in a chunk using a single batched JDBC update - rather than having
+ * Hibernate dirty check and update each candidate entity.
+ * <p/>
+ * Candidates whose columns already have the new values are not updated at all. Candidates that
+ * are updated have their data_version bumped by the database trigger in exactly the same way
+ * as when they are saved through JPA, so cached candidate data is still invalidated.
+ * <p/>
+ * Candidates should be loaded read only (see {@link KeysetCandidateReader}) so that Hibernate
+ * does not also try to flush them.
+ */
+@Slf4j
+public class BulkCandidateWriter implements ItemWriter<Candidate> {
+    private final JdbcTemplate jdbcTemplate;
+    private final List<CandidateColumn> columns;
+    private final CacheService cacheService;
+    private final String updateSql;
+
+    public BulkCandidateWriter(
+        JdbcTemplate jdbcTemplate, List<CandidateColumn> columns, CacheService cacheService) {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("No candidate columns specified for bulk update");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.columns = List.copyOf(columns);
+        this.cacheService = cacheService;
+        this.updateSql = buildUpdateSql(this.columns);
+    }
+
+    /**
+     * Builds SQL like
+     * <code>update candidate set a = ?, b = ? where id = ? and (a is distinct from ? or b is
+     * distinct from ?)</code>
+     * <p/>
+     * The extra condition skips candidates which would not be changed by the update.
+     */
+    static String buildUpdateSql(List<CandidateColumn> columns) {
+        String sets = columns.stream()
+            .map(column -> column.name() + " = ?")
+            .collect(Collectors.joining(", "));
+        String changed = columns.stream()
+            .map(column -> column.name() + " is distinct from ?")
+            .collect(Collectors.joining(" or "));
+        return "update candidate set " + sets + " where id = ? and (" + changed + ")";
+    }
+
+    @Override
+    public void write(@NonNull Chunk<? extends Candidate> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            batchArgs.add(toArgs(candidate));
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(updateSql, batchArgs);
+
+        int updated = 0;
+        List<String> updatedUsernames = new ArrayList<>();
+        int i = 0;
+        for (Candidate candidate : chunk) {
+            final int count = counts[i++];
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                updated++;
+                if (candidate.getUser() != null) {
+                    updatedUsernames.add(candidate.getUser().getUsername());
+                }
+            }
+        }
+
+        //Same as the eviction done when candidates are saved through the repository
+        if (updated > 0) {
+            cacheService.evictUsers(updatedUsernames);
+        }
+
+        LogBuilder.builder(log)
+            .action("BulkCandidateWriter")
+            .message("Updated " + updated + " of " + chunk.size() + " candidates")
+            .logInfo();
+    }
+
+    private Object[] toArgs(Candidate candidate) {
+        final int n = columns.size();
+        Object[] args = new Object[2 * n + 1];
+        for (int i = 0; i < n; i++) {
+            Object value = columns.get(i).value().apply(candidate);
+            if (value instanceof Enum<?> e) {
+                value = e.name();
+            }
+            args[i] = value;
+            args[n + 1 + i] = value;
+        }
+        args[n] = candidate.getId();
+        return args;
+    }
+}
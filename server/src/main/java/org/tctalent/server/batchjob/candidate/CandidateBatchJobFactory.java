@@ -16,6 +16,7 @@
 
 package org.tctalent.server.batchjob.candidate;
 
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -27,8 +28,11 @@ import org.springframework.batch.core.step.item.SimpleChunkProcessor;
 import org.springframework.batch.core.step.item.SimpleChunkProvider;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
 import org.springframework.batch.repeat.support.RepeatTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -39,9 +43,11 @@ import org.tctalent.server.model.db.Candidate;
 import org.tctalent.server.model.db.SavedList;
 import org.tctalent.server.model.db.SavedSearch;
 import org.tctalent.server.repository.db.CandidateRepository;
+import org.tctalent.server.repository.db.CandidateSavedListRepository;
 import org.tctalent.server.request.candidate.SearchCandidateRequest;
 import org.tctalent.server.service.db.CandidateService;
 import org.tctalent.server.service.db.SavedSearchService;
+import org.tctalent.server.service.db.cache.CacheService;
 
 /**
  * <p>
@@ -111,6 +117,18 @@ import org.tctalent.server.service.db.SavedSearchService;
  * <p>
  *     Defaults are 50% cpu, chunk size of 100 and max delay of 30 seconds.
  * </p>
+ * <p>
+ *     For jobs over large numbers of candidates, where the processor only changes a few
+ *     columns of the candidate table, declare those columns. Candidates are then read in id
+ *     order (keyset paging) and each chunk is written with a single batched JDBC update of just
+ *     those columns...
+ * </p>
+ * <pre>{@code
+ *    Job myJob = candidateBatchJobFactory
+ *       .builder("MyJob", savedSearch, myCandidateProcessor)
+ *       .bulkUpdate(CandidateColumn.of("text", Candidate::getText))
+ *       .build();
+ * }</pre>
  * @author John Cameron
  */
 @Slf4j
@@ -122,17 +140,25 @@ public class CandidateBatchJobFactory {
     private final CandidateService candidateService;
     private final JobRepository jobRepository;
     private final SavedSearchService savedSearchService;
+    private final CandidateSavedListRepository candidateSavedListRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheService cacheService;
 
     public CandidateBatchJobFactory(
         PlatformTransactionManager transactionManager,
         JobRepository jobRepository,
         CandidateRepository candidateRepository, CandidateService candidateService,
-        SavedSearchService savedSearchService) {
+        SavedSearchService savedSearchService,
+        CandidateSavedListRepository candidateSavedListRepository,
+        JdbcTemplate jdbcTemplate, CacheService cacheService) {
         this.transactionManager = transactionManager;
         this.candidateRepository = candidateRepository;
         this.candidateService = candidateService;
         this.jobRepository = jobRepository;
         this.savedSearchService = savedSearchService;
+        this.candidateSavedListRepository = candidateSavedListRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheService = cacheService;
     }
 
     public CandidateBatchJobBuilder builder(String name, SavedSearch search, ItemProcessor<Candidate, Candidate> processor) {
@@ -163,6 +189,8 @@ public class CandidateBatchJobFactory {
         private int chunkSize = 100;
         private long maxDelayMs = 30000;
         private int percentageOfCpu = 50;
+        private boolean keysetPaging = false;
+        private List<CandidateColumn> bulkUpdateColumns;
 
         /**
          * Builder which can be used to creates a simple single step Spring batch job with the given
@@ -236,9 +264,44 @@ public class CandidateBatchJobFactory {
             return this;
         }
 
+        /**
+         * Read candidates in id order, fetching each chunk as the candidates following the last
+         * candidate read, rather than by page number.
+         * <p>
+         * This avoids each chunk getting slower the further through the candidates the job
+         * gets, and the count query that is otherwise run for every chunk.
+         * </p>
+         */
+        public CandidateBatchJobBuilder keysetPaging() {
+            this.keysetPaging = true;
+            return this;
+        }
+
+        /**
+         * Write candidates by updating just the given columns with batched JDBC updates, rather
+         * than saving the candidate entities.
+         * <p>
+         * The processor must only change candidate data stored in the given columns - any other
+         * changes are ignored. Candidates are read with {@link #keysetPaging()} and loaded read
+         * only.
+         * </p>
+         * <p>
+         * Candidates whose columns are not changed are not written. The data_version of
+         * candidates which are written is bumped by the database as normal.
+         * </p>
+         * @param columns Candidate table columns changed by the processor
+         */
+        public CandidateBatchJobBuilder bulkUpdate(CandidateColumn... columns) {
+            this.bulkUpdateColumns = List.of(columns);
+            return this;
+        }
+
         public Job build() {
-            CandidateReader candidateReader;
-            if (savedList != null) {
+            final boolean bulkUpdate = bulkUpdateColumns != null;
+            ItemReader<Candidate> candidateReader;
+            if (keysetPaging || bulkUpdate) {
+                candidateReader = createKeysetReader(bulkUpdate);
+            } else if (savedList != null) {
                 candidateReader = new CandidateReader(savedList, chunkSize, candidateService);
             } else if (savedSearch != null) {
                 candidateReader = new CandidateReader(savedSearch, chunkSize, savedSearchService);
@@ -253,7 +316,9 @@ public class CandidateBatchJobFactory {
                     "Percentage of CPU must be greater than 0 and less than or equal to 100");
             }
 
-            CandidateWriter candidateWriter = new CandidateWriter(candidateRepository);
+            ItemWriter<Candidate> candidateWriter = bulkUpdate
+                ? new BulkCandidateWriter(jdbcTemplate, bulkUpdateColumns, cacheService)
+                : new CandidateWriter(candidateRepository);
 
             final Tasklet adaptiveTasklet = getAdaptiveTasklet(candidateReader, candidateWriter);
 
@@ -269,9 +334,24 @@ public class CandidateBatchJobFactory {
                 .build();
         }
 
+        private KeysetCandidateReader createKeysetReader(boolean readOnly) {
+            if (savedList != null) {
+                return new KeysetCandidateReader(savedList, chunkSize,
+                    candidateSavedListRepository, candidateRepository, readOnly);
+            } else if (savedSearch != null) {
+                return new KeysetCandidateReader(savedSearch, chunkSize,
+                    savedSearchService, candidateRepository, readOnly);
+            } else if (searchCandidateRequest != null) {
+                return new KeysetCandidateReader(searchCandidateRequest, chunkSize,
+                    savedSearchService, candidateRepository, readOnly);
+            } else {
+                throw new IllegalArgumentException("No saved search or saved list specified");
+            }
+        }
+
         @NonNull
         private Tasklet getAdaptiveTasklet(
-            CandidateReader candidateReader, CandidateWriter candidateWriter) {
+            ItemReader<Candidate> candidateReader, ItemWriter<Candidate> candidateWriter) {
 
             RepeatTemplate repeatTemplate = new RepeatTemplate();
             repeatTemplate.setCompletionPolicy(new SimpleCompletionPolicy(chunkSize));
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.batchjob.candidate;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.tctalent.server.model.db.Candidate;
+
+/**
+ * A column of the candidate table which is updated by a bulk candidate batch job, together with
+ * how to get the column's new value from a processed candidate.
+ * <p/>
+ * See {@link CandidateBatchJobFactory.CandidateBatchJobBuilder#bulkUpdate}.
+ *
+ * @param name Database column name - eg "text"
+ * @param value Returns the value to be written to the column for a given candidate.
+ *              Enum values are written as their names.
+ */
+public record CandidateColumn(String name, Function<Candidate, ?> value) {
+
+    private static final Pattern COLUMN_NAME = Pattern.compile("[a-z][a-z0-9_]*");
+
+    /**
+     * Columns which are maintained by the database and must not be written directly.
+     */
+    private static final Set<String> DATABASE_MAINTAINED_COLUMNS =
+        Set.of("id", "data_version", "ts_text", "duplicate_key");
+
+    public CandidateColumn {
+        //The name ends up in the generated SQL, so only accept plain column names
+        if (name == null || !COLUMN_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid candidate column name: " + name);
+        }
+        if (DATABASE_MAINTAINED_COLUMNS.contains(name)) {
+            throw new IllegalArgumentException(
+                "Candidate column " + name + " is maintained by the database");
+        }
+        Objects.requireNonNull(value, "Missing value function for column " + name);
+    }
+
+    public static CandidateColumn of(String name, Function<Candidate, ?> value) {
+        return new CandidateColumn(name, value);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.batchjob.candidate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.tctalent.server.logging.LogBuilder;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.model.db.SavedList;
+import org.tctalent.server.model.db.SavedSearch;
+import org.tctalent.server.repository.db.CandidateRepository;
+import org.tctalent.server.repository.db.CandidateSavedListRepository;
+import org.tctalent.server.request.candidate.SearchCandidateRequest;
+import org.tctalent.server.service.db.SavedSearchService;
+
+/**
+ * CandidateReader for CandidateJob batches which pages through the candidates in id order,
+ * fetching each chunk as the candidates with ids greater than the last one read.
+ * <p/>
+ * Unlike {@link CandidateReader}, which pages by page number, the cost of fetching a chunk
+ * does not grow the further through the candidates the job gets, and no count query is run
+ * for each chunk. It also copes with candidates being added or removed while the job runs -
+ * no candidates are skipped or read twice as a result of earlier pages changing.
+ * <p/>
+ * Candidates can optionally be loaded read only - see {@link BulkCandidateWriter}.
+ */
+@Slf4j
+public class KeysetCandidateReader implements ItemReader<Candidate>, StepExecutionListener {
+
+    /**
+     * Fetches the ids of the next candidates to be read.
+     */
+    @FunctionalInterface
+    interface CandidateIdFetcher {
+        /**
+         * @param afterId Only return ids greater than this - null for the first fetch
+         * @param limit Maximum number of ids to return
+         * @return Ids in ascending order
+         */
+        List<Long> fetchIdsAfter(@Nullable Long afterId, int limit);
+    }
+
+    private final CandidateIdFetcher idFetcher;
+    private final int chunkSize;
+    private final CandidateRepository candidateRepository;
+    private final boolean readOnly;
+
+    private Long lastId;
+    private boolean exhausted;
+    private Iterator<Candidate> batchIterator;
+
+    KeysetCandidateReader(CandidateIdFetcher idFetcher, int chunkSize,
+        CandidateRepository candidateRepository, boolean readOnly) {
+        this.idFetcher = idFetcher;
+        this.chunkSize = chunkSize;
+        this.candidateRepository = candidateRepository;
+        this.readOnly = readOnly;
+    }
+
+    public KeysetCandidateReader(@NonNull SavedList savedList, int chunkSize,
+        CandidateSavedListRepository candidateSavedListRepository,
+        CandidateRepository candidateRepository, boolean readOnly) {
+        this((afterId, limit) -> candidateSavedListRepository.findCandidateIdsAfter(
+                savedList.getId(), afterId == null ? 0 : afterId, limit),
+            chunkSize, candidateRepository, readOnly);
+    }
+
+    public KeysetCandidateReader(@NonNull SavedSearch savedSearch, int chunkSize,
+        SavedSearchService savedSearchService,
+        CandidateRepository candidateRepository, boolean readOnly) {
+        this((afterId, limit) -> savedSearchService.fetchCandidateIdsAfter(
+                savedSearchService.loadSavedSearch(savedSearch.getId()), afterId, limit),
+            chunkSize, candidateRepository, readOnly);
+    }
+
+    public KeysetCandidateReader(@NonNull SearchCandidateRequest searchCandidateRequest,
+        int chunkSize, SavedSearchService savedSearchService,
+        CandidateRepository candidateRepository, boolean readOnly) {
+        this((afterId, limit) -> savedSearchService.fetchCandidateIdsAfter(
+                searchCandidateRequest, afterId, limit),
+            chunkSize, candidateRepository, readOnly);
+    }
+
+    @Nullable
+    @Override
+    public Candidate read() throws Exception {
+        try {
+            //Loop in case all the candidates of a batch of ids have since been deleted
+            while ((batchIterator == null || !batchIterator.hasNext()) && !exhausted) {
+                fetchNextBatch();
+            }
+            return batchIterator != null && batchIterator.hasNext() ? batchIterator.next() : null;
+        } catch (Exception e) {
+            throw new Exception("Failed to read Candidate", e);
+        }
+    }
+
+    private void fetchNextBatch() {
+        final List<Long> ids = idFetcher.fetchIdsAfter(lastId, chunkSize);
+
+        //A short batch means that there are no more candidates
+        exhausted = ids.size() < chunkSize;
+        if (ids.isEmpty()) {
+            batchIterator = Collections.emptyIterator();
+            return;
+        }
+        lastId = ids.get(ids.size() - 1);
+
+        List<Candidate> candidates = new ArrayList<>(readOnly
+            ? candidateRepository.findByIdsReadOnly(ids)
+            : candidateRepository.findByIds(ids));
+        candidates.sort(Comparator.comparing(Candidate::getId));
+        batchIterator = candidates.iterator();
+    }
+
+    /** Resets the reader state before a step starts */
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        LogBuilder.builder(log)
+            .action("Resetting KeysetCandidateReader before step execution")
+            .logInfo();
+
+        this.lastId = null;
+        this.exhausted = false;
+        this.batchIterator = null;
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        return ExitStatus.COMPLETED;
+    }
+}
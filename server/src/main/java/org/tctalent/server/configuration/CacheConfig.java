@@ -16,19 +16,67 @@
 
 package org.tctalent.server.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.context.annotation.Configuration;
 import org.tctalent.server.logging.LogBuilder;
+import org.tctalent.server.service.db.cache.UserCache;
+import org.tctalent.server.service.db.cache.UserCacheKeys;
 
 @Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfig implements CachingConfigurer {
 
+  //Providers rather than the beans themselves so that they are not created too early
+  private final ObjectProvider<CacheManager> cacheManagerProvider;
+  private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+  private final Map<Cache, UserCache> userCaches = new ConcurrentHashMap<>();
+
+  public CacheConfig(ObjectProvider<CacheManager> cacheManagerProvider,
+      ObjectProvider<MeterRegistry> meterRegistryProvider) {
+    this.cacheManagerProvider = cacheManagerProvider;
+    this.meterRegistryProvider = meterRegistryProvider;
+  }
+
+  /**
+   * Resolves caches by name from the cache manager, decorating the "users" cache with
+   * {@link UserCache} so that its entries can be evicted by {@link UserCacheKeys}.
+   */
+  @Override
+  public CacheResolver cacheResolver() {
+    return context -> {
+      final CacheManager cacheManager = cacheManagerProvider.getObject();
+      List<Cache> caches = new ArrayList<>();
+      for (String name : context.getOperation().getCacheNames()) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+          throw new IllegalArgumentException("Cannot find cache named '" + name
+              + "' for " + context.getOperation());
+        }
+        if (UserCache.NAME.equals(name)) {
+          cache = userCaches.computeIfAbsent(cache, delegate -> new UserCache(delegate,
+              meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new)));
+        }
+        caches.add(cache);
+      }
+      return caches;
+    };
+  }
+
   @Override
   public CacheErrorHandler errorHandler() {
     return new CacheErrorHandler() {
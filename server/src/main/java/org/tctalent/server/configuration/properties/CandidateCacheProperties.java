@@ -20,6 +20,7 @@ import java.time.Duration;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Configuration properties for candidate JSON cache.
@@ -38,4 +39,91 @@ public class CandidateCacheProperties {
      * A non-positive value (e.g. 0) disables expiry.
      */
     private Duration ttl = Duration.ofDays(7);
+
+    /**
+     * Name of the {@link org.tctalent.server.repository.db.read.cache.CandidateJsonCodec}
+     * used to store candidate JSON in Redis, eg "deflate" or "plain".
+     * Entries written with any known codec can be read whatever this is set to.
+     * <p/>
+     * Defaults to plain because servers running code from before codecs were added can only
+     * read plain JSON - only switch to deflate once no such servers share the Redis instance,
+     * eg after a rolling deploy has completed.
+     */
+    private String redisCodec = "plain";
+
+    /**
+     * Settings for the in-process (per node) near cache of deserialized candidate DTOs
+     * which sits in front of Redis.
+     */
+    private Near near = new Near();
+
+    /**
+     * Settings controlling how candidate JSON is written to Redis.
+     */
+    private RedisWrite redisWrite = new RedisWrite();
+
+    /**
+     * Settings for the background warmer which recomputes stale cached JSON.
+     */
+    private Warmer warmer = new Warmer();
+
+    @Getter
+    @Setter
+    public static class Near {
+
+        /**
+         * Set to false to bypass the near cache and always go to Redis.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Approximate upper bound on the heap used by cached candidate DTOs on each node.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Entries not read for this long are dropped.
+         * Versioned keys mean this is for memory hygiene only, not correctness.
+         */
+        private Duration expireAfterAccess = Duration.ofMinutes(30);
+    }
+
+    @Getter
+    @Setter
+    public static class RedisWrite {
+
+        /**
+         * If true, Redis writes are queued and performed on a background thread so that
+         * populating the cache never delays the request which triggered it.
+         */
+        private boolean async = true;
+
+        /**
+         * Maximum number of write batches waiting to be sent to Redis when async is true.
+         * Batches arriving when the queue is full are dropped - that only costs a later
+         * cache miss.
+         */
+        private int queueCapacity = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Warmer {
+
+        /**
+         * Set to false to stop the scheduled background refresh of stale cached JSON.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of candidates recomputed in each background processing call.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Target maximum CPU percentage used by the warmer.
+         * See {@link org.tctalent.server.util.background.VariableTrigger}.
+         */
+        private int percentageCpu = 10;
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.configuration.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for candidate searches.
+ * <p>
+ * Properties are prefixed with {@code tc.search.candidate}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tc.search.candidate")
+public class CandidateSearchProperties {
+
+    /**
+     * Settings controlling how the total number of candidates matching a search is computed.
+     */
+    private Count count = new Count();
+
+    /**
+     * Settings controlling the per node cache of search result ids.
+     */
+    private ResultCache resultCache = new ResultCache();
+
+    /**
+     * Settings controlling the nightly check of watched saved searches for new candidates.
+     */
+    private Watcher watcher = new Watcher();
+
+    public enum CountMode {
+        /**
+         * Always run the count query.
+         */
+        EXACT,
+
+        /**
+         * Run the count query, reusing the result for the same search for
+         * {@link Count#getCacheTtl()}.
+         */
+        CACHED,
+
+        /**
+         * As CACHED, but when there is no cached count the first pages of large results show
+         * the database planner's estimate of the number of results instead of running the
+         * count query.
+         */
+        ESTIMATED
+    }
+
+    @Getter
+    @Setter
+    public static class Count {
+
+        /**
+         * Set to false to run the count query on the request thread, rather than
+         * concurrently with fetching the page, on its own database connection.
+         */
+        private boolean parallel = true;
+
+        /**
+         * Maximum number of count queries running concurrently. Each one uses a database
+         * connection.
+         */
+        private int threads = 4;
+
+        /**
+         * Maximum number of count queries waiting for a thread. When the queue is full the
+         * count is run on the request thread.
+         */
+        private int queueCapacity = 50;
+
+        private CountMode mode = CountMode.EXACT;
+
+        /**
+         * How long an exact count is reused for the same search, when mode is CACHED or
+         * ESTIMATED.
+         */
+        private Duration cacheTtl = Duration.ofMinutes(1);
+
+        /**
+         * Maximum number of searches whose counts are cached on each node.
+         */
+        private int cacheMaxSize = 1000;
+
+        /**
+         * When mode is ESTIMATED, estimates are only used for pages numbered below this
+         * (so by default only the first page). Later pages get an exact count.
+         */
+        private int estimatedPages = 1;
+
+        /**
+         * When mode is ESTIMATED, estimates below this are replaced by an exact count.
+         * Small counts are cheap to compute exactly and estimates are least accurate there.
+         */
+        private long estimateThreshold = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class ResultCache {
+
+        /**
+         * Set to false to run the search query for every page.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Only searches with at most this many results are cached. Larger searches are paged
+         * by running the search query for each page.
+         */
+        private int maxIds = 10_000;
+
+        /**
+         * Maximum total number of result ids cached on each node, across all searches.
+         */
+        private long maxTotalIds = 2_000_000;
+
+        /**
+         * How long cached results are kept. Results are also discarded as soon as any
+         * candidate changes, so this mainly bounds memory use by searches which are no longer
+         * being paged through.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Watcher {
+
+        /**
+         * If true, each watched search only looks at candidates created since that search was
+         * last checked. If false, every watched search looks at candidates created in the last
+         * day and last checked times are not recorded.
+         */
+        private boolean incremental = true;
+
+        /**
+         * Maximum number of watched searches checked concurrently. Each one uses a database
+         * connection.
+         */
+        private int threads = 4;
+    }
+}
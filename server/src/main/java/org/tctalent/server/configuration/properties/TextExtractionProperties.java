@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.configuration.properties;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for background extraction of text from uploaded CVs.
+ * <p>
+ * Properties are prefixed with {@code tc.text-extraction}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tc.text-extraction")
+public class TextExtractionProperties {
+
+    /**
+     * Number of worker threads extracting text on each server.
+     */
+    private int threads = 2;
+
+    /**
+     * Maximum number of wake ups waiting for a free worker. Wake ups arriving when this is full
+     * are dropped - their tasks stay queued in the database and are picked up by the next poll.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Files larger than this are not extracted.
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(20);
+
+    /**
+     * Heap that PDFBox may use while parsing a PDF. Anything over this is buffered in
+     * temporary files.
+     */
+    private DataSize maxMainMemory = DataSize.ofMegabytes(32);
+
+    /**
+     * Extracted text is truncated to this many characters.
+     */
+    private int maxTextLength = 1_000_000;
+
+    /**
+     * Extraction of a single file is abandoned if it takes longer than this.
+     */
+    private Duration timeout = Duration.ofMinutes(2);
+
+    /**
+     * How long a claimed task is reserved for its worker. Must be longer than the time taken to
+     * download and extract a file, otherwise another worker may start the same task.
+     */
+    private Duration lease = Duration.ofMinutes(10);
+
+    /**
+     * Delay before a failed extraction is retried.
+     */
+    private Duration retryDelay = Duration.ofMinutes(5);
+
+    /**
+     * Number of times extraction of a file is attempted before giving up on it.
+     */
+    private int maxAttempts = 3;
+}
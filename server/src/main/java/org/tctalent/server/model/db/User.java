@@ -27,6 +27,7 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
@@ -34,6 +35,7 @@ import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.Nullable;
 
 @Entity
 @Table(name = "users")
@@ -201,6 +203,14 @@ public class User extends AbstractAuditableDomainObject<Long> {
      */
     private boolean jobCreator;
 
+    /**
+     * Username as loaded from the database, so that saving a renamed user can evict the "users"
+     * cache entry under its old username as well as under its new one.
+     * Neither persisted nor serialized (eg into the users cache).
+     */
+    @Transient
+    private transient String loadedUsername;
+
     public User() {
     }
 
@@ -222,6 +232,21 @@ public class User extends AbstractAuditableDomainObject<Long> {
         this.username = username;
     }
 
+    /**
+     * Username when this user was loaded from the database - null if it was not loaded in the
+     * current persistence context, eg a new or deserialized user.
+     * Deliberately not a bean getter, so that it is not treated as a property.
+     */
+    @Nullable
+    public String loadedUsername() {
+        return loadedUsername;
+    }
+
+    @PostLoad
+    void recordLoadedUsername() {
+        loadedUsername = username;
+    }
+
     public String getFirstName() {
         return firstName;
     }
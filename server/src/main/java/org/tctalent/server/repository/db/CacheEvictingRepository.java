@@ -24,13 +24,16 @@ import org.springframework.lang.NonNull;
 
 /**
  * This interface extends JpaRepository to provide CRUD operations with automatic cache eviction.
- * The cache eviction clears the "users" cache whenever entities are saved, deleted, or modified.
+ * The cache eviction removes the affected entries from the "users" cache whenever entities are
+ * saved, deleted, or modified.
  *
  * @param <T>  the type of the entity to handle
  * @param <ID> the type of the entity's identifier
  *
- * <p>All methods are annotated with @CacheEvict to clear all entries in the "users" cache upon
- * execution.
+ * <p>Methods which are passed entities evict just the cached users which depend on those
+ * entities - see {@link org.tctalent.server.service.db.cache.UserCacheDependencies}.
+ * Methods which are only passed ids, or which delete everything, clear all entries in the
+ * "users" cache.
  *
  * <p>Annotations:
  * <ul>
@@ -44,26 +47,26 @@ public interface CacheEvictingRepository<T, ID> extends JpaRepository<T, ID> {
 
   @NonNull
   @Override
-  @CacheEvict(value = "users", allEntries = true)
+  @CacheEvict(value = "users", key = "@userCacheDependencies.keysFor(#p0)")
   <S extends T> S save(@NonNull S entity);
 
   @NonNull
   @Override
-  @CacheEvict(value = "users", allEntries = true)
+  @CacheEvict(value = "users", key = "@userCacheDependencies.keysFor(#p0)")
   <S extends T> List<S> saveAll(@NonNull Iterable<S> entities);
 
   @NonNull
   @Override
-  @CacheEvict(value = "users", allEntries = true)
+  @CacheEvict(value = "users", key = "@userCacheDependencies.keysFor(#p0)")
   <S extends T> S saveAndFlush(@NonNull S entity);
 
   @NonNull
   @Override
-  @CacheEvict(value = "users", allEntries = true)
+  @CacheEvict(value = "users", key = "@userCacheDependencies.keysFor(#p0)")
   <S extends T> List<S> saveAllAndFlush(@NonNull Iterable<S> entities);
 
   @Override
-  @CacheEvict(value = "users", allEntries = true)
+  @CacheEvict(value = "users", key = "@userCacheDependencies.keysFor(#p0)")
   void delete(@NonNull T entity);
 
   @Override
@@ -75,7 +78,7 @@ public interface CacheEvictingRepository<T, ID> extends JpaRepository<T, ID> {
   void deleteAll();
 
   @Override
-  @CacheEvict(value = "users", allEntries = true)
+  @CacheEvict(value = "users", key = "@userCacheDependencies.keysFor(#p0)")
   void deleteAll(@NonNull Iterable<? extends T> entities);
 
   @Override
@@ -83,7 +86,7 @@ public interface CacheEvictingRepository<T, ID> extends JpaRepository<T, ID> {
   void deleteAllInBatch();
 
   @Override
-  @CacheEvict(value = "users", allEntries = true)
+  @CacheEvict(value = "users", key = "@userCacheDependencies.keysFor(#p0)")
   void deleteAllInBatch(@NonNull Iterable<T> entities);
 
   @Override
@@ -16,19 +16,22 @@
 
 package org.tctalent.server.repository.db;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
-import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
 import org.tctalent.server.model.db.Candidate;
 import org.tctalent.server.model.db.CandidateStatus;
 import org.tctalent.server.model.db.Country;
@@ -47,7 +50,8 @@ public interface CandidateRepository extends CacheEvictingRepository<Candidate,
      */
     @NonNull
     @Override
-    @CacheEvict(value = "users", key = "#p0?.user?.username")
+    @CacheEvict(value = "users",
+        key = "T(org.tctalent.server.service.db.cache.UserCacheKeys).key(#p0?.user?.username)")
     <S extends Candidate> S save(@NonNull S candidate);
 
     /**
@@ -58,7 +62,8 @@ public interface CandidateRepository extends CacheEvictingRepository<Candidate,
      */
     @NonNull
     @Override
-    @CacheEvict(value = "users", key = "#p0?.user?.username")
+    @CacheEvict(value = "users",
+        key = "T(org.tctalent.server.service.db.cache.UserCacheKeys).key(#p0?.user?.username)")
     <S extends Candidate> S saveAndFlush(@NonNull S candidate);
 
     /**
@@ -68,7 +73,8 @@ public interface CandidateRepository extends CacheEvictingRepository<Candidate,
      * @param candidate the candidate entity to delete; must not be null
      */
     @Override
-    @CacheEvict(value = "users", key = "#p0?.user?.username")
+    @CacheEvict(value = "users",
+        key = "T(org.tctalent.server.service.db.cache.UserCacheKeys).key(#p0?.user?.username)")
     void delete(@NonNull Candidate candidate);
 
     /**
@@ -140,6 +146,16 @@ public interface CandidateRepository extends CacheEvictingRepository<Candidate,
             + " where c.id in (:ids) ")
     List<Candidate> findByIds(@Param("ids") Iterable<Long> ids);
 
+    /**
+     * Same as {@link #findByIds} except that the candidates are loaded read only, so that
+     * Hibernate neither keeps snapshots of them nor dirty checks them on flush. Used when
+     * changes to the candidates are written by other means - eg batched JDBC updates.
+     */
+    @Query(" select c from Candidate c "
+            + " where c.id in (:ids) ")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Candidate> findByIdsReadOnly(@Param("ids") Iterable<Long> ids);
+
     @Query(" select c from Candidate c "
             + " where c.status <> 'deleted'"
     )
@@ -911,59 +927,88 @@ public interface CandidateRepository extends CacheEvictingRepository<Candidate,
     Page<Candidate> findByIdIn(@Param("idsSql") String idsSql, Pageable pageable);
 
 
+    /**
+     * Sets potentialDuplicate on candidates which share their duplicate_key (normalized first
+     * name, last name and DOB) with another candidate, and which are not already flagged.
+     * <p/>
+     * Only candidates with the statuses covered by candidate_duplicate_key_idx are considered.
+     * <p/>
+     * This bypasses the cache eviction done by {@link #save} - callers must evict the returned
+     * users from the "users" cache.
+     * @return Usernames of the candidates newly flagged
+     */
+    @Transactional
     @Query(
         value =
             """
-            WITH Duplicates AS (
-            SELECT
-                c.id AS candidate_id,
-                u.first_name,
-                u.last_name,
-                c.dob,
-                COUNT(*) OVER (PARTITION BY u.first_name, u.last_name, c.dob) AS dup_count
-            FROM candidate c
-                INNER JOIN users u ON c.user_id = u.id
-            WHERE c.status IN ('active', 'unreachable', 'incomplete', 'pending')
-                AND u.first_name IS NOT NULL
-                AND u.last_name IS NOT NULL
-                AND c.dob IS NOT NULL
-                AND (
-                    :potentialDuplicate IS NULL
-                    OR c.potential_duplicate = :potentialDuplicate
-                    )
-            )
-            SELECT
-                candidate_id
-            FROM Duplicates
-            WHERE dup_count > 1
-            ORDER BY first_name, last_name, dob;
+            UPDATE candidate c
+            SET potential_duplicate = true
+            FROM users u
+            WHERE u.id = c.user_id
+                AND NOT c.potential_duplicate
+                AND c.status IN ('active', 'unreachable', 'incomplete', 'pending')
+                AND c.duplicate_key IN (
+                    SELECT duplicate_key
+                    FROM candidate
+                    WHERE status IN ('active', 'unreachable', 'incomplete', 'pending')
+                        AND duplicate_key IS NOT NULL
+                    GROUP BY duplicate_key
+                    HAVING COUNT(*) > 1
+                )
+            RETURNING u.username
             """, nativeQuery = true
     )
-    List<Long> findIdsOfPotentialDuplicateCandidates(
-        @Nullable @Param("potentialDuplicate") Boolean potentialDuplicate
-    );
+    List<String> markPotentialDuplicates();
 
-    @Query("SELECT c.id FROM Candidate c WHERE c.potentialDuplicate = true")
-    List<Long> findIdsOfCandidatesMarkedPotentialDuplicates();
+    /**
+     * Clears potentialDuplicate on flagged candidates which no longer share their duplicate_key
+     * with another candidate - usually because the other profiles have been deleted.
+     * <p/>
+     * This bypasses the cache eviction done by {@link #save} - callers must evict the returned
+     * users from the "users" cache.
+     * @return Usernames of the candidates whose flag was cleared
+     */
+    @Transactional
+    @Query(
+        value =
+            """
+            UPDATE candidate c
+            SET potential_duplicate = false
+            FROM users u
+            WHERE u.id = c.user_id
+                AND c.potential_duplicate
+                AND NOT (
+                    c.status IN ('active', 'unreachable', 'incomplete', 'pending')
+                    AND EXISTS (
+                        SELECT 1 FROM candidate o
+                        WHERE o.duplicate_key = c.duplicate_key
+                            AND o.id <> c.id
+                            AND o.status IN ('active', 'unreachable', 'incomplete', 'pending')
+                    )
+                )
+            RETURNING u.username
+            """, nativeQuery = true
+    )
+    List<String> clearResolvedPotentialDuplicates();
 
+    /**
+     * Finds the other candidates with the same duplicate_key (normalized first name, last name
+     * and DOB) as the given candidate, using candidate_duplicate_key_idx.
+     * @param id ID of candidate
+     * @return Potential duplicates of the candidate - empty if the candidate has no first name,
+     * last name or DOB.
+     */
     @Query(
         value =
             """
-            SELECT c FROM Candidate c
-              JOIN c.user u
-            WHERE c.status IN :statuses
-              AND LOWER(u.lastName) LIKE :lastName
-              AND LOWER(u.firstName) LIKE :firstName
-              AND c.dob = :dob
-              AND c.id != :id
-            """)
-    List<Candidate> findPotentialDuplicatesOfGivenCandidate(
-        @Param("statuses") List<CandidateStatus> statuses,
-        @Param("dob") LocalDate dob,
-        @Param("lastName") String lastName,
-        @Param("firstName") String firstName,
-        @Param("id") long id
-    );
+            SELECT o.* FROM candidate c
+                JOIN candidate o ON o.duplicate_key = c.duplicate_key
+            WHERE c.id = :id
+                AND o.id <> c.id
+                AND o.status IN ('active', 'unreachable', 'incomplete', 'pending')
+            """, nativeQuery = true
+    )
+    List<Candidate> findPotentialDuplicatesOfGivenCandidate(@Param("id") long id);
 
     @Query(
         """
@@ -16,8 +16,11 @@
 
 package org.tctalent.server.repository.db;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.tctalent.server.model.db.CandidateSavedList;
 import org.tctalent.server.model.db.CandidateSavedListKey;
 
@@ -29,4 +32,37 @@ public interface CandidateSavedListRepository extends
 
     List<CandidateSavedList> findBySavedList_Id(Long savedListId);
     List<CandidateSavedList> findByCandidate_Id(Long candidateId);
+
+    /**
+     * Returns which of the given candidates are in the given list - without loading the list's
+     * candidates.
+     */
+    @Query("select csl.id.candidateId from CandidateSavedList csl"
+        + " where csl.id.savedListId = :savedListId"
+        + " and csl.id.candidateId in :candidateIds")
+    List<Long> findCandidateIdsInList(@Param("savedListId") Long savedListId,
+        @Param("candidateIds") Collection<Long> candidateIds);
+
+    /**
+     * Returns the non null context notes of the given candidates in the given list, as
+     * (candidateId, contextNote) pairs. Unlike loading the CandidateSavedList entities, this
+     * does not load the candidates themselves.
+     */
+    @Query("select csl.id.candidateId, csl.contextNote from CandidateSavedList csl"
+        + " where csl.id.savedListId = :savedListId"
+        + " and csl.id.candidateId in :candidateIds"
+        + " and csl.contextNote is not null")
+    List<Object[]> findContextNotes(@Param("savedListId") Long savedListId,
+        @Param("candidateIds") Collection<Long> candidateIds);
+
+    /**
+     * Returns the ids of up to limit candidates in the given list whose ids are greater than
+     * afterId, in ascending order. Used for keyset paging through the candidates of a list -
+     * each page seeks straight to its first id on the primary key.
+     */
+    @Query(value = "select candidate_id from candidate_saved_list"
+        + " where saved_list_id = :savedListId and candidate_id > :afterId"
+        + " order by candidate_id limit :limit", nativeQuery = true)
+    List<Long> findCandidateIdsAfter(@Param("savedListId") Long savedListId,
+        @Param("afterId") long afterId, @Param("limit") int limit);
 }
@@ -16,6 +16,7 @@
 
 package org.tctalent.server.repository.db;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -98,4 +99,7 @@ public interface SavedListRepository extends CacheEvictingRepository<SavedList,
      * @return Optional containing the SavedList if found
      */
     Optional<SavedList> findByPublicId(String publicId);
+
+    @Query(" select s.id from SavedList s where s.publicId in (:publicIds)")
+    List<Long> findIdsByPublicIds(@Param("publicIds") Collection<String> publicIds);
 }
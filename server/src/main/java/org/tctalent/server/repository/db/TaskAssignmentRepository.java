@@ -16,6 +16,7 @@
 
 package org.tctalent.server.repository.db;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -34,4 +35,14 @@ public interface TaskAssignmentRepository extends JpaRepository<TaskAssignmentIm
 
     List<TaskAssignmentImpl> findByTask_IdAndCandidate_IdAndStatus(Long taskId, Long candidateId, Status status);
     List<TaskAssignmentImpl> findByCandidate_Id(Long candidateId);
+
+    /**
+     * Returns which of the given candidates currently have the given task actively assigned.
+     */
+    @Query("select ta.candidate.id from TaskAssignment ta"
+            + " where ta.task.id = :taskId"
+            + " and ta.candidate.id in :candidateIds"
+            + " and ta.status = 'active'")
+    List<Long> findCandidateIdsWithActiveTask(@Param("taskId") Long taskId,
+        @Param("candidateIds") Collection<Long> candidateIds);
 }
@@ -37,7 +37,8 @@ public interface UserRepository extends CacheEvictingRepository<User, Long>, Jpa
      * @param user the user entity to delete; must not be null
      */
     @Override
-    @CacheEvict(value = "users", key = "#p0.username")
+    @CacheEvict(value = "users",
+        key = "T(org.tctalent.server.service.db.cache.UserCacheKeys).key(#p0.username)")
     void delete(@NonNull User user);
 
     @Query("select distinct u from User u "
@@ -50,7 +51,8 @@ public interface UserRepository extends CacheEvictingRepository<User, Long>, Jpa
     @Query("select distinct u from User u "
             + " where lower(u.username) = lower(:username) "
             + " and u.status != 'deleted'")
-    @Cacheable(value = "users", key = "#p0")
+    @Cacheable(value = "users",
+        key = "T(org.tctalent.server.service.db.cache.UserCacheKeys).key(#p0)")
     User findByUsernameIgnoreCase(@Param("username") String username);
 
     /* Used for candidate authentication */
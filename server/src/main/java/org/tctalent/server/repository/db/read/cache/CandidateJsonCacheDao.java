@@ -17,10 +17,13 @@
 package org.tctalent.server.repository.db.read.cache;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,12 +38,35 @@ import org.springframework.transaction.annotation.Transactional;
  * This cache is authoritative for stored JSON, but correctness is governed by
  * candidate.data_version, not by this table alone.
  * </p>
+ * <p>
+ * JSON is stored as jsonb so it stays queryable. Large values are compressed
+ * transparently by Postgres (TOAST), using lz4 where the server supports it.
+ * </p>
  */
 @Repository
 @Transactional
 @RequiredArgsConstructor
 public class CandidateJsonCacheDao {
 
+    private static final String UPSERT_SQL = """
+        insert into candidate_json_cache (
+            candidate_id,
+            data_version,
+            json
+        )
+        values (
+            :candidateId,
+            :dataVersion,
+            cast(:json as jsonb)
+        )
+        on conflict (candidate_id)
+        do update set
+            data_version = excluded.data_version,
+            json         = excluded.json,
+            computed_at  = now()
+        where candidate_json_cache.data_version <= excluded.data_version
+        """;
+
     private final NamedParameterJdbcTemplate jdbc;
 
     /**
@@ -88,49 +114,91 @@ public class CandidateJsonCacheDao {
     }
 
     /**
-     * Insert or update cached JSON for a candidate.
+     * Fetch ids of candidates whose cached JSON was built against an older
+     * data_version than the candidate's current one.
+     * <p>
+     * Only candidates which already have a cache row are considered - ie candidates
+     * which have been read before and are therefore likely to be read again.
+     * </p>
+     * <p>
+     * Results are in candidate id order so that callers can page through all stale
+     * candidates using the last returned id as the next afterCandidateId.
+     * </p>
+     *
+     * @param afterCandidateId Only return ids greater than this. Null to start from the beginning.
+     * @param limit Maximum number of ids to return
+     * @return Stale candidate ids in ascending order
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findStaleCandidateIds(@Nullable Long afterCandidateId, int limit) {
+        return jdbc.queryForList(
+            """
+            select cj.candidate_id
+            from candidate_json_cache cj
+            join candidate c
+              on c.id = cj.candidate_id
+            where cj.candidate_id > :afterId
+              and cj.data_version < c.data_version
+            order by cj.candidate_id
+            limit :limit
+            """,
+            Map.of(
+                "afterId", afterCandidateId == null ? 0L : afterCandidateId,
+                "limit", limit
+            ),
+            Long.class
+        );
+    }
+
+    /**
+     * Insert or update cached JSON for many candidates using a single JDBC batch,
+     * rather than one statement round trip per candidate.
      * <p>
      * Uses Postgres UPSERT (ON CONFLICT) so callers do not need to care
      * whether a cache row already exists.
      * </p>
      * <p>
+     * An existing row is never replaced by JSON built against an older data_version.
+     * That can happen when a background refresh races with a request for a candidate
+     * which has just changed.
+     * </p>
+     * <p>
+     * Rows are written in candidate id order so that concurrent batches covering
+     * overlapping candidates take their row locks in the same order and cannot deadlock.
+     * </p>
+     * <p>
      * STRICT:
      *  - JSON must never be null or blank here
      *  - If it is, this indicates a serious upstream bug
+     *  - This is checked for all rows before anything is written
      * </p>
      */
-    public void upsert(long candidateId, long dataVersion, String json) {
+    public void upsertAll(@Nullable Collection<CandidateRedisCache.VersionedJson> rows) {
+
+        if (rows == null || rows.isEmpty()) {
+            return;
+        }
+
+        for (CandidateRedisCache.VersionedJson row : rows) {
+            checkJson(row.candidateId(), row.json());
+        }
+
+        SqlParameterSource[] batch = rows.stream()
+            .sorted(Comparator.comparingLong(CandidateRedisCache.VersionedJson::candidateId))
+            .map(row -> new MapSqlParameterSource()
+                .addValue("candidateId", row.candidateId())
+                .addValue("dataVersion", row.version())
+                .addValue("json", row.json()))
+            .toArray(SqlParameterSource[]::new);
+
+        jdbc.batchUpdate(UPSERT_SQL, batch);
+    }
 
-        // Fail fast if JSON is missing — corrupted cache entries are unacceptable
+    private static void checkJson(long candidateId, String json) {
         if (json == null || json.isBlank()) {
             throw new IllegalStateException(
                 "Attempting to cache null/blank JSON for candidateId=" + candidateId
             );
         }
-
-        jdbc.update(
-            """
-            insert into candidate_json_cache (
-                candidate_id,
-                data_version,
-                json
-            )
-            values (
-                :candidateId,
-                :dataVersion,
-                cast(:json as jsonb)
-            )
-            on conflict (candidate_id)
-            do update set
-                data_version = excluded.data_version,
-                json         = excluded.json,
-                computed_at  = now()
-            """,
-            Map.of(
-                "candidateId", candidateId,
-                "dataVersion", dataVersion,
-                "json", json
-            )
-        );
     }
 }
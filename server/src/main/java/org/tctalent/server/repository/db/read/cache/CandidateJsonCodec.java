@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Converts candidate JSON to and from the bytes stored in {@link CandidateRedisCache}.
+ * <p>
+ * The first byte of every encoded value is a format marker identifying the codec which
+ * wrote it. That allows values written with different codecs (for example plain JSON
+ * written before compression was enabled) to coexist in the cache: a reader picks the
+ * codec to decode with from the marker, not from its own configuration.
+ * </p>
+ * <p>
+ * Implementations are Spring beans - adding a new one makes it available for decoding
+ * and, via {@code tc.cache.candidate.redis-codec}, for encoding.
+ * </p>
+ */
+public interface CandidateJsonCodec {
+
+    /**
+     * Name used to select this codec in configuration.
+     */
+    String name();
+
+    /**
+     * Format marker - ie the first byte of every value encoded by this codec.
+     */
+    byte marker();
+
+    /**
+     * Encode JSON, including the format marker as the first byte.
+     */
+    byte[] encode(String json);
+
+    /**
+     * Decode a value previously encoded by this codec (ie starting with its marker).
+     *
+     * @return Decoded JSON, or null if the data is corrupt - which callers should treat
+     * as a cache miss.
+     */
+    @Nullable
+    String decode(byte[] data);
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.stereotype.Repository;
+import org.tctalent.server.configuration.properties.CandidateCacheProperties;
+import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
+
+/**
+ * In-process near cache of deserialized candidate DTOs, sitting in front of
+ * {@link CandidateRedisCache}.
+ * <p>
+ * Keys are the same (projection, candidateId, dataVersion) triples used for the Redis keys,
+ * so entries never need invalidating - a data_version bump simply makes the old entry
+ * unreachable and it ages out.
+ * </p>
+ * <p>
+ * Caching the DTOs rather than their JSON means that hot pages avoid Jackson
+ * deserialization entirely. Cached DTOs are shared, so they are never handed out directly:
+ * {@link #getAll} returns {@link CandidateReadDto#copy() copies} whose transient top level
+ * fields (rank, selected, list context etc.) callers are free to set. Nested objects are
+ * shared and must be treated as read only.
+ * </p>
+ * <p>
+ * The cache is bounded by an approximate heap size rather than by entry count, because
+ * candidate data varies from a few hundred bytes to tens of KB. The size of the JSON that
+ * each DTO was deserialized from is used as the measure of its size.
+ * </p>
+ * <p>
+ * Hit/miss/eviction counts are published to Micrometer under the cache name
+ * {@value #CACHE_NAME}.
+ * </p>
+ */
+@Repository
+public class CandidateNearCache {
+
+    static final String CACHE_NAME = "candidateDtoNear";
+
+    private final boolean enabled;
+    private final Cache<Key, Entry> cache;
+
+    public CandidateNearCache(
+        CandidateCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        CandidateCacheProperties.Near config = cacheProperties.getNear();
+        this.enabled = config.isEnabled();
+
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(config.getMaxSize().toBytes())
+            .weigher((Key key, Entry entry) -> entry.weight())
+            .expireAfterAccess(config.getExpireAfterAccess())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Batch fetch DTOs for the given candidate IDs and versions.
+     *
+     * @param projection projection that the DTOs must have been built from
+     * @param idToVersion map of candidateId -> dataVersion
+     * @return map of candidateId -> copy of cached DTO (only entries found in the near cache)
+     */
+    public Map<Long, CandidateReadDto> getAll(
+        CandidateJsonProjection projection, Map<Long, Long> idToVersion) {
+
+        if (!enabled || idToVersion == null || idToVersion.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, CandidateReadDto> result = new HashMap<>();
+        for (Map.Entry<Long, Long> e : idToVersion.entrySet()) {
+            Entry entry = cache.getIfPresent(new Key(projection, e.getKey(), e.getValue()));
+            if (entry != null) {
+                result.put(e.getKey(), entry.dto().copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Store a DTO in the near cache.
+     * <p>
+     * The DTO becomes shared and must not be modified by the caller after this call.
+     * </p>
+     *
+     * @param projection projection that the DTO was built from
+     * @param candidateId Candidate id
+     * @param version data_version that the DTO was built from
+     * @param dto DTO to be cached
+     * @param jsonLength Length of the JSON that the DTO was deserialized from - used as an
+     *                   approximation of the DTO's size
+     */
+    public void put(CandidateJsonProjection projection,
+        long candidateId, long version, CandidateReadDto dto, int jsonLength) {
+
+        if (!enabled || dto == null) {
+            return;
+        }
+
+        //Java strings are (at most) 2 bytes per char
+        cache.put(new Key(projection, candidateId, version), new Entry(dto, jsonLength * 2));
+    }
+
+    private record Key(CandidateJsonProjection projection, long candidateId, long version) {}
+
+    private record Entry(CandidateReadDto dto, int weight) {}
+}
@@ -16,16 +16,33 @@
 
 package org.tctalent.server.repository.db.read.cache;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Repository;
 import org.tctalent.server.configuration.properties.CandidateCacheProperties;
+import org.tctalent.server.logging.LogBuilder;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
 
 /**
  * Redis-backed L1 cache for candidate JSON.
@@ -34,6 +51,11 @@ import org.tctalent.server.configuration.properties.CandidateCacheProperties;
  *   candidate:json:{candidateId}:v:{dataVersion}
  * </p>
  * <p>
+ * JSON for partial projections (see {@link CandidateJsonProjection}) is stored under separate
+ * keys which also include the projection name:
+ *   candidate:json:{projection}:{candidateId}:v:{dataVersion}
+ * </p>
+ * <p>
  * Versioned keys mean:
  *  - no explicit invalidation
  *  - stale entries become unreachable automatically
@@ -41,32 +63,148 @@ import org.tctalent.server.configuration.properties.CandidateCacheProperties;
  * <p>
  * TTL (if configured) is for memory hygiene only, not correctness.
  * </p>
+ * <p>
+ * Writes are pipelined so that a batch costs a single round trip. By default they are also
+ * asynchronous: batches are queued on a bounded queue and written by a background thread.
+ * A full queue drops the batch, which is safe because a missing entry is just a cache miss.
+ * Counts of queued, dropped and failed entries are published to Micrometer as
+ * {@value #WRITES_METRIC}, tagged by outcome.
+ * </p>
+ * <p>
+ * Values are stored in the format of the configured {@link CandidateJsonCodec}
+ * ({@code tc.cache.candidate.redis-codec}). Every value starts with a format marker, so
+ * values written by any known codec can be read whatever the current configuration.
+ * For each batch, encode and decode times are recorded as {@value #CODEC_METRIC} and the
+ * bytes saved by encoding as {@value #BYTES_SAVED_METRIC}.
+ * </p>
  */
 @Repository
-@RequiredArgsConstructor
+@Slf4j
 public class CandidateRedisCache {
 
+    static final String WRITES_METRIC = "candidate.json.redis.writes";
+    static final String CODEC_METRIC = "candidate.json.redis.codec";
+    static final String BYTES_SAVED_METRIC = "candidate.json.redis.bytes.saved";
+
     private final StringRedisTemplate redisTemplate;
     private final CandidateCacheProperties cacheProperties;
 
-    private ValueOperations<String, String> values() {
-        return redisTemplate.opsForValue();
+    /**
+     * Codec used for writing
+     */
+    private final CandidateJsonCodec writeCodec;
+
+    /**
+     * All known codecs, indexed by format marker, used for reading
+     */
+    private final Map<Byte, CandidateJsonCodec> codecsByMarker = new HashMap<>();
+
+    /**
+     * Background writer - null if writes are synchronous.
+     */
+    @Nullable
+    private final ThreadPoolExecutor writeExecutor;
+
+    private final Counter queuedWrites;
+    private final Counter droppedWrites;
+    private final Counter failedWrites;
+
+    private final Timer encodeTimer;
+    private final Timer decodeTimer;
+    private final DistributionSummary bytesSaved;
+
+    public CandidateRedisCache(
+        StringRedisTemplate redisTemplate,
+        CandidateCacheProperties cacheProperties,
+        List<CandidateJsonCodec> codecs,
+        MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.cacheProperties = cacheProperties;
+
+        CandidateJsonCodec selected = null;
+        for (CandidateJsonCodec codec : codecs) {
+            codecsByMarker.put(codec.marker(), codec);
+            if (codec.name().equals(cacheProperties.getRedisCodec())) {
+                selected = codec;
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("Unknown candidate JSON codec '"
+                + cacheProperties.getRedisCodec() + "'. Available codecs: "
+                + codecs.stream().map(CandidateJsonCodec::name).toList());
+        }
+        this.writeCodec = selected;
+
+        CandidateCacheProperties.RedisWrite writeConfig = cacheProperties.getRedisWrite();
+        if (writeConfig.isAsync()) {
+            CustomizableThreadFactory threadFactory =
+                new CustomizableThreadFactory("candidate-redis-writer-");
+            threadFactory.setDaemon(true);
+            //Single writer thread. Default AbortPolicy means a full queue throws
+            //RejectedExecutionException which putAll turns into a dropped write.
+            this.writeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(writeConfig.getQueueCapacity()), threadFactory);
+        } else {
+            this.writeExecutor = null;
+        }
+
+        this.queuedWrites = writesCounter(meterRegistry, "queued");
+        this.droppedWrites = writesCounter(meterRegistry, "dropped");
+        this.failedWrites = writesCounter(meterRegistry, "failed");
+
+        this.encodeTimer = Timer.builder(CODEC_METRIC)
+            .description("Time to encode a batch of candidate JSON for Redis")
+            .tag("operation", "encode")
+            .tag("codec", writeCodec.name())
+            .register(meterRegistry);
+        this.decodeTimer = Timer.builder(CODEC_METRIC)
+            .description("Time to decode a batch of candidate JSON read from Redis")
+            .tag("operation", "decode")
+            .register(meterRegistry);
+        this.bytesSaved = DistributionSummary.builder(BYTES_SAVED_METRIC)
+            .description("Bytes saved by encoding a batch of candidate JSON, "
+                + "compared to storing it as plain UTF-8")
+            .baseUnit("bytes")
+            .tag("codec", writeCodec.name())
+            .register(meterRegistry);
+    }
+
+    private static Counter writesCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(WRITES_METRIC)
+            .description("Candidate JSON entries submitted for writing to Redis")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writeExecutor != null) {
+            writeExecutor.shutdown();
+        }
     }
 
     /**
-     * Build the Redis key for a candidate/version pair.
+     * Build the Redis key for a candidate/version pair of the given projection.
+     * <p>
+     * Full JSON keeps the original unqualified key format.
+     * </p>
      */
-    public String key(long candidateId, long version) {
-        return "candidate:json:" + candidateId + ":v:" + version;
+    public String key(CandidateJsonProjection projection, long candidateId, long version) {
+        if (projection == CandidateJsonProjection.FULL) {
+            return "candidate:json:" + candidateId + ":v:" + version;
+        }
+        return "candidate:json:" + projection.getName() + ":" + candidateId + ":v:" + version;
     }
 
     /**
      * Batch fetch JSON for the given candidate IDs and versions.
      *
+     * @param projection projection of the JSON required
      * @param idToVersion map of candidateId -> dataVersion
      * @return map of candidateId -> JSON (only entries found in Redis)
      */
-    public Map<Long, String> multiGet(Map<Long, Long> idToVersion) {
+    public Map<Long, String> multiGet(
+        CandidateJsonProjection projection, Map<Long, Long> idToVersion) {
 
         if (idToVersion == null || idToVersion.isEmpty()) {
             return Map.of();
@@ -74,55 +212,171 @@ public class CandidateRedisCache {
 
         List<Long> ids = new ArrayList<>(idToVersion.keySet());
 
-        List<String> keys = ids.stream()
-            .map(id -> key(id, idToVersion.get(id)))
-            .toList();
+        byte[][] keys = ids.stream()
+            .map(id -> keyBytes(projection, id, idToVersion.get(id)))
+            .toArray(byte[][]::new);
 
-        List<String> valuesList = values().multiGet(keys);
+        List<byte[]> valuesList = redisTemplate.execute(
+            (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(keys));
         if (valuesList == null) {
             return Map.of();
         }
 
         Map<Long, String> result = new HashMap<>();
 
+        long start = System.nanoTime();
         for (int i = 0; i < ids.size(); i++) {
-            String json = valuesList.get(i);
+            String json = decode(ids.get(i), valuesList.get(i));
             if (json != null && !json.isBlank()) {
                 result.put(ids.get(i), json);
             }
         }
+        if (!result.isEmpty()) {
+            decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
 
         return result;
     }
 
+    /**
+     * Decode a stored value using the codec identified by its format marker.
+     *
+     * @return JSON or null if there is no value, or it cannot be decoded (ie a cache miss).
+     */
+    @Nullable
+    private String decode(long candidateId, @Nullable byte[] value) {
+        if (value == null || value.length == 0) {
+            return null;
+        }
+        CandidateJsonCodec codec = codecsByMarker.get(value[0]);
+        if (codec == null) {
+            LogBuilder.builder(log)
+                .action("CandidateRedisCache.multiGet")
+                .message("Unknown format marker " + value[0]
+                    + " in cached JSON for candidateId=" + candidateId + " - treating as a miss")
+                .logWarn();
+            return null;
+        }
+        return codec.decode(value);
+    }
+
     /**
      * Store multiple JSON blobs in Redis.
      * <p>
-     * Uses individual SET operations because Redis MSET
-     * does not support per-key TTL.
+     * Redis MSET does not support per-key TTL, so this issues individual SET operations,
+     * but pipelines them so that the whole batch costs a single round trip.
+     * </p>
+     * <p>
+     * If async writes are configured, the batch is queued and this returns immediately.
+     * If the queue is full the batch is dropped.
      * </p>
      * <p>
      * If TTL is non-positive, entries are stored without expiry.
      * </p>
+     *
+     * @param projection projection which the JSON was computed for
+     * @param rows map of candidateId -> JSON to store
      */
-    public void putAll(Map<Long, VersionedJson> rows) {
+    public void putAll(CandidateJsonProjection projection, Map<Long, VersionedJson> rows) {
 
         if (rows == null || rows.isEmpty()) {
             return;
         }
 
+        if (writeExecutor == null) {
+            writePipelined(projection, rows.values());
+            return;
+        }
+
+        //Take a copy - the caller is free to reuse its map once we return.
+        List<VersionedJson> batch = List.copyOf(rows.values());
+        try {
+            writeExecutor.execute(() -> {
+                try {
+                    writePipelined(projection, batch);
+                } catch (Exception ex) {
+                    failedWrites.increment(batch.size());
+                    LogBuilder.builder(log)
+                        .action("CandidateRedisCache.putAll")
+                        .message("Async write of " + batch.size()
+                            + " candidates to Redis failed")
+                        .logError(ex);
+                }
+            });
+            queuedWrites.increment(batch.size());
+        } catch (RejectedExecutionException ex) {
+            droppedWrites.increment(batch.size());
+            LogBuilder.builder(log)
+                .action("CandidateRedisCache.putAll")
+                .message("Redis write queue full - dropped " + batch.size()
+                    + " candidates")
+                .logWarn();
+        }
+    }
+
+    private void writePipelined(
+        CandidateJsonProjection projection, Collection<VersionedJson> rows) {
+
         Duration ttl = cacheProperties.getTtl();
         boolean hasTtl = ttl != null && !ttl.isZero() && !ttl.isNegative();
+        Expiration expiration = hasTtl ? Expiration.from(ttl) : Expiration.persistent();
 
-        for (VersionedJson row : rows.values()) {
-            String key = key(row.candidateId(), row.version());
+        //Encode before opening the pipeline so that the connection is held for as short
+        //a time as possible.
+        long start = System.nanoTime();
+        long plainBytes = 0;
+        long encodedBytes = 0;
+        List<byte[]> keys = new ArrayList<>(rows.size());
+        List<byte[]> values = new ArrayList<>(rows.size());
+        for (VersionedJson row : rows) {
+            byte[] value = writeCodec.encode(row.json());
+            keys.add(keyBytes(projection, row.candidateId(), row.version()));
+            values.add(value);
+            plainBytes += utf8Length(row.json());
+            encodedBytes += value.length;
+        }
+        encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        bytesSaved.record(plainBytes - encodedBytes);
 
-            if (!hasTtl) {
-                values().set(key, row.json());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < keys.size(); i++) {
+                connection.stringCommands().set(
+                    keys.get(i),
+                    values.get(i),
+                    expiration,
+                    SetOption.upsert()
+                );
+            }
+            //Pipelined callbacks must return null - results are collected by the template
+            return null;
+        });
+    }
+
+    private byte[] keyBytes(CandidateJsonProjection projection, long candidateId, long version) {
+        //Same encoding as the StringRedisSerializer used by StringRedisTemplate
+        return key(projection, candidateId, version).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Number of bytes in the UTF-8 encoding of the given string, without encoding it.
+     */
+    private static long utf8Length(String s) {
+        long count = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch < 0x80) {
+                count++;
+            } else if (ch < 0x800) {
+                count += 2;
+            } else if (Character.isHighSurrogate(ch)) {
+                //Surrogate pair encodes as 4 bytes
+                count += 4;
+                i++;
             } else {
-                values().set(key, row.json(), ttl);
+                count += 3;
             }
         }
+        return count;
     }
 
     /**
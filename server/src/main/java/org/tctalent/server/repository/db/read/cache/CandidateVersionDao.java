@@ -84,4 +84,20 @@ public class CandidateVersionDao {
             }
         );
     }
+
+    /**
+     * Fetch the global candidate change watermark.
+     * <p>
+     * This value moves on whenever any candidate changes (including changes to list
+     * membership), so anything computed from candidate data at one watermark can be reused
+     * for as long as the watermark is unchanged.
+     * </p>
+     *
+     * @return Current value of candidate_change_seq
+     */
+    public long fetchChangeWatermark() {
+        Long watermark = jdbc.getJdbcTemplate().queryForObject(
+            "select last_value from candidate_change_seq", Long.class);
+        return watermark == null ? 0 : watermark;
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.tctalent.server.logging.LogBuilder;
+
+/**
+ * Stores candidate JSON compressed with the JDK's Deflate implementation.
+ * <p>
+ * Candidate JSON is highly repetitive (field names, enum values, nested DTO structure) so it
+ * typically compresses to a fraction of its size. The fastest compression level is used
+ * because encoding happens on every cache population, and the gain from higher levels on
+ * JSON is small.
+ * </p>
+ * <p>
+ * Encoded format: marker byte, followed by the zlib (deflate) stream of the
+ * UTF-8 JSON.
+ * </p>
+ */
+@Component
+@Slf4j
+public class DeflateJsonCodec implements CandidateJsonCodec {
+
+    public static final String NAME = "deflate";
+
+    private static final byte MARKER = 0x01;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte marker() {
+        return MARKER;
+    }
+
+    @Override
+    public byte[] encode(String json) {
+        byte[] input = json.getBytes(StandardCharsets.UTF_8);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 16);
+            out.write(MARKER);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    @Nullable
+    public String decode(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, 1, data.length - 1);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    //Truncated data
+                    throw new DataFormatException("Unexpected end of deflate stream");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException ex) {
+            LogBuilder.builder(log)
+                .action("DeflateJsonCodec.decode")
+                .message("Corrupt compressed candidate JSON in cache - treating as a miss")
+                .logWarn(ex);
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+}
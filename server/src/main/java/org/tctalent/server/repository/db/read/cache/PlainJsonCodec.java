@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import java.nio.charset.StandardCharsets;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores candidate JSON as plain UTF-8 - the original format of {@link CandidateRedisCache}.
+ * <p>
+ * Candidate JSON is always an object, so its first byte is always '{', which doubles as the
+ * format marker. That means entries written before codecs were introduced are read by this
+ * codec unchanged.
+ * </p>
+ */
+@Component
+public class PlainJsonCodec implements CandidateJsonCodec {
+
+    public static final String NAME = "plain";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte marker() {
+        return '{';
+    }
+
+    @Override
+    public byte[] encode(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(byte[] data) {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+}
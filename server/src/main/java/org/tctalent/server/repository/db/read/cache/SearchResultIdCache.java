@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties;
+
+/**
+ * In-process cache of the complete ordered results of searches, so that paging through a
+ * search, or coming back to it, does not rerun the search and count queries.
+ * <p>
+ * Entries are keyed by the search's (whitespace normalized) fetch SQL. That SQL already
+ * includes any restrictions specific to the logged in user - eg their source countries - so
+ * users only ever share results that they are all allowed to see.
+ * </p>
+ * <p>
+ * Each entry records the {@link CandidateVersionDao#fetchChangeWatermark() candidate change
+ * watermark} at which it was computed, and is only returned while the watermark is unchanged.
+ * As with the candidate JSON caches, nothing needs explicit invalidation.
+ * </p>
+ * <p>
+ * Fetching all of a search's results costs more than fetching one page, and since any candidate
+ * change moves the watermark, a cached entry is often stale by the time it is next looked at.
+ * So results are only fetched in full for a search which is being requested again and whose
+ * {@link #recordCount counted} results are known to fit - ie someone is paging through it.
+ * Searches with more than the configured maximum number of results are remembered as too
+ * large for the cache's TTL so that they are never fetched in full.
+ * </p>
+ * <p>
+ * Hit/miss/eviction counts are published to Micrometer under the cache name
+ * {@value #CACHE_NAME}. Because Caffeine counts an entry at an old watermark as a hit,
+ * lookups are also counted under {@value #LOOKUP_METRIC}, tagged with a result of hit, stale
+ * or miss.
+ * </p>
+ */
+@Repository
+public class SearchResultIdCache {
+
+    static final String CACHE_NAME = "searchResultIds";
+    static final String LOOKUP_METRIC = "candidate.search.result.cache";
+
+    private final boolean enabled;
+    private final int maxIds;
+    private final Cache<String, SearchResultIds> cache;
+    private final Cache<String, Boolean> tooLarge;
+    private final Cache<String, Boolean> fits;
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    public SearchResultIdCache(
+        CandidateSearchProperties searchProperties, MeterRegistry meterRegistry) {
+        CandidateSearchProperties.ResultCache config = searchProperties.getResultCache();
+        this.enabled = config.isEnabled();
+        this.maxIds = config.getMaxIds();
+
+        //Weights are in bytes - allow roughly 3 bytes per cached id
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(config.getMaxTotalIds() * 3)
+            .weigher((String key, SearchResultIds ids) -> ids.weight())
+            .expireAfterWrite(config.getTtl())
+            .recordStats()
+            .build();
+
+        this.tooLarge = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(config.getTtl())
+            .build();
+
+        this.fits = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(config.getTtl())
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.hits = meterRegistry.counter(LOOKUP_METRIC, "result", "hit");
+        this.staleHits = meterRegistry.counter(LOOKUP_METRIC, "result", "stale");
+        this.misses = meterRegistry.counter(LOOKUP_METRIC, "result", "miss");
+    }
+
+    /**
+     * True if results can be cached for the given search - ie the cache is enabled and the
+     * search has not recently been found to have too many results.
+     */
+    public boolean isCacheable(String fetchIdsSql) {
+        return enabled && tooLarge.getIfPresent(normalize(fetchIdsSql)) == null;
+    }
+
+    /**
+     * Maximum number of results of a search which can be cached
+     */
+    public int getMaxIds() {
+        return maxIds;
+    }
+
+    /**
+     * Returns the cached results of the given search, if they were computed at the given
+     * watermark.
+     *
+     * @param fetchIdsSql Fetch SQL of search
+     * @param watermark Current candidate change watermark
+     * @return Cached results or null if none are cached for the current watermark.
+     */
+    @Nullable
+    public SearchResultIds get(String fetchIdsSql, long watermark) {
+        if (!enabled) {
+            return null;
+        }
+        SearchResultIds ids = cache.getIfPresent(normalize(fetchIdsSql));
+        if (ids == null) {
+            misses.increment();
+            return null;
+        }
+        if (ids.getWatermark() != watermark) {
+            staleHits.increment();
+            return null;
+        }
+        hits.increment();
+        return ids;
+    }
+
+    /**
+     * True if all the results of the given search should be fetched and cached - ie a
+     * previous request for it counted its results and found that they fit in the cache.
+     */
+    public boolean shouldPopulate(String fetchIdsSql) {
+        return enabled && fits.getIfPresent(normalize(fetchIdsSql)) != null;
+    }
+
+    /**
+     * Records the number of results of the given search, as counted when fetching a page of
+     * it without the cache. This decides whether a later request for the same search
+     * {@link #shouldPopulate populates} the cache.
+     *
+     * @param fetchIdsSql Fetch SQL of search
+     * @param total Exact number of results of the search
+     */
+    public void recordCount(String fetchIdsSql, long total) {
+        if (!enabled) {
+            return;
+        }
+        if (total > maxIds) {
+            markTooLarge(fetchIdsSql);
+        } else {
+            fits.put(normalize(fetchIdsSql), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Caches the complete results of the given search
+     */
+    public void put(String fetchIdsSql, SearchResultIds ids) {
+        if (enabled) {
+            cache.put(normalize(fetchIdsSql), ids);
+        }
+    }
+
+    /**
+     * Records that the given search has more than {@link #getMaxIds()} results, so that
+     * {@link #isCacheable} returns false for it for a while.
+     */
+    public void markTooLarge(String fetchIdsSql) {
+        String key = normalize(fetchIdsSql);
+        cache.invalidate(key);
+        fits.invalidate(key);
+        tooLarge.put(key, Boolean.TRUE);
+    }
+
+    private static String normalize(String sql) {
+        return sql.strip().replaceAll("\\s+", " ");
+    }
+}
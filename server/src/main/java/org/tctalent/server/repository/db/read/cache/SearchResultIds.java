@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.tctalent.server.util.textExtract.IdAndRank;
+
+/**
+ * Immutable, compact copy of the complete ordered results of a search.
+ * <p>
+ * Ids are stored as the zigzag varint encoded differences between consecutive ids, which
+ * typically takes 2 or 3 bytes per id rather than the 16+ of a boxed Long in a list. Ranks are
+ * only stored when the search was sorted by rank.
+ * </p>
+ */
+public final class SearchResultIds {
+
+    private final long watermark;
+    private final int size;
+    private final byte[] encodedIds;
+    @Nullable
+    private final Number[] ranks;
+
+    private SearchResultIds(
+        long watermark, int size, byte[] encodedIds, @Nullable Number[] ranks) {
+        this.watermark = watermark;
+        this.size = size;
+        this.encodedIds = encodedIds;
+        this.ranks = ranks;
+    }
+
+    /**
+     * Creates a copy of the given search results.
+     *
+     * @param results All the results of a search, in order
+     * @param watermark Candidate change watermark at which the search was run
+     */
+    public static SearchResultIds of(@NonNull List<IdAndRank> results, long watermark) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(results.size() * 3);
+        boolean ranked = false;
+        long previous = 0;
+        for (IdAndRank result : results) {
+            long id = result.id();
+            writeVarLong(out, zigzag(id - previous));
+            previous = id;
+            ranked |= result.rank() != null;
+        }
+
+        Number[] ranks = null;
+        if (ranked) {
+            ranks = new Number[results.size()];
+            for (int i = 0; i < ranks.length; i++) {
+                ranks[i] = results.get(i).rank();
+            }
+        }
+        return new SearchResultIds(watermark, results.size(), out.toByteArray(), ranks);
+    }
+
+    /**
+     * Candidate change watermark at which the search was run.
+     */
+    public long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Total number of results
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Approximate memory used, in bytes
+     */
+    public int weight() {
+        return encodedIds.length + (ranks == null ? 0 : ranks.length * 24) + 64;
+    }
+
+    /**
+     * Decodes a page of the results.
+     *
+     * @param offset Index of first result to return
+     * @param count Maximum number of results to return
+     * @return Results from offset, in order - empty if offset is beyond the end of the results
+     */
+    public List<IdAndRank> slice(long offset, int count) {
+        int end = (int) Math.min(size, offset + count);
+        List<IdAndRank> page = new ArrayList<>(Math.min(count, size));
+
+        //Ids are delta encoded, so decode from the start
+        int[] pos = {0};
+        long id = 0;
+        for (int i = 0; i < end; i++) {
+            id += unzigzag(readVarLong(encodedIds, pos));
+            if (i >= offset) {
+                page.add(new IdAndRank(id, ranks == null ? null : ranks[i]));
+            }
+        }
+        return page;
+    }
+
+    private static long zigzag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    private static long unzigzag(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] pos) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[pos[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -46,7 +46,7 @@ import org.tctalent.server.repository.db.read.annotation.SqlTable;
  */
 @Getter
 @Setter
-@Builder //Useful for constructing unit tests
+@Builder(toBuilder = true) //Useful for constructing unit tests and for copy()
 @SqlTable(name="candidate", alias = "c")
 @SqlDefaults(mapUnannotatedColumns = true)
 public class CandidateReadDto {
@@ -203,4 +203,20 @@ public class CandidateReadDto {
     private String videolink;
     private String whatsapp;
 
+    /**
+     * Shallow copy of this DTO.
+     * <p>
+     * Top level fields of the copy (such as the transient rank and selected fields) can be
+     * set without affecting this object, but nested DTOs and lists are shared with it and
+     * must be treated as read only.
+     * </p>
+     * <p>
+     * This is what allows deserialized DTOs to be cached and shared across requests.
+     * See {@link org.tctalent.server.repository.db.read.cache.CandidateNearCache}.
+     * </p>
+     * @return New copy
+     */
+    public CandidateReadDto copy() {
+        return toBuilder().build();
+    }
 }
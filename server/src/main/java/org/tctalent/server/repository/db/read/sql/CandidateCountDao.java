@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Repository;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties.CountMode;
+import org.tctalent.server.logging.LogBuilder;
+
+/**
+ * DAO responsible for counting the candidates matched by a search.
+ * <p>
+ * The count query is often the slowest part of fetching a page of search results, so
+ * {@link #countAsync} runs it on a pooled background thread - and therefore on its own
+ * database connection, outside any transaction of the caller - while the caller fetches
+ * the page itself.
+ * </p>
+ * <p>
+ * Depending on the configured {@link CountMode}, exact counts are cached per node (keyed by
+ * the count SQL) for reuse by later pages of the same search, and the first pages of large
+ * results may report Postgres's planner estimate instead of running the count query at all.
+ * </p>
+ * <p>
+ * Count times are published to Micrometer as {@value #COUNT_METRIC}, tagged with the
+ * {@link CountSource} of the count.
+ * </p>
+ */
+@Repository
+@Slf4j
+public class CandidateCountDao {
+
+    static final String COUNT_METRIC = "candidate.search.count";
+
+    /**
+     * Where a count came from.
+     */
+    public enum CountSource {
+        /**
+         * The count query was run
+         */
+        EXACT,
+
+        /**
+         * An earlier run of the same count query was reused
+         */
+        CACHED,
+
+        /**
+         * The planner's estimate of the number of rows returned by the search was used
+         */
+        ESTIMATED
+    }
+
+    /**
+     * Result of a count.
+     * @param total Number of candidates matching the search - approximate if ESTIMATED
+     * @param source Where the count came from
+     */
+    public record CandidateCount(long total, CountSource source) {}
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final CandidateSearchProperties.Count config;
+    private final Cache<String, Long> countCache;
+
+    /**
+     * Background counter - null if counts are run on the caller's thread.
+     */
+    @Nullable
+    private final ThreadPoolExecutor countExecutor;
+
+    private final Map<CountSource, Timer> timers = new EnumMap<>(CountSource.class);
+
+    public CandidateCountDao(
+        NamedParameterJdbcTemplate jdbc,
+        ObjectMapper objectMapper,
+        CandidateSearchProperties searchProperties,
+        MeterRegistry meterRegistry) {
+        //Search SQL is not parameterized, so don't let the named parameter parser loose on it.
+        this.jdbc = jdbc.getJdbcTemplate();
+        this.objectMapper = objectMapper;
+        this.config = searchProperties.getCount();
+
+        this.countCache = Caffeine.newBuilder()
+            .maximumSize(config.getCacheMaxSize())
+            .expireAfterWrite(config.getCacheTtl())
+            .build();
+
+        if (config.isParallel()) {
+            CustomizableThreadFactory threadFactory =
+                new CustomizableThreadFactory("candidate-search-count-");
+            threadFactory.setDaemon(true);
+            //Default AbortPolicy means a full queue throws RejectedExecutionException,
+            //which countAsync turns into a count on the caller's thread.
+            this.countExecutor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()), threadFactory);
+        } else {
+            this.countExecutor = null;
+        }
+
+        for (CountSource source : CountSource.values()) {
+            timers.put(source, Timer.builder(COUNT_METRIC)
+                .description("Time to count the candidates matching a search")
+                .tag("source", source.name().toLowerCase())
+                .register(meterRegistry));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (countExecutor != null) {
+            countExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Starts counting the candidates matching a search, returning immediately unless counts
+     * are configured to run on the caller's thread or all count threads are busy.
+     *
+     * @param fetchIdsSql Sql returning the ids of the matching candidates - only used for
+     *                    estimates
+     * @param countSql Sql returning the number of matching candidates
+     * @param pageRequest Page being fetched - estimates are only used for the first pages
+     * @return Future count
+     */
+    public CompletableFuture<CandidateCount> countAsync(
+        String fetchIdsSql, String countSql, PageRequest pageRequest) {
+        if (countExecutor != null) {
+            try {
+                return CompletableFuture.supplyAsync(
+                    () -> count(fetchIdsSql, countSql, pageRequest), countExecutor);
+            } catch (RejectedExecutionException ex) {
+                //Too many counts already running - don't tie up any more connections.
+                LogBuilder.builder(log).action("countCandidates")
+                    .message("Count queue full - counting on request thread").logWarn();
+            }
+        }
+        return CompletableFuture.completedFuture(count(fetchIdsSql, countSql, pageRequest));
+    }
+
+    /**
+     * Counts the candidates matching a search on the caller's thread.
+     * See {@link #countAsync}.
+     */
+    public CandidateCount count(String fetchIdsSql, String countSql, PageRequest pageRequest) {
+        final long start = System.nanoTime();
+        final CountMode mode = config.getMode();
+
+        CandidateCount count = null;
+        if (mode != CountMode.EXACT) {
+            Long cached = countCache.getIfPresent(countSql);
+            if (cached != null) {
+                count = new CandidateCount(cached, CountSource.CACHED);
+            }
+        }
+
+        if (count == null && mode == CountMode.ESTIMATED
+            && pageRequest.getPageNumber() < config.getEstimatedPages()) {
+            Long estimate = estimate(fetchIdsSql);
+            if (estimate != null && estimate >= config.getEstimateThreshold()) {
+                count = new CandidateCount(estimate, CountSource.ESTIMATED);
+            }
+        }
+
+        if (count == null) {
+            LogBuilder.builder(log).action("countCandidates")
+                .message("Query: " + countSql).logInfo();
+            Long total = jdbc.queryForObject(countSql, Long.class);
+            count = new CandidateCount(total == null ? 0 : total, CountSource.EXACT);
+            if (mode != CountMode.EXACT) {
+                countCache.put(countSql, count.total());
+            }
+        }
+
+        timers.get(count.source()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return count;
+    }
+
+    /**
+     * Returns the planner's estimate of the number of rows returned by the given SQL,
+     * or null if no estimate could be obtained.
+     */
+    @Nullable
+    Long estimate(String sql) {
+        try {
+            String plan = jdbc.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : null;
+        } catch (DataAccessException | JsonProcessingException ex) {
+            LogBuilder.builder(log).action("countCandidates")
+                .message("Could not estimate count - falling back to exact count").logWarn(ex);
+            return null;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.tctalent.server.repository.db.read.sql;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -34,6 +35,7 @@ import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
  * - It always computes JSON from source tables using SQL generated by
  *   {@link SqlJsonQueryBuilder}.
  * - It returns raw JSON strings so they can be cached verbatim by callers.
+ * - The generated SQL only depends on the projection, so it is generated once per projection.
  *
  * Transaction semantics:
  * - Read-only
@@ -48,11 +50,13 @@ public class CandidateJsonDao {
 
     private final NamedParameterJdbcTemplate jdbc;
     private final SqlJsonQueryBuilder sqlBuilder;
+    private final Map<CandidateJsonProjection, String> sqlByProjection = new ConcurrentHashMap<>();
 
     /**
      * Compute candidate JSON for the given candidate IDs.
      *
      * @param ids candidate IDs to compute JSON for
+     * @param projection candidate fields to include in the JSON
      * @return map of candidateId -> JSON string
      *
      * STRICT:
@@ -61,15 +65,19 @@ public class CandidateJsonDao {
      * - Callers that require strict completeness must enforce it themselves
      *   (CandidateReadService does this).
      */
-    public Map<Long, String> loadJsonByIds(Collection<Long> ids) {
+    public Map<Long, String> loadJsonByIds(
+        Collection<Long> ids, CandidateJsonProjection projection) {
 
         if (ids == null || ids.isEmpty()) {
             return Map.of();
         }
 
-        String sql = sqlBuilder.buildByIdsQuery(
-            CandidateReadDto.class,
-            "ids"
+        String sql = sqlByProjection.computeIfAbsent(projection,
+            p -> sqlBuilder.buildByIdsQuery(
+                CandidateReadDto.class,
+                "ids",
+                p.fieldFilter()
+            )
         );
 
         return jdbc.query(
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import java.util.Set;
+import java.util.function.Predicate;
+import lombok.Getter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.tctalent.server.api.dto.DtoType;
+
+/**
+ * Named sets of top level {@link org.tctalent.server.repository.db.read.dto.CandidateReadDto}
+ * fields which can be requested when computing candidate JSON.
+ * <p>
+ *     Building the full candidate JSON means running a correlated subquery for every one-to-many
+ *     child table, most of which are never displayed in list views. A projection limits the
+ *     generated SQL to the fields that a view actually needs. Fields which are not part of a
+ *     projection are simply absent from the JSON, and so are null (or default) in the resulting
+ *     DTO.
+ * </p>
+ * <p>
+ *     Projections only apply to the top level candidate fields. Nested objects which are included
+ *     are always complete.
+ * </p>
+ * <p>
+ *     JSON computed for different projections is different, so it is cached under separate
+ *     versioned keys - see {@link #getName()}.
+ * </p>
+ */
+@Getter
+public enum CandidateJsonProjection {
+
+    /**
+     * All fields. This is what is stored in the Postgres JSON cache.
+     */
+    FULL("full", null, Set.of()),
+
+    /**
+     * Everything needed to display candidates in search results and lists.
+     * <p>
+     *     Excludes the one-to-many children which are only output by the extended DTOs
+     *     (see CandidateBuilderSelector), which are displayed on the candidate search card
+     *     and exported through the API.
+     * </p>
+     * <p>
+     *     Note that candidateDependants are kept because they are used to compute
+     *     numberDependants.
+     * </p>
+     */
+    SEARCH_GRID("search-grid", null, Set.of(
+        "candidateCertifications",
+        "candidateCitizenships",
+        "candidateDestinations",
+        "candidateEducations",
+        "candidateJobExperiences",
+        "candidateLanguages",
+        "candidateNotes",
+        "candidateOccupations",
+        "candidateSkills",
+        "candidateVisaChecks",
+        "relocatedCountry"
+    )),
+
+    /**
+     * Just enough to identify candidates.
+     */
+    MINIMAL("minimal", Set.of(
+        "id",
+        "candidateNumber",
+        "publicId",
+        "user"
+    ), Set.of()),
+
+    /**
+     * The fields output by CSV exports of searches and lists - see
+     * CandidateService.getExportCandidateStrings.
+     */
+    EXPORT("export", Set.of(
+        "id",
+        "candidateNumber",
+        "user",
+        "gender",
+        "country",
+        "nationality",
+        "dob",
+        "whatsapp",
+        "maxEducationLevel",
+        "candidateEducations",
+        "candidateLanguages",
+        "candidateOccupations"
+    ), Set.of());
+
+    /**
+     * Name of the projection. This is used in cache keys, so changing the fields of a projection
+     * should be accompanied by a change of name so that JSON cached for the old field set is
+     * not used.
+     */
+    private final String name;
+
+    /**
+     * Fields to include. Null means all fields apart from {@link #excludedFields}.
+     */
+    @Nullable
+    private final Set<String> includedFields;
+
+    private final Set<String> excludedFields;
+
+    CandidateJsonProjection(
+        String name, @Nullable Set<String> includedFields, Set<String> excludedFields) {
+        this.name = name;
+        this.includedFields = includedFields;
+        this.excludedFields = excludedFields;
+    }
+
+    /**
+     * True if the given top level field is part of this projection.
+     * @param fieldName Name of field of the root DTO
+     * @return True if the field should be included in the JSON
+     */
+    public boolean includes(String fieldName) {
+        if (excludedFields.contains(fieldName)) {
+            return false;
+        }
+        return includedFields == null || includedFields.contains(fieldName);
+    }
+
+    /**
+     * Filter on the top level field names, as accepted by
+     * {@link SqlJsonQueryBuilder#buildByIdsQuery(Class, String, Predicate)}
+     */
+    public Predicate<String> fieldFilter() {
+        return this::includes;
+    }
+
+    /**
+     * Returns the lightest projection containing all candidate fields output by the DtoBuilder
+     * of the given type.
+     * @param dtoType Type of DTO which will be built from the candidate data
+     * @return Projection to use when fetching candidate data
+     */
+    @NonNull
+    public static CandidateJsonProjection forDtoType(@Nullable DtoType dtoType) {
+        if (dtoType == null) {
+            return FULL;
+        }
+        return switch (dtoType) {
+            case PUBLIC_ID_ONLY, MINIMAL -> MINIMAL;
+            case PREVIEW, FULL -> SEARCH_GRID;
+            case EXTENDED, API -> FULL;
+        };
+    }
+}
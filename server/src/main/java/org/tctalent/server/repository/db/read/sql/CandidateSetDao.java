@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+import org.tctalent.server.request.list.CandidateSetOperation;
+
+/**
+ * DAO which evaluates set algebra - union, intersection and difference - over sets of
+ * candidates in the database, rather than by loading each set of candidate ids into memory
+ * and combining them there.
+ * <p>
+ * Sets of candidates are expressed as SQL selecting a single column of candidate ids: for
+ * example the members of a saved list ({@link #savedListSql}), explicitly given candidates
+ * ({@link #candidateIdsSql}) or the fetch SQL of a saved search. Sets are combined with
+ * {@link #combineSql} into a single UNION, INTERSECT or EXCEPT statement, which can itself be
+ * combined further.
+ * </p>
+ * <p>
+ * The resulting set can be fetched, or merged into a saved list with a single
+ * INSERT ... SELECT ... ON CONFLICT DO NOTHING statement ({@link #addToList}).
+ * </p>
+ * <p>
+ * Note that set SQL is not parameterized - all values in it are generated literals - so the
+ * plain JdbcTemplate is used. Search SQL can contain colons which the named parameter parser
+ * would misinterpret.
+ * </p>
+ */
+@Repository
+public class CandidateSetDao {
+
+    private final JdbcTemplate jdbc;
+
+    public CandidateSetDao(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc.getJdbcTemplate();
+    }
+
+    /**
+     * SQL selecting the ids of the candidates in the given saved list.
+     */
+    public static @NonNull String savedListSql(long savedListId) {
+        return "select candidate_id from candidate_saved_list where saved_list_id = "
+            + savedListId;
+    }
+
+    /**
+     * SQL selecting the ids of those of the given candidates which exist.
+     */
+    public static @NonNull String candidateIdsSql(@NonNull Collection<Long> candidateIds) {
+        return "select id from candidate where id = any(" + toArrayLiteral(candidateIds) + ")";
+    }
+
+    /**
+     * Combines the given sets with the given operation.
+     * @param operation Operation to apply
+     * @param setSqls SQL of each set - at least one is required. For {@link
+     *                CandidateSetOperation#difference}, the other sets are subtracted from the
+     *                first.
+     * @return SQL of the combined set
+     */
+    public static @NonNull String combineSql(
+        @NonNull CandidateSetOperation operation, @NonNull List<String> setSqls) {
+        if (setSqls.isEmpty()) {
+            throw new IllegalArgumentException("No candidate sets to combine");
+        }
+        if (setSqls.size() == 1) {
+            return setSqls.get(0);
+        }
+        final String sqlOperator = switch (operation) {
+            case union -> " union ";
+            case intersection -> " intersect ";
+            case difference -> " except ";
+        };
+        //Parenthesize each set so that sets can themselves be combinations
+        return setSqls.stream()
+            .map(sql -> "(" + sql + ")")
+            .collect(Collectors.joining(sqlOperator));
+    }
+
+    /**
+     * Returns the candidate ids in the given set.
+     */
+    public @NonNull Set<Long> fetchCandidateIds(@NonNull String setSql) {
+        return new HashSet<>(jdbc.queryForList(setSql, Long.class));
+    }
+
+    /**
+     * Returns the public ids of the candidates in the given set.
+     */
+    public @NonNull Set<String> fetchCandidatePublicIds(@NonNull String setSql) {
+        return new HashSet<>(jdbc.queryForList(
+            "select public_id from candidate where id in (" + setSql + ")", String.class));
+    }
+
+    /**
+     * Looks up the ids of the candidates with the given candidate numbers, using a single
+     * {@code = any(array)} query.
+     *
+     * @return Map of candidate number to candidate id - numbers which do not match a candidate
+     * are absent from the map.
+     */
+    public @NonNull Map<String, Long> findIdsByCandidateNumbers(
+        @NonNull Collection<String> candidateNumbers) {
+        return findIdsBy("candidate_number", candidateNumbers);
+    }
+
+    /**
+     * Looks up the ids of the candidates with the given public ids, using a single
+     * {@code = any(array)} query.
+     *
+     * @return Map of public id to candidate id - public ids which do not match a candidate
+     * are absent from the map.
+     */
+    public @NonNull Map<String, Long> findIdsByPublicIds(@NonNull Collection<String> publicIds) {
+        return findIdsBy("public_id", publicIds);
+    }
+
+    private Map<String, Long> findIdsBy(String column, Collection<String> values) {
+        Map<String, Long> ids = new HashMap<>();
+        if (!values.isEmpty()) {
+            //The values are bound as a single text[] parameter
+            jdbc.query("select " + column + ", id from candidate where " + column + " = any(?)",
+                (RowCallbackHandler) rs -> ids.put(rs.getString(1), rs.getLong(2)),
+                (Object) values.toArray(new String[0]));
+        }
+        return ids;
+    }
+
+    /**
+     * Returns those of the given candidate ids which do not exist.
+     */
+    public @NonNull Set<Long> findMissingCandidateIds(@NonNull Collection<Long> candidateIds) {
+        if (candidateIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(jdbc.queryForList(
+            "select ids.id from unnest(" + toArrayLiteral(candidateIds) + ") as ids(id)"
+                + " where not exists (select 1 from candidate c where c.id = ids.id)",
+            Long.class));
+    }
+
+    /**
+     * Adds the candidates in the given set to the given saved list, ignoring candidates who
+     * are already in the list.
+     * @param savedListId List to add to
+     * @param setSql Candidates to add
+     * @param contextSourceListId If not null, the context notes that the candidates have in this
+     *                            list are copied to the new list memberships.
+     * @return Number of candidates added
+     */
+    public int addToList(
+        long savedListId, @NonNull String setSql, @Nullable Long contextSourceListId) {
+        String sql = "insert into candidate_saved_list (candidate_id, saved_list_id, context_note)";
+        if (contextSourceListId == null) {
+            sql += " select s.id, " + savedListId + ", null from (" + setSql + ") as s(id)";
+        } else {
+            sql += " select s.id, " + savedListId + ", src.context_note"
+                + " from (" + setSql + ") as s(id)"
+                + " left join candidate_saved_list src on src.candidate_id = s.id"
+                + " and src.saved_list_id = " + contextSourceListId;
+        }
+        sql += " on conflict do nothing";
+        return jdbc.update(sql);
+    }
+
+    private static String toArrayLiteral(Collection<Long> ids) {
+        return ids.stream()
+            .map(String::valueOf)
+            .collect(Collectors.joining(",", "'{", "}'::bigint[]"));
+    }
+}
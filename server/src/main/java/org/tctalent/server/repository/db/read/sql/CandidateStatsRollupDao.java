@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.tctalent.server.logging.LogBuilder;
+
+/**
+ * DAO maintaining the pre-aggregated candidate stats rollup.
+ * <p>
+ * candidate_stats_rollup holds the number of candidates counted in stats for each combination
+ * of registration day, partner, source country, nationality, gender and status. Unfiltered
+ * stats over those dimensions are answered from it, rather than by scanning and joining the
+ * candidate table.
+ * </p>
+ * <p>
+ * candidate_stats_fact records, for each candidate, the cell of the rollup it was last counted
+ * in, together with the candidate's data_version at the time. Triggers on the candidate table
+ * record the ids of inserted, updated and deleted candidates in candidate_stats_changed.
+ * {@link #refresh()} takes those ids and moves the counts of those candidates from the cells of
+ * their facts to their new cells, so its cost depends on the number of changes rather than on
+ * the number of candidates.
+ * </p>
+ * <p>
+ * Membership of the TestCandidates list does not change the candidate table, so is only
+ * picked up by {@link #rebuild()}.
+ * </p>
+ */
+@Repository
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateStatsRollupDao {
+
+    /**
+     * Serializes refreshes and rebuilds across servers, for the duration of the transaction
+     */
+    private static final String LOCK_SQL =
+        "select pg_advisory_xact_lock(hashtext('candidate_stats_rollup'))";
+
+    private static final String CELL_COLUMNS =
+        "created_day, partner_id, country_id, nationality_id, gender, status";
+
+    /**
+     * Current fact for each candidate. Must match the candidates counted by the live stats
+     * queries in CandidateStatsServiceImpl.
+     */
+    private static final String FACT_SELECT_SQL = """
+        select c.id,
+               c.data_version,
+               coalesce(u.status = 'active' and u.created_date is not null, false)
+                   and not exists (
+                       select 1 from candidate_saved_list csl
+                           join saved_list sl on sl.id = csl.saved_list_id
+                       where csl.candidate_id = c.id
+                         and sl.name = 'TestCandidates' and sl.global = true),
+               date(u.created_date),
+               u.partner_id,
+               c.country_id,
+               c.nationality_id,
+               c.gender,
+               c.status
+        from candidate c
+            left join users u on u.id = c.user_id
+        """;
+
+    private static final String FACT_INSERT_SQL = """
+        insert into candidate_stats_fact (candidate_id, data_version, counted,
+            created_day, partner_id, country_id, nationality_id, gender, status)
+        """;
+
+    /**
+     * Claims the candidates recorded as changed by the candidate_stats_changed triggers.
+     * Changes committed after this runs stay recorded for the next refresh.
+     */
+    private static final String CHANGED_SQL = """
+        with claimed as (
+            delete from candidate_stats_changed returning candidate_id
+        )
+        insert into stats_rollup_changed (candidate_id)
+        select candidate_id from claimed
+        """;
+
+    /**
+     * Adds one to the new cell and subtracts one from the old cell of each changed candidate.
+     * Old facts must still be in place when this runs.
+     */
+    private static final String APPLY_CHANGES_SQL =
+        "insert into candidate_stats_rollup (" + CELL_COLUMNS + ", people_count)"
+        + " select " + CELL_COLUMNS + ", sum(delta) from ("
+        + " select " + CELL_COLUMNS + ", -1 as delta from candidate_stats_fact"
+        + " where counted"
+        + " and candidate_id in (select candidate_id from stats_rollup_changed)"
+        + " union all"
+        + " select " + CELL_COLUMNS + ", 1 from (" + FACT_SELECT_SQL
+        + " where c.id in (select candidate_id from stats_rollup_changed)"
+        + ") as latest (candidate_id, data_version, counted, " + CELL_COLUMNS + ")"
+        + " where counted"
+        + ") as deltas"
+        + " group by " + CELL_COLUMNS
+        + " having sum(delta) <> 0"
+        + " on conflict (" + CELL_COLUMNS + ")"
+        + " do update set people_count"
+        + " = candidate_stats_rollup.people_count + excluded.people_count";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Brings the rollup up to date with candidates which have been changed (including through
+     * their users), added or deleted since the last refresh or rebuild.
+     *
+     * @return Number of changed candidates
+     */
+    public int refresh() {
+        long start = System.currentTimeMillis();
+        JdbcTemplate jdbcTemplate = jdbc.getJdbcTemplate();
+        jdbcTemplate.queryForList(LOCK_SQL);
+
+        jdbcTemplate.update("create temporary table stats_rollup_changed"
+            + " (candidate_id bigint primary key) on commit drop");
+        int changed = jdbcTemplate.update(CHANGED_SQL);
+        if (changed > 0) {
+            jdbcTemplate.update(APPLY_CHANGES_SQL);
+            jdbcTemplate.update("delete from candidate_stats_fact"
+                + " where candidate_id in (select candidate_id from stats_rollup_changed)");
+            jdbcTemplate.update(FACT_INSERT_SQL + FACT_SELECT_SQL
+                + " where c.id in (select candidate_id from stats_rollup_changed)");
+            jdbcTemplate.update("delete from candidate_stats_rollup where people_count = 0");
+        }
+        //Dropped now rather than on commit so that the transaction can refresh again
+        jdbcTemplate.update("drop table stats_rollup_changed");
+
+        LogBuilder.builder(log)
+            .action("refreshCandidateStatsRollup")
+            .message("Applied " + changed + " candidate changes to stats rollup in "
+                + (System.currentTimeMillis() - start) + "ms")
+            .logInfo();
+        return changed;
+    }
+
+    /**
+     * Recomputes the whole rollup from scratch.
+     * <p>
+     * The old rows are deleted rather than truncated: truncate would lock out stats reads until
+     * the rebuild commits, whereas with delete they carry on seeing the previous rollup.
+     * </p>
+     *
+     * @return Number of candidates
+     */
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        JdbcTemplate jdbcTemplate = jdbc.getJdbcTemplate();
+        jdbcTemplate.queryForList(LOCK_SQL);
+
+        jdbcTemplate.update("delete from candidate_stats_changed");
+        jdbcTemplate.update("delete from candidate_stats_fact");
+        jdbcTemplate.update("delete from candidate_stats_rollup");
+        int candidates = jdbcTemplate.update(FACT_INSERT_SQL + FACT_SELECT_SQL);
+        jdbcTemplate.update(
+            "insert into candidate_stats_rollup (" + CELL_COLUMNS + ", people_count)"
+            + " select " + CELL_COLUMNS + ", count(*) from candidate_stats_fact where counted"
+            + " group by " + CELL_COLUMNS);
+
+        LogBuilder.builder(log)
+            .action("rebuildCandidateStatsRollup")
+            .message("Rebuilt stats rollup from " + candidates + " candidates in "
+                + (System.currentTimeMillis() - start) + "ms")
+            .logInfo();
+        return candidates;
+    }
+}
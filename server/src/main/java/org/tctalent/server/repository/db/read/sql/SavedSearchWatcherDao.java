@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties;
+import org.tctalent.server.logging.LogBuilder;
+
+/**
+ * DAO used by the nightly check of watched saved searches for new candidates.
+ * <p>
+ * saved_search.watcher_checked_date records when each watched search was last checked, so
+ * that the next check only needs to look at candidates created since then.
+ * </p>
+ * <p>
+ * {@link #checkSearches} runs the checks on a bounded pool of threads - each with its own
+ * database connection, outside any transaction of the caller. It does not record anything:
+ * the caller advances the checked date of each search with {@link #recordCheckedDates} only
+ * once its watchers have been told about its new candidates (or it is found to have none).
+ * Until then a search keeps its old checked date, so the candidates its watchers were not told
+ * about are picked up by the next check.
+ * </p>
+ */
+@Repository
+@Slf4j
+public class SavedSearchWatcherDao {
+
+    private static final String FETCH_CHECKED_DATES_SQL =
+        "select id, watcher_checked_date from saved_search"
+            + " where watcher_ids is not null and watcher_checked_date is not null";
+
+    private static final String UPDATE_CHECKED_DATES_SQL =
+        "update saved_search set watcher_checked_date = ? where id = any(?)";
+
+    /**
+     * Result of checking watched searches.
+     * @param searchesWithNewCandidates Ids of searches which have new candidates
+     * @param failures Searches which could not be checked, mapped to the reason why
+     */
+    public record CheckResult(Set<Long> searchesWithNewCandidates, Map<Long, Exception> failures) {}
+
+    private final JdbcTemplate jdbc;
+    private final CandidateSearchProperties.Watcher config;
+
+    public SavedSearchWatcherDao(
+        NamedParameterJdbcTemplate jdbc, CandidateSearchProperties searchProperties) {
+        //Search SQL is not parameterized, so don't let the named parameter parser loose on it.
+        this.jdbc = jdbc.getJdbcTemplate();
+        this.config = searchProperties.getWatcher();
+    }
+
+    /**
+     * Fetches the time that each watched search was last checked for new candidates.
+     * @return Map of saved search id -> last checked time. Searches which have never been
+     * checked are not included.
+     */
+    public Map<Long, OffsetDateTime> fetchCheckedDates() {
+        Map<Long, OffsetDateTime> checkedDates = new HashMap<>();
+        jdbc.query(FETCH_CHECKED_DATES_SQL, rs -> {
+            checkedDates.put(rs.getLong(1), rs.getObject(2, OffsetDateTime.class));
+        });
+        return checkedDates;
+    }
+
+    /**
+     * Checks watched searches for new candidates, in parallel.
+     * @param existsSqlBySearchId Map of saved search id -> SQL returning a single boolean which
+     *                            is true if the search has new candidates
+     * @return Result of the checks
+     */
+    public CheckResult checkSearches(Map<Long, String> existsSqlBySearchId) {
+
+        Set<Long> searchesWithNewCandidates = new HashSet<>();
+        Map<Long, Exception> failures = new HashMap<>();
+        if (existsSqlBySearchId.isEmpty()) {
+            return new CheckResult(searchesWithNewCandidates, failures);
+        }
+
+        CustomizableThreadFactory threadFactory =
+            new CustomizableThreadFactory("saved-search-watcher-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(config.getThreads(), existsSqlBySearchId.size())), threadFactory);
+        try {
+            Map<Long, Future<Boolean>> checks = new LinkedHashMap<>();
+            existsSqlBySearchId.forEach((searchId, sql) ->
+                checks.put(searchId, executor.submit(() -> checkSearch(searchId, sql))));
+
+            for (Map.Entry<Long, Future<Boolean>> check : checks.entrySet()) {
+                try {
+                    if (check.getValue().get()) {
+                        searchesWithNewCandidates.add(check.getKey());
+                    }
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    failures.put(check.getKey(),
+                        cause instanceof Exception ? (Exception) cause : ex);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted checking watched searches", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new CheckResult(searchesWithNewCandidates, failures);
+    }
+
+    /**
+     * Records the time that the given searches were last checked for new candidates.
+     * <p>
+     * Committed in its own transaction, so that it is kept whatever happens to the caller's
+     * (possibly read only) transaction - eg if notifying the watchers of later searches fails.
+     * </p>
+     * @param searchIds Ids of searches whose watchers have been told about all their new
+     *                  candidates
+     * @param checkedDate Time the searches were checked
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordCheckedDates(Collection<Long> searchIds, OffsetDateTime checkedDate) {
+        if (!searchIds.isEmpty()) {
+            jdbc.update(UPDATE_CHECKED_DATES_SQL, checkedDate,
+                (Object) searchIds.toArray(new Long[0]));
+        }
+    }
+
+    private boolean checkSearch(long searchId, String existsSql) {
+        LogBuilder.builder(log).action("notifySearchWatchers").searchId(searchId)
+            .message("Query: " + existsSql).logInfo();
+
+        return Boolean.TRUE.equals(jdbc.queryForObject(existsSql, Boolean.class));
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.tctalent.server.repository.db.read.annotation.JsonOneToMany;
@@ -165,6 +166,28 @@ public class SqlJsonQueryBuilder {
      * @return SQL string
      */
     public String buildByIdsQuery(@NonNull Class<?> rootDtoClass, @NonNull String idsParamName) {
+        return buildByIdsQuery(rootDtoClass, idsParamName, fieldName -> true);
+    }
+
+    /**
+     * <p>
+     * Builds a query returning {@code id} and {@code json}, where the JSON only contains those
+     * top level fields of the root DTO accepted by the given filter.
+     * </p>
+     *
+     * <p>
+     * Fields which are rejected by the filter generate no SQL at all - so excluding one-to-many
+     * fields removes their correlated subqueries. Nested DTOs are always built in full.
+     * </p>
+     *
+     * @param rootDtoClass Root DTO class annotated with {@code @SqlTable}
+     * @param idsParamName Named parameter used in {@code IN (:<param>)} predicate
+     * @param rootFieldFilter Accepts the names of the root DTO fields to be included
+     * @return SQL string
+     */
+    public String buildByIdsQuery(
+        @NonNull Class<?> rootDtoClass, @NonNull String idsParamName,
+        @NonNull Predicate<String> rootFieldFilter) {
 
         //SQL is generated automatically from DTO objects. Annotations on the DTO classes are used
         //to drive the SQL generation.
@@ -179,7 +202,7 @@ public class SqlJsonQueryBuilder {
         //This creates the Postgres SQL which populates the returned JSON. It uses Postgres
         //jsonb support, specifically jsonb_agg and jsonb_build_object.
         BuildContext ctx = new BuildContext();
-        String jsonExpr = buildJsonExpression(rootDtoClass, rootTableAlias, ctx);
+        String jsonExpr = buildJsonExpression(rootDtoClass, rootTableAlias, ctx, rootFieldFilter);
 
         //The SQL is just a select where id matches one of the ids passed in.
         //There is a row for each id. Each row just has two fields: the id and the JSON encoded data.
@@ -266,9 +289,11 @@ public class SqlJsonQueryBuilder {
      * @param dtoType DTO class to convert into a JSON object
      * @param tableAlias SQL alias representing the current table scope
      * @param ctx build context used to ensure alias uniqueness across recursion
+     * @param fieldFilter accepts the names of the fields of this DTO to be included
      * @return SQL expression producing a {@code jsonb} object
      */
-    private String buildJsonExpression(Class<?> dtoType, String tableAlias, BuildContext ctx) {
+    private String buildJsonExpression(
+        Class<?> dtoType, String tableAlias, BuildContext ctx, Predicate<String> fieldFilter) {
         List<Pair> pairs = new ArrayList<>();
 
         boolean defaultColumnsEnabled = isDefaultColumnsEnabled(dtoType);
@@ -277,6 +302,9 @@ public class SqlJsonQueryBuilder {
             if (shouldSkipField(field)) {
                 continue;
             }
+            if (!fieldFilter.test(field.getName())) {
+                continue;
+            }
             if (field.isAnnotationPresent(SqlIgnore.class)) {
                 continue;
             }
@@ -397,7 +425,7 @@ public class SqlJsonQueryBuilder {
         String parentAlias
     ) {
         BuildContext nestedCtx = new BuildContext();
-        String nestedJson = buildJsonExpression(targetType, targetAlias, nestedCtx);
+        String nestedJson = buildJsonExpression(targetType, targetAlias, nestedCtx, fieldName -> true);
 
         return ("""
             (
@@ -462,7 +490,7 @@ public class SqlJsonQueryBuilder {
         String orderBy
     ) {
         BuildContext nestedCtx = new BuildContext();
-        String elementJson = buildJsonExpression(elementType, childAlias, nestedCtx);
+        String elementJson = buildJsonExpression(elementType, childAlias, nestedCtx, fieldName -> true);
 
         String orderByClause = (orderBy == null || orderBy.isBlank())
             ? ""
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import org.springframework.lang.Nullable;
+import org.tctalent.server.model.db.AttachmentType;
+
+/**
+ * A claimed entry from the text_extraction_task queue, together with the details of its
+ * attachment needed to fetch the file.
+ *
+ * @param id Task id
+ * @param attachmentId Id of the candidate attachment whose text is to be extracted
+ * @param candidateId Id of the attachment's candidate
+ * @param type Type of attachment - determines where the file is stored
+ * @param url Url of the file - used for Google files
+ * @param storageKey Storage key of the file - used for GRN (S3) files
+ * @param fileType File type or name, from which the format is determined
+ * @param cv True if the attachment is still a CV
+ * @param attempts Number of times extraction has been attempted, including this one
+ */
+public record TextExtractionTask(long id, long attachmentId, long candidateId,
+                                 @Nullable AttachmentType type, @Nullable String url,
+                                 @Nullable String storageKey, @Nullable String fileType,
+                                 boolean cv, int attempts) {
+
+}
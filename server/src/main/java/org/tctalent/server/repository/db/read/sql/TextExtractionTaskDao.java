@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.tctalent.server.model.db.AttachmentType;
+
+/**
+ * DAO for the text_extraction_task table - the durable queue of CV attachments waiting to have
+ * their text extracted.
+ * <p>
+ * Tasks are claimed with SELECT ... FOR UPDATE SKIP LOCKED, so any number of workers on any
+ * number of servers can take tasks from the queue without coordinating. Claiming a task pushes
+ * its not_before time out by a lease rather than holding a lock or transaction open while the
+ * file is downloaded and parsed. If the worker dies, the task becomes due again when the lease
+ * expires.
+ * </p>
+ * <p>
+ * When extraction completes, the extracted text is stored on the attachment and the
+ * candidate's text (from which the ts_text search column is generated) is recomputed with a
+ * single statement for just that candidate, without loading the candidate entity.
+ * </p>
+ */
+@Repository
+public class TextExtractionTaskDao {
+
+    /**
+     * Recomputes candidate.text for one candidate from its stored job descriptions, CV text
+     * extracts and shareable notes.
+     * Must match {@link org.tctalent.server.model.db.Candidate#updateText()}.
+     */
+    private static final String UPDATE_CANDIDATE_TEXT_SQL = """
+        with new_text as (
+            select c.id,
+                   concat_ws(' || ',
+                       (select case when s ~ '\\S' then s end
+                        from (select string_agg(coalesce(je.description, 'null'), ' || '
+                                  order by je.start_date desc) as s
+                              from candidate_job_experience je
+                              where je.candidate_id = c.id) job),
+                       (select case when s ~ '\\S' then s end
+                        from (select string_agg(coalesce(ca.text_extract, 'null'), ' || '
+                                  order by ca.id) as s
+                              from candidate_attachment ca
+                              where ca.candidate_id = c.id and ca.upload_type = 'cv') cv),
+                       case when c.shareable_notes ~ '\\S' then c.shareable_notes end) as text
+            from candidate c
+            where c.id = ?
+        )
+        update candidate c
+        set text = n.text
+        from new_text n
+        where c.id = n.id and c.text is distinct from n.text
+        """;
+
+    private static final String CLAIM_SQL = """
+        with next as (
+            select id
+            from text_extraction_task
+            where not_before <= now() and attempts < ?
+            order by not_before, id
+            limit 1
+            for update skip locked
+        )
+        update text_extraction_task t
+        set attempts = t.attempts + 1,
+            not_before = now() + ? * interval '1 millisecond'
+        from next, candidate_attachment ca
+        where t.id = next.id and ca.id = t.candidate_attachment_id
+        returning t.id, t.candidate_attachment_id, ca.candidate_id, ca.type, ca.location,
+                  ca.storage_key, ca.file_type, coalesce(ca.upload_type = 'cv', false),
+                  t.attempts
+        """;
+
+    private final JdbcTemplate jdbc;
+
+    public TextExtractionTaskDao(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc.getJdbcTemplate();
+    }
+
+    /**
+     * Queues extraction of the text of the given attachment. If it is already queued, it is
+     * made due immediately with its attempts reset.
+     */
+    public void enqueue(long attachmentId) {
+        jdbc.update("""
+            insert into text_extraction_task (candidate_attachment_id) values (?)
+            on conflict (candidate_attachment_id) do update
+            set attempts = 0, not_before = now(), last_error = null
+            """, attachmentId);
+    }
+
+    /**
+     * Claims the next due task, if any, reserving it for the given lease.
+     *
+     * @param maxAttempts Tasks which have already been attempted this many times are ignored
+     * @param lease How long the task is reserved for the caller
+     * @return Claimed task, or null if there are no due tasks
+     */
+    public @Nullable TextExtractionTask claimNext(int maxAttempts, @NonNull Duration lease) {
+        List<TextExtractionTask> tasks = jdbc.query(CLAIM_SQL,
+            (rs, rowNum) -> {
+                String type = rs.getString(4);
+                return new TextExtractionTask(
+                    rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                    type == null ? null : AttachmentType.valueOf(type),
+                    rs.getString(5), rs.getString(6), rs.getString(7), rs.getBoolean(8),
+                    rs.getInt(9));
+            },
+            maxAttempts, lease.toMillis());
+        return tasks.isEmpty() ? null : tasks.get(0);
+    }
+
+    /**
+     * Stores the extracted text on the task's attachment, recomputes the candidate's text and
+     * removes the task from the queue.
+     * <p>
+     * The text is only stored if the attachment is still a CV - eg it has not been erased since
+     * the task was claimed.
+     * </p>
+     *
+     * @param task Completed task
+     * @param text Extracted text - may be null if there was none
+     * @return True if the candidate's text changed
+     */
+    @Transactional
+    public boolean complete(@NonNull TextExtractionTask task, @Nullable String text) {
+        int updated = jdbc.update(
+            "update candidate_attachment set text_extract = ? where id = ? and upload_type = 'cv'",
+            text, task.attachmentId());
+        boolean candidateTextChanged = updated > 0
+            && jdbc.update(UPDATE_CANDIDATE_TEXT_SQL, task.candidateId()) > 0;
+        delete(task.id());
+        return candidateTextChanged;
+    }
+
+    /**
+     * Records a failed attempt. The task is retried after the given delay unless it has used up
+     * its attempts.
+     */
+    public void fail(long taskId, @NonNull String error, @NonNull Duration retryDelay) {
+        jdbc.update("""
+            update text_extraction_task
+            set last_error = ?, not_before = now() + ? * interval '1 millisecond'
+            where id = ?
+            """, error, retryDelay.toMillis(), taskId);
+    }
+
+    /**
+     * Records a failure which retrying will not fix. The task is left in the queue, for
+     * diagnosis, but is never claimed again.
+     */
+    public void abandon(long taskId, @NonNull String error, int maxAttempts) {
+        jdbc.update("""
+            update text_extraction_task
+            set last_error = ?, attempts = greatest(attempts, ?)
+            where id = ?
+            """, error, maxAttempts, taskId);
+    }
+
+    /**
+     * Removes a task from the queue.
+     */
+    public void delete(long taskId) {
+        jdbc.update("delete from text_extraction_task where id = ?", taskId);
+    }
+}
@@ -66,6 +66,18 @@ public class PagedSearchRequest {
      */
     private String[] sortFields;
 
+    /**
+     * If non-null, the "nextCursor" returned with the previous page of results. Where supported
+     * (candidate searches), the page is then fetched by seeking to the candidates after that
+     * cursor rather than by skipping pageNumber * pageSize results - which gets slower the
+     * further through the results you go. pageNumber should still be supplied - it is returned
+     * as the page number.
+     * <p/>
+     * The sort must be the same as for the previous page. Leave null to jump to any page.
+     */
+    @Nullable
+    private String cursor;
+
     public PagedSearchRequest(Sort.Direction sortDirection, String[] sortFields) {
         this.sortDirection = sortDirection;
         this.sortFields = sortFields;
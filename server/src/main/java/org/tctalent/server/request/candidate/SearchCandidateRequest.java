@@ -127,6 +127,10 @@ public class SearchCandidateRequest extends PagedSearchRequest {
         setPageSize(request.getPageSize());
         setSortDirection(request.getSortDirection());
         setSortFields(request.getSortFields());
+        setCursor(request.getCursor());
+
+        //Copy across the type of DTO required so that only the data needed is fetched
+        setDtoType(request.getDtoType());
     }
 }
 
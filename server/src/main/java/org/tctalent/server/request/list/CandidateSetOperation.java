@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.request.list;
+
+/**
+ * Operations which combine sets of candidates - see {@link CandidateSetRequest}
+ */
+public enum CandidateSetOperation {
+  /**
+   * Candidates in any of the sets
+   */
+  union,
+
+  /**
+   * Candidates in all of the sets
+   */
+  intersection,
+
+  /**
+   * Candidates in the first set who are not in any of the other sets
+   */
+  difference
+}
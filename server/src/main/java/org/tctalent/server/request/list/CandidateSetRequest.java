@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.request.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.lang.Nullable;
+
+/**
+ * Request defining a set of candidates by combining the candidates of saved lists and saved
+ * searches with an operation - union, intersection or difference.
+ * <p/>
+ * Sets can be nested, so for example "in list 1 or list 2, but not in list 3" is a difference
+ * whose first set is the union of lists 1 and 2 and whose second set is list 3.
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class CandidateSetRequest {
+
+  /**
+   * Operation combining the sets
+   */
+  private CandidateSetOperation operation;
+
+  /**
+   * Sets being combined. The order only matters for a difference, where the candidates
+   * of the other sets are removed from the first set.
+   */
+  private List<CandidateSet> sets = new ArrayList<>();
+
+  public CandidateSetRequest(CandidateSetOperation operation, List<CandidateSet> sets) {
+    this.operation = operation;
+    this.sets = sets;
+  }
+
+  /**
+   * One of the sets being combined. Exactly one of the fields should be specified.
+   */
+  @Getter
+  @Setter
+  @ToString
+  @NoArgsConstructor
+  public static class CandidateSet {
+    /**
+     * Candidates in this saved list
+     */
+    @Nullable
+    private Long savedListId;
+
+    /**
+     * Candidates matching this saved search
+     */
+    @Nullable
+    private Long savedSearchId;
+
+    /**
+     * Candidates in this combination of other sets
+     */
+    @Nullable
+    private CandidateSetRequest combination;
+
+    public static CandidateSet ofList(long savedListId) {
+      CandidateSet set = new CandidateSet();
+      set.setSavedListId(savedListId);
+      return set;
+    }
+
+    public static CandidateSet ofSearch(long savedSearchId) {
+      CandidateSet set = new CandidateSet();
+      set.setSavedSearchId(savedSearchId);
+      return set;
+    }
+
+    public static CandidateSet of(CandidateSetRequest combination) {
+      CandidateSet set = new CandidateSet();
+      set.setCombination(combination);
+      return set;
+    }
+  }
+}
@@ -16,36 +16,59 @@
 
 package org.tctalent.server.service.db;
 
-import java.util.List;
 import org.tctalent.server.util.background.BackProcessor;
-import org.tctalent.server.util.background.PageContext;
+import org.tctalent.server.util.background.IdContext;
 
 /**
  * Service for creating background processors
  */
 public interface BackgroundProcessingService {
 
-  /**
-   * Creates a back processor to handle processing of potential duplicate candidates.
-   */
-  BackProcessor<PageContext> createPotentialDuplicatesBackProcessor(List<Long> candidateIds);
-
   /**
    * Daily check for candidates who may have more than one profile based on identical first name AND
    * last name AND DOB - sets potentialDuplicate to true. Can also be triggered manually from
    * SystemAdminApi stub.
    * <p>
    *   Calls {@link CandidateService#cleanUpResolvedDuplicates()} which sets same property to
-   *   false if previously flagged candidates no longer meet the criteria.
+   *   false if previously flagged candidates no longer meet the criteria, then
+   *   {@link CandidateService#markPotentialDuplicates()}.
    * </p>
    */
   void processPotentialDuplicateCandidates();
 
   /**
-   * Creates a background processor and obtains candidate list and sets parameters for its
-   * scheduled operations.
+   * Creates a back processor which recomputes the cached JSON of candidates whose
+   * data_version has changed since their JSON was cached, in candidate id order.
+   */
+  BackProcessor<IdContext> createCandidateJsonCacheWarmingBackProcessor();
+
+  /**
+   * Scheduled background refresh of cached candidate JSON which has been made stale by
+   * candidate changes (ie data_version bumps), so that the next reader of those candidates
+   * does not pay for recomputing it.
+   * <p>
+   *   Does nothing if a previous refresh is still running on this server.
+   * </p>
+   */
+  void warmCandidateJsonCache();
+
+  /**
+   * Scheduled incremental refresh of the candidate stats rollup, applying changes to
+   * candidates since the last refresh.
+   * <p>
+   *   Does nothing if tc.stats.rollup.enabled is false.
+   * </p>
+   */
+  void refreshCandidateStatsRollup();
+
+  /**
+   * Nightly rebuild of the candidate stats rollup from scratch, picking up any changes
+   * which are not reflected in candidate data versions (eg changes to test candidates).
+   * <p>
+   *   Does nothing if tc.stats.rollup.enabled is false.
+   * </p>
    */
-  void initiateDuplicateProcessing();
+  void rebuildCandidateStatsRollup();
 
   /**
    * Adds publicID to any candidate that doesn't have one
@@ -23,6 +23,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.lang.NonNull;
 import org.tctalent.server.exception.NoSuchObjectException;
 import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
 
 /**
  * Service interface for fetching Candidate DTOs from the database.
@@ -44,6 +45,10 @@ public interface CandidateDtoFetchService {
      * Fetches a page of Candidate DTOs from the database by executing the given SQL queries.
      * @param fetchIdsSql Sql which just returns the ids (and possible ranks) of the candidates
      *                    to be fetched
+     * <p>
+     *     Depending on tc.search.candidate.count configuration, the page's total may be a
+     *     recently cached or estimated count rather than the result of running countSql.
+     * </p>
      * @param countSql Sql which returns the total number of candidates matching the query
      * @param pageRequest Page request specifying the page number and page size and sort (if any).
      * @return Page of Candidate DTOs
@@ -51,6 +56,40 @@ public interface CandidateDtoFetchService {
     Page<CandidateReadDto> fetchPage(
         String fetchIdsSql, String countSql, @NonNull PageRequest pageRequest);
 
+    /**
+     * Fetches a page of Candidate DTOs, only populated with the fields of the given projection.
+     * @param fetchIdsSql Sql which just returns the ids (and possible ranks) of the candidates
+     *                    to be fetched
+     * @param countSql Sql which returns the total number of candidates matching the query
+     * @param pageRequest Page request specifying the page number and page size and sort (if any).
+     * @param projection Candidate fields required. Fields not in the projection will be null.
+     * @return Page of Candidate DTOs
+     */
+    Page<CandidateReadDto> fetchPage(String fetchIdsSql, String countSql,
+        @NonNull PageRequest pageRequest, @NonNull CandidateJsonProjection projection);
+
+    /**
+     * Fetches a page of Candidate DTOs, only populated with the fields of the given projection,
+     * optionally using keyset paging.
+     * <p>
+     *     The returned page is a {@link org.tctalent.server.util.CursorPage} whose next cursor
+     *     (if any) can be used to fetch the following page using keyset paging.
+     * </p>
+     * @param fetchIdsSql Sql which just returns the ids (and possible ranks) of the candidates
+     *                    to be fetched
+     * @param countSql Sql which returns the total number of candidates matching the query
+     * @param pageRequest Page request specifying the page number and page size and sort (if any).
+     * @param projection Candidate fields required. Fields not in the projection will be null.
+     * @param keyset True if fetchIdsSql has already been restricted to the candidates after a
+     *               cursor (see {@link org.tctalent.server.util.CandidateSearchUtils#buildKeysetClause}),
+     *               in which case the page is the first pageSize results rather than the
+     *               results at the page request's offset.
+     * @return Page of Candidate DTOs
+     */
+    Page<CandidateReadDto> fetchPage(String fetchIdsSql, String countSql,
+        @NonNull PageRequest pageRequest, @NonNull CandidateJsonProjection projection,
+        boolean keyset);
+
     /**
      * Fetches Candidate DTOs into a Map of ids to CandidateReadDto objects
      * for the given candidate IDs.
@@ -62,4 +101,31 @@ public interface CandidateDtoFetchService {
     @NonNull
     Map<Long, CandidateReadDto> fetchByIds(Collection<Long> ids) throws NoSuchObjectException;
 
+    /**
+     * Fetches Candidate DTOs, only populated with the fields of the given projection,
+     * into a Map of ids to CandidateReadDto objects for the given candidate IDs.
+     *
+     * @param ids Ids of candidates to be fetched
+     * @param projection Candidate fields required. Fields not in the projection will be null.
+     * @return Map of candidate ids to CandidateDTOs
+     * @throws NoSuchObjectException if any of the ids are bad - ie do not correspond a candidate.
+     */
+    @NonNull
+    Map<Long, CandidateReadDto> fetchByIds(
+        Collection<Long> ids, @NonNull CandidateJsonProjection projection)
+        throws NoSuchObjectException;
+
+    /**
+     * Recomputes the cached JSON of the given candidates, storing it in the shared
+     * (Postgres and Redis) caches so that subsequent reads do not have to.
+     * <p>
+     *     Intended for background warming of the cache after candidates change. Unlike
+     *     {@link #fetchByIds}, bad ids are ignored rather than causing an exception.
+     * </p>
+     *
+     * @param ids Ids of candidates whose cached JSON should be refreshed
+     * @return Number of candidates whose JSON was refreshed
+     */
+    int refreshCachedJson(Collection<Long> ids);
+
 }
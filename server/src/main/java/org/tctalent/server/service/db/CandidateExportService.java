@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db;
+
+import java.io.PrintWriter;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.tctalent.server.exception.ExportFailedException;
+
+/**
+ * Streams candidates to CSV.
+ * <p>
+ *     Used by the search and list CSV exports. Candidates are read in a single pass over a
+ *     server-side cursor, rather than by running a search for every page of the export.
+ * </p>
+ */
+public interface CandidateExportService {
+
+    /**
+     * Writes the candidates returned by the given SQL to the given writer as CSV, in the order
+     * returned by the SQL.
+     *
+     * @param fetchIdsSql Sql which returns the ids (and any sort fields) of the candidates to be
+     *                    exported. Typically ordered.
+     * @param sort Sort used to generate the SQL - used to interpret its results.
+     * @param contextSavedListId If not null, context notes are taken from this list
+     * @param writer Writer to which the CSV is written. It is closed on return.
+     * @return Number of candidates exported
+     * @throws ExportFailedException if there is an error writing the CSV
+     */
+    long exportToCsv(String fetchIdsSql, Sort sort, @Nullable Long contextSavedListId,
+        PrintWriter writer) throws ExportFailedException;
+}
@@ -21,7 +21,6 @@ import jakarta.persistence.PersistenceException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotNull;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
@@ -35,7 +34,6 @@ import org.springframework.web.reactive.function.client.WebClientException;
 import org.tctalent.server.exception.CountryRestrictionException;
 import org.tctalent.server.exception.CvGenerationException;
 import org.tctalent.server.exception.EntityReferencedException;
-import org.tctalent.server.exception.ExportFailedException;
 import org.tctalent.server.exception.InvalidRequestException;
 import org.tctalent.server.exception.InvalidSessionException;
 import org.tctalent.server.exception.NoSuchObjectException;
@@ -47,9 +45,11 @@ import org.tctalent.server.model.db.CvFormat;
 import org.tctalent.server.model.db.DataRow;
 import org.tctalent.server.model.db.Gender;
 import org.tctalent.server.model.db.SavedList;
+import org.tctalent.server.model.db.User;
 import org.tctalent.server.model.db.partner.Partner;
 import org.tctalent.server.model.db.task.QuestionTaskAssignment;
 import org.tctalent.server.repository.db.CandidateRepository;
+import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
 import org.tctalent.server.request.LoginRequest;
 import org.tctalent.server.request.RegisterCandidateByPartnerRequest;
 import org.tctalent.server.request.candidate.CandidateEmailPhoneOrWhatsappSearchRequest;
@@ -381,9 +381,6 @@ public interface CandidateService {
 
     void setPublicIds(List<Candidate> candidates);
 
-    void exportToCsv(SavedList savedList, SavedListGetRequest request, PrintWriter writer)
-            throws ExportFailedException;
-
     List<DataRow> computeGenderStats(LocalDate dateFrom, LocalDate dateTo, List<Long> sourceCountryIds);
     List<DataRow> computeGenderStats(LocalDate dateFrom, LocalDate dateTo, Set<Long> candidateIds, List<Long> sourceCountryIds);
 
@@ -621,6 +618,19 @@ public interface CandidateService {
      */
     String[] getExportCandidateStrings(Candidate candidate);
 
+    /**
+     * As {@link #getExportCandidateStrings(Candidate)} but for a candidate read DTO, which must
+     * contain at least the fields of
+     * {@link org.tctalent.server.repository.db.read.sql.CandidateJsonProjection#EXPORT}.
+     * <p/>
+     * The user is passed in so that it is only looked up once for a whole export.
+     *
+     * @param loggedInUser user doing the export, whose role determines what is visible
+     * @param candidate candidate to convert
+     * @return ordered column values for one exported CSV row
+     */
+    String[] getExportCandidateStrings(User loggedInUser, CandidateReadDto candidate);
+
     /**
      * Returns the CSV export header row for candidate exports.
      *
@@ -681,21 +691,19 @@ public interface CandidateService {
     List<Candidate> fetchPotentialDuplicatesOfCandidateWithGivenId(@NotNull Long candidateId);
 
     /**
-     * Takes a page of potentially duplicated candidates and if not already true, sets their
-     * potentialDuplicate property to true and saves them to DB. annotated @Transactional to
-     * rollback incomplete confusing results.
+     * Sets the potentialDuplicate property to true on all candidates which have the same first
+     * name AND last name and DOB as another candidate, using a single set based update.
      * <p>
      *   NB: currently not saving to ES - would need to be amended if we decide to index this property.
      * </p>
-     * @param candidatePage page of potential duplicate candidates to be processed
      */
-    void processPotentialDuplicatePage(Page<Candidate> candidatePage);
+    void markPotentialDuplicates();
 
     /**
      * If admins have not deliberately refreshed results for a candidate whose duplicated versions
      * have been marked deleted, their potentialDuplicates value would remain true - this component
-     * of the duplicate processing fixes that by comparing with previously flagged candidates.
-     * Again, annotated @Transactional to rollback incomplete confusing results.
+     * of the duplicate processing fixes that by clearing the flag on previously flagged candidates
+     * which no longer have any duplicates.
      */
     void cleanUpResolvedDuplicates();
 
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db;
+
+import java.util.Set;
+import org.springframework.lang.NonNull;
+import org.tctalent.server.exception.InvalidRequestException;
+import org.tctalent.server.exception.NoSuchObjectException;
+import org.tctalent.server.request.list.CandidateSetRequest;
+
+/**
+ * Set algebra - union, intersection and difference - over the candidates of saved lists and
+ * saved searches.
+ * <p>
+ * Sets are combined in the database, as a single SQL statement, rather than by loading the
+ * candidates (or their ids) of each list and search and combining them in memory.
+ * </p>
+ */
+public interface CandidateSetService {
+
+    /**
+     * Returns the ids of the candidates in the set defined by the given request.
+     * @param request Defines the set of candidates
+     * @return Candidate ids (NOT candidateNumbers)
+     * @throws NoSuchObjectException if a saved list or saved search in the request does not exist
+     * @throws InvalidRequestException if the request does not define a set
+     */
+    @NonNull
+    Set<Long> fetchCandidateIds(CandidateSetRequest request)
+        throws NoSuchObjectException, InvalidRequestException;
+
+    /**
+     * Adds the candidates in the set defined by the given request to the given saved list.
+     * Candidates who are already in the list are ignored.
+     * <p/>
+     * See {@link SavedListService#mergeCandidateSet}.
+     * @param savedListId ID of list to add to
+     * @param request Defines the set of candidates
+     * @throws NoSuchObjectException if the list, or a saved list or saved search in the request,
+     * does not exist
+     * @throws InvalidRequestException if the request does not define a set
+     */
+    void addCandidatesToList(long savedListId, CandidateSetRequest request)
+        throws NoSuchObjectException, InvalidRequestException;
+}
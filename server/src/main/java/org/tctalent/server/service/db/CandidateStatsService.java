@@ -19,6 +19,8 @@ package org.tctalent.server.service.db;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.tctalent.server.model.db.DataRow;
 import org.tctalent.server.model.db.Gender;
@@ -192,4 +194,23 @@ public interface CandidateStatsService {
         @Nullable Set<Long> candidateIds, @Nullable List<Long> sourceCountryIds,
         @Nullable String constraint);
 
+    /**
+     * Runs the given stats computations constrained to the given candidate ids, shipping those
+     * ids to the database only once.
+     * <p/>
+     * Passing a large set of candidate ids to each of the individual compute methods above
+     * sends the whole id set to the database again for every stat. Instead, this method loads
+     * the ids once into a temporary table for the duration of a single transaction, and
+     * passes the computations a SQL constraint which selects from that table. All stats
+     * computed inside the given function, using that constraint (and null candidateIds), are
+     * therefore computed against the same id set in one pass and returned together.
+     * @param candidateIds Ids of candidates to be counted
+     * @param stats Function which computes the stats, given a SQL constraint that can be
+     *              passed as the constraint parameter of the compute methods above.
+     * @return Whatever is returned by the stats function
+     * @param <T> Type of the stats result
+     */
+    <T> T computeForCandidateIds(
+        @NonNull Set<Long> candidateIds, @NonNull Function<String, T> stats);
+
 }
@@ -18,6 +18,7 @@ package org.tctalent.server.service.db;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PrintWriter;
 import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.Set;
@@ -26,6 +27,8 @@ import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.web.reactive.function.client.WebClientException;
 import org.tctalent.server.exception.EntityExistsException;
+import org.tctalent.server.exception.ExportFailedException;
+import org.tctalent.server.exception.InvalidRequestException;
 import org.tctalent.server.exception.NoSuchObjectException;
 import org.tctalent.server.exception.RegisteredListException;
 import org.tctalent.server.exception.SalesforceException;
@@ -86,7 +89,13 @@ public interface SavedListService {
         @Nullable SavedList sourceList);
 
     /**
-     * See {@link #addCandidateToList} - except that this adds multiple candidates
+     * See {@link #addCandidateToList} - except that this adds multiple candidates, processing
+     * them in bulk rather than one at a time.
+     * <p/>
+     * If the destination is a submission list and any of the new candidates have not accepted
+     * the latest terms, none of the candidates are added.
+     * @throws InvalidRequestException naming all candidates who cannot be added to a
+     * submission list because they have not accepted the latest terms
      */
     void addCandidatesToList(@NonNull SavedList destinationList, @NonNull Iterable<Candidate> candidates,
         @Nullable SavedList sourceList);
@@ -308,6 +317,18 @@ public interface SavedListService {
     Page<CandidateReadDto> getSavedListCandidateDtos(
         @NonNull SavedList savedList, SavedListGetRequest request);
 
+    /**
+     * Writes the candidates in the given list, filtered and sorted according to the given
+     * request, to the given writer as CSV.
+     * @param savedList Saved list whose candidates are to be exported
+     * @param request Defines which candidates to export (if not all) and their order. Any page
+     *                request is ignored - all matching candidates are exported.
+     * @param writer Writer to which the CSV is written
+     * @throws ExportFailedException if there is an error writing the CSV
+     */
+    void exportToCsv(@NonNull SavedList savedList, SavedListGetRequest request, PrintWriter writer)
+        throws ExportFailedException;
+
     /**
      * Returns true if there are no candidates in the list
      * @param id ID of list
@@ -358,6 +379,22 @@ public interface SavedListService {
     void mergeSavedList(long savedListId, UpdateExplicitSavedListContentsRequest request)
         throws NoSuchObjectException;
 
+    /**
+     * Merge the contents of the SavedList with the given id with the candidates selected by
+     * the given SQL.
+     * <p/>
+     * Unless the list has tasks or is a submission list, the candidates are added with a single
+     * INSERT ... SELECT statement, without loading them.
+     * @param savedListId ID of saved list to be updated
+     * @param candidateSetSql SQL selecting the ids of the candidates to be added - as built by
+     *                        {@link org.tctalent.server.repository.db.read.sql.CandidateSetDao}
+     * @param sourceListId If not null, the context notes of the candidates in this list are
+     *                     copied across
+     * @throws NoSuchObjectException if there is no saved list with this id, or no source list
+     */
+    void mergeCandidateSet(long savedListId, String candidateSetSql, @Nullable Long sourceListId)
+        throws NoSuchObjectException;
+
     /**
      * Merge the contents of the SavedList with the given id with the
      * candidates whose candidate numbers (NOT ids) or publicIds appear in the given input stream.
@@ -20,7 +20,10 @@ import jakarta.validation.constraints.NotNull;
 import java.io.PrintWriter;
 import java.util.List;
 import java.util.Set;
+import java.util.function.LongConsumer;
 import org.springframework.data.domain.Page;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.tctalent.server.exception.EntityExistsException;
 import org.tctalent.server.exception.ExportFailedException;
 import org.tctalent.server.exception.InvalidRequestException;
@@ -126,16 +129,61 @@ public interface SavedSearchService {
     /**
      * Returns a set of the ids of all candidates matching the given saved search.
      * <p/>
-     * WARNING: This method clears the JPA persistence context by calling entityManager.clear().
+     * Only ids are fetched - no candidate entities are loaded - so this works on searches
+     * matching any number of candidates. See {@link #streamCandidateIds}.
      *
      * @param savedSearchId ID of saved search
      * @return Candidate ids (NOT candidateNumbers) of candidates matching search
      * @throws NoSuchObjectException if no saved search exists with given id.
-     * @throws InvalidRequestException if we exceed the limit on the maximum number of candidates.
      */
     @NotNull
-    Set<Long> searchCandidates(long savedSearchId)
-        throws NoSuchObjectException, InvalidRequestException;
+    Set<Long> searchCandidates(long savedSearchId) throws NoSuchObjectException;
+
+    /**
+     * Passes the ids of all candidates matching the given saved search to the given consumer,
+     * in no particular order.
+     * <p/>
+     * Ids are streamed from the database a batch at a time, so neither candidate entities nor
+     * the complete set of ids need to be held in memory.
+     *
+     * @param savedSearchId ID of saved search
+     * @param consumer Called with the id of each matching candidate
+     * @return Number of candidate ids streamed
+     * @throws NoSuchObjectException if no saved search exists with given id.
+     */
+    long streamCandidateIds(long savedSearchId, @NonNull LongConsumer consumer)
+        throws NoSuchObjectException;
+
+    /**
+     * Returns native SQL selecting the ids of all candidates matching the given saved search,
+     * unordered - as used by {@link #streamCandidateIds}. The SQL can be combined with other
+     * candidate id SQL - see {@link org.tctalent.server.repository.db.read.sql.CandidateSetDao}.
+     *
+     * @param savedSearchId ID of saved search
+     * @return SQL selecting a single column of candidate ids
+     * @throws NoSuchObjectException if no saved search exists with given id.
+     */
+    @NonNull
+    String extractCandidateIdsSQL(long savedSearchId) throws NoSuchObjectException;
+
+    /**
+     * Returns the ids of up to limit candidates matching the given search request whose ids
+     * are greater than afterId, in ascending id order.
+     * <p/>
+     * This supports keyset paging through all the candidates matching a search: each call
+     * seeks straight to the next ids on the candidate primary key rather than skipping the
+     * candidates on earlier pages, and no count query is run.
+     * <p/>
+     * Note that the sort and cursor of the request are replaced.
+     *
+     * @param request Request specifying which candidates to return
+     * @param afterId Only return ids greater than this. If null, start from the first candidate.
+     * @param limit Maximum number of ids to return
+     * @return Candidate ids in ascending order - fewer than limit means there are no more.
+     */
+    @NonNull
+    List<Long> fetchCandidateIdsAfter(
+        SearchCandidateRequest request, @Nullable Long afterId, int limit);
 
     void setCandidateContext(long savedSearchId, Iterable<Candidate> candidates);
 
@@ -18,6 +18,7 @@ package org.tctalent.server.service.db;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
@@ -60,6 +61,25 @@ public interface TaskAssignmentService {
         User user, TaskImpl task, Candidate candidate, @Nullable SavedList relatedList,
         @Nullable LocalDate dueDate);
 
+    /**
+     * Bulk version of {@link #assignTaskToCandidate} which assigns the given task to each of the
+     * given candidates who do not already have it actively assigned.
+     * <p/>
+     * Existing assignments are checked with a single query and the new task assignments are
+     * saved together, rather than one at a time. Due dates default to the task's days to
+     * complete from today.
+     *
+     * @param user      - User who made assignment
+     * @param task      - Task to be assigned
+     * @param candidates - Candidates to be assigned the task
+     * @param relatedList - If not null, indicates that the assignments are related to the given
+     *                    list
+     * @return Newly created task assignments - candidates who already had the task actively
+     * assigned do not get a new assignment
+     */
+    List<TaskAssignmentImpl> assignTaskToCandidates(
+        User user, TaskImpl task, Collection<Candidate> candidates, @Nullable SavedList relatedList);
+
     /**
      * Get the TaskAssignment with the given id.
      *
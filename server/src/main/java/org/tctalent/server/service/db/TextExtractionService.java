@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db;
+
+import org.springframework.lang.NonNull;
+import org.tctalent.server.model.db.CandidateAttachment;
+
+/**
+ * Background extraction of the text of uploaded CVs.
+ * <p>
+ * Extraction is queued in the text_extraction_task table and performed by a bounded pool of
+ * worker threads on each server, so that uploads do not wait for PDFBox or POI to parse the
+ * file. Once a CV's text has been extracted it is stored on the attachment and the candidate's
+ * searchable text is recomputed.
+ * </p>
+ */
+public interface TextExtractionService {
+
+    /**
+     * Queues extraction of the text of the given attachment, which must have been saved.
+     * <p>
+     * Workers are woken once the current transaction, if any, commits - so that they can see
+     * the attachment.
+     * </p>
+     *
+     * @param attachment CV attachment whose text is to be extracted
+     */
+    void queueExtraction(@NonNull CandidateAttachment attachment);
+
+    /**
+     * Extracts text from queued attachments on the calling thread until there are no more due.
+     *
+     * @return Number of tasks processed
+     */
+    int processQueuedExtractions();
+
+    /**
+     * Scheduled poll which wakes this server's workers to process any due tasks - eg tasks
+     * queued while a server was restarting, or failed extractions which are due a retry.
+     * <p>
+     *   No scheduler lock is needed: tasks are claimed with SKIP LOCKED so workers on
+     *   different servers never process the same task.
+     * </p>
+     */
+    void pollQueuedExtractions();
+}
@@ -16,6 +16,8 @@
 
 package org.tctalent.server.service.db.cache;
 
+import java.util.Collection;
+
 /**
  * Service interface for cache management.
  * <p>
@@ -31,4 +33,11 @@ public interface CacheService {
    */
   void flushUserCache();
 
+  /**
+   * Evicts just the given users from the "users" cache.
+   *
+   * @param usernames Usernames of the users to evict - null usernames are ignored
+   */
+  void evictUsers(Collection<String> usernames);
+
 }
@@ -16,6 +16,7 @@
 
 package org.tctalent.server.service.db.cache;
 
+import java.util.Collection;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
@@ -40,4 +41,16 @@ public class CacheServiceImpl implements CacheService {
     // This method will remove all entries in the "users" cache
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The usernames are evicted as a single {@link UserCacheKeys} key - see {@link UserCache}.
+   * </p>
+   */
+  @CacheEvict(value = "users", key = "T(org.tctalent.server.service.db.cache.UserCacheKeys).of(#p0)")
+  @Override
+  public void evictUsers(Collection<String> usernames) {
+    // This method will remove the given users from the "users" cache
+  }
+
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Decorates the "users" cache so that entries can be evicted by {@link UserCacheKeys}.
+ * <p>
+ * Evicting a {@link UserCacheKeys} key evicts each of its usernames from the underlying cache,
+ * or clears the cache for {@link UserCacheKeys#ALL}. Any other key is passed straight through.
+ * All other operations are delegated unchanged.
+ * </p>
+ * <p>
+ * The cache is backed by Redis, which is shared by all servers, so an eviction on one server
+ * is seen by every server.
+ * </p>
+ * <p>
+ * Evicted entries are counted in {@value #INVALIDATIONS_METRIC}, tagged with scope "key" for
+ * individual users or "all" for whole cache clears. Hit/miss counts (and so the hit ratio) are
+ * published by the underlying cache's own statistics.
+ * </p>
+ */
+public class UserCache implements Cache {
+
+  public static final String NAME = "users";
+
+  static final String INVALIDATIONS_METRIC = "tc.cache.users.invalidations";
+
+  private final Cache delegate;
+  private final Counter keyInvalidations;
+  private final Counter allInvalidations;
+
+  public UserCache(@NonNull Cache delegate, @NonNull MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.keyInvalidations = Counter.builder(INVALIDATIONS_METRIC)
+        .description("Entries evicted from the users cache")
+        .tag("scope", "key")
+        .register(meterRegistry);
+    this.allInvalidations = Counter.builder(INVALIDATIONS_METRIC)
+        .description("Entries evicted from the users cache")
+        .tag("scope", "all")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void evict(@NonNull Object key) {
+    if (key instanceof UserCacheKeys keys) {
+      if (keys.isAll()) {
+        clear();
+      } else {
+        for (String username : keys.getUsernames()) {
+          delegate.evict(username);
+        }
+        keyInvalidations.increment(keys.getUsernames().size());
+      }
+    } else {
+      delegate.evict(key);
+      keyInvalidations.increment();
+    }
+  }
+
+  @Override
+  public boolean evictIfPresent(@NonNull Object key) {
+    if (key instanceof UserCacheKeys) {
+      evict(key);
+      return false;
+    }
+    keyInvalidations.increment();
+    return delegate.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+    allInvalidations.increment();
+  }
+
+  @Override
+  public boolean invalidate() {
+    allInvalidations.increment();
+    return delegate.invalidate();
+  }
+
+  @Override
+  public @NonNull String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public @NonNull Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  public @Nullable ValueWrapper get(@NonNull Object key) {
+    return delegate.get(key);
+  }
+
+  @Override
+  @Nullable
+  public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+    return delegate.get(key, type);
+  }
+
+  @Override
+  @Nullable
+  public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+    return delegate.get(key, valueLoader);
+  }
+
+  @Override
+  public @Nullable CompletableFuture<?> retrieve(@NonNull Object key) {
+    return delegate.retrieve(key);
+  }
+
+  @Override
+  @NonNull
+  public <T> CompletableFuture<T> retrieve(
+      @NonNull Object key, @NonNull Supplier<CompletableFuture<T>> valueLoader) {
+    return delegate.retrieve(key, valueLoader);
+  }
+
+  @Override
+  public void put(@NonNull Object key, @Nullable Object value) {
+    delegate.put(key, value);
+  }
+
+  @Override
+  public @Nullable ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+    return delegate.putIfAbsent(key, value);
+  }
+}
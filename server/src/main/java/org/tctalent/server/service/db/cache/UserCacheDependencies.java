@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.Hibernate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.model.db.Employer;
+import org.tctalent.server.model.db.PartnerImpl;
+import org.tctalent.server.model.db.SavedList;
+import org.tctalent.server.model.db.SavedSearch;
+import org.tctalent.server.model.db.User;
+
+/**
+ * Works out which entries of the "users" cache are affected by changes to entities which are
+ * part of, or related to, the cached users - so that just those entries are evicted rather than
+ * the whole cache.
+ * <p>
+ * Used from the {@code @CacheEvict} annotations of
+ * {@link org.tctalent.server.repository.db.CacheEvictingRepository}, eg
+ * <pre>
+ * &#64;CacheEvict(value = "users", key = "&#64;userCacheDependencies.keysFor(#p0)")
+ * </pre>
+ * Dependencies are:
+ * <ul>
+ *   <li>User - the user, under both its current username and the username it was loaded
+ *   with</li>
+ *   <li>Candidate - the candidate's user, as for User</li>
+ *   <li>Partner - the users belonging to the partner</li>
+ *   <li>Employer - the users belonging to the employer's partners</li>
+ *   <li>Saved list or search - the users it is shared with. That is both the users recorded
+ *   in the database and any users in its (loaded) users collection, so that users being
+ *   added or removed are both covered.</li>
+ * </ul>
+ * Anything else, for example a country which may appear in the data of any number of
+ * users, evicts the whole cache.
+ * </p>
+ */
+@Component
+public class UserCacheDependencies {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public UserCacheDependencies(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Returns the keys of the cached users affected by changes to the given entity, or to each
+   * of the entities if given an Iterable of entities.
+   */
+  public @NonNull UserCacheKeys keysFor(@Nullable Object entities) {
+    if (entities == null) {
+      return UserCacheKeys.NONE;
+    }
+
+    List<String> usernames = new ArrayList<>();
+    Set<Long> partnerIds = new HashSet<>();
+    Set<Long> employerIds = new HashSet<>();
+    Set<Long> savedListIds = new HashSet<>();
+    Set<Long> savedSearchIds = new HashSet<>();
+
+    Iterable<?> items = entities instanceof Iterable<?> iterable ? iterable : List.of(entities);
+    for (Object entity : items) {
+      if (entity instanceof User user) {
+        addUsername(usernames, user);
+      } else if (entity instanceof Candidate candidate) {
+        final User user = candidate.getUser();
+        if (user != null) {
+          addUsername(usernames, user);
+        }
+      } else if (entity instanceof PartnerImpl partner) {
+        addId(partnerIds, partner.getId());
+      } else if (entity instanceof Employer employer) {
+        addId(employerIds, employer.getId());
+      } else if (entity instanceof SavedList savedList) {
+        addId(savedListIds, savedList.getId());
+        addUsernames(usernames, savedList.getUsers());
+      } else if (entity instanceof SavedSearch savedSearch) {
+        addId(savedSearchIds, savedSearch.getId());
+        addUsernames(usernames, savedSearch.getUsers());
+      } else {
+        return UserCacheKeys.ALL;
+      }
+    }
+
+    usernames.addAll(findUsernames(
+        "select username from users where partner_id = any(?)", partnerIds));
+    usernames.addAll(findUsernames(
+        "select u.username from users u join partner p on p.id = u.partner_id"
+            + " where p.employer_id = any(?)", employerIds));
+    usernames.addAll(findUsernames(
+        "select u.username from users u join user_saved_list s on s.user_id = u.id"
+            + " where s.saved_list_id = any(?)", savedListIds));
+    usernames.addAll(findUsernames(
+        "select u.username from users u join user_saved_search s on s.user_id = u.id"
+            + " where s.saved_search_id = any(?)", savedSearchIds));
+
+    return UserCacheKeys.of(usernames);
+  }
+
+  /**
+   * Adds the user's username and, if it has been renamed since it was loaded, its old username
+   * - whose cache entry would otherwise carry on authenticating the old login.
+   */
+  private static void addUsername(List<String> usernames, User user) {
+    usernames.add(user.getUsername());
+    final String loadedUsername = user.loadedUsername();
+    if (loadedUsername != null && !loadedUsername.equalsIgnoreCase(user.getUsername())) {
+      usernames.add(loadedUsername);
+    }
+  }
+
+  private static void addId(Set<Long> ids, @Nullable Long id) {
+    //Unsaved entities can't yet be related to any users
+    if (id != null) {
+      ids.add(id);
+    }
+  }
+
+  private static void addUsernames(List<String> usernames, Collection<User> users) {
+    //Don't load the users just to evict them - the database query covers saved sharing
+    if (Hibernate.isInitialized(users)) {
+      for (User user : users) {
+        usernames.add(user.getUsername());
+      }
+    }
+  }
+
+  private List<String> findUsernames(String sql, Set<Long> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.queryForList(sql, String.class, (Object) ids.toArray(new Long[0]));
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.cache;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import lombok.EqualsAndHashCode;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Identifies the entries of the "users" cache to be evicted by a {@code @CacheEvict}.
+ * <p>
+ * Used as the key of a {@code @CacheEvict} on the "users" cache when an update can affect
+ * several cached users - {@link UserCache} evicts each of the usernames, or clears the whole
+ * cache for {@link #ALL}.
+ * </p>
+ * <p>
+ * Users are looked up ignoring case, by whatever username was typed at login, so entries are
+ * cached under the lower case username - see {@link #key}. Evicting by the stored username
+ * would otherwise miss an entry cached under a differently cased login, leaving a stale
+ * password or status in the cache.
+ * </p>
+ * See {@link UserCacheDependencies}
+ */
+@EqualsAndHashCode
+public final class UserCacheKeys implements Serializable {
+
+  /**
+   * Evicts every entry of the cache. Used where the affected users can't be determined.
+   */
+  public static final UserCacheKeys ALL = new UserCacheKeys(true, Set.of());
+
+  /**
+   * Evicts nothing.
+   */
+  public static final UserCacheKeys NONE = new UserCacheKeys(false, Set.of());
+
+  private final boolean all;
+  private final Set<String> usernames;
+
+  private UserCacheKeys(boolean all, Set<String> usernames) {
+    this.all = all;
+    this.usernames = usernames;
+  }
+
+  /**
+   * The "users" cache key of the given username - which is the username in lower case.
+   * All caching and eviction of users must use this key.
+   */
+  public static @Nullable String key(@Nullable String username) {
+    return username == null ? null : username.toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Keys of the users with the given usernames. Null usernames are ignored.
+   */
+  public static @NonNull UserCacheKeys of(@Nullable Collection<String> usernames) {
+    Set<String> keys = new LinkedHashSet<>();
+    if (usernames != null) {
+      for (String username : usernames) {
+        if (username != null) {
+          keys.add(key(username));
+        }
+      }
+    }
+    return keys.isEmpty() ? NONE : new UserCacheKeys(false, Collections.unmodifiableSet(keys));
+  }
+
+  /**
+   * Combines these keys with the given keys.
+   */
+  public @NonNull UserCacheKeys and(@NonNull UserCacheKeys other) {
+    if (all || other.all) {
+      return ALL;
+    }
+    Set<String> keys = new LinkedHashSet<>(usernames);
+    keys.addAll(other.usernames);
+    return of(keys);
+  }
+
+  public boolean isAll() {
+    return all;
+  }
+
+  public @NonNull Set<String> getUsernames() {
+    return usernames;
+  }
+
+  @Override
+  public String toString() {
+    return all ? "all users" : "users " + usernames;
+  }
+}
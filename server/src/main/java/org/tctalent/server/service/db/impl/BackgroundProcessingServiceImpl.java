@@ -19,26 +19,29 @@ package org.tctalent.server.service.db.impl;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.tctalent.server.configuration.properties.CandidateCacheProperties;
+import org.tctalent.server.logging.LogBuilder;
 import org.tctalent.server.model.db.Candidate;
 import org.tctalent.server.model.db.CandidateStatus;
 import org.tctalent.server.model.db.PartnerImpl;
 import org.tctalent.server.model.db.SavedList;
 import org.tctalent.server.model.db.SavedSearch;
-import org.tctalent.server.repository.db.CandidateRepository;
+import org.tctalent.server.repository.db.read.cache.CandidateJsonCacheDao;
+import org.tctalent.server.repository.db.read.sql.CandidateStatsRollupDao;
 import org.tctalent.server.request.candidate.SearchCandidateRequest;
 import org.tctalent.server.request.list.SearchSavedListRequest;
 import org.tctalent.server.request.partner.SearchPartnerRequest;
 import org.tctalent.server.request.search.SearchSavedSearchRequest;
 import org.tctalent.server.service.db.BackgroundProcessingService;
+import org.tctalent.server.service.db.CandidateDtoFetchService;
 import org.tctalent.server.service.db.CandidateService;
 import org.tctalent.server.service.db.PartnerService;
 import org.tctalent.server.service.db.SavedListService;
@@ -49,7 +52,7 @@ import org.tctalent.server.service.db.util.PagedSavedListBackProcessor;
 import org.tctalent.server.service.db.util.PagedSavedSearchBackProcessor;
 import org.tctalent.server.util.background.BackProcessor;
 import org.tctalent.server.util.background.BackRunner;
-import org.tctalent.server.util.background.PageContext;
+import org.tctalent.server.util.background.IdContext;
 import org.tctalent.server.util.background.PageContextBackRunner;
 import org.tctalent.server.util.listener.BatchListeningLogger;
 
@@ -61,41 +64,23 @@ import org.tctalent.server.util.listener.BatchListeningLogger;
 @RequiredArgsConstructor
 public class BackgroundProcessingServiceImpl implements BackgroundProcessingService {
   private final CandidateService candidateService;
-  private final CandidateRepository candidateRepository;
   private final PartnerService partnerService;
   private final SavedListService savedListService;
   private final SavedSearchService savedSearchService;
   private final TaskScheduler taskScheduler;
   private final BatchListeningLogger batchListeningLogger;
+  private final CandidateDtoFetchService candidateDtoFetchService;
+  private final CandidateJsonCacheDao candidateJsonCacheDao;
+  private final CandidateCacheProperties candidateCacheProperties;
+  private final CandidateStatsRollupDao candidateStatsRollupDao;
 
-  public BackProcessor<PageContext> createPotentialDuplicatesBackProcessor(
-      List<Long> candidateIds
-  ) {
-    BackProcessor<PageContext> backProcessor = new BackProcessor<>() {
-      @Override
-      public boolean process(PageContext ctx) {
-        int page =
-            ctx.getLastProcessedPage() == null ? 0 : ctx.getLastProcessedPage() + 1;
-
-        // Fetch new page of candidates
-        Page<Candidate> candidatePage = candidateRepository.findByIdIn(
-            candidateIds,
-            PageRequest.of(page, 200, Sort.by("id").ascending())
-        );
-
-        // Delegate page processing to the service, which will open a transaction
-        candidateService.processPotentialDuplicatePage(candidatePage);
-
-        // Set last processed page
-        ctx.setLastProcessedPage(page);
-
-        // Return true if complete - ends processing
-        return page + 1 >= candidatePage.getTotalPages();
-      }
-    };
+  @Value("${tc.stats.rollup.enabled:true}")
+  private boolean statsRollupEnabled;
 
-    return backProcessor;
-  }
+  /**
+   * Scheduling of the currently running (or last run) candidate JSON cache warming
+   */
+  private ScheduledFuture<?> candidateJsonCacheWarming;
 
   @Override
   @Scheduled(cron = "0 0 21 * * ?", zone = "GMT")
@@ -103,32 +88,83 @@ public class BackgroundProcessingServiceImpl implements BackgroundProcessingServ
       lockAtLeastFor = "PT2H", lockAtMostFor = "PT2H")
   public void processPotentialDuplicateCandidates() {
     candidateService.cleanUpResolvedDuplicates();
-    initiateDuplicateProcessing();
+    candidateService.markPotentialDuplicates();
   }
 
   @Override
-  public void initiateDuplicateProcessing() {
-    // Obtain list of IDs of candidates who meet potential duplicate criteria but not yet identified
-    List<Long> potentialDupeIds =
-        candidateRepository.findIdsOfPotentialDuplicateCandidates(false);
-
-    // Implement background processing
-    BackProcessor<PageContext> backProcessor =
-        createPotentialDuplicatesBackProcessor(potentialDupeIds);
+  public BackProcessor<IdContext> createCandidateJsonCacheWarmingBackProcessor() {
+    return new BackProcessor<>() {
+      @Override
+      public boolean process(IdContext ctx) {
+        List<Long> staleIds = candidateJsonCacheDao.findStaleCandidateIds(
+            ctx.getLastProcessedId(), (int) ctx.getNumToProcess());
+
+        if (!staleIds.isEmpty()) {
+          int refreshed = candidateDtoFetchService.refreshCachedJson(staleIds);
+          ctx.setCount(ctx.getCount() + refreshed);
+          ctx.setLastProcessedId(staleIds.get(staleIds.size() - 1));
+        }
+
+        // Fewer than requested means that there are no more stale candidates after this batch
+        boolean complete = staleIds.size() < ctx.getNumToProcess();
+        if (complete && ctx.getCount() > 0) {
+          LogBuilder.builder(log)
+              .action("WarmCandidateJsonCache")
+              .message("Refreshed cached JSON of " + ctx.getCount() + " candidates")
+              .logInfo();
+        }
+        return complete;
+      }
+    };
+  }
 
-    // Schedule background processing
-    BackRunner<PageContext> backRunner = new BackRunner<>();
+  @Override
+  @Scheduled(cron = "0 */15 * * * ?", zone = "GMT")
+  @SchedulerLock(name = "BackgroundProcessingService_warmCandidateJsonCache",
+      lockAtLeastFor = "PT5M", lockAtMostFor = "PT15M")
+  public synchronized void warmCandidateJsonCache() {
+    CandidateCacheProperties.Warmer config = candidateCacheProperties.getWarmer();
+    if (!config.isEnabled()) {
+      return;
+    }
+
+    // Don't start another pass while the last one is still working through stale candidates
+    if (candidateJsonCacheWarming != null && !candidateJsonCacheWarming.isDone()) {
+      return;
+    }
+
+    BackRunner<IdContext> backRunner = new BackRunner<>();
     backRunner.addListener(batchListeningLogger);
 
-    backRunner.start(
+    candidateJsonCacheWarming = backRunner.start(
         taskScheduler,
-        backProcessor,
-        new PageContext(null),
-        20,
-        "Potential duplicate candidate processing"
+        createCandidateJsonCacheWarmingBackProcessor(),
+        new IdContext(null, config.getBatchSize(), 0L),
+        config.getPercentageCpu(),
+        "Candidate JSON cache warming"
     );
   }
 
+  @Override
+  @Scheduled(cron = "0 */5 * * * ?", zone = "GMT")
+  @SchedulerLock(name = "BackgroundProcessingService_refreshCandidateStatsRollup",
+      lockAtLeastFor = "PT1M", lockAtMostFor = "PT30M")
+  public void refreshCandidateStatsRollup() {
+    if (statsRollupEnabled) {
+      candidateStatsRollupDao.refresh();
+    }
+  }
+
+  @Override
+  @Scheduled(cron = "0 30 2 * * ?", zone = "GMT")
+  @SchedulerLock(name = "BackgroundProcessingService_rebuildCandidateStatsRollup",
+      lockAtLeastFor = "PT1H", lockAtMostFor = "PT2H")
+  public void rebuildCandidateStatsRollup() {
+    if (statsRollupEnabled) {
+      candidateStatsRollupDao.rebuild();
+    }
+  }
+
   @Override
   public void setCandidatePublicIds() {
 
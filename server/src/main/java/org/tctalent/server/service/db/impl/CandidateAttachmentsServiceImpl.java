@@ -28,7 +28,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.tctalent.server.exception.InvalidCredentialsException;
 import org.tctalent.server.exception.InvalidRequestException;
@@ -56,13 +55,13 @@ import org.tctalent.server.service.db.CandidateAttachmentService;
 import org.tctalent.server.service.db.CandidateService;
 import org.tctalent.server.service.db.FileSystemService;
 import org.tctalent.server.service.db.PublicIDService;
+import org.tctalent.server.service.db.TextExtractionService;
 import org.tctalent.server.storage.StoragePutRequest;
 import org.tctalent.server.storage.StorageService;
 import org.tctalent.server.storage.StoredFileInfo;
 import org.tctalent.server.util.filesystem.GoogleFileSystemDrive;
 import org.tctalent.server.util.filesystem.GoogleFileSystemFile;
 import org.tctalent.server.util.filesystem.GoogleFileSystemFolder;
-import org.tctalent.server.util.textExtract.TextExtractHelper;
 
 @Service
 @RequiredArgsConstructor
@@ -79,6 +78,7 @@ public class CandidateAttachmentsServiceImpl implements CandidateAttachmentServi
     private final StoredFileMapper storedFileMapper;
     private final StorageService storageService;
     private final TcInstanceService tcInstanceService;
+    private final TextExtractionService textExtractionService;
 
     @Override
     public Page<CandidateAttachment> searchCandidateAttachments(SearchCandidateAttachmentsRequest request) {
@@ -165,11 +165,6 @@ public class CandidateAttachmentsServiceImpl implements CandidateAttachmentServi
             case grnfile:
                 //Compute url.
                 attachment.setUrl(fileUrlService.createApplicationUrl(attachment));
-
-                if (attachment.isCv()) {
-                    String text = extractTextFromAttachment(attachment);
-                    attachment.setTextExtract(text);
-                }
                 break;
             case link:
                 attachment.setUrl(request.getUrl());
@@ -179,27 +174,24 @@ public class CandidateAttachmentsServiceImpl implements CandidateAttachmentServi
 
         }
 
+        //Text of uploaded CVs is extracted in the background, which then updates the candidate
+        //text. Otherwise, potentially update candidate text now to take account of any cv text
+        //supplied in the request.
+        boolean queueTextExtraction = attachment.isCv()
+            && attachment.getTextExtract() == null && attachmentType != AttachmentType.link;
+        boolean updateCandidateText = attachment.isCv() && !queueTextExtraction;
+
         //Save the updated attachment
         attachment = candidateAttachmentRepository.save(attachment);
 
-        //Now potentially update candidate text to take
-        //account of any cv text in the attachment we just updated above.
-        boolean updateCandidateText = UploadType.cv.equals(request.getUploadType());
+        if (queueTextExtraction) {
+            textExtractionService.queueExtraction(attachment);
+        }
         candidateService.save(candidate, updateCandidateText);
 
         return attachment;
     }
 
-    private String extractTextFromAttachment(CandidateAttachment attachment) throws IOException {
-        if (!AttachmentType.grnfile.equals(attachment.getType())) {
-            throw new UnsupportedOperationException("extractTextFromAttachment is not supported");
-        }
-
-        try (InputStream inputStream = storageService.openStream(attachment.getStorageKey())) {
-            return TextExtractHelper.getTextExtractFromStream(inputStream, attachment.getFileType());
-        }
-    }
-
     // Removed @Transactional to fix logged error ObjectDeletedException. There is a risk that now deleting from
     // repository but not from S3 bucket.
     @Override
@@ -483,20 +475,6 @@ public class CandidateAttachmentsServiceImpl implements CandidateAttachmentServi
 
         final String fileType = getFileExtension(uploadedFileName);
 
-        //Do text extraction if CV - otherwise leave as null.
-        String textExtract = null;
-        if(uploadType == UploadType.cv) {
-            try {
-                textExtract = TextExtractHelper.getTextExtractFromFile(tempFile, fileType);
-            } catch (Exception e) {
-                LogBuilder.builder(log)
-                    .user(authService.getLoggedInUser())
-                    .action("UploadAttachment")
-                    .message("Could not extract text from uploaded file")
-                    .logError(e);
-            }
-        }
-
         //Delete tempfile
         if (!tempFile.delete()) {
             LogBuilder.builder(log)
@@ -516,9 +494,6 @@ public class CandidateAttachmentsServiceImpl implements CandidateAttachmentServi
         req.setUrl(uploadedFile.getUrl());
         req.setUploadType(uploadType);
         req.setFolder(subfolderName);
-        if(StringUtils.hasText(textExtract)) {
-            req.setTextExtract(textExtract);
-        }
 
         return req;
     }
@@ -18,6 +18,7 @@ package org.tctalent.server.service.db.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
@@ -26,29 +27,41 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.tctalent.server.exception.NoSuchObjectException;
 import org.tctalent.server.logging.LogBuilder;
 import org.tctalent.server.repository.db.read.cache.CandidateJsonCache;
 import org.tctalent.server.repository.db.read.cache.CandidateJsonCacheDao;
+import org.tctalent.server.repository.db.read.cache.CandidateNearCache;
 import org.tctalent.server.repository.db.read.cache.CandidateRedisCache;
 import org.tctalent.server.repository.db.read.cache.CandidateVersionDao;
+import org.tctalent.server.repository.db.read.cache.SearchResultIdCache;
+import org.tctalent.server.repository.db.read.cache.SearchResultIds;
 import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateCountDao;
+import org.tctalent.server.repository.db.read.sql.CandidateCountDao.CandidateCount;
+import org.tctalent.server.repository.db.read.sql.CandidateCountDao.CountSource;
 import org.tctalent.server.repository.db.read.sql.CandidateJsonDao;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
 import org.tctalent.server.service.db.CandidateDtoFetchService;
 import org.tctalent.server.util.CandidateSearchUtils;
+import org.tctalent.server.util.CursorPage;
 import org.tctalent.server.util.textExtract.IdAndRank;
 
 /**
  * Strict read service for CandidateReadDto.
  * <p>
  * Architecture:
+ *   L0: In-process near cache of deserialized DTOs (per node, versioned keys)
  *   L1: Redis (shared, versioned keys)
  *   L2: Postgres JSON cache (candidate_json_cache)
  *   L3: Postgres recomputation (SqlJsonQueryBuilder)
@@ -59,6 +72,25 @@ import org.tctalent.server.util.textExtract.IdAndRank;
  *   Cached JSON is valid IFF it was built against the same data_version.
  * </p>
  * <p>
+ * Projections:
+ *   Callers can ask for a partial {@link CandidateJsonProjection}. Each projection is cached
+ *   under its own versioned keys in L0 and L1. Only FULL JSON is stored in L2 - partial
+ *   projections are cheap to recompute, so go straight from L1 to L3.
+ * </p>
+ * <p>
+ * Page counts:
+ *   {@link #fetchPage} starts the count query via {@link CandidateCountDao} before fetching
+ *   the page, so that (by default) it runs concurrently on another connection.
+ * </p>
+ * <p>
+ * Result cache:
+ *   For offset (non keyset) paging, {@link #fetchPage} first tries {@link SearchResultIdCache}.
+ *   On a miss, all the ids of the search are fetched in one query (up to a configured
+ *   maximum) and cached against the current candidate change watermark. Subsequent pages of
+ *   the same search are then sliced from the cached ids, with no search or count query, until
+ *   any candidate changes. Searches with too many results fall back to the normal path.
+ * </p>
+ * <p>
  * This service guarantees:
  *   - No stale JSON is ever returned
  *   - Every requested candidateId is returned or an exception is thrown
@@ -68,26 +100,69 @@ import org.tctalent.server.util.textExtract.IdAndRank;
 @RequiredArgsConstructor
 @Slf4j
 public class CandidateDtoFetchServiceImpl implements CandidateDtoFetchService {
+
+    /**
+     * Micrometer timer of the phases of {@link #fetchPage}, tagged by phase.
+     * The count itself is timed by {@link CandidateCountDao}.
+     */
+    static final String FETCH_PAGE_METRIC = "candidate.search.fetch.page";
+
     @PersistenceContext
     private EntityManager entityManager;
     private final CandidateJsonDao jsonDao;
     private final ObjectMapper objectMapper;
     private final CandidateJsonCacheDao pgCacheDao;
+    private final CandidateNearCache nearCache;
     private final CandidateRedisCache redisCache;
     private final CandidateVersionDao versionDao;
+    private final CandidateCountDao countDao;
+    private final SearchResultIdCache resultIdCache;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public Page<CandidateReadDto> fetchPage(
         String fetchIdsSql, String countSql, @NonNull PageRequest pageRequest) {
+        return fetchPage(fetchIdsSql, countSql, pageRequest, CandidateJsonProjection.FULL);
+    }
+
+    @Override
+    public Page<CandidateReadDto> fetchPage(String fetchIdsSql, String countSql,
+        @NonNull PageRequest pageRequest, @NonNull CandidateJsonProjection projection) {
+        return fetchPage(fetchIdsSql, countSql, pageRequest, projection, false);
+    }
+
+    @Override
+    public Page<CandidateReadDto> fetchPage(String fetchIdsSql, String countSql,
+        @NonNull PageRequest pageRequest, @NonNull CandidateJsonProjection projection,
+        boolean keyset) {
+        //Keyset pages are computed relative to the previous page, so can't come from the cache
+        if (!keyset && resultIdCache.isCacheable(fetchIdsSql)) {
+            Page<CandidateReadDto> page =
+                fetchPageFromResultCache(fetchIdsSql, pageRequest, projection);
+            if (page != null) {
+                return page;
+            }
+        }
+
+        //Start counting first - depending on config this happens concurrently, on another
+        //connection, while we fetch the page.
+        long start = System.currentTimeMillis();
+        long end;
+        CompletableFuture<CandidateCount> countFuture =
+            countDao.countAsync(fetchIdsSql, countSql, pageRequest);
+
+        end = System.currentTimeMillis();
+        long startCountTime = end - start;
+        start = end;
+
         //Create and execute the query to return the candidate ids
         Query query = entityManager.createNativeQuery(fetchIdsSql);
-        query.setFirstResult((int) pageRequest.getOffset());
+        //Keyset sql only returns results after the previous page, so there is nothing to skip
+        query.setFirstResult(keyset ? 0 : (int) pageRequest.getOffset());
         query.setMaxResults(pageRequest.getPageSize());
 
         LogBuilder.builder(log).action("findCandidates")
             .message("Query: " + fetchIdsSql).logInfo();
-        long start = System.currentTimeMillis();
-        long end;
 
         //Get results
         final List<?> results = query.getResultList();
@@ -113,56 +188,180 @@ public class CandidateDtoFetchServiceImpl implements CandidateDtoFetchService {
         start = end;
 
         Map<Long, CandidateReadDto> candidatesByIdUnsorted;
-        candidatesByIdUnsorted = fetchByIds(ids);
+        candidatesByIdUnsorted = fetchByIds(ids, projection);
 
         end = System.currentTimeMillis();
         long fetchDtosTime = end - start;
         start = end;
 
         //Candidates need to be sorted the same as the ids.
+        List<CandidateReadDto> candidatesSorted = sortLikeIds(idAndRanks, candidatesByIdUnsorted);
 
-        //Construct a sorted list of the candidates in the same order as the returned ids.
-        List<CandidateReadDto> candidatesSorted = new ArrayList<>();
-        for (IdAndRank idAndRank : idAndRanks) {
-            final CandidateReadDto candidate = candidatesByIdUnsorted.get(idAndRank.id());
+        end = System.currentTimeMillis();
+        long sortTime = end - start;
+        start = end;
 
-            //Optionally update candidate data with any ranking values.
-            final Number rank = idAndRank.rank();
-            //Rank is a transient field so no need to set to null
-            if (rank != null) {
-                candidate.setRank(rank);
+        //Wait for count, if it is not already done
+        CandidateCount count = awaitCount(countFuture);
+
+        //An exact count tells the result cache whether the search's results would fit, should
+        //it be requested again. Estimates can be wildly out, so are not used.
+        if (!keyset && count.source() != CountSource.ESTIMATED) {
+            resultIdCache.recordCount(fetchIdsSql, count.total());
+        }
+
+        end = System.currentTimeMillis();
+        long countWaitTime = end - start;
+
+        recordPhase("startCount", startCountTime);
+        recordPhase("fetchIds", fetchIdsTime);
+        recordPhase("convert", convertTime);
+        recordPhase("fetchDtos", fetchDtosTime);
+        recordPhase("sort", sortTime);
+        recordPhase("countWait", countWaitTime);
+
+        LogBuilder.builder(log).action("findCandidates")
+            .message("Timings: startCount: " + startCountTime
+                + " fetchIds: " + fetchIdsTime
+                + " convert: " + convertTime
+                + " fetchEntities: " + fetchEntitiesTime
+                + " fetchDtos: " + fetchDtosTime
+                + " sort: " + sortTime
+                + " countWait: " + countWaitTime
+                + " countSource: " + count.source()
+            ).logInfo();
+
+        String nextCursor = CandidateSearchUtils.buildNextCursor(
+            results, pageRequest.getSort(), pageRequest.getPageSize());
+        return new CursorPage<>(candidatesSorted, pageRequest, count.total(), nextCursor);
+    }
+
+    /**
+     * Returns the requested page from the cached results of the search. If they are not
+     * cached, all results are fetched and cached only if the search is
+     * {@link SearchResultIdCache#shouldPopulate being requested again and known to fit}.
+     *
+     * @return Page, or null if the search's results are not cached and should not be, in which
+     * case the page should be fetched normally.
+     */
+    @Nullable
+    private Page<CandidateReadDto> fetchPageFromResultCache(String fetchIdsSql,
+        @NonNull PageRequest pageRequest, @NonNull CandidateJsonProjection projection) {
+        long start = System.currentTimeMillis();
+        long end;
+
+        //Read the watermark BEFORE running the search, so that any candidate change made after
+        //this point will invalidate what we cache.
+        final long watermark = versionDao.fetchChangeWatermark();
+        SearchResultIds resultIds = resultIdCache.get(fetchIdsSql, watermark);
+        final boolean hit = resultIds != null;
+        if (resultIds == null) {
+            if (!resultIdCache.shouldPopulate(fetchIdsSql)) {
+                return null;
             }
-            candidatesSorted.add(candidate);
+            final int maxIds = resultIdCache.getMaxIds();
+            Query query = entityManager.createNativeQuery(fetchIdsSql);
+            query.setMaxResults(maxIds + 1);
+
+            LogBuilder.builder(log).action("findCandidates")
+                .message("Query (all results): " + fetchIdsSql).logInfo();
+
+            final List<?> results = query.getResultList();
+            if (results.size() > maxIds) {
+                resultIdCache.markTooLarge(fetchIdsSql);
+                LogBuilder.builder(log).action("findCandidates")
+                    .message("More than " + maxIds + " results - not caching").logInfo();
+                return null;
+            }
+            resultIds = SearchResultIds.of(
+                CandidateSearchUtils.processIdRankSearchResults(results, pageRequest.getSort()),
+                watermark);
+            resultIdCache.put(fetchIdsSql, resultIds);
         }
 
         end = System.currentTimeMillis();
-        long sortTime = end - start;
+        long resultIdsTime = end - start;
+        start = end;
 
-        LogBuilder.builder(log).action("countCandidates")
-            .message("Query: " + countSql).logInfo();
+        List<IdAndRank> idAndRanks =
+            resultIds.slice(pageRequest.getOffset(), pageRequest.getPageSize());
+        List<Long> ids = idAndRanks.stream().map(IdAndRank::id).toList();
+        Map<Long, CandidateReadDto> candidatesByIdUnsorted = fetchByIds(ids, projection);
+
+        end = System.currentTimeMillis();
+        long fetchDtosTime = end - start;
         start = end;
-        //Compute count
-        long total =  ((Number) entityManager.createNativeQuery(countSql).getSingleResult()).longValue();
+
+        List<CandidateReadDto> candidatesSorted = sortLikeIds(idAndRanks, candidatesByIdUnsorted);
 
         end = System.currentTimeMillis();
-        long countTime = end - start;
+        long sortTime = end - start;
+
+        recordPhase(hit ? "cachedIds" : "fetchAllIds", resultIdsTime);
+        recordPhase("fetchDtos", fetchDtosTime);
+        recordPhase("sort", sortTime);
 
         LogBuilder.builder(log).action("findCandidates")
-            .message("Timings: fetchIds: " + fetchIdsTime
-                + " convert: " + convertTime
-                + " fetchEntities: " + fetchEntitiesTime
+            .message("Timings: " + (hit ? "cachedIds: " : "fetchAllIds: ") + resultIdsTime
                 + " fetchDtos: " + fetchDtosTime
                 + " sort: " + sortTime
-                + " count: " + countTime
+                + " total: " + resultIds.size()
             ).logInfo();
 
-        return new PageImpl<>(candidatesSorted, pageRequest, total);
+        //The total is exact, so no count is needed
+        return new CursorPage<>(candidatesSorted, pageRequest, resultIds.size(), null);
+    }
+
+    /**
+     * Construct a list of the candidates in the same order as the given ids, setting any
+     * ranks.
+     */
+    private static List<CandidateReadDto> sortLikeIds(
+        List<IdAndRank> idAndRanks, Map<Long, CandidateReadDto> candidatesById) {
+        List<CandidateReadDto> candidatesSorted = new ArrayList<>();
+        for (IdAndRank idAndRank : idAndRanks) {
+            final CandidateReadDto candidate = candidatesById.get(idAndRank.id());
+
+            //Optionally update candidate data with any ranking values.
+            final Number rank = idAndRank.rank();
+            //Rank is a transient field so no need to set to null
+            if (rank != null) {
+                candidate.setRank(rank);
+            }
+            candidatesSorted.add(candidate);
+        }
+        return candidatesSorted;
+    }
+
+    private void recordPhase(String phase, long millis) {
+        meterRegistry.timer(FETCH_PAGE_METRIC, "phase", phase)
+            .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private static CandidateCount awaitCount(CompletableFuture<CandidateCount> countFuture) {
+        try {
+            return countFuture.join();
+        } catch (CompletionException ex) {
+            //Rethrow the count's own exception, as if it had been run on this thread
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
     }
 
     @Override
     @NonNull
     public Map<Long, CandidateReadDto> fetchByIds(Collection<Long> ids)
         throws NoSuchObjectException {
+        return fetchByIds(ids, CandidateJsonProjection.FULL);
+    }
+
+    @Override
+    @NonNull
+    public Map<Long, CandidateReadDto> fetchByIds(
+        Collection<Long> ids, @NonNull CandidateJsonProjection projection)
+        throws NoSuchObjectException {
 
         if (ids == null || ids.isEmpty()) {
             return Map.of();
@@ -192,21 +391,39 @@ public class CandidateDtoFetchServiceImpl implements CandidateDtoFetchService {
         }
 
         // ------------------------------------------------------------
-        // Step 1: L1 Redis lookup (versioned keys)
+        // Step 1a: L0 near cache lookup of deserialized DTOs (versioned keys)
         // ------------------------------------------------------------
 
-        Map<Long, String> jsonById =
-            new HashMap<>(redisCache.multiGet(versions));
+        // Near cache returns private copies, so these can be mutated by callers.
+        Map<Long, CandidateReadDto> out =
+            new HashMap<>(nearCache.getAll(projection, versions));
 
         // ------------------------------------------------------------
-        // Step 2: L2 Postgres JSON cache lookup (for Redis misses)
+        // Step 1b: L1 Redis lookup (versioned keys, for near cache misses)
         // ------------------------------------------------------------
 
+        Map<Long, Long> nearMissVersions = new HashMap<>();
+        for (Long id : ids) {
+            if (!out.containsKey(id)) {
+                nearMissVersions.put(id, versions.get(id));
+            }
+        }
+
+        Map<Long, String> jsonById = nearMissVersions.isEmpty()
+            ? new HashMap<>()
+            : new HashMap<>(redisCache.multiGet(projection, nearMissVersions));
+
+        // ------------------------------------------------------------
+        // Step 2: L2 Postgres JSON cache lookup (for Redis misses, FULL projection only)
+        // ------------------------------------------------------------
+
+        final boolean pgCached = projection == CandidateJsonProjection.FULL;
+
         List<Long> redisMissIds = ids.stream()
-            .filter(id -> !jsonById.containsKey(id))
+            .filter(id -> !out.containsKey(id) && !jsonById.containsKey(id))
             .toList();
 
-        if (!redisMissIds.isEmpty()) {
+        if (pgCached && !redisMissIds.isEmpty()) {
 
             List<CandidateJsonCache> pgRows =
                 pgCacheDao.findByIds(redisMissIds);
@@ -242,7 +459,7 @@ public class CandidateDtoFetchServiceImpl implements CandidateDtoFetchService {
 
             // Update Redis from Postgres hits (shared benefit across nodes)
             if (!redisUpdates.isEmpty()) {
-                redisCache.putAll(redisUpdates);
+                redisCache.putAll(projection, redisUpdates);
             }
         }
 
@@ -250,14 +467,14 @@ public class CandidateDtoFetchServiceImpl implements CandidateDtoFetchService {
         // Step 3: Recompute JSON for remaining misses
         // ------------------------------------------------------------
 
-        List<Long> remainingMissIds = ids.stream()
+        List<Long> remainingMissIds = redisMissIds.stream()
             .filter(id -> !jsonById.containsKey(id))
             .toList();
 
         if (!remainingMissIds.isEmpty()) {
 
             Map<Long, String> recomputed =
-                jsonDao.loadJsonByIds(remainingMissIds);
+                jsonDao.loadJsonByIds(remainingMissIds, projection);
 
             Map<Long, CandidateRedisCache.VersionedJson> redisWrites =
                 new HashMap<>();
@@ -274,10 +491,7 @@ public class CandidateDtoFetchServiceImpl implements CandidateDtoFetchService {
 
                 long version = versions.get(id);
 
-                // Persist to Postgres cache (UPSERT, race-safe)
-                pgCacheDao.upsert(id, version, json);
-
-                // Prepare Redis write (versioned key)
+                // Prepare Postgres and Redis writes (versioned)
                 redisWrites.put(
                     id,
                     new CandidateRedisCache.VersionedJson(id, version, json)
@@ -287,8 +501,13 @@ public class CandidateDtoFetchServiceImpl implements CandidateDtoFetchService {
                 jsonById.put(id, json);
             }
 
+            // Persist to Postgres cache in one batch (UPSERT, race-safe)
+            if (pgCached) {
+                pgCacheDao.upsertAll(redisWrites.values());
+            }
+
             //Update the redis cache
-            redisCache.putAll(redisWrites);
+            redisCache.putAll(projection, redisWrites);
         }
 
         // ------------------------------------------------------------
@@ -296,7 +515,7 @@ public class CandidateDtoFetchServiceImpl implements CandidateDtoFetchService {
         // ------------------------------------------------------------
 
         List<Long> unprocessedIds = ids.stream()
-            .filter(id -> !jsonById.containsKey(id))
+            .filter(id -> !out.containsKey(id) && !jsonById.containsKey(id))
             .toList();
 
         if (!unprocessedIds.isEmpty()) {
@@ -312,21 +531,67 @@ public class CandidateDtoFetchServiceImpl implements CandidateDtoFetchService {
         }
 
         // ------------------------------------------------------------
-        // Step 5: Deserialize JSON into DTOs
+        // Step 5: Deserialize JSON into DTOs, sharing them via the near cache
         // ------------------------------------------------------------
 
-        Map<Long, CandidateReadDto> out = new HashMap<>(jsonById.size());
         for (Map.Entry<Long, String> e : jsonById.entrySet()) {
+            final Long id = e.getKey();
+            final String json = e.getValue();
+            final CandidateReadDto dto;
             try {
-                out.put(e.getKey(), deserialize(e.getValue()));
+                dto = deserialize(json);
             } catch (JsonProcessingException ex) {
-                String mess = "Could not deserialize cached JSON for candidate id=" + e.getKey();
+                String mess = "Could not deserialize cached JSON for candidate id=" + id;
                 throw new RuntimeException(mess, ex);
             }
+
+            //The cached instance is shared across requests and is never handed out.
+            //Callers get a copy whose transient fields (rank, selected etc.) they can set.
+            nearCache.put(projection, id, versions.get(id), dto, json.length());
+            out.put(id, dto.copy());
         }
         return out;
     }
 
+    @Override
+    public int refreshCachedJson(Collection<Long> ids) {
+
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+
+        // Fetch versions BEFORE computing JSON. If a candidate changes in between, the JSON is
+        // stored against the older version and will just be recomputed on the next read.
+        Map<Long, Long> versions =
+            versionDao.fetchCandidateVersions(new ArrayList<>(ids));
+
+        if (versions.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, String> recomputed = jsonDao.loadJsonByIds(versions.keySet(), CandidateJsonProjection.FULL);
+
+        Map<Long, CandidateRedisCache.VersionedJson> writes = new HashMap<>();
+        for (Map.Entry<Long, Long> e : versions.entrySet()) {
+            final Long id = e.getKey();
+            String json = recomputed.get(id);
+            if (json == null || json.isBlank()) {
+                // Don't fail the whole batch - the next read will report the problem strictly.
+                LogBuilder.builder(log)
+                    .action("CandidateDtoService.refreshCachedJson")
+                    .message("Recomputed JSON is null/blank for candidateId=" + id)
+                    .logError();
+            } else {
+                writes.put(id, new CandidateRedisCache.VersionedJson(id, e.getValue(), json));
+            }
+        }
+
+        pgCacheDao.upsertAll(writes.values());
+        redisCache.putAll(CandidateJsonProjection.FULL, writes);
+
+        return writes.size();
+    }
+
     private CandidateReadDto deserialize(String json) throws JsonProcessingException {
         return objectMapper.readValue(json, CandidateReadDto.class);
     }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.impl;
+
+import com.opencsv.CSVWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.tctalent.server.exception.ExportFailedException;
+import org.tctalent.server.exception.InvalidSessionException;
+import org.tctalent.server.logging.LogBuilder;
+import org.tctalent.server.model.db.User;
+import org.tctalent.server.repository.db.CandidateSavedListRepository;
+import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
+import org.tctalent.server.security.AuthService;
+import org.tctalent.server.service.db.CandidateDtoFetchService;
+import org.tctalent.server.service.db.CandidateExportService;
+import org.tctalent.server.service.db.CandidateService;
+import org.tctalent.server.util.CandidateSearchUtils;
+import org.tctalent.server.util.textExtract.IdAndRank;
+
+/**
+ * Streaming CSV export of candidates.
+ * <p>
+ *     A single server-side cursor is opened over the (ordered) fetch SQL. Its rows are read in
+ *     batches, and the candidate data for each batch is fetched through
+ *     {@link CandidateDtoFetchService} using the {@link CandidateJsonProjection#EXPORT}
+ *     projection - ie from the candidate caches where possible, and otherwise with just the
+ *     columns needed for the export. Each batch is written and flushed before the next is read,
+ *     so memory use does not depend on the size of the export.
+ * </p>
+ * <p>
+ *     Progress is published to Micrometer as the counter {@value #EXPORT_ROWS_METRIC}, and the
+ *     duration of each export as the timer {@value #EXPORT_METRIC}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateExportServiceImpl implements CandidateExportService {
+
+    static final String EXPORT_METRIC = "candidate.export";
+    static final String EXPORT_ROWS_METRIC = "candidate.export.rows";
+
+    /**
+     * Number of candidates read from the cursor, fetched and written at a time.
+     */
+    static final int EXPORT_BATCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    private final CandidateDtoFetchService candidateDtoFetchService;
+    private final CandidateSavedListRepository candidateSavedListRepository;
+    private final CandidateService candidateService;
+    private final AuthService authService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Read only transaction is needed for Postgres to stream the results through a cursor.
+     * Note that the EXPORT projection is not stored in the Postgres JSON cache, so fetching the
+     * candidate data does not need to write to the database.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportToCsv(String fetchIdsSql, Sort sort, @Nullable Long contextSavedListId,
+        PrintWriter writer) throws ExportFailedException {
+
+        LogBuilder.builder(log).action("exportToCsv")
+            .message("Query: " + fetchIdsSql).logInfo();
+
+        User loggedInUser = authService.getLoggedInUser()
+            .orElseThrow(() -> new InvalidSessionException("Not logged in"));
+
+        long start = System.currentTimeMillis();
+        long count = 0;
+        try (CSVWriter csvWriter = new CSVWriter(writer)) {
+            csvWriter.writeNext(candidateService.getExportTitles());
+
+            Query query = entityManager.createNativeQuery(fetchIdsSql);
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_BATCH_SIZE);
+
+            try (Stream<?> rows = query.getResultStream()) {
+                Iterator<?> iterator = rows.iterator();
+                List<Object> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == EXPORT_BATCH_SIZE || !iterator.hasNext()) {
+                        count += writeBatch(
+                            loggedInUser, batch, sort, contextSavedListId, csvWriter);
+                        batch.clear();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new ExportFailedException(e);
+        }
+
+        long millis = System.currentTimeMillis() - start;
+        meterRegistry.timer(EXPORT_METRIC).record(millis, TimeUnit.MILLISECONDS);
+        LogBuilder.builder(log).action("exportToCsv")
+            .message("Exported " + count + " candidates in " + millis + "ms")
+            .logInfo();
+
+        return count;
+    }
+
+    private int writeBatch(User loggedInUser, List<?> rows, Sort sort,
+        @Nullable Long contextSavedListId, CSVWriter csvWriter) throws IOException {
+        List<Long> ids = CandidateSearchUtils.processIdRankSearchResults(rows, sort).stream()
+            .map(IdAndRank::id).toList();
+
+        Map<Long, CandidateReadDto> candidates =
+            candidateDtoFetchService.fetchByIds(ids, CandidateJsonProjection.EXPORT);
+
+        if (contextSavedListId != null) {
+            Map<Long, String> contextNotes = new HashMap<>();
+            for (Object[] row : candidateSavedListRepository.findContextNotes(
+                contextSavedListId, ids)) {
+                contextNotes.put(((Number) row[0]).longValue(), (String) row[1]);
+            }
+            for (CandidateReadDto candidate : candidates.values()) {
+                candidate.setContextNote(contextNotes.get(candidate.getId()));
+            }
+        }
+
+        //Write in the same order as the ids, skipping any candidates which have gone since the
+        //ids were read.
+        int written = 0;
+        for (Long id : ids) {
+            CandidateReadDto candidate = candidates.get(id);
+            if (candidate != null) {
+                csvWriter.writeNext(
+                    candidateService.getExportCandidateStrings(loggedInUser, candidate));
+                written++;
+            }
+        }
+        csvWriter.flush();
+
+        meterRegistry.counter(EXPORT_ROWS_METRIC).increment(written);
+        return written;
+    }
+}
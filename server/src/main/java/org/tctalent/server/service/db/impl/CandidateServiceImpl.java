@@ -16,14 +16,12 @@
 
 package org.tctalent.server.service.db.impl;
 
-import com.opencsv.CSVWriter;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import jakarta.servlet.http.HttpServletRequest;
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -35,7 +33,6 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -71,7 +68,6 @@ import org.tctalent.server.configuration.SystemAdminConfiguration;
 import org.tctalent.server.exception.CountryRestrictionException;
 import org.tctalent.server.exception.EntityExistsException;
 import org.tctalent.server.exception.EntityReferencedException;
-import org.tctalent.server.exception.ExportFailedException;
 import org.tctalent.server.exception.InvalidRequestException;
 import org.tctalent.server.exception.InvalidSessionException;
 import org.tctalent.server.exception.NoSuchObjectException;
@@ -127,6 +123,12 @@ import org.tctalent.server.repository.db.OccupationRepository;
 import org.tctalent.server.repository.db.SurveyTypeRepository;
 import org.tctalent.server.repository.db.TaskAssignmentRepository;
 import org.tctalent.server.repository.db.UserRepository;
+import org.tctalent.server.repository.db.read.dto.CandidateEducationReadDto;
+import org.tctalent.server.repository.db.read.dto.CandidateLanguageReadDto;
+import org.tctalent.server.repository.db.read.dto.CandidateOccupationReadDto;
+import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.dto.PartnerReadDto;
+import org.tctalent.server.repository.db.read.dto.UserReadDto;
 import org.tctalent.server.request.LoginRequest;
 import org.tctalent.server.request.PagedSearchRequest;
 import org.tctalent.server.request.RegisterCandidateByPartnerRequest;
@@ -184,6 +186,7 @@ import org.tctalent.server.service.db.SavedSearchService;
 import org.tctalent.server.service.db.SystemNotificationService;
 import org.tctalent.server.service.db.UserService;
 import org.tctalent.server.service.db.AgreementService;
+import org.tctalent.server.service.db.cache.CacheService;
 import org.tctalent.server.service.db.email.EmailHelper;
 import org.tctalent.server.service.db.util.DocxHelper;
 import org.tctalent.server.service.db.util.GoogleDocHelper;
@@ -280,6 +283,7 @@ public class CandidateServiceImpl implements CandidateService {
     private final TcInstanceService tcInstanceService;
     private final AgreementService agreementService;
     private final CounterpartyService counterpartyService;
+    private final CacheService cacheService;
 
     @Override
     public Page<Candidate> getSavedListCandidates(SavedList savedList, SavedListGetRequest request) {
@@ -2189,35 +2193,6 @@ public class CandidateServiceImpl implements CandidateService {
         };
     }
 
-    // List export
-    @Override
-    public void exportToCsv(
-            SavedList savedList, SavedListGetRequest request, PrintWriter writer)
-            throws ExportFailedException {
-        try (CSVWriter csvWriter = new CSVWriter(writer)) {
-            csvWriter.writeNext(getExportTitles());
-
-            request.setPageNumber(0);
-            request.setPageSize(500);
-            boolean hasMore = true;
-            while (hasMore) {
-                Page<Candidate> result = getSavedListCandidates(savedList, request);
-                for (Candidate candidate : result.getContent()) {
-                    candidate.setContextSavedListId(savedList.getId());
-                    csvWriter.writeNext(getExportCandidateStrings(candidate));
-                }
-
-                if ((long) result.getNumber() * request.getPageSize() < result.getTotalElements()) {
-                    request.setPageNumber(request.getPageNumber()+1);
-                } else {
-                    hasMore = false;
-                }
-            }
-        } catch (IOException e) {
-            throw new ExportFailedException( e);
-        }
-    }
-
     public String[] getExportTitles() {
         return new String[]{
             "Candidate Number", "Candidate First Name", "Candidate Last Name", "Gender", "Country Residing", "Nationality",
@@ -2298,6 +2273,77 @@ public class CandidateServiceImpl implements CandidateService {
         }
     }
 
+    @Override
+    public String[] getExportCandidateStrings(User loggedInUser, CandidateReadDto candidate) {
+        //Same visibility rules as for candidate entities - see above.
+        Role role = loggedInUser.getRole();
+        Partner userPartner = loggedInUser.getPartner();
+        UserReadDto candidateUser = candidate.getUser();
+        PartnerReadDto candidatePartner = candidateUser == null ? null : candidateUser.getPartner();
+        if (userPartner == null || candidatePartner == null ||
+            !userPartner.getId().equals(candidatePartner.getId())) {
+            role = Role.semilimited;
+        }
+        final boolean hideContact = role == Role.semilimited || role == Role.limited;
+        final boolean hideLocation = role == Role.limited;
+
+        return new String[] {
+                candidate.getCandidateNumber(),
+                hideContact ? NOT_AUTHORIZED : candidateUser == null ? null : candidateUser.getFirstName(),
+                hideContact ? NOT_AUTHORIZED : candidateUser == null ? null : candidateUser.getLastName(),
+                candidate.getGender() != null ? candidate.getGender().toString() : null,
+                hideLocation ? NOT_AUTHORIZED : candidate.getCountry() != null ? candidate.getCountry().getName() : null,
+                hideLocation ? NOT_AUTHORIZED : candidate.getNationality() != null ? candidate.getNationality().getName() : null,
+                candidate.getDob() != null ? candidate.getDob().format(DateTimeFormatter.ofLocalizedDate(FormatStyle.SHORT)) : null,
+                hideContact ? NOT_AUTHORIZED : candidateUser == null ? null : candidateUser.getEmail(),
+                hideContact ? NOT_AUTHORIZED : candidate.getWhatsapp(),
+                candidate.getMaxEducationLevel() != null ? candidate.getMaxEducationLevel().getName() : null,
+                formatEducationMajors(candidate.getCandidateEducations()),
+                formatEnglishSpokenLevels(candidate.getCandidateLanguages()),
+                formatOccupations(candidate.getCandidateOccupations()),
+                candidate.getContextNote(),
+                getCandidateExternalHref(candidate.getCandidateNumber())
+        };
+    }
+
+    private static String formatEducationMajors(List<CandidateEducationReadDto> educations) {
+        StringBuilder buffer = new StringBuilder();
+        if (!CollectionUtils.isEmpty(educations)) {
+            for (CandidateEducationReadDto education : educations) {
+                if (education.getEducationMajor() != null) {
+                    buffer.append(education.getEducationMajor().getName()).append("\n");
+                }
+            }
+        }
+        return buffer.toString();
+    }
+
+    private static String formatEnglishSpokenLevels(List<CandidateLanguageReadDto> languages) {
+        StringBuilder buffer = new StringBuilder();
+        if (!CollectionUtils.isEmpty(languages)) {
+            for (CandidateLanguageReadDto language : languages) {
+                if (language.getLanguage() != null
+                    && "english".equalsIgnoreCase(language.getLanguage().getName())
+                    && language.getSpokenLevel() != null) {
+                    buffer.append(language.getSpokenLevel().getName()).append("\n");
+                }
+            }
+        }
+        return buffer.toString();
+    }
+
+    private static String formatOccupations(List<CandidateOccupationReadDto> occupations) {
+        StringBuilder buffer = new StringBuilder();
+        if (!CollectionUtils.isEmpty(occupations)) {
+            for (CandidateOccupationReadDto occupation : occupations) {
+                if (occupation.getOccupation() != null) {
+                    buffer.append(occupation.getOccupation().getName()).append("\n");
+                }
+            }
+        }
+        return buffer.toString();
+    }
+
     private String getCandidateExternalHref(String candidateNumber) {
         return "https://tctalent.org/admin-portal/candidate/" + candidateNumber;
     }
@@ -3261,83 +3307,49 @@ public class CandidateServiceImpl implements CandidateService {
     @Transactional
     @Override
     public void cleanUpResolvedDuplicates() {
-        // Obtain list of IDs of all candidates currently potential duplicates
-        List<Long> newCandidateIds =
-            this.candidateRepository.findIdsOfPotentialDuplicateCandidates(null);
-
-        // Obtain list of IDs of all candidates where potentialDuplicate already set to true
-        List<Long> previousCandidateIds =
-            this.candidateRepository.findIdsOfCandidatesMarkedPotentialDuplicates();
+        List<String> resolvedUsernames = candidateRepository.clearResolvedPotentialDuplicates();
 
-        int resolvedDuplicates = 0;
-
-        // If not in newly generated list, set potentialDuplicate to false on candidate matching ID
-        for (Long id: previousCandidateIds) {
-            if (!newCandidateIds.contains(id)) {
-                Candidate candidate = getCandidate(id);
-                candidate.setPotentialDuplicate(false);
-                save(candidate);
-                resolvedDuplicates++;
-            }
+        //Same as the eviction done when candidates are saved through the repository
+        if (!resolvedUsernames.isEmpty()) {
+            cacheService.evictUsers(resolvedUsernames);
         }
 
         LogBuilder.builder(log)
             .action("Clean up resolved duplicates")
-            .message("Cleaned up " + resolvedDuplicates + " resolved duplicate(s)!")
+            .message("Cleaned up " + resolvedUsernames.size() + " resolved duplicate(s)!")
             .logInfo();
     }
 
     @Transactional
     @Override
-    public void processPotentialDuplicatePage(Page<Candidate> candidatePage) {
+    public void markPotentialDuplicates() {
+        List<String> duplicateUsernames = candidateRepository.markPotentialDuplicates();
 
-        if (!candidatePage.isEmpty()) {
-            List<Candidate> candidateList = candidatePage.getContent();
-
-            for (Candidate candidate : candidateList) {
-                candidate.setPotentialDuplicate(true);
-                save(candidate);
-            }
-
-            // Log completed page
-            LogBuilder.builder(log)
-                .action("Process potential duplicates")
-                .message("Processed page " + (candidatePage.getNumber() + 1) + " of " +
-                    candidatePage.getTotalPages())
-                .logInfo();
+        //Same as the eviction done when candidates are saved through the repository
+        if (!duplicateUsernames.isEmpty()) {
+            cacheService.evictUsers(duplicateUsernames);
         }
 
-        // Log if processing complete
-        if (candidatePage.getNumber() + 1 >= candidatePage.getTotalPages()) {
-            LogBuilder.builder(log)
-                .action("Process potential duplicates")
-                .message("Background duplicate processing complete!")
-                .logInfo();
-        }
+        LogBuilder.builder(log)
+            .action("Process potential duplicates")
+            .message("Marked " + duplicateUsernames.size() + " new potential duplicate(s)")
+            .logInfo();
     }
 
     /**
      * For a candidate with given ID will return a list containing any other profiles with same
      * first name AND last name and DOB, or an empty list if there are none, in which case it will
      * also set the candidate's potentialDuplicate property to false.
+     * <p/>
+     * Names are compared ignoring case and surrounding white space.
      * @param candidateId ID of candidate being queried
      * @return List of candidates, empty if there are no potential duplicates
      */
     public List<Candidate> fetchPotentialDuplicatesOfCandidateWithGivenId(@NotNull Long candidateId) {
         Candidate candidate = getCandidate(candidateId);
 
-        final List<CandidateStatus> statuses = new ArrayList<>(
-            EnumSet.of(CandidateStatus.active, CandidateStatus.unreachable,
-                CandidateStatus.incomplete, CandidateStatus.pending));
-
         List<Candidate> candidates =
-            this.candidateRepository.findPotentialDuplicatesOfGivenCandidate(
-                statuses,
-                candidate.getDob(),
-                candidate.getUser().getLastName().toLowerCase(),
-                candidate.getUser().getFirstName().toLowerCase(),
-                candidate.getId()
-            );
+            this.candidateRepository.findPotentialDuplicatesOfGivenCandidate(candidate.getId());
 
         // Candidate no longer matches other profiles (usually because admin has changed the others'
         // status to 'Deleted')
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.impl;
+
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.tctalent.server.exception.InvalidRequestException;
+import org.tctalent.server.exception.NoSuchObjectException;
+import org.tctalent.server.repository.db.read.sql.CandidateSetDao;
+import org.tctalent.server.request.list.CandidateSetRequest;
+import org.tctalent.server.request.list.CandidateSetRequest.CandidateSet;
+import org.tctalent.server.service.db.CandidateSetService;
+import org.tctalent.server.service.db.SavedListService;
+import org.tctalent.server.service.db.SavedSearchService;
+
+@Service
+@RequiredArgsConstructor
+public class CandidateSetServiceImpl implements CandidateSetService {
+    private final CandidateSetDao candidateSetDao;
+    private final SavedListService savedListService;
+    private final SavedSearchService savedSearchService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public @NonNull Set<Long> fetchCandidateIds(CandidateSetRequest request)
+        throws NoSuchObjectException, InvalidRequestException {
+        return candidateSetDao.fetchCandidateIds(buildSetSql(request));
+    }
+
+    @Override
+    public void addCandidatesToList(long savedListId, CandidateSetRequest request)
+        throws NoSuchObjectException, InvalidRequestException {
+        savedListService.mergeCandidateSet(savedListId, buildSetSql(request), null);
+    }
+
+    /**
+     * Builds SQL selecting the ids of the candidates in the set defined by the given request.
+     */
+    String buildSetSql(CandidateSetRequest request)
+        throws NoSuchObjectException, InvalidRequestException {
+        if (request.getOperation() == null) {
+            throw new InvalidRequestException("Missing candidate set operation");
+        }
+        final List<CandidateSet> sets = request.getSets();
+        if (sets == null || sets.isEmpty()) {
+            throw new InvalidRequestException("No candidate sets specified");
+        }
+
+        List<String> setSqls = sets.stream().map(this::buildSetSql).toList();
+        return CandidateSetDao.combineSql(request.getOperation(), setSqls);
+    }
+
+    private String buildSetSql(CandidateSet set)
+        throws NoSuchObjectException, InvalidRequestException {
+        final String sql;
+        if (set.getSavedListId() != null) {
+            //Check that the list exists
+            final long savedListId = savedListService.get(set.getSavedListId()).getId();
+            sql = CandidateSetDao.savedListSql(savedListId);
+        } else if (set.getSavedSearchId() != null) {
+            sql = savedSearchService.extractCandidateIdsSQL(set.getSavedSearchId());
+        } else if (set.getCombination() != null) {
+            sql = buildSetSql(set.getCombination());
+        } else {
+            throw new InvalidRequestException(
+                "A candidate set must specify a saved list, a saved search or a combination");
+        }
+        return sql;
+    }
+}
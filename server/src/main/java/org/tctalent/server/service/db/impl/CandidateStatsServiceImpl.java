@@ -25,10 +25,15 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.tctalent.server.logging.LogBuilder;
 import org.tctalent.server.model.db.DataRow;
 import org.tctalent.server.model.db.Gender;
@@ -67,6 +72,12 @@ import org.tctalent.server.service.db.CandidateStatsService;
  *      a List of DataRows.
  *   </p>
  * </p>
+ * <p>
+ *     Unfiltered gender, nationality, source country, status and registration stats (ie with no
+ *     candidate ids or constraint) are answered from the pre-aggregated candidate_stats_rollup
+ *     table instead, unless tc.stats.rollup.enabled is false. That table is maintained by
+ *     {@link org.tctalent.server.repository.db.read.sql.CandidateStatsRollupDao}.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
@@ -76,6 +87,15 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${tc.stats.rollup.enabled:true}")
+    private boolean rollupEnabled;
+
+    /**
+     * Session private table holding candidate ids loaded by {@link #computeForCandidateIds}.
+     * It is dropped automatically at the end of the transaction.
+     */
+    private static final String candidateIdsTable = "stats_candidate_ids";
+
     //Standard SQL building blocks for our stats.
     private static final String candidatesCondition =
         " and candidate.id in (:candidateIds)";
@@ -93,6 +113,18 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
         " users.created_date >= :dateFrom and users.created_date <= :dateTo";
     private static final String excludeIneligible = " and candidate.status != 'ineligible'";
 
+    //Equivalent building blocks for stats computed from the rollup.
+    //Rollup counts are per registration day, so dateTo (midnight at the start of that day)
+    //excludes registrations on that day.
+    private static final String rollupStandardFilter =
+        " r.created_day >= :dateFrom and r.created_day < :dateTo"
+            + " and r.status != 'draft' and r.status != 'ineligible'";
+    private static final String rollupFilterIncludeDraft =
+        " r.created_day >= :dateFrom and r.created_day < :dateTo"
+            + " and r.status != 'ineligible'";
+    private static final String rollupSourceCountriesCondition =
+        " and r.country_id in (:sourceCountryIds)";
+
     @Override
     public List<DataRow> computeBirthYearStats(
         @Nullable Gender gender, @Nullable LocalDate dateFrom, @Nullable LocalDate dateTo,
@@ -131,6 +163,18 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
         @Nullable LocalDate dateTo, @Nullable Set<Long> candidateIds,
         @Nullable List<Long> sourceCountryIds, @Nullable String constraint) {
 
+        if (useRollup(candidateIds, constraint)) {
+            Query query = createRollupQuery("computeGenderStats",
+                """
+                select r.gender, cast(sum(r.people_count) as bigint) as PeopleCount
+                     from candidate_stats_rollup r
+                     where
+                """,
+                " group by r.gender order by PeopleCount desc",
+                false, dateFrom, dateTo, sourceCountryIds);
+            return runQuery(query, 0);
+        }
+
         String selectSql =
             """
                     select gender, count(distinct candidate) as PeopleCount
@@ -317,6 +361,23 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
     public List<DataRow> computeNationalityStats(@Nullable Gender gender, @Nullable String country,
         @Nullable LocalDate dateFrom, @Nullable LocalDate dateTo, @Nullable Set<Long> candidateIds,
         @Nullable List<Long> sourceCountryIds, @Nullable String constraint) {
+
+        if (useRollup(candidateIds, constraint)) {
+            Query query = createRollupQuery("computeNationalityStats",
+                """
+                select nationality.name, cast(sum(r.people_count) as bigint) as PeopleCount
+                from candidate_stats_rollup r
+                left join country nationality on r.nationality_id = nationality.id
+                left join country on r.country_id = country.id
+                where r.gender like :gender and lower(country.name) like :country and
+                """,
+                " group by nationality.name order by PeopleCount desc",
+                false, dateFrom, dateTo, sourceCountryIds);
+            query.setParameter("gender", genderStr(gender));
+            query.setParameter("country", countryStr(country));
+            return runQuery(query, 15);
+        }
+
         String selectSql =
             """
             select nationality.name,
@@ -416,6 +477,18 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
         @Nullable LocalDate dateTo, @Nullable Set<Long> candidateIds,
         @Nullable List<Long> sourceCountryIds, @Nullable String constraint) {
 
+        if (useRollup(candidateIds, constraint)) {
+            Query query = createRollupQuery("computeRegistrationStats",
+                """
+                select r.created_day, cast(sum(r.people_count) as bigint) as PeopleCount
+                     from candidate_stats_rollup r
+                     where
+                """,
+                " group by r.created_day order by r.created_day asc",
+                true, dateFrom, dateTo, sourceCountryIds);
+            return runQuery(query, 0);
+        }
+
         String selectSql =
             """
                     select DATE(users.created_date), count(distinct users.id) as PeopleCount
@@ -443,6 +516,21 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
     public List<DataRow> computeSourceCountryStats(@Nullable Gender gender,
         @Nullable LocalDate dateFrom, @Nullable LocalDate dateTo, @Nullable Set<Long> candidateIds,
         @Nullable List<Long> sourceCountryIds, @Nullable String constraint) {
+
+        if (useRollup(candidateIds, constraint)) {
+            Query query = createRollupQuery("computeSourceCountryStats",
+                """
+                select source.name, cast(sum(r.people_count) as bigint) as PeopleCount
+                from candidate_stats_rollup r
+                left join country source on r.country_id = source.id
+                where r.gender like :gender and
+                """,
+                " group by source.name order by PeopleCount desc",
+                false, dateFrom, dateTo, sourceCountryIds);
+            query.setParameter("gender", genderStr(gender));
+            return runQuery(query, 15);
+        }
+
         String selectSql =
             """
             select source.name,
@@ -508,6 +596,22 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
     public List<DataRow> computeStatusStats(@Nullable Gender gender, @Nullable String country,
         @Nullable LocalDate dateFrom, @Nullable LocalDate dateTo, @Nullable Set<Long> candidateIds,
         @Nullable List<Long> sourceCountryIds, @Nullable String constraint) {
+
+        if (useRollup(candidateIds, constraint)) {
+            Query query = createRollupQuery("computeStatusStats",
+                """
+                select r.status, cast(sum(r.people_count) as bigint) as PeopleCount
+                from candidate_stats_rollup r
+                left join country on r.country_id = country.id
+                where r.gender like :gender and lower(country.name) like :country and
+                """,
+                " group by r.status order by PeopleCount desc",
+                true, dateFrom, dateTo, sourceCountryIds);
+            query.setParameter("gender", genderStr(gender));
+            query.setParameter("country", countryStr(country));
+            return runQuery(query, 0);
+        }
+
         String selectSql =
             """
             select candidate.status,
@@ -663,6 +767,58 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
         return runQuery(query, 0);
     }
 
+    @Override
+    @Transactional
+    public <T> T computeForCandidateIds(
+        @NonNull Set<Long> candidateIds, @NonNull Function<String, T> stats) {
+
+        entityManager.createNativeQuery("create temporary table if not exists "
+            + candidateIdsTable + " (id bigint primary key) on commit drop").executeUpdate();
+        entityManager.createNativeQuery("truncate " + candidateIdsTable).executeUpdate();
+
+        //Ship all the ids in a single array parameter, rather than one parameter per id
+        Query insert = entityManager.createNativeQuery("insert into " + candidateIdsTable
+            + " select distinct unnest(cast(:candidateIds as bigint[]))");
+        insert.setParameter("candidateIds", toArrayLiteral(candidateIds));
+        int loaded = insert.executeUpdate();
+
+        //Temporary tables are never analyzed by autovacuum, so give the planner row estimates
+        entityManager.createNativeQuery("analyze " + candidateIdsTable).executeUpdate();
+
+        LogBuilder.builder(log).action("computeForCandidateIds")
+            .message("Loaded " + loaded + " candidate ids into " + candidateIdsTable)
+            .logInfo();
+
+        return stats.apply("candidate.id in (select id from " + candidateIdsTable + ")");
+    }
+
+    /**
+     * Builds a query on candidate_stats_rollup, adding the standard date, status and source
+     * country constraints to the given select, and setting their parameters.
+     */
+    private Query createRollupQuery(String action, String selectSql, String groupBySql,
+        boolean includeDraft, @Nullable LocalDate dateFrom, @Nullable LocalDate dateTo,
+        @Nullable List<Long> sourceCountryIds) {
+
+        String sql = selectSql + (includeDraft ? rollupFilterIncludeDraft : rollupStandardFilter);
+        boolean filterSourceCountries = sourceCountryIds != null && !sourceCountryIds.isEmpty();
+        if (filterSourceCountries) {
+            sql += rollupSourceCountriesCondition;
+        }
+        sql += groupBySql;
+
+        LogBuilder.builder(log).action(action)
+            .message("Rollup query: " + sql).logInfo();
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("dateFrom", defaultDateFrom(dateFrom));
+        query.setParameter("dateTo", defaultDateTo(dateTo));
+        if (filterSourceCountries) {
+            query.setParameter("sourceCountryIds", sourceCountryIds);
+        }
+        return query;
+    }
+
     private static String countryStr(String country) {
         return country == null ? "%" : country;
     }
@@ -719,6 +875,13 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
 
     }
 
+    /**
+     * Stats which are not restricted to particular candidates can be computed from the rollup.
+     */
+    private boolean useRollup(@Nullable Set<Long> candidateIds, @Nullable String constraint) {
+        return rollupEnabled && candidateIds == null && constraint == null;
+    }
+
     private static String standardConstraints(
         @Nullable Set<Long> candidateIds, @Nullable List<Long> sourceCountryIds,
         @Nullable String constraint) {
@@ -757,6 +920,13 @@ public class CandidateStatsServiceImpl implements CandidateStatsService {
         return s;
     }
 
+    /**
+     * Postgres array literal, eg {1,2,3}, which can be cast to bigint[].
+     */
+    private static String toArrayLiteral(Set<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"));
+    }
+
     private static List<DataRow> toRows(List<?> objects) {
         List<DataRow> dataRows = new ArrayList<>(objects.size());
         for (Object obj: objects) {
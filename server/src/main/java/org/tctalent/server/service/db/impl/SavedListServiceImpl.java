@@ -23,20 +23,23 @@ import com.opencsv.exceptions.CsvValidationException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.PrintWriter;
 import java.security.GeneralSecurityException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -48,7 +51,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClientException;
 import org.tctalent.server.configuration.GoogleDriveConfig;
+import org.tctalent.server.configuration.SystemAdminConfiguration;
 import org.tctalent.server.exception.EntityExistsException;
+import org.tctalent.server.exception.ExportFailedException;
 import org.tctalent.server.exception.InvalidRequestException;
 import org.tctalent.server.exception.NoSuchObjectException;
 import org.tctalent.server.exception.RegisteredListException;
@@ -72,6 +77,8 @@ import org.tctalent.server.repository.db.GetSavedListsQuery;
 import org.tctalent.server.repository.db.SavedListRepository;
 import org.tctalent.server.repository.db.UserRepository;
 import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateSetDao;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
 import org.tctalent.server.request.IdsRequest;
 import org.tctalent.server.request.candidate.EmployerCandidateDecision;
 import org.tctalent.server.request.candidate.EmployerCandidateFeedbackData;
@@ -85,7 +92,7 @@ import org.tctalent.server.request.candidate.UpdateCandidateListOppsRequest;
 import org.tctalent.server.request.candidate.UpdateDisplayedFieldPathsRequest;
 import org.tctalent.server.request.candidate.source.UpdateCandidateSourceDescriptionRequest;
 import org.tctalent.server.request.link.UpdateShortNameRequest;
-import org.tctalent.server.request.list.ContentUpdateType;
+import org.tctalent.server.request.list.CandidateSetOperation;
 import org.tctalent.server.request.list.IHasSetOfCandidates;
 import org.tctalent.server.request.list.SearchSavedListRequest;
 import org.tctalent.server.request.list.UpdateExplicitSavedListContentsRequest;
@@ -93,6 +100,7 @@ import org.tctalent.server.request.list.UpdateSavedListContentsRequest;
 import org.tctalent.server.request.list.UpdateSavedListInfoRequest;
 import org.tctalent.server.request.search.UpdateSharingRequest;
 import org.tctalent.server.service.db.CandidateDtoFetchService;
+import org.tctalent.server.service.db.CandidateExportService;
 import org.tctalent.server.service.db.CandidateOpportunityService;
 import org.tctalent.server.service.db.DocPublisherService;
 import org.tctalent.server.service.db.ExportColumnsService;
@@ -103,6 +111,7 @@ import org.tctalent.server.service.db.SalesforceService;
 import org.tctalent.server.service.db.SavedListService;
 import org.tctalent.server.service.db.TaskAssignmentService;
 import org.tctalent.server.service.db.UserService;
+import org.tctalent.server.util.CandidateSearchCursor;
 import org.tctalent.server.util.CandidateSearchUtils;
 import org.tctalent.server.util.filesystem.GoogleFileSystemDrive;
 import org.tctalent.server.util.filesystem.GoogleFileSystemFile;
@@ -122,7 +131,9 @@ public class SavedListServiceImpl implements SavedListService {
     private final static String EXCLUSION_LIST_SUFFIX = "Exclude";
     private final CandidateRepository candidateRepository;
     private final CandidateDtoFetchService candidateDtoFetchService;
+    private final CandidateExportService candidateExportService;
     private final CandidateSavedListRepository candidateSavedListRepository;
+    private final CandidateSetDao candidateSetDao;
     private final CandidateOpportunityService candidateOpportunityService;
     private final ExportColumnsService exportColumnsService;
     private final SavedListRepository savedListRepository;
@@ -138,10 +149,29 @@ public class SavedListServiceImpl implements SavedListService {
 
     private static final String PUBLISHED_DOC_CANDIDATE_NUMBER_RANGE_NAME = "CandidateNumber";
 
+    /**
+     * Maximum number of candidates processed by each query of {@link #addCandidatesToList},
+     * keeping the number of ids bound into each query well within JDBC limits.
+     */
+    private static final int ADD_CANDIDATES_BATCH_SIZE = 1000;
+
+    /**
+     * Number of CSV identifiers resolved to candidate ids by each lookup query in
+     * {@link #mergeSavedListFromInputStream}.
+     */
+    private static final int CSV_IMPORT_BATCH_SIZE = 2000;
+
+    /**
+     * Maximum number of unknown CSV identifiers listed in the exception thrown by
+     * {@link #mergeSavedListFromInputStream}. Any others are just counted.
+     */
+    private static final int MAX_REPORTED_UNKNOWN_IDENTIFIERS = 20;
+
     @Autowired
     public SavedListServiceImpl(
         CandidateRepository candidateRepository,
         CandidateDtoFetchService candidateDtoFetchService,
+        CandidateExportService candidateExportService,
         CandidateSavedListRepository candidateSavedListRepository,
         CandidateOpportunityService candidateOpportunityService, ExportColumnsService exportColumnsService,
         SavedListRepository savedListRepository,
@@ -151,9 +181,11 @@ public class SavedListServiceImpl implements SavedListService {
         SalesforceService salesforceService,
         SalesforceJobOppService salesforceJobOppService, TaskAssignmentService taskAssignmentService,
         UserRepository userRepository,
-        UserService userService) {
+        UserService userService,
+        CandidateSetDao candidateSetDao) {
         this.candidateRepository = candidateRepository;
         this.candidateDtoFetchService = candidateDtoFetchService;
+        this.candidateExportService = candidateExportService;
         this.candidateSavedListRepository = candidateSavedListRepository;
         this.candidateOpportunityService = candidateOpportunityService;
         this.exportColumnsService = exportColumnsService;
@@ -167,6 +199,7 @@ public class SavedListServiceImpl implements SavedListService {
         this.taskAssignmentService = taskAssignmentService;
         this.userRepository = userRepository;
         this.userService = userService;
+        this.candidateSetDao = candidateSetDao;
     }
 
     @Override
@@ -236,12 +269,155 @@ public class SavedListServiceImpl implements SavedListService {
         addCandidateToList(destinationList, candidate, contextNote);
     }
 
+    /**
+     * Adds the candidates in bulk: finding the candidates which are new to the list, copying
+     * their context notes from the source list, inserting their list links, assigning them
+     * the list's tasks and creating any submission list opportunities are each done for all
+     * candidates together (in batches of {@link #ADD_CANDIDATES_BATCH_SIZE}) rather than
+     * candidate by candidate.
+     * <p/>
+     * The candidateSavedLists collections of the destination list and candidates are only
+     * updated if they have already been loaded - they are never loaded just to add to them.
+     */
     @Override
+    @Transactional
     public void addCandidatesToList(@NonNull SavedList destinationList, @NonNull Iterable<Candidate> candidates,
         @Nullable SavedList sourceList) {
+
+        //Find the candidates who are not already in the list
+        Map<Long, Candidate> candidatesById = new LinkedHashMap<>();
         for (Candidate candidate : candidates) {
-            addCandidateToList(destinationList, candidate, sourceList);
+            candidatesById.putIfAbsent(candidate.getId(), candidate);
         }
+        List<Candidate> newCandidates = new ArrayList<>();
+        for (List<Long> batch : batches(candidatesById.keySet())) {
+            Set<Long> existingIds = findCandidateIdsInList(destinationList, batch);
+            for (Long candidateId : batch) {
+                if (!existingIds.contains(candidateId)) {
+                    newCandidates.add(candidatesById.get(candidateId));
+                }
+            }
+        }
+        if (newCandidates.isEmpty()) {
+            return;
+        }
+
+        //If a submission list, check that all candidates can be added before adding any
+        final SalesforceJobOpp jobOpp = destinationList.getSfJobOpp();
+        final boolean isSubmissionList = destinationList.getRegisteredJob() && jobOpp != null;
+        if (isSubmissionList) {
+            checkNoPendingTermsCandidates(newCandidates);
+        }
+
+        final Set<TaskImpl> listTasks = destinationList.getTasks();
+        final User loggedInUser = listTasks.isEmpty() ? null : userService.getLoggedInUser();
+        for (List<Candidate> batch : batches(newCandidates)) {
+            addCandidateSavedLists(destinationList, batch, sourceList);
+            for (TaskImpl listTask : listTasks) {
+                taskAssignmentService.assignTaskToCandidates(
+                    loggedInUser, listTask, batch, destinationList);
+            }
+        }
+
+        if (isSubmissionList) {
+            //With no params specified will not change any existing opps associated with this job,
+            //but will create new opps where needed, with stage defaulting to "prospect".
+            //All the candidates are passed in one call so that Salesforce is updated in bulk.
+            candidateOpportunityService.createUpdateCandidateOpportunities(
+                newCandidates, jobOpp, null);
+        }
+
+        LogBuilder.builder(log)
+            .listId(destinationList.getId())
+            .action("AddCandidatesToList")
+            .message("Added " + newCandidates.size() + " candidates to list")
+            .logInfo();
+    }
+
+    /**
+     * Returns which of the given candidates are already in the given list. Uses the list's
+     * candidateSavedLists if they are already loaded, otherwise queries for just the given
+     * candidates.
+     */
+    private Set<Long> findCandidateIdsInList(SavedList savedList, List<Long> candidateIds) {
+        final Set<Long> candidateIdsInList = new HashSet<>();
+        final Set<CandidateSavedList> csls = savedList.getCandidateSavedLists();
+        if (Hibernate.isInitialized(csls)) {
+            for (CandidateSavedList csl : csls) {
+                candidateIdsInList.add(csl.getCandidate().getId());
+            }
+        } else {
+            candidateIdsInList.addAll(
+                candidateSavedListRepository.findCandidateIdsInList(savedList.getId(), candidateIds));
+        }
+        return candidateIdsInList;
+    }
+
+    /**
+     * Candidates who have been shown our latest terms but have not accepted them cannot be
+     * added to submission lists.
+     *
+     * @throws InvalidRequestException naming all such candidates, if there are any
+     */
+    private void checkNoPendingTermsCandidates(List<Candidate> candidates)
+        throws InvalidRequestException {
+        Set<Long> pendingTermsIds = new HashSet<>();
+        for (List<Candidate> batch : batches(candidates)) {
+            pendingTermsIds.addAll(candidateSavedListRepository.findCandidateIdsInList(
+                SystemAdminConfiguration.PENDING_TERMS_ACCEPTANCE_LIST_ID,
+                batch.stream().map(Candidate::getId).toList()));
+        }
+        if (!pendingTermsIds.isEmpty()) {
+            String candidateNumbers = candidates.stream()
+                .filter(candidate -> pendingTermsIds.contains(candidate.getId()))
+                .map(Candidate::getCandidateNumber)
+                .collect(Collectors.joining(", "));
+            throw new InvalidRequestException("Candidates " + candidateNumbers
+                + " cannot be added to a submission list."
+                + " They have been shown the latest TC terms but have not accepted them."
+                + " Ask the candidates to log on to their TC accounts and accept the terms.");
+        }
+    }
+
+    /**
+     * Links the given candidates, which must not already be in the list, to the given list with
+     * a single insert - copying across any context notes from the source list.
+     */
+    private void addCandidateSavedLists(SavedList destinationList, List<Candidate> candidates,
+        @Nullable SavedList sourceList) {
+        final List<Long> candidateIds = candidates.stream().map(Candidate::getId).toList();
+        candidateSetDao.addToList(destinationList.getId(),
+            CandidateSetDao.candidateIdsSql(candidateIds),
+            sourceList == null ? null : sourceList.getId());
+
+        //Keep any loaded collections in step with the database
+        final Map<Long, String> contextNotes = new HashMap<>();
+        if (sourceList != null) {
+            for (Object[] row : candidateSavedListRepository.findContextNotes(
+                sourceList.getId(), candidateIds)) {
+                contextNotes.put((Long) row[0], (String) row[1]);
+            }
+        }
+        final boolean listCslsLoaded = Hibernate.isInitialized(destinationList.getCandidateSavedLists());
+        for (Candidate candidate : candidates) {
+            final CandidateSavedList csl = new CandidateSavedList(candidate, destinationList);
+            csl.setContextNote(contextNotes.get(candidate.getId()));
+            if (listCslsLoaded) {
+                destinationList.getCandidateSavedLists().add(csl);
+            }
+            if (Hibernate.isInitialized(candidate.getCandidateSavedLists())) {
+                candidate.getCandidateSavedLists().add(csl);
+            }
+        }
+    }
+
+    private static <T> List<List<T>> batches(Collection<T> items) {
+        final List<T> list = new ArrayList<>(items);
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += ADD_CANDIDATES_BATCH_SIZE) {
+            batches.add(list.subList(i, Math.min(i + ADD_CANDIDATES_BATCH_SIZE, list.size())));
+        }
+        return batches;
     }
 
     @Override
@@ -573,7 +749,27 @@ public class SavedListServiceImpl implements SavedListService {
         String sql = extractFetchSQL(savedList, request, true);
         String countSql = extractCountSQL(savedList, request);
 
-        return candidateDtoFetchService.fetchPage(sql, countSql, pageRequest);
+        //Only fetch the candidate data needed by the requested type of DTO
+        return candidateDtoFetchService.fetchPage(sql, countSql, pageRequest,
+            CandidateJsonProjection.forDtoType(request.getDtoType()), request.getCursor() != null);
+    }
+
+    @Override
+    public void exportToCsv(
+        @NonNull SavedList savedList, SavedListGetRequest request, PrintWriter writer)
+        throws ExportFailedException {
+        //Exports cover all results, so ignore any paging cursor
+        request.setCursor(null);
+
+        String sql = extractFetchSQL(savedList, request, true);
+        long count = candidateExportService.exportToCsv(
+            sql, request.getSort(), savedList.getId(), writer);
+
+        LogBuilder.builder(log)
+            .listId(savedList.getId())
+            .action("exportToCsv")
+            .message("Exported " + count + " candidates from list")
+            .logInfo();
     }
 
     private String extractCountSQL(SavedList savedList, SavedListGetRequest request) {
@@ -657,6 +853,12 @@ public class SavedListServiceImpl implements SavedListService {
             if (!tableSet.isEmpty()) {
                 joins.addAll(tableSet);
             }
+
+            //Keyset paging - only candidates after the last one on the previous page
+            if (request.getCursor() != null) {
+                ands.add(CandidateSearchUtils.buildKeysetClause(request.getSort(), null,
+                    CandidateSearchCursor.decode(request.getCursor())));
+            }
         }
 
         String joinClause = joins.stream()
@@ -682,30 +884,88 @@ public class SavedListServiceImpl implements SavedListService {
         return savedList.getCandidates().isEmpty();
     }
 
+    /**
+     * Transactional here, not just in {@link #mergeCandidateSet}, because that is called
+     * directly rather than through the Spring proxy.
+     */
     @Override
+    @Transactional
     public void mergeSavedList(long savedListId,
         UpdateExplicitSavedListContentsRequest request) throws NoSuchObjectException {
-        SavedList savedList = savedListRepository.findByIdLoadCandidates(savedListId)
-                .orElse(null);
-        if (savedList == null) {
-            throw new NoSuchObjectException(SavedList.class, savedListId);
+        Set<Long> candidateIds = request.getCandidateIds();
+        if (candidateIds == null) {
+            candidateIds = Collections.emptySet();
         }
 
-        SavedList sourceList = fetchSourceList(request);
-        Set<Candidate> candidates = fetchCandidates(request);
-        addCandidatesToList(savedList, candidates, sourceList);
+        //Check that all the candidates exist - without loading them
+        Set<Long> missingCandidateIds = candidateSetDao.findMissingCandidateIds(candidateIds);
+        if (!missingCandidateIds.isEmpty()) {
+            throw new NoSuchObjectException(Candidate.class, missingCandidateIds.iterator().next());
+        }
+
+        mergeCandidateSet(savedListId,
+            CandidateSetDao.candidateIdsSql(candidateIds), request.getSourceListId());
+    }
+
+    @Override
+    @Transactional
+    public void mergeCandidateSet(long savedListId, String candidateSetSql,
+        @Nullable Long sourceListId) throws NoSuchObjectException {
+        SavedList savedList = get(savedListId);
+        if (sourceListId != null && !savedListRepository.existsById(sourceListId)) {
+            throw new NoSuchObjectException(SavedList.class, sourceListId);
+        }
+
+        if (canAddCandidatesInBulk(savedList)) {
+            //Add the candidates with a single INSERT ... SELECT, without loading them
+            int added = candidateSetDao.addToList(savedListId, candidateSetSql, sourceListId);
+
+            LogBuilder.builder(log)
+                .user(userService.getLoggedInUser())
+                .listId(savedListId)
+                .action("MergeCandidateSet")
+                .message("Added " + added + " candidates to list")
+                .logInfo();
+        } else {
+            //Tasks and/or opportunities need to be processed for the new candidates, so load
+            //just the candidates in the set who are not already in the list.
+            SavedList sourceList = sourceListId == null ? null : get(sourceListId);
+            Set<Long> newCandidateIds = candidateSetDao.fetchCandidateIds(
+                CandidateSetDao.combineSql(CandidateSetOperation.difference,
+                    List.of(candidateSetSql, CandidateSetDao.savedListSql(savedListId))));
+            addCandidatesToList(savedList, candidateRepository.findByIds(newCandidateIds), sourceList);
+        }
 
         saveIt(savedList);
     }
 
+    /**
+     * Candidates can be added to a list purely in SQL (see {@link CandidateSetDao#addToList})
+     * unless adding a candidate to the list has side effects - ie the list has tasks, which are
+     * assigned to each added candidate, or the list is a submission list, where candidate
+     * opportunities are created for each added candidate. Those side effects need the new
+     * candidates to be loaded and passed to {@link #addCandidatesToList}.
+     */
+    private boolean canAddCandidatesInBulk(SavedList savedList) {
+        final boolean isSubmissionList =
+            savedList.getRegisteredJob() && savedList.getSfJobOpp() != null;
+        return !isSubmissionList && savedList.getTasks().isEmpty();
+    }
+
+    /**
+     * Transactional for the same reason as {@link #mergeSavedList}.
+     */
     @Override
+    @Transactional
     public void mergeSavedListFromInputStream(long savedListId, InputStream is)
         throws NoSuchObjectException, IOException {
 
-        Set<Long> candidateIds = new HashSet<>();
+        //Check the list exists before reading the file
+        get(savedListId);
 
-        //Extract candidate numbers or PublicIds from file, look up the id and add to candidateIds
-        //We need candidateIds to pass to other methods.
+        //Extract candidate numbers or PublicIds from file, resolving them to candidate ids in
+        //batches as we go - rather than looking up each candidate individually.
+        CsvCandidateResolver resolver = new CsvCandidateResolver();
         CSVReader reader = new CSVReader(new InputStreamReader(is));
         String [] tokens;
         try {
@@ -720,31 +980,72 @@ public class SavedListServiceImpl implements SavedListService {
                     possibleHeader = false;
 
                     if (!skip) {
-                        Candidate candidate = null;
-                        if (isPublicId(tokens[0])) {
-                            String publicId = tokens[0];
-                            candidate = candidateRepository
-                                .findByPublicId(publicId).orElse(null);
-                        } else if (isCandidateNumber(tokens[0])) {
-                            long candidateNumber = Long.parseLong(tokens[0]);
-                            candidate = candidateRepository
-                                .findByCandidateNumber(Long.toString(candidateNumber));
-                        }
-                        if (candidate == null) {
-                            throw new NoSuchObjectException(Candidate.class, tokens[0]);
-                        }
-                        candidateIds.add(candidate.getId());
+                        resolver.add(tokens[0]);
                     }
                 }
             }
         } catch (CsvValidationException ex) {
             throw new IOException("Bad file format: " + ex.getMessage());
         }
+        resolver.flush();
+
+        //Report all unknown candidates at once - though only listing the first few
+        List<String> unknown = resolver.unknownIdentifiers;
+        if (!unknown.isEmpty()) {
+            String reported = String.join(", ",
+                unknown.subList(0, Math.min(unknown.size(), MAX_REPORTED_UNKNOWN_IDENTIFIERS)));
+            if (unknown.size() > MAX_REPORTED_UNKNOWN_IDENTIFIERS) {
+                reported += " and " + (unknown.size() - MAX_REPORTED_UNKNOWN_IDENTIFIERS)
+                    + " more";
+            }
+            throw new NoSuchObjectException(Candidate.class, reported);
+        }
+
+        //All the candidates are known to exist, so they can be merged straight in
+        mergeCandidateSet(savedListId,
+            CandidateSetDao.candidateIdsSql(resolver.candidateIds), null);
+    }
+
+    /**
+     * Accumulates candidate numbers and public ids read from a CSV file, resolving them to
+     * candidate ids with one query per {@link #CSV_IMPORT_BATCH_SIZE} identifiers.
+     */
+    private class CsvCandidateResolver {
+        private final Set<Long> candidateIds = new LinkedHashSet<>();
+        private final List<String> unknownIdentifiers = new ArrayList<>();
+        private final Set<String> candidateNumbers = new LinkedHashSet<>();
+        private final Set<String> publicIds = new LinkedHashSet<>();
+
+        void add(String identifier) {
+            if (isPublicId(identifier)) {
+                publicIds.add(identifier);
+            } else if (isCandidateNumber(identifier)) {
+                //Normalize the number, eg dropping any leading zeros
+                candidateNumbers.add(Long.toString(Long.parseLong(identifier)));
+            } else {
+                unknownIdentifiers.add(identifier);
+            }
+            if (candidateNumbers.size() + publicIds.size() >= CSV_IMPORT_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            resolve(candidateNumbers, candidateSetDao.findIdsByCandidateNumbers(candidateNumbers));
+            resolve(publicIds, candidateSetDao.findIdsByPublicIds(publicIds));
+        }
 
-        UpdateExplicitSavedListContentsRequest request = new UpdateExplicitSavedListContentsRequest();
-        request.setCandidateIds(candidateIds);
-        request.setUpdateType(ContentUpdateType.add);
-        mergeSavedList(savedListId, request);
+        private void resolve(Set<String> identifiers, Map<String, Long> ids) {
+            for (String identifier : identifiers) {
+                Long id = ids.get(identifier);
+                if (id == null) {
+                    unknownIdentifiers.add(identifier);
+                } else {
+                    candidateIds.add(id);
+                }
+            }
+            identifiers.clear();
+        }
     }
 
     private boolean isCandidateNumber(String s) {
@@ -1273,18 +1574,12 @@ public class SavedListServiceImpl implements SavedListService {
         Set<Long> candidateIds;
         if (listIds == null) {
             candidateIds = null;
+        } else if (listIds.isEmpty()) {
+            //No lists provided. Return empty set of candidate ids.
+            candidateIds = new HashSet<>();
         } else {
-            final Iterator<Long> iterator = listIds.iterator();
-            if (iterator.hasNext()) {
-                candidateIds = fetchCandidateIds(iterator.next());
-                while (iterator.hasNext() && !candidateIds.isEmpty()) {
-                    long listId = iterator.next();
-                    candidateIds.retainAll(fetchCandidateIds(listId));
-                }
-            } else {
-                //No lists provided. Return empty set of candidate ids.
-                candidateIds = new HashSet<>();
-            }
+            //Intersect the lists in a single INTERSECT query
+            candidateIds = candidateSetDao.fetchCandidateIds(intersectionSql(listIds));
         }
         return candidateIds;
     }
@@ -1296,21 +1591,25 @@ public class SavedListServiceImpl implements SavedListService {
         if (publicListIds == null) {
             candidatePublicIds = null;
         } else {
-            final Iterator<String> iterator = publicListIds.iterator();
-            if (iterator.hasNext()) {
-                candidatePublicIds = fetchCandidatePublicIds(iterator.next());
-                while (iterator.hasNext() && !candidatePublicIds.isEmpty()) {
-                    String nextPublicListId = iterator.next();
-                    candidatePublicIds.retainAll(fetchCandidatePublicIds(nextPublicListId));
-                }
-            } else {
-                // No lists provided. Return empty set of candidate public ids.
+            final Set<String> distinctPublicListIds = new HashSet<>(publicListIds);
+            final List<Long> listIds = distinctPublicListIds.isEmpty() ? List.of()
+                : savedListRepository.findIdsByPublicIds(distinctPublicListIds);
+            if (listIds.isEmpty() || listIds.size() < distinctPublicListIds.size()) {
+                //No lists provided, or a list does not exist, so nothing is common to all lists.
                 candidatePublicIds = new HashSet<>();
+            } else {
+                candidatePublicIds =
+                    candidateSetDao.fetchCandidatePublicIds(intersectionSql(listIds));
             }
         }
         return candidatePublicIds;
     }
 
+    private static String intersectionSql(List<Long> listIds) {
+        return CandidateSetDao.combineSql(CandidateSetOperation.intersection,
+            listIds.stream().map(CandidateSetDao::savedListSql).toList());
+    }
+
     @Nullable
     public SavedList fetchSourceList(UpdateSavedListContentsRequest request)
             throws NoSuchObjectException {
@@ -25,12 +25,10 @@ import static org.tctalent.server.util.StringHelper.getStringListAsString;
 import static org.tctalent.server.util.StringHelper.getStringListFromString;
 import static org.tctalent.server.util.locale.LocaleHelper.getOffsetDateTime;
 
-import com.opencsv.CSVWriter;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.validation.constraints.NotNull;
-import java.io.IOException;
 import java.io.PrintWriter;
 import java.net.URI;
 import java.net.URL;
@@ -41,18 +39,22 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -67,6 +69,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties;
 import org.tctalent.server.exception.CircularReferencedException;
 import org.tctalent.server.exception.CountryRestrictionException;
 import org.tctalent.server.exception.EntityExistsException;
@@ -95,7 +98,6 @@ import org.tctalent.server.model.db.UnhcrStatus;
 import org.tctalent.server.model.db.User;
 import org.tctalent.server.model.db.partner.Partner;
 import org.tctalent.server.repository.db.CandidateRepository;
-import org.tctalent.server.repository.db.CandidateReviewStatusRepository;
 import org.tctalent.server.repository.db.CandidateSpecification;
 import org.tctalent.server.repository.db.CountryRepository;
 import org.tctalent.server.repository.db.EducationLevelRepository;
@@ -111,6 +113,8 @@ import org.tctalent.server.repository.db.SearchJoinRepository;
 import org.tctalent.server.repository.db.SurveyTypeRepository;
 import org.tctalent.server.repository.db.UserRepository;
 import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
+import org.tctalent.server.repository.db.read.sql.SavedSearchWatcherDao;
 import org.tctalent.server.request.IdsRequest;
 import org.tctalent.server.request.candidate.SavedSearchGetRequest;
 import org.tctalent.server.request.candidate.SearchCandidateRequest;
@@ -125,6 +129,7 @@ import org.tctalent.server.request.search.UpdateSharingRequest;
 import org.tctalent.server.request.search.UpdateWatchingRequest;
 import org.tctalent.server.security.AuthService;
 import org.tctalent.server.service.db.CandidateDtoFetchService;
+import org.tctalent.server.service.db.CandidateExportService;
 import org.tctalent.server.service.db.CandidateSavedListService;
 import org.tctalent.server.service.db.CandidateService;
 import org.tctalent.server.service.db.LanguageService;
@@ -136,14 +141,21 @@ import org.tctalent.server.service.db.SavedSearchService;
 import org.tctalent.server.service.db.UserService;
 import org.tctalent.server.service.db.email.EmailHelper;
 import org.tctalent.server.service.db.email.EmailNotificationLink;
+import org.tctalent.server.util.CandidateSearchCursor;
 import org.tctalent.server.util.CandidateSearchUtils;
-import org.tctalent.server.util.PersistenceContextHelper;
+import org.tctalent.server.util.CursorPage;
 import org.tctalent.server.util.textExtract.IdAndRank;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SavedSearchServiceImpl implements SavedSearchService {
+
+    /**
+     * Number of rows fetched from the database at a time when streaming candidate ids.
+     */
+    private static final int CANDIDATE_ID_FETCH_SIZE = 10_000;
+
     @Value("${web.admin}")
     private String adminUrl;
 
@@ -153,7 +165,7 @@ public class SavedSearchServiceImpl implements SavedSearchService {
     private final CandidateRepository candidateRepository;
     private final CandidateService candidateService;
     private final CandidateDtoFetchService candidateDtoFetchService;
-    private final CandidateReviewStatusRepository candidateReviewStatusRepository;
+    private final CandidateExportService candidateExportService;
     private final CandidateSavedListService candidateSavedListService;
     private final PartnerService partnerService;
     private final EmailHelper emailHelper;
@@ -174,8 +186,9 @@ public class SavedSearchServiceImpl implements SavedSearchService {
     private final SurveyTypeRepository surveyTypeRepository;
     private final EducationMajorRepository educationMajorRepository;
     private final EducationLevelRepository educationLevelRepository;
-    private final PersistenceContextHelper persistenceContextHelper;
     private final AuthService authService;
+    private final SavedSearchWatcherDao savedSearchWatcherDao;
+    private final CandidateSearchProperties searchProperties;
 
     private long ENGLISH_LANGUAGE_ID;
 
@@ -351,49 +364,87 @@ public class SavedSearchServiceImpl implements SavedSearchService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public @NotNull Set<Long> searchCandidates(long savedSearchId)
-        throws NoSuchObjectException, InvalidRequestException {
-        SearchCandidateRequest searchRequest =
-            loadSavedSearch(savedSearchId);
-
+        throws NoSuchObjectException {
         Set<Long> candidateIds = new HashSet<>();
+        streamCandidateIds(savedSearchId, candidateIds::add);
+        return candidateIds;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long streamCandidateIds(long savedSearchId, @NonNull LongConsumer consumer)
+        throws NoSuchObjectException {
+        String sql = extractCandidateIdsSQL(savedSearchId);
+        LogBuilder.builder(log).action("streamCandidateIds")
+            .message("Query: " + sql).logInfo();
+
+        long start = System.currentTimeMillis();
+
+        //Inside a transaction, a fetch size makes Postgres stream the results through a cursor
+        //rather than loading them all into memory.
+        Query query = entityManager.createNativeQuery(sql);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, CANDIDATE_ID_FETCH_SIZE);
 
-        searchRequest.setPageSize(10000);
         long count = 0;
-        int pageNum = 0;
-
-        Page<Candidate> pageOfCandidates;
-        do {
-            searchRequest.setPageNumber(pageNum++);
-            pageOfCandidates = doSearchCandidates(searchRequest);
-
-            int limit = 32000;
-            if (pageOfCandidates.getTotalElements() > limit) {
-                throw new InvalidRequestException(
-                    "Sorry, but there is currently a limit on doing stats on searches returning more than "
-                        + limit + " candidates. We are working to remove this limit.");
+        try (Stream<?> ids = query.getResultStream()) {
+            Iterator<?> iterator = ids.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(((Number) iterator.next()).longValue());
+                count++;
             }
+        }
 
-            count += pageOfCandidates.getNumberOfElements();
+        LogBuilder.builder(log)
+            .user(authService.getLoggedInUser())
+            .searchId(savedSearchId)
+            .action("streamCandidateIds")
+            .message("Streamed " + count + " candidate ids in "
+                + (System.currentTimeMillis() - start) + "ms")
+            .logInfo();
 
-            LogBuilder.builder(log)
-                .user(authService.getLoggedInUser())
-                .searchId(savedSearchId)
-                .action("SearchCandidates")
-                .message("Processing page " + pageNum + ". "
-                    + count + " candidates of "
-                    + pageOfCandidates.getTotalElements())
-                .logInfo();
+        return count;
+    }
 
-            //Extract candidate ids
-            List<Candidate> candidates = pageOfCandidates.getContent();
-            for (Candidate candidate : candidates) {
-                candidateIds.add(candidate.getId());
-            }
+    @Override
+    public @NonNull String extractCandidateIdsSQL(long savedSearchId)
+        throws NoSuchObjectException {
+        SearchCandidateRequest searchRequest = loadSavedSearch(savedSearchId);
 
-            persistenceContextHelper.clearEntityManager(); // Detach in-memory managed entities
-        } while (pageOfCandidates.hasNext());
-        return candidateIds;
+        // Modify request, doing standard defaults
+        addDefaultsToSearchCandidateRequest(searchRequest);
+
+        //Same query as a paged search, but unordered and with no paging
+        User user = userService.getLoggedInUser();
+        return extractFetchSQL(searchRequest, user, true, false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public @NonNull List<Long> fetchCandidateIdsAfter(
+        SearchCandidateRequest request, @Nullable Long afterId, int limit) {
+
+        // Modify request, doing standard defaults
+        addDefaultsToSearchCandidateRequest(request);
+
+        //Order by id, seeking past afterId using the same cursor machinery as paged searches
+        request.setSortFields(new String[] {"id"});
+        request.setSortDirection(Sort.Direction.ASC);
+        request.setCursor(afterId == null ? null
+            : CandidateSearchUtils.buildNextCursor(List.of(afterId), request.getSort(), 1));
+
+        User user = userService.getLoggedInUser();
+        String sql = extractFetchSQL(request, user, true, true);
+        LogBuilder.builder(log).action("fetchCandidateIdsAfter")
+            .message("Query: " + sql).logInfo();
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setMaxResults(limit);
+        final List<?> results = query.getResultList();
+
+        return CandidateSearchUtils.processIdRankSearchResults(results, request.getSort())
+            .stream().map(IdAndRank::id).toList();
     }
 
     /**
@@ -798,29 +849,32 @@ public class SavedSearchServiceImpl implements SavedSearchService {
     @Override
     public void exportToCsv(SearchCandidateRequest request, PrintWriter writer)
         throws ExportFailedException {
-        try (CSVWriter csvWriter = new CSVWriter(writer)) {
-            csvWriter.writeNext(candidateService.getExportTitles());
-
-            request.setPageNumber(0);
-            request.setPageSize(500);
-            boolean hasMore = true;
-            while (hasMore) {
-                persistenceContextHelper.clearEntityManager(); // Detach in-memory managed entities
-                Page<Candidate> result = doSearchCandidates(request);
-                setCandidateContext(request.getSavedSearchId(), result);
-                for (Candidate candidate : result.getContent()) {
-                    csvWriter.writeNext(candidateService.getExportCandidateStrings(candidate));
-                }
+        //Exports cover all results, so ignore any paging cursor
+        request.setCursor(null);
 
-                if ((long) result.getNumber() * request.getPageSize() < result.getTotalElements()) {
-                    request.setPageNumber(request.getPageNumber()+1);
-                } else {
-                    hasMore = false;
-                }
-            }
-        } catch (IOException e) {
-            throw new ExportFailedException( e);
+        // Modify request, doing standard defaults
+        addDefaultsToSearchCandidateRequest(request);
+
+        User user = userService.getLoggedInUser();
+        String sql = extractFetchSQL(request, user, true, true);
+
+        //Context notes come from the user's selection list, if any
+        Long contextSavedListId = null;
+        final Long savedSearchId = request.getSavedSearchId();
+        if (savedSearchId != null && user != null) {
+            contextSavedListId = savedListRepository.findSelectionList(savedSearchId, user.getId())
+                .map(SavedList::getId).orElse(null);
         }
+
+        long count = candidateExportService.exportToCsv(
+            sql, request.getSort(), contextSavedListId, writer);
+
+        LogBuilder.builder(log)
+            .user(authService.getLoggedInUser())
+            .searchId(savedSearchId)
+            .action("exportToCsv")
+            .message("Exported " + count + " candidates from search")
+            .logInfo();
     }
 
     @Override
@@ -1220,20 +1274,24 @@ public class SavedSearchServiceImpl implements SavedSearchService {
     /**
      * Sends emails to any users watching searches who had new results over night.
      * <p/>
-     * Has to be annotated as Transactional in order to create the "persistence context" (what
-     * the underlying Hibernate calls a Session).
-     * This context is used to fetch lazily loaded attributes (by auto generating other
-     * SQL calls on the database).
+     * Rather than rerunning each watched search in full, each search is only checked for
+     * matching candidates created since it was last checked (or in the last day if it has not
+     * been checked before, or incremental checking is turned off). That keeps the cost of the job
+     * proportional to the number of new candidates rather than to the total number of
+     * candidates times the number of watched searches.
      * <p/>
-     * When running searches from requests through the REST API, Spring automatically
-     * creates this context - so you don't have to annotate all your REST API methods
-     * as Transactional.
-     * - JC
+     * The SQL for each search is built in this transaction, because that needs to fetch lazily
+     * loaded attributes of the searches. The searches are then checked in parallel by
+     * {@link SavedSearchWatcherDao}. The new last checked time of a search is only recorded once
+     * it is found to have no new candidates, or once all its watchers have been emailed about
+     * them. A search which fails to be checked, or one of whose watchers could not be emailed, is
+     * reported and keeps its old last checked time, so it is checked again for the same
+     * candidates next time.
      */
     //Midnight GMT
     @Scheduled(cron = "0 1 0 * * ?", zone = "GMT")
     @SchedulerLock(name = "SavedSearchService_notifySearchWatchers", lockAtLeastFor = "PT23H", lockAtMostFor = "PT23H")
-    @Transactional
+    @Transactional(readOnly = true)
     public void notifySearchWatchers() {
         String currentSearch = "";
         try {
@@ -1243,58 +1301,80 @@ public class SavedSearchServiceImpl implements SavedSearchService {
             LogBuilder.builder(log)
                 .user(authService.getLoggedInUser())
                 .action("notifySearchWatchers")
-                .message("Notify watchers: running " + searches.size() + " searches")
+                .message("Notify watchers: checking " + searches.size() + " searches")
                 .logInfo();
 
-            int count = 0;
+            final boolean incremental = searchProperties.getWatcher().isIncremental();
+            final OffsetDateTime now = OffsetDateTime.now();
+            final OffsetDateTime yesterday = now.minusDays(1);
+            Map<Long, OffsetDateTime> checkedDates =
+                incremental ? savedSearchWatcherDao.fetchCheckedDates() : Map.of();
 
-            OffsetDateTime yesterday = OffsetDateTime.now().minusDays(1);
-
-            //Look through all watched searches looking for any that have candidates that were
-            //created since yesterday.
-            //Those are the searches that need to notify their watchers.
+            //Build the SQL looking for candidates created since each search was last checked.
+            Map<Long, SavedSearch> searchesById = new HashMap<>();
+            Map<Long, String> existsSqlBySearchId = new LinkedHashMap<>();
             for (SavedSearch savedSearch : searches) {
-
-                count++;
                 currentSearch = savedSearch.getName() + " (" + savedSearch.getId() + ")";
 
-                LogBuilder.builder(log)
-                    .user(authService.getLoggedInUser())
-                    .action("notifySearchWatchers")
-                    .message("Running search " + count + ": " + currentSearch)
-                    .logInfo();
-
                 SearchCandidateRequest searchCandidateRequest =
                     convertToSearchCandidateRequest(savedSearch);
+                addDefaultsToSearchCandidateRequest(searchCandidateRequest);
 
-                //Set up paging
-                searchCandidateRequest.setPageNumber(0);
-                //Short page is all we need - we are only going to look at first element
-                searchCandidateRequest.setPageSize(1);
+                OffsetDateTime createdAfter =
+                    checkedDates.getOrDefault(savedSearch.getId(), yesterday);
+                searchesById.put(savedSearch.getId(), savedSearch);
+                existsSqlBySearchId.put(savedSearch.getId(),
+                    extractNewCandidatesExistSQL(searchCandidateRequest, createdAfter));
+            }
+            currentSearch = "";
+
+            SavedSearchWatcherDao.CheckResult result =
+                savedSearchWatcherDao.checkSearches(existsSqlBySearchId);
+
+            //Searches without new candidates have nobody to notify, so are done with.
+            if (incremental) {
+                Set<Long> searchesWithoutNewCandidates =
+                    new HashSet<>(existsSqlBySearchId.keySet());
+                searchesWithoutNewCandidates.removeAll(result.searchesWithNewCandidates());
+                searchesWithoutNewCandidates.removeAll(result.failures().keySet());
+                savedSearchWatcherDao.recordCheckedDates(searchesWithoutNewCandidates, now);
+            }
 
-                Page<Candidate> candidates =
-                    doSearchCandidates(searchCandidateRequest);
+            //Report searches that could not be checked - other searches are still notified.
+            for (Map.Entry<Long, Exception> failure : result.failures().entrySet()) {
+                SavedSearch savedSearch = searchesById.get(failure.getKey());
+                String mess = "Watcher notification failure ("
+                    + savedSearch.getName() + " (" + savedSearch.getId() + "))";
+                LogBuilder.builder(log)
+                    .user(authService.getLoggedInUser())
+                    .action("notifySearchWatchers")
+                    .message(mess)
+                    .logError(failure.getValue());
 
-                boolean newCandidates = false;
-                if (candidates.getNumberOfElements() > 0) {
-                    //Get first (latest) candidate
-                    Candidate candidate = candidates.getContent().get(0);
-                    OffsetDateTime createdDate = candidate.getCreatedDate();
-                    newCandidates = createdDate.isAfter(yesterday);
-                }
+                emailHelper.sendAlert(mess, failure.getValue());
+            }
 
-                if (newCandidates) {
-                    //Query has new results. Need to let watchers know
-                    Set<Long> watcherUserIds = savedSearch.getWatcherUserIds();
-                    for (Long watcherUserId : watcherUserIds) {
-                        Set<SavedSearch> userWatches = userNotifications
-                            .computeIfAbsent(watcherUserId, k -> new HashSet<>());
-                        userWatches.add(savedSearch);
-                    }
+            //Searches with new candidates need to notify their watchers.
+            for (Long searchId : result.searchesWithNewCandidates()) {
+                SavedSearch savedSearch = searchesById.get(searchId);
+                Set<Long> watcherUserIds = savedSearch.getWatcherUserIds();
+                for (Long watcherUserId : watcherUserIds) {
+                    Set<SavedSearch> userWatches = userNotifications
+                        .computeIfAbsent(watcherUserId, k -> new HashSet<>());
+                    userWatches.add(savedSearch);
                 }
             }
 
-            //Construct and send emails
+            LogBuilder.builder(log)
+                .user(authService.getLoggedInUser())
+                .action("notifySearchWatchers")
+                .message("Notify watchers: " + result.searchesWithNewCandidates().size()
+                    + " searches have new candidates, " + result.failures().size() + " failed")
+                .logInfo();
+
+            //Construct and send emails, keeping track of the searches whose watchers were not all
+            //told about their new candidates.
+            Set<Long> unnotifiedSearchIds = new HashSet<>();
             for (Long userId : userNotifications.keySet()) {
                 final Set<SavedSearch> savedSearches = userNotifications.get(userId);
                 String s = savedSearches.stream()
@@ -1324,9 +1404,28 @@ public class SavedSearchServiceImpl implements SavedSearchService {
                         links.add(new EmailNotificationLink(
                             savedSearch.getId(), computeSearchUrl(savedSearch), savedSearch.getName()));
                     }
-                    emailHelper.sendWatcherEmail(user, links);
+                    try {
+                        emailHelper.sendWatcherEmail(user, links);
+                    } catch (Exception ex) {
+                        final String mess = "Watcher email failure for user " + userId
+                            + " watching searches " + s;
+                        LogBuilder.builder(log)
+                            .user(authService.getLoggedInUser())
+                            .action("notifySearchWatchers")
+                            .message(mess)
+                            .logError(ex);
+
+                        emailHelper.sendAlert(mess, ex);
+                        savedSearches.forEach(savedSearch -> unnotifiedSearchIds.add(savedSearch.getId()));
+                    }
                 }
             }
+
+            if (incremental) {
+                Set<Long> notifiedSearchIds = new HashSet<>(result.searchesWithNewCandidates());
+                notifiedSearchIds.removeAll(unnotifiedSearchIds);
+                savedSearchWatcherDao.recordCheckedDates(notifiedSearchIds, now);
+            }
         } catch (Exception ex) {
             String mess = "Watcher notification failure (" + currentSearch + ")";
             LogBuilder.builder(log)
@@ -1537,14 +1636,10 @@ public class SavedSearchServiceImpl implements SavedSearchService {
 
         Page<Candidate> candidates;
 
-        // Compute the candidates which should be excluded from search
-        Set<Candidate> excludedCandidates =
-            computeCandidatesExcludedFromSearchCandidateRequest(searchRequest);
-
         // Modify request, doing standard defaults
         addDefaultsToSearchCandidateRequest(searchRequest);
 
-        candidates = doSQLSearchCandidates(searchRequest, excludedCandidates);
+        candidates = doSQLSearchCandidates(searchRequest);
         LogBuilder.builder(log)
             .user(authService.getLoggedInUser())
             .searchId(searchRequest.getSavedSearchId())
@@ -1559,14 +1654,10 @@ public class SavedSearchServiceImpl implements SavedSearchService {
 
         Page<CandidateReadDto> candidates;
 
-        // Compute the candidates which should be excluded from search
-        Set<Candidate> excludedCandidates =
-            computeCandidatesExcludedFromSearchCandidateRequest(searchRequest);
-
         // Modify request, doing standard defaults
         addDefaultsToSearchCandidateRequest(searchRequest);
 
-        candidates = doSQLSearchCandidateDtos(searchRequest, excludedCandidates);
+        candidates = doSQLSearchCandidateDtos(searchRequest);
 
         LogBuilder.builder(log)
             .user(authService.getLoggedInUser())
@@ -1630,21 +1721,20 @@ public class SavedSearchServiceImpl implements SavedSearchService {
      *    </li>
      * </ol>
      * @param request Specifies the details of the search
-     * @param excludedCandidates If specified, indicates candidates to be excluded from the search.
      * @return Sorted page of candidates
      */
-    private Page<Candidate> doSQLSearchCandidates(
-        SearchCandidateRequest request, @Nullable Set<Candidate> excludedCandidates) {
+    private Page<Candidate> doSQLSearchCandidates(SearchCandidateRequest request) {
         User user = userService.getLoggedInUser();
         final PageRequest pageRequest = request.getPageRequest();
 
-        String sql = extractFetchSQL(request, user, excludedCandidates, true);
+        String sql = extractFetchSQL(request, user, true, true);
         LogBuilder.builder(log).action("findCandidates")
             .message("Query: " + sql).logInfo();
 
-        //Create and execute the query to return the candidate ids
+        //Create and execute the query to return the candidate ids.
+        //If there is a cursor, the sql only returns results after the previous page.
         Query query = entityManager.createNativeQuery(sql);
-        query.setFirstResult((int) pageRequest.getOffset());
+        query.setFirstResult(request.getCursor() != null ? 0 : (int) pageRequest.getOffset());
         query.setMaxResults(pageRequest.getPageSize());
 
         long start = System.currentTimeMillis();
@@ -1699,7 +1789,7 @@ public class SavedSearchServiceImpl implements SavedSearchService {
         start = end;
 
         //Compute count
-        String countSql = extractCountSQL(request, user, excludedCandidates);
+        String countSql = extractCountSQL(request, user);
         LogBuilder.builder(log).action("countCandidates")
             .message("Query: " + countSql).logInfo();
         long total =  ((Number) entityManager.createNativeQuery(countSql).getSingleResult()).longValue();
@@ -1715,18 +1805,21 @@ public class SavedSearchServiceImpl implements SavedSearchService {
                 + " count: " + countTime
             ).logInfo();
 
-        return new PageImpl<>(candidatesSorted, pageRequest, total);
+        String nextCursor = CandidateSearchUtils.buildNextCursor(
+            results, pageRequest.getSort(), pageRequest.getPageSize());
+        return new CursorPage<>(candidatesSorted, pageRequest, total, nextCursor);
     }
 
-    private Page<CandidateReadDto> doSQLSearchCandidateDtos(
-        SearchCandidateRequest request, @Nullable Set<Candidate> excludedCandidates) {
+    private Page<CandidateReadDto> doSQLSearchCandidateDtos(SearchCandidateRequest request) {
         User user = userService.getLoggedInUser();
         final PageRequest pageRequest = request.getPageRequest();
 
-        String sql = extractFetchSQL(request, user, excludedCandidates, true);
-        String countSql = extractCountSQL(request, user, excludedCandidates);
+        String sql = extractFetchSQL(request, user, true, true);
+        String countSql = extractCountSQL(request, user);
 
-        return candidateDtoFetchService.fetchPage(sql, countSql, pageRequest);
+        //Only fetch the candidate data needed by the requested type of DTO
+        return candidateDtoFetchService.fetchPage(sql, countSql, pageRequest,
+            CandidateJsonProjection.forDtoType(request.getDtoType()), request.getCursor() != null);
     }
 
 
@@ -1742,17 +1835,19 @@ public class SavedSearchServiceImpl implements SavedSearchService {
      * @param user User making the request. If not null, user-specific constraints are added to the
      *             generated SQL - for example, some users are restricted to seeing candidates
      *             located in certain countries.
-     * @param excludedCandidates Candidates to be excluded from results - defaults to none if null
+     * <p>
+     *     Candidates excluded by the request (see {@link #extractFetchSQL(SearchCandidateRequest,
+     *     User, boolean, boolean)}) are excluded from the count.
+     * </p>
      *
      * @return String containing the SQL
      */
-    private String extractCountSQL(SearchCandidateRequest request,
-        @Nullable User user, @Nullable Collection<Candidate> excludedCandidates) {
+    private String extractCountSQL(SearchCandidateRequest request, @Nullable User user) {
         //Initialize used searches with root search. This can't appear again in base searches
         //otherwise we get a circular exception.
         Set<Long> excludedSavedSearchIds = new HashSet<>();
         excludedSavedSearchIds.add(request.getSavedSearchId());
-        return extractCountSQL(request, user, excludedCandidates, excludedSavedSearchIds);
+        return extractCountSQL(request, user, excludedSavedSearchIds);
     }
 
     /**
@@ -1761,11 +1856,10 @@ public class SavedSearchServiceImpl implements SavedSearchService {
      * forever.
      */
     private String extractCountSQL(SearchCandidateRequest request,
-        @Nullable User user, @Nullable Collection<Candidate> excludedCandidates,
-        @NonNull Set<Long> excludedSavedSearchIds) {
+        @Nullable User user, @NonNull Set<Long> excludedSavedSearchIds) {
 
         String joinAndWhereSql = extractJoinAndWhereSQL(
-            request, user, excludedCandidates, false, excludedSavedSearchIds);
+            request, user, true, false, excludedSavedSearchIds, null);
         String selectSql = extractCountSelectSql();
         return selectSql + joinAndWhereSql;
     }
@@ -1805,7 +1899,7 @@ public class SavedSearchServiceImpl implements SavedSearchService {
      */
     private String extractFetchSQL(SearchCandidateRequest request, @NonNull Set<Long> excludedSavedSearchIds) {
         return extractFetchSQL(
-            request, null, null, false, excludedSavedSearchIds);
+            request, null, false, false, excludedSavedSearchIds);
     }
 
     /**
@@ -1824,18 +1918,19 @@ public class SavedSearchServiceImpl implements SavedSearchService {
      * @param user User making the request. If not null, user-specific constraints are added to the
      *             generated SQL - for example, some users are restricted to seeing candidates
      *             located in certain countries.
-     * @param excludedCandidates Candidates to be excluded from results - defaults to none if null
-     *
+     * @param applyExclusions If true, candidates in the request's exclusion list, and candidates
+     *                        reviewed in the request's saved search with any of the statuses in
+     *                        its review status filter, are excluded from the results.
      * @param ordered If true the generated sql will return ordered data as specified in the request.
      * @return String containing the SQL
      */
     String extractFetchSQL(SearchCandidateRequest request,
-        @Nullable User user, @Nullable Collection<Candidate> excludedCandidates, boolean ordered) {
+        @Nullable User user, boolean applyExclusions, boolean ordered) {
         //Initialize used searches with root search. This can't appear again in base searches
         //otherwise we get a circular exception.
         Set<Long> excludedSavedSearchIds = new HashSet<>();
         excludedSavedSearchIds.add(request.getSavedSearchId());
-        return extractFetchSQL(request, user, excludedCandidates, ordered, excludedSavedSearchIds);
+        return extractFetchSQL(request, user, applyExclusions, ordered, excludedSavedSearchIds);
     }
 
     /**
@@ -1844,11 +1939,11 @@ public class SavedSearchServiceImpl implements SavedSearchService {
      * forever.
      */
     private String extractFetchSQL(SearchCandidateRequest request,
-        @Nullable User user, @Nullable Collection<Candidate> excludedCandidates, boolean ordered,
+        @Nullable User user, boolean applyExclusions, boolean ordered,
         @NonNull Set<Long> excludedSavedSearchIds) {
 
         String joinAndWhereSql = extractJoinAndWhereSQL(
-            request, user, excludedCandidates, ordered, excludedSavedSearchIds);
+            request, user, applyExclusions, ordered, excludedSavedSearchIds, null);
 
         String selectSql = extractFetchSelectSql(request, ordered);
 
@@ -1881,6 +1976,28 @@ public class SavedSearchServiceImpl implements SavedSearchService {
         return sql;
     }
 
+    /**
+     * Extracts native database query SQL returning a single boolean which is true if the given
+     * search matches any candidates created after the given time.
+     * <p>
+     *     Candidates excluded by the request are ignored, as they are when the search is run.
+     *     Restricting the search to recently created candidates (which are found using the
+     *     index on candidate.created_date) makes the query cost depend on the number of new
+     *     candidates rather than on the total number of candidates matching the search.
+     * </p>
+     * @param request Search request being processed
+     * @param createdAfter Only candidates created after this time are considered
+     * @return String containing the SQL
+     */
+    String extractNewCandidatesExistSQL(
+        SearchCandidateRequest request, @NonNull OffsetDateTime createdAfter) {
+        Set<Long> excludedSavedSearchIds = new HashSet<>();
+        excludedSavedSearchIds.add(request.getSavedSearchId());
+        String joinAndWhereSql = extractJoinAndWhereSQL(
+            request, null, true, false, excludedSavedSearchIds, createdAfter);
+        return "select exists (select 1 from candidate" + joinAndWhereSql + ")";
+    }
+
     /**
      * Builds the dynamic join and where clauses for candidate saved-search SQL.
      *
@@ -1907,8 +2024,8 @@ public class SavedSearchServiceImpl implements SavedSearchService {
      * a reason to add new unescaped free-text SQL concatenation in this method.
      */
     private String extractJoinAndWhereSQL(SearchCandidateRequest request,
-        @Nullable User user, @Nullable Collection<Candidate> excludedCandidates, boolean ordered,
-        @NonNull Set<Long> excludedSavedSearchIds) {
+        @Nullable User user, boolean applyExclusions, boolean ordered,
+        @NonNull Set<Long> excludedSavedSearchIds, @Nullable OffsetDateTime createdAfter) {
 
         //Uses a LinkedHashSet so that ordering is predictable - which helps unit testing
         Set<String> joins = new LinkedHashSet<>();
@@ -1956,12 +2073,30 @@ public class SavedSearchServiceImpl implements SavedSearchService {
             }
         }
 
-        // EXCLUDED CANDIDATES (eg from Review Status)
-        if (!ObjectUtils.isEmpty(excludedCandidates)) {
-            String values = excludedCandidates.stream()
-                .map(candidate -> candidate.getId().toString())
-                .collect(Collectors.joining(","));
-            ands.add("candidate.id not in (" + values + ")");
+        // EXCLUDED CANDIDATES (exclusion list and Review Status)
+        //These are evaluated by the database, however many candidates are excluded.
+        if (applyExclusions) {
+            final Long exclusionListId = request.getExclusionListId();
+            if (exclusionListId != null) {
+                //Check the list exists - without loading its candidates
+                if (!savedListRepository.existsById(exclusionListId)) {
+                    throw new NoSuchObjectException(SavedList.class, exclusionListId);
+                }
+                ands.add("not exists (select 1 from candidate_saved_list excluded"
+                    + " where excluded.candidate_id = candidate.id"
+                    + " and excluded.saved_list_id = " + exclusionListId + ")");
+            }
+
+            final Long savedSearchId = request.getSavedSearchId();
+            if (savedSearchId != null && isNotEmpty(request.getReviewStatusFilter())) {
+                //Exclude candidates who have been reviewed with statuses given in filter
+                String values = request.getReviewStatusFilter().stream()
+                    .map(Enum::name).map(val -> "'" + val + "'").collect(Collectors.joining(","));
+                ands.add("not exists (select 1 from candidate_review_item reviewed"
+                    + " where reviewed.candidate_id = candidate.id"
+                    + " and reviewed.saved_search_id = " + savedSearchId
+                    + " and reviewed.review_status in (" + values + "))");
+            }
         }
 
         // Exclude candidates belonging to the PENDING_TERMS_ACCEPTANCE_LIST unless specifically
@@ -2210,6 +2345,18 @@ public class SavedSearchServiceImpl implements SavedSearchService {
             if (!tableSet.isEmpty()) {
                 joins.addAll(tableSet);
             }
+
+            //Keyset paging - only candidates after the last one on the previous page
+            if (request.getCursor() != null) {
+                ands.add(CandidateSearchUtils.buildKeysetClause(request.getSort(),
+                    request.getSimpleQueryString(),
+                    CandidateSearchCursor.decode(request.getCursor())));
+            }
+        }
+
+        //Only candidates created since the given time - used when checking watched searches
+        if (createdAfter != null) {
+            ands.add("candidate.created_date > '" + createdAfter + "'");
         }
 
         String joinClause = joins.stream()
@@ -2238,27 +2385,6 @@ public class SavedSearchServiceImpl implements SavedSearchService {
         return selection;
     }
 
-    @NonNull
-    private Set<Candidate> computeCandidatesExcludedFromSearchCandidateRequest(SearchCandidateRequest request) {
-        Set<Candidate> excludedCandidates = new HashSet<>();
-
-        final Long exclusionListId = request.getExclusionListId();
-        if (exclusionListId != null) {
-            SavedList exclusionList = savedListService.get(exclusionListId);
-            excludedCandidates.addAll(exclusionList.getCandidates());
-        }
-
-        if (isNotEmpty(request.getReviewStatusFilter())) {
-            //Exclude candidates who have been reviewed with statuses given in filter
-            final Set<Candidate> candidatesToFilterOut =
-                candidateReviewStatusRepository.findReviewedCandidatesForSearch(
-                    request.getSavedSearchId(), request.getReviewStatusFilter());
-
-            excludedCandidates.addAll(candidatesToFilterOut);
-        }
-        return excludedCandidates;
-    }
-
     private void addDefaultsToSearchCandidateRequest(SearchCandidateRequest request) {
         //Modify request, defaulting blank statuses
         List<CandidateStatus> requestedStatuses = request.getStatuses();
@@ -20,8 +20,13 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
@@ -93,6 +98,48 @@ public class TaskAssigmentServiceImpl implements TaskAssignmentService {
     public TaskAssignmentImpl assignTaskToCandidate(
         User user, TaskImpl task, Candidate candidate, @Nullable SavedList savedList,
         @Nullable LocalDate dueDate) {
+        TaskAssignmentImpl taskAssignment =
+            createTaskAssignment(user, task, candidate, savedList, dueDate);
+        TaskAssignmentImpl savedTaskAssignment = taskAssignmentRepository.save(taskAssignment);
+        eventPublisher.publishEvent(new TaskAssignedEvent(savedTaskAssignment));
+        return savedTaskAssignment;
+    }
+
+    @Override
+    @Transactional
+    public List<TaskAssignmentImpl> assignTaskToCandidates(
+        User user, TaskImpl task, Collection<Candidate> candidates, @Nullable SavedList savedList) {
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        //Find candidates who already have the task, with one query
+        final Set<Long> alreadyAssigned = new HashSet<>(
+            taskAssignmentRepository.findCandidateIdsWithActiveTask(task.getId(),
+                candidates.stream().map(Candidate::getId).collect(Collectors.toSet())));
+
+        List<TaskAssignmentImpl> taskAssignments = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            //Also skips any candidate appearing more than once
+            if (alreadyAssigned.add(candidate.getId())) {
+                taskAssignments.add(createTaskAssignment(user, task, candidate, savedList, null));
+            }
+        }
+
+        List<TaskAssignmentImpl> savedTaskAssignments =
+            taskAssignmentRepository.saveAll(taskAssignments);
+        for (TaskAssignmentImpl savedTaskAssignment : savedTaskAssignments) {
+            eventPublisher.publishEvent(new TaskAssignedEvent(savedTaskAssignment));
+        }
+        return savedTaskAssignments;
+    }
+
+    /**
+     * Creates, but does not save, an active assignment of the given task to the given candidate.
+     */
+    private TaskAssignmentImpl createTaskAssignment(
+        User user, TaskImpl task, Candidate candidate, @Nullable SavedList savedList,
+        @Nullable LocalDate dueDate) {
 
         TaskAssignmentImpl taskAssignment;
 
@@ -122,9 +169,7 @@ public class TaskAssigmentServiceImpl implements TaskAssignmentService {
             dueDate = LocalDate.now().plusDays(task.getDaysToComplete());
         }
         taskAssignment.setDueDate(dueDate);
-        TaskAssignmentImpl savedTaskAssignment = taskAssignmentRepository.save(taskAssignment);
-        eventPublisher.publishEvent(new TaskAssignedEvent(savedTaskAssignment));
-        return savedTaskAssignment;
+        return taskAssignment;
     }
 
     @NonNull
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.tctalent.server.configuration.properties.TextExtractionProperties;
+import org.tctalent.server.logging.LogBuilder;
+import org.tctalent.server.model.db.AttachmentType;
+import org.tctalent.server.model.db.CandidateAttachment;
+import org.tctalent.server.repository.db.read.sql.TextExtractionTask;
+import org.tctalent.server.repository.db.read.sql.TextExtractionTaskDao;
+import org.tctalent.server.service.db.FileSystemService;
+import org.tctalent.server.service.db.TextExtractionService;
+import org.tctalent.server.storage.StorageService;
+import org.tctalent.server.util.filesystem.GoogleFileSystemFile;
+import org.tctalent.server.util.textExtract.TextExtractHelper;
+import org.tctalent.server.util.textExtract.TextExtractLimitException;
+import org.tctalent.server.util.textExtract.TextExtractLimits;
+
+@Service
+@Slf4j
+public class TextExtractionServiceImpl implements TextExtractionService {
+
+    private static final String EXTRACTIONS_METRIC = "tc.text.extractions";
+
+    private final TextExtractionTaskDao taskDao;
+    private final FileSystemService fileSystemService;
+    private final StorageService storageService;
+    private final TextExtractionProperties properties;
+    private final TextExtractLimits limits;
+
+    private final ThreadPoolExecutor workerExecutor;
+
+    private final Timer succeeded;
+    private final Timer failed;
+    private final Timer abandoned;
+
+    public TextExtractionServiceImpl(
+        TextExtractionTaskDao taskDao,
+        FileSystemService fileSystemService,
+        StorageService storageService,
+        TextExtractionProperties properties,
+        MeterRegistry meterRegistry) {
+        this.taskDao = taskDao;
+        this.fileSystemService = fileSystemService;
+        this.storageService = storageService;
+        this.properties = properties;
+        this.limits = new TextExtractLimits(
+            properties.getMaxFileSize().toBytes(),
+            properties.getMaxMainMemory().toBytes(),
+            properties.getMaxTextLength(),
+            properties.getTimeout());
+
+        CustomizableThreadFactory threadFactory =
+            new CustomizableThreadFactory("text-extraction-");
+        threadFactory.setDaemon(true);
+        //Each submission just wakes a worker to drain the queue table, so wake ups arriving
+        //when the queue is full can safely be discarded.
+        this.workerExecutor = new ThreadPoolExecutor(
+            properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()), threadFactory,
+            new ThreadPoolExecutor.DiscardPolicy());
+
+        this.succeeded = extractionsTimer(meterRegistry, "succeeded");
+        this.failed = extractionsTimer(meterRegistry, "failed");
+        this.abandoned = extractionsTimer(meterRegistry, "abandoned");
+    }
+
+    private static Timer extractionsTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(EXTRACTIONS_METRIC)
+            .description("Time to download and extract the text of a queued CV")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        //Tasks in progress are picked up again by another worker when their lease expires
+        workerExecutor.shutdownNow();
+    }
+
+    @Override
+    public void queueExtraction(@NonNull CandidateAttachment attachment) {
+        taskDao.enqueue(attachment.getId());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        wakeWorker();
+                    }
+                });
+        } else {
+            wakeWorker();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "0 * * * * ?", zone = "GMT")
+    public void pollQueuedExtractions() {
+        for (int i = 0; i < properties.getThreads(); i++) {
+            wakeWorker();
+        }
+    }
+
+    private void wakeWorker() {
+        workerExecutor.execute(() -> {
+            try {
+                processQueuedExtractions();
+            } catch (Exception ex) {
+                LogBuilder.builder(log)
+                    .action("TextExtraction")
+                    .message("Processing of queued text extractions failed")
+                    .logError(ex);
+            }
+        });
+    }
+
+    @Override
+    public int processQueuedExtractions() {
+        int count = 0;
+        TextExtractionTask task;
+        while ((task = taskDao.claimNext(properties.getMaxAttempts(), properties.getLease()))
+            != null) {
+            processTask(task);
+            count++;
+        }
+        return count;
+    }
+
+    private void processTask(TextExtractionTask task) {
+        //Nothing to do if the attachment has stopped being an extractable CV since it was queued
+        if (!task.cv() || (task.type() != AttachmentType.googlefile
+            && task.type() != AttachmentType.grnfile)) {
+            taskDao.delete(task.id());
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        File tempFile = null;
+        try {
+            tempFile = File.createTempFile("extract", ".tmp");
+            download(task, tempFile);
+
+            String text = TextExtractHelper.getTextExtractFromFile(
+                tempFile, task.fileType(), limits);
+            boolean candidateTextChanged =
+                taskDao.complete(task, StringUtils.hasText(text) ? text : null);
+            sample.stop(succeeded);
+
+            LogBuilder.builder(log)
+                .candidateId(task.candidateId())
+                .action("TextExtraction")
+                .message("Extracted text of attachment " + task.attachmentId()
+                    + (candidateTextChanged ? " - candidate text updated" : ""))
+                .logInfo();
+        } catch (TextExtractLimitException ex) {
+            sample.stop(abandoned);
+            taskDao.abandon(task.id(), ex.getMessage(), properties.getMaxAttempts());
+            LogBuilder.builder(log)
+                .candidateId(task.candidateId())
+                .action("TextExtraction")
+                .message("Abandoned text extraction of attachment " + task.attachmentId()
+                    + ": " + ex.getMessage())
+                .logWarn();
+        } catch (Exception ex) {
+            sample.stop(failed);
+            taskDao.fail(task.id(), ex.toString(), properties.getRetryDelay());
+            LogBuilder.builder(log)
+                .candidateId(task.candidateId())
+                .action("TextExtraction")
+                .message("Text extraction of attachment " + task.attachmentId()
+                    + " failed on attempt " + task.attempts() + " of "
+                    + properties.getMaxAttempts())
+                .logError(ex);
+        } finally {
+            if (tempFile != null && !tempFile.delete()) {
+                LogBuilder.builder(log)
+                    .action("TextExtraction")
+                    .message("Failed to delete temporary file " + tempFile)
+                    .logError();
+            }
+        }
+    }
+
+    private void download(TextExtractionTask task, File file) throws IOException {
+        try (OutputStream out = new SizeLimitedOutputStream(
+            new FileOutputStream(file), limits.maxFileBytes())) {
+            if (task.type() == AttachmentType.googlefile) {
+                fileSystemService.downloadFile(new GoogleFileSystemFile(task.url()), out);
+            } else {
+                try (InputStream in = storageService.openStream(task.storageKey())) {
+                    in.transferTo(out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops huge files being downloaded in full only to be rejected by the extraction limits.
+     */
+    private static class SizeLimitedOutputStream extends FilterOutputStream {
+        private final long maxBytes;
+        private long count;
+
+        SizeLimitedOutputStream(OutputStream out, long maxBytes) {
+            super(out);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkLimit(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkLimit(len);
+            out.write(b, off, len);
+        }
+
+        private void checkLimit(int len) throws TextExtractLimitException {
+            count += len;
+            if (count > maxBytes) {
+                throw new TextExtractLimitException(
+                    "File exceeds the text extraction limit of " + maxBytes + " bytes");
+            }
+        }
+    }
+}
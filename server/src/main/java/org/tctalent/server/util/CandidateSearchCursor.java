@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.tctalent.server.exception.InvalidRequestException;
+
+/**
+ * Continuation token for keyset (seek) paging of candidate searches.
+ * <p>
+ * Records the sort values of the last candidate on a page, so that the following page can be
+ * fetched with a WHERE clause selecting the candidates which sort after it (see
+ * {@link CandidateSearchUtils#buildKeysetClause}) rather than by having the database sort and
+ * skip all the candidates on earlier pages.
+ * </p>
+ * <p>
+ * Cursors are sent to the browser as opaque, URL safe strings - see {@link #encode()}.
+ * Since they come back from the browser, decoded values are always re-parsed into their
+ * types before being turned into SQL literals.
+ * </p>
+ *
+ * @param orderBy ORDER BY clause of the search that the cursor was built from. A cursor can
+ *                only be used with the same sort.
+ * @param keys Values of each sort field (including the id), in sort order
+ */
+public record CandidateSearchCursor(String orderBy, List<Key> keys) {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public enum KeyType {
+        NUMBER,
+        REAL,
+        DOUBLE,
+        STRING,
+        BOOLEAN,
+        TIMESTAMP,
+        LOCAL_TIMESTAMP,
+        DATE
+    }
+
+    /**
+     * Value of a single sort field.
+     * @param type Type of value - null if the value is null
+     * @param value String form of the value - null if the value is null
+     */
+    public record Key(@Nullable KeyType type, @Nullable String value) {
+
+        static final Key NULL = new Key(null, null);
+
+        /**
+         * Creates a key from a value returned by a native query.
+         * @param value Value returned by the query
+         * @return Key, or null if the value is of a type that cannot be stored in a cursor
+         */
+        @Nullable
+        static Key of(@Nullable Object value) {
+            if (value == null) {
+                return NULL;
+            } else if (value instanceof Float) {
+                return new Key(KeyType.REAL, value.toString());
+            } else if (value instanceof Double) {
+                return new Key(KeyType.DOUBLE, value.toString());
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof BigInteger || value instanceof BigDecimal) {
+                return new Key(KeyType.NUMBER, value.toString());
+            } else if (value instanceof String || value instanceof Character) {
+                return new Key(KeyType.STRING, value.toString());
+            } else if (value instanceof Boolean) {
+                return new Key(KeyType.BOOLEAN, value.toString());
+            } else if (value instanceof java.sql.Timestamp timestamp) {
+                return new Key(KeyType.TIMESTAMP, timestamp.toInstant().toString());
+            } else if (value instanceof Instant instant) {
+                return new Key(KeyType.TIMESTAMP, instant.toString());
+            } else if (value instanceof OffsetDateTime dateTime) {
+                return new Key(KeyType.TIMESTAMP, dateTime.toInstant().toString());
+            } else if (value instanceof ZonedDateTime dateTime) {
+                return new Key(KeyType.TIMESTAMP, dateTime.toInstant().toString());
+            } else if (value instanceof LocalDateTime dateTime) {
+                return new Key(KeyType.LOCAL_TIMESTAMP, dateTime.toString());
+            } else if (value instanceof java.sql.Date date) {
+                return new Key(KeyType.DATE, date.toLocalDate().toString());
+            } else if (value instanceof LocalDate date) {
+                return new Key(KeyType.DATE, date.toString());
+            }
+            return null;
+        }
+
+        boolean isNull() {
+            return type == null || value == null;
+        }
+
+        /**
+         * Renders the (non-null) value as a Postgres literal.
+         * <p>
+         * The value is always parsed and reformatted, so whatever a cursor contains it can
+         * only ever produce a literal of its declared type.
+         * </p>
+         * @throws IllegalArgumentException or DateTimeException if the value cannot be parsed
+         * as its type
+         */
+        @NonNull
+        String toSqlLiteral() {
+            if (isNull()) {
+                throw new IllegalArgumentException("Null key has no literal");
+            }
+            return switch (type) {
+                case NUMBER -> new BigDecimal(value).toPlainString();
+                case REAL -> "'" + Float.parseFloat(value) + "'::real";
+                case DOUBLE -> "'" + Double.parseDouble(value) + "'::float8";
+                case STRING -> "'" + value.replace("'", "''") + "'";
+                case BOOLEAN -> String.valueOf(Boolean.parseBoolean(value));
+                case TIMESTAMP -> "'" + Instant.parse(value) + "'::timestamptz";
+                case LOCAL_TIMESTAMP -> "'" + LocalDateTime.parse(value) + "'::timestamp";
+                case DATE -> "'" + LocalDate.parse(value) + "'::date";
+            };
+        }
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL safe string.
+     */
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(objectMapper.writeValueAsBytes(this));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode search cursor", ex);
+        }
+    }
+
+    /**
+     * Decodes a cursor encoded by {@link #encode()}
+     * @param token Encoded cursor
+     * @return Decoded cursor
+     * @throws InvalidRequestException if the token is not a valid cursor
+     */
+    public static CandidateSearchCursor decode(String token) throws InvalidRequestException {
+        CandidateSearchCursor cursor;
+        try {
+            cursor = objectMapper.readValue(
+                Base64.getUrlDecoder().decode(token), CandidateSearchCursor.class);
+            if (cursor.orderBy() == null || cursor.keys() == null || cursor.keys().isEmpty()) {
+                throw new IllegalArgumentException("Incomplete cursor");
+            }
+            //Check that all values can be rendered
+            for (Key key : cursor.keys()) {
+                if (!key.isNull()) {
+                    key.toSqlLiteral();
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeException | IOException ex) {
+            throw new InvalidRequestException("Invalid search cursor: " + token);
+        }
+        return cursor;
+    }
+}
@@ -28,6 +28,7 @@ import org.springframework.data.domain.Sort.Order;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
+import org.tctalent.server.exception.InvalidRequestException;
 import org.tctalent.server.util.textExtract.IdAndRank;
 
 /**
@@ -77,20 +78,7 @@ public abstract class CandidateSearchUtils {
      * @return ORDER BY clause, if any. If none, returns an empty string.
      */
     public static String buildOrderByClause(Sort sort) {
-        //Always sort - at a minimum by id
-        if (sort == null || sort.isUnsorted()) {
-            sort = Sort.by(Sort.Direction.DESC, "id");
-        }
-
-        //Need at least one id sort so that ordering is stable.
-        //Otherwise, sorts with equal values will come out in random order,
-        //which means that the contents of pages - computed at different times -
-        //won't be predictable.
-        boolean hasIdSort = sort.stream().anyMatch(order -> order.getProperty().equals("id"));
-        if (!hasIdSort) {
-            //Doesn't have an id sort, so add one at the end.
-            sort = sort.and(Sort.by(Sort.Direction.DESC, "id"));
-        }
+        sort = buildStableSort(sort);
 
         //Construct the order by clause, mapping Candidate entity field names to database names.
         String orderBy = sort.stream()
@@ -109,6 +97,127 @@ public abstract class CandidateSearchUtils {
         return orderBy.isEmpty() ? "" : " order by " + orderBy;
     }
 
+    /**
+     * Returns the sort actually used by {@link #buildOrderByClause} - ie with an id sort added
+     * if there isn't one.
+     */
+    private static @NonNull Sort buildStableSort(@Nullable Sort sort) {
+        //Always sort - at a minimum by id
+        if (sort == null || sort.isUnsorted()) {
+            sort = Sort.by(Sort.Direction.DESC, "id");
+        }
+
+        //Need at least one id sort so that ordering is stable.
+        //Otherwise, sorts with equal values will come out in random order,
+        //which means that the contents of pages - computed at different times -
+        //won't be predictable.
+        boolean hasIdSort = sort.stream().anyMatch(order -> order.getProperty().equals("id"));
+        if (!hasIdSort) {
+            //Doesn't have an id sort, so add one at the end.
+            sort = sort.and(Sort.by(Sort.Direction.DESC, "id"));
+        }
+        return sort;
+    }
+
+    /**
+     * Builds a cursor from which the page following the given page of results can be fetched
+     * using keyset paging - see {@link #buildKeysetClause}.
+     * @param results Rows returned by a query selecting the id and the fields listed by
+     *                {@link #buildNonIdFieldList}, ordered by {@link #buildOrderByClause}
+     * @param sort Sort used for the query
+     * @param pageSize Requested page size
+     * @return Encoded cursor, or null if there are no more results or the sort values cannot
+     * be stored in a cursor - in which case the following page must be fetched by offset.
+     */
+    public static @Nullable String buildNextCursor(List<?> results, Sort sort, int pageSize) {
+        //A short page means that there are no more results
+        if (results.isEmpty() || results.size() < pageSize) {
+            return null;
+        }
+
+        //Id is the first value of each row, followed by the non id sort fields, in sort order.
+        final Object last = results.get(results.size() - 1);
+        final Object[] row = last instanceof Object[] arr ? arr : new Object[] {last};
+
+        List<CandidateSearchCursor.Key> keys = new ArrayList<>();
+        int nonIdIndex = 1;
+        for (Order order : buildStableSort(sort)) {
+            Object value;
+            if (order.getProperty().equals("id")) {
+                value = row[0];
+            } else if (nonIdIndex < row.length) {
+                value = row[nonIdIndex++];
+            } else {
+                return null;
+            }
+            CandidateSearchCursor.Key key = CandidateSearchCursor.Key.of(value);
+            if (key == null) {
+                return null;
+            }
+            keys.add(key);
+        }
+
+        return new CandidateSearchCursor(buildOrderByClause(sort), keys).encode();
+    }
+
+    /**
+     * Builds a WHERE clause predicate which only matches candidates which sort after the
+     * candidate recorded in the given cursor.
+     * <p>
+     * Adding this to a query ordered by {@link #buildOrderByClause} means that the following
+     * page is just the first rows returned by the query, so the database does not have to
+     * sort and skip all the rows on earlier pages as it does with offset paging.
+     * </p>
+     * <p>
+     * Nulls are handled the same as in Postgres ORDER BY: last when ascending, first when
+     * descending.
+     * </p>
+     * @param sort Sort of the query - must be the sort the cursor was built with
+     * @param textQuery Text query of the search, used to compute the rank of text_match sorts
+     * @param cursor Cursor built from the last candidate of the previous page
+     * @return Predicate SQL
+     * @throws InvalidRequestException if the cursor was built with a different sort
+     */
+    public static @NonNull String buildKeysetClause(
+        Sort sort, @Nullable String textQuery, CandidateSearchCursor cursor)
+        throws InvalidRequestException {
+        final List<Order> orders = buildStableSort(sort).toList();
+        if (!buildOrderByClause(sort).equals(cursor.orderBy())
+            || orders.size() != cursor.keys().size()) {
+            throw new InvalidRequestException("Search cursor does not match sort: " + sort);
+        }
+
+        //eg for "order by a ASC, id DESC": (a > :a or a is null) or (a = :a and id < :id)
+        List<String> ors = new ArrayList<>();
+        List<String> equals = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            final Order order = orders.get(i);
+            final CandidateSearchCursor.Key key = cursor.keys().get(i);
+            final String field = order.getProperty().equals("text_match")
+                ? "ts_rank(" + CANDIDATE_TS_TEXT_FIELD + "," + buildToTsQueryFunction(textQuery) + ")"
+                : mapPropertyNameToDbField(order.getProperty());
+
+            final String after;
+            if (order.isAscending()) {
+                //Nothing sorts after a null when ascending
+                after = key.isNull() ? null
+                    : "(" + field + " > " + key.toSqlLiteral() + " or " + field + " is null)";
+            } else {
+                after = key.isNull() ? field + " is not null"
+                    : field + " < " + key.toSqlLiteral();
+            }
+
+            if (after != null) {
+                List<String> ands = new ArrayList<>(equals);
+                ands.add(after);
+                ors.add("(" + String.join(" and ", ands) + ")");
+            }
+            equals.add(key.isNull() ? field + " is null" : field + " = " + key.toSqlLiteral());
+        }
+
+        return ors.isEmpty() ? "false" : "(" + String.join(" or ", ors) + ")";
+    }
+
     /**
      * Generates list of fields in the given Sort excluding the default id field
      * @param sort Sort specifying fields
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.util;
+
+import java.util.List;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+
+/**
+ * Page which can also carry an opaque cursor from which the following page can be fetched
+ * using keyset (seek) paging rather than by offset.
+ * <p>
+ * The cursor is returned to the browser as "nextCursor" along with the other page fields -
+ * see {@link org.tctalent.server.util.dto.DtoBuilder#buildPage}.
+ * </p>
+ *
+ * @param <T> Type of page content
+ */
+public class CursorPage<T> extends PageImpl<T> {
+
+    @Nullable
+    private final String nextCursor;
+
+    /**
+     * @param content Page content
+     * @param pageable Page request
+     * @param total Total number of elements across all pages
+     * @param nextCursor Cursor for the following page - null if there is no following page
+     *                   or it can only be fetched by offset.
+     */
+    public CursorPage(
+        List<T> content, Pageable pageable, long total, @Nullable String nextCursor) {
+        super(content, pageable, total);
+        this.nextCursor = nextCursor;
+    }
+
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
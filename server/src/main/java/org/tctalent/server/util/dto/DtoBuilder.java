@@ -16,29 +16,40 @@
 
 package org.tctalent.server.util.dto;
 
-import java.lang.reflect.InvocationTargetException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.tctalent.server.model.db.StatReport;
 import org.tctalent.server.model.db.Translatable;
+import org.tctalent.server.util.CursorPage;
 
 /**
  * Converts objects to a Map of Strings to values, where the values can
  * be Strings or other Maps - ie Map<String, String|Map>
  * This hierarchical structure maps well on to Json which is used to
  * return responses over HTTP.
+ * <p/>
+ * Alternatively, the same structure can be written straight out as JSON to a Jackson
+ * {@link JsonGenerator} - see {@link #writePage} - without building the intermediate maps.
  */
 public class DtoBuilder {
 
     private final List<MappedProperty> mappedProperties;
+
+    /**
+     * Mapped properties with duplicate names removed, used when streaming. Computed on demand.
+     */
+    @Nullable
+    private List<MappedProperty> uniqueProperties;
     private final Boolean skipTranslation;
     private final DtoPropertyFilter propertyFilter;
     private final DtoCollectionItemFilter collectionItemFilter;
@@ -88,6 +99,7 @@ public class DtoBuilder {
      */
     public DtoBuilder add(String property, @Nullable DtoBuilder builder) {
         this.mappedProperties.add(new MappedProperty(property, builder));
+        this.uniqueProperties = null;
         return this;
     }
 
@@ -98,6 +110,7 @@ public class DtoBuilder {
 
     public DtoBuilder merge(DtoBuilder builder) {
         this.mappedProperties.addAll(builder.mappedProperties);
+        this.uniqueProperties = null;
         return this;
     }
 
@@ -124,6 +137,9 @@ public class DtoBuilder {
             result.put("numberOfElements", page.getNumberOfElements());
             result.put("hasNext", page.hasNext());
             result.put("hasPrevious", page.hasPrevious());
+            if (page instanceof CursorPage<?> cursorPage && cursorPage.getNextCursor() != null) {
+                result.put("nextCursor", cursorPage.getNextCursor());
+            }
             result.put("content", buildList(page.getContent()));
         }
         return result;
@@ -142,20 +158,8 @@ public class DtoBuilder {
 
     private Object getPropertyValue(@NonNull Object source, @NonNull String propertyName)
         throws DtoBuilderException {
-        Object value;
-        try {
-            value = PropertyUtils.getProperty(source, propertyName);
-        } catch (IllegalAccessException e) {
-            throw new DtoBuilderException("Unable to access property '" + propertyName
-                + "' on " + source.getClass().getSimpleName(), e);
-        } catch (InvocationTargetException e) {
-            throw new DtoBuilderException("Error while accessing property '" + propertyName
-                + "' on " + source.getClass().getSimpleName(), e);
-        } catch (NoSuchMethodException e) {
-            throw new DtoBuilderException("Property '" + propertyName
-                + "' does not exist on " + source.getClass().getSimpleName(), e);
-        }
-        return value;
+        //Getters are looked up once per class and cached - see PropertyAccessors
+        return PropertyAccessors.getProperty(source, propertyName);
     }
 
     /**
@@ -175,15 +179,110 @@ public class DtoBuilder {
             return map;
         }
 
+        visitProperties(source, mappedProperties, (property, value) -> {
+            if (property.builder != null) {
+                if (value instanceof Collection) {
+                    map.put(property.name,
+                        property.builder.buildList((Collection<?>) value));
+                } else {
+                    map.put(property.name, property.builder.build(value));
+                }
+            } else {
+                map.put(property.name, value);
+            }
+        });
+        return map;
+    }
+
+    /**
+     * Writes the same structure as {@link #buildPage} as JSON to the given generator.
+     * <p/>
+     * Each item is written as soon as it is built, so nothing is held in memory apart from the
+     * source page, and output can start flowing (for example to an HTTP response) before the
+     * whole page has been processed.
+     *
+     * @param page Page to be written. If null, an empty JSON object is written.
+     * @param generator Generator to write to. Values which are not built by a nested DtoBuilder
+     *                  are written using the generator's codec, which should be the
+     *                  application's ObjectMapper.
+     * @throws IOException if there is a problem writing
+     */
+    public void writePage(@Nullable Page<?> page, @NonNull JsonGenerator generator)
+        throws IOException {
+        generator.writeStartObject();
+        if (page != null) {
+            generator.writeNumberField("totalElements", page.getTotalElements());
+            generator.writeNumberField("totalPages", page.getTotalPages());
+            generator.writeNumberField("size", page.getSize());
+            generator.writeNumberField("number", page.getNumber());
+            generator.writeNumberField("numberOfElements", page.getNumberOfElements());
+            generator.writeBooleanField("hasNext", page.hasNext());
+            generator.writeBooleanField("hasPrevious", page.hasPrevious());
+            if (page instanceof CursorPage<?> cursorPage && cursorPage.getNextCursor() != null) {
+                generator.writeStringField("nextCursor", cursorPage.getNextCursor());
+            }
+            generator.writeFieldName("content");
+            writeList(page.getContent(), generator);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the same structure as {@link #buildList} as JSON to the given generator.
+     * @see #writePage
+     */
+    public void writeList(@Nullable Collection<?> sourceList, @NonNull JsonGenerator generator)
+        throws IOException {
+        generator.writeStartArray();
+        if (sourceList != null) {
+            for (Object source : sourceList) {
+                if( collectionItemFilter == null || !collectionItemFilter.ignoreItem(source)) {
+                    write(source, generator);
+                }
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes the same structure as {@link #build} as JSON to the given generator.
+     * @see #writePage
+     */
+    public void write(@Nullable Object source, @NonNull JsonGenerator generator)
+        throws IOException {
+        generator.writeStartObject();
+        if (source != null) {
+            visitProperties(source, getUniqueProperties(), (property, value) -> {
+                generator.writeFieldName(property.name);
+                if (property.builder != null) {
+                    if (value instanceof Collection) {
+                        property.builder.writeList((Collection<?>) value, generator);
+                    } else {
+                        property.builder.write(value, generator);
+                    }
+                } else {
+                    generator.writeObject(value);
+                }
+            });
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Calls the visitor with the value of each of the given properties of the source which is
+     * not ignored (by the property filter) and not null, applying any translation.
+     */
+    private <E extends Exception> void visitProperties(@NonNull Object source,
+        List<MappedProperty> properties, PropertyVisitor<E> visitor) throws E {
         String propertyToTranslate = null;
         String translationContainingTranslation = null;
-        if (source.getClass().isAnnotationPresent(Translatable.class)) {
-            Translatable translatable = source.getClass().getAnnotation(Translatable.class);
+        Translatable translatable = PropertyAccessors.getTranslatable(source.getClass());
+        if (translatable != null) {
             propertyToTranslate = translatable.value();
             translationContainingTranslation = translatable.translation();
         }
 
-        for (MappedProperty property : mappedProperties) {
+        for (MappedProperty property : properties) {
 
             //Skip if property is excluded by a propertyFilter. Property is ignored.
             boolean ignoreProperty = false;
@@ -202,21 +301,36 @@ public class DtoBuilder {
 
                 Object value = getPropertyValue(source, propertyName);
                 if (value != null) {
-                    if (property.builder != null) {
-                        if (value instanceof Collection) {
-                            map.put(property.name,
-                                property.builder.buildList((Collection<?>) value));
-                        } else {
-                            map.put(property.name, property.builder.build(value));
-                        }
-                    } else {
-                        map.put(property.name, value);
-                    }
+                    visitor.visit(property, value);
                 }
             }
 
         }
-        return map;
+    }
+
+    /**
+     * A map silently keeps just the last value of a property which has been added more than
+     * once (eg via {@link #merge}). When writing JSON directly we must do the same, otherwise
+     * we would output duplicate keys.
+     */
+    private List<MappedProperty> getUniqueProperties() {
+        List<MappedProperty> unique = uniqueProperties;
+        if (unique == null) {
+            Map<String, MappedProperty> byName = new LinkedHashMap<>();
+            for (MappedProperty property : mappedProperties) {
+                //Remove first so that the last definition is used, in its last position
+                byName.remove(property.name);
+                byName.put(property.name, property);
+            }
+            unique = List.copyOf(byName.values());
+            uniqueProperties = unique;
+        }
+        return unique;
+    }
+
+    @FunctionalInterface
+    private interface PropertyVisitor<E extends Exception> {
+        void visit(MappedProperty property, Object value) throws E;
     }
 
     private static final class MappedProperty {
@@ -16,7 +16,6 @@
 
 package org.tctalent.server.util.dto;
 
-import org.apache.commons.beanutils.PropertyUtils;
 import org.springframework.lang.Nullable;
 
 /**
@@ -52,7 +51,7 @@ public interface DtoPropertyFilter {
     default Object getProperty(Object o, String property) {
         Object value;
         try {
-            value = PropertyUtils.getProperty(o, property);
+            value = PropertyAccessors.getProperty(o, property);
         } catch (Exception e) {
             value = null;
         }
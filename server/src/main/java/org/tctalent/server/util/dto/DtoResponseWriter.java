@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.util.dto;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Streams DTOs built by a {@link DtoBuilder} straight into an HTTP response as JSON.
+ * <p/>
+ * The JSON is the same as Spring would produce from the maps returned by
+ * {@link DtoBuilder#buildPage}, but no maps are built. Each item is written as soon as it has
+ * been processed, so memory use does not grow with page size and the response starts flowing
+ * before the whole page has been processed.
+ * <p/>
+ * Writing happens on the request thread, so lazy loading of entities works exactly as it does
+ * when returning maps. Note though that once output has started the response is committed, so
+ * an error part way through can no longer be reported as an error response.
+ */
+public final class DtoResponseWriter {
+
+    private DtoResponseWriter() {
+    }
+
+    /**
+     * Writes the given page to the response as JSON.
+     * @param response Response to write to
+     * @param objectMapper Used to write values which are not built by nested DtoBuilders.
+     *                     Should be the application's ObjectMapper so that values are formatted
+     *                     as they would be in any other response.
+     * @param builder Builder defining the properties to be written
+     * @param page Page of objects to write
+     * @throws IOException if there is a problem writing to the response
+     */
+    public static void writePage(
+        @NonNull HttpServletResponse response, @NonNull ObjectMapper objectMapper,
+        @NonNull DtoBuilder builder, @Nullable Page<?> page) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator =
+                 objectMapper.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            builder.writePage(page, generator);
+        }
+    }
+}
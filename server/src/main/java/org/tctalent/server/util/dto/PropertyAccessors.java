@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.util.dto;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.tctalent.server.model.db.Translatable;
+
+/**
+ * Fast access to the properties of objects being converted by a {@link DtoBuilder}.
+ * <p/>
+ * The first time objects of a class are processed, the getters of all its readable properties
+ * are looked up, using the same JavaBeans introspection as Commons BeanUtils, and converted to
+ * {@link MethodHandle}s. Any {@link Translatable} annotation on the class is looked up at the
+ * same time. The result is cached against the class, so from then on reading a property is
+ * just a map lookup and a direct method handle invocation.
+ * <p/>
+ * Anything which is not a simple getter - nested, indexed or mapped property names, Map and
+ * DynaBean sources, and properties without an accessible getter - falls back to
+ * {@link PropertyUtils#getProperty}, so behaviour (including errors) is the same as before.
+ */
+final class PropertyAccessors {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<ClassAccessors> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected ClassAccessors computeValue(@NonNull Class<?> type) {
+            return new ClassAccessors(type);
+        }
+    };
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * Returns the value of the given property of the given object.
+     * @param source Object whose property is required
+     * @param propertyName Name of property
+     * @return Value of property - can be null
+     * @throws DtoBuilderException if the property does not exist or could not be read
+     */
+    @Nullable
+    static Object getProperty(@NonNull Object source, @NonNull String propertyName)
+        throws DtoBuilderException {
+        MethodHandle getter = source instanceof Map || source instanceof DynaBean
+            ? null
+            : ACCESSORS.get(source.getClass()).getters.get(propertyName);
+        if (getter == null) {
+            return getPropertyUsingPropertyUtils(source, propertyName);
+        }
+        try {
+            return (Object) getter.invokeExact(source);
+        } catch (Throwable e) {
+            throw new DtoBuilderException("Error while accessing property '" + propertyName
+                + "' on " + source.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Returns the {@link Translatable} annotation of the given class, if any.
+     */
+    @Nullable
+    static Translatable getTranslatable(@NonNull Class<?> type) {
+        return ACCESSORS.get(type).translatable;
+    }
+
+    private static Object getPropertyUsingPropertyUtils(Object source, String propertyName)
+        throws DtoBuilderException {
+        Object value;
+        try {
+            value = PropertyUtils.getProperty(source, propertyName);
+        } catch (IllegalAccessException e) {
+            throw new DtoBuilderException("Unable to access property '" + propertyName
+                + "' on " + source.getClass().getSimpleName(), e);
+        } catch (InvocationTargetException e) {
+            throw new DtoBuilderException("Error while accessing property '" + propertyName
+                + "' on " + source.getClass().getSimpleName(), e);
+        } catch (NoSuchMethodException e) {
+            throw new DtoBuilderException("Property '" + propertyName
+                + "' does not exist on " + source.getClass().getSimpleName(), e);
+        }
+        return value;
+    }
+
+    /**
+     * Cached accessors of a single class.
+     */
+    private static final class ClassAccessors {
+
+        @Nullable
+        final Translatable translatable;
+
+        /**
+         * Getters indexed by property name. Only contains properties which have a getter
+         * accessible through a public class or interface.
+         */
+        final Map<String, MethodHandle> getters = new HashMap<>();
+
+        ClassAccessors(Class<?> type) {
+            this.translatable = type.getAnnotation(Translatable.class);
+
+            BeanInfo beanInfo;
+            try {
+                beanInfo = Introspector.getBeanInfo(type);
+            } catch (IntrospectionException e) {
+                //Leave getters empty - everything will go through PropertyUtils.
+                return;
+            }
+
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+                //As PropertyUtils does, call the getter through a public class or interface
+                //so that getters of non-public classes can still be called.
+                Method readMethod = MethodUtils.getAccessibleMethod(type, descriptor.getReadMethod());
+                if (readMethod != null) {
+                    try {
+                        getters.put(descriptor.getName(),
+                            lookup.unreflect(readMethod).asType(GETTER_TYPE));
+                    } catch (IllegalAccessException e) {
+                        //Ignore - PropertyUtils will report any problem when the property is used.
+                    }
+                }
+            }
+        }
+    }
+}
@@ -21,12 +21,15 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.regex.Pattern;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.poi.hwpf.HWPFDocument;
 import org.apache.poi.hwpf.extractor.WordExtractor;
 import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
 public class TextExtractHelper {
@@ -49,6 +52,40 @@ public class TextExtractHelper {
         }
     }
 
+    /**
+     * Extracts text from a PDF file, parsing it with bounded heap and giving up if stripping the
+     * text takes too long.
+     *
+     * @param srcFile PDF file
+     * @param limits Limits on the resources used
+     * @return Extracted text
+     * @throws TextExtractLimitException If extraction takes longer than the limit
+     * @throws IOException If there is a problem reading the file
+     */
+    public static String getTextFromPDFFile(File srcFile, TextExtractLimits limits)
+        throws IOException {
+        final long deadline = System.nanoTime() + limits.timeout().toNanos();
+        PDFTextStripper tStripper = new PDFTextStripper() {
+            @Override
+            protected void startPage(PDPage page) throws IOException {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new TextExtractLimitException(
+                        "Text extraction timed out after " + limits.timeout());
+                }
+                super.startPage(page);
+            }
+        };
+        tStripper.setSortByPosition(true);
+        try (PDDocument document = PDDocument.load(
+            srcFile, MemoryUsageSetting.setupMixed(limits.maxMainMemoryBytes()))) {
+            String pdfFileInText = "";
+            if (!document.isEncrypted()) {
+                pdfFileInText = tStripper.getText(document);
+            }
+            return pdfFileInText.trim();
+        }
+    }
+
     public static String getTextFromDocxStream(InputStream inputStream) throws IOException {
         XWPFDocument doc = new XWPFDocument(inputStream);
         XWPFWordExtractor xwe = new XWPFWordExtractor(doc);
@@ -97,19 +134,61 @@ public class TextExtractHelper {
     public static @Nullable String getTextExtractFromFile(
         File file, @Nullable String fileTypeOrName) throws IOException {
 
-        String fileType;
-        int dotIndex = fileTypeOrName == null ? -1 : fileTypeOrName.lastIndexOf(".");
-        if (dotIndex > 0) {
-            fileType = fileTypeOrName.substring(dotIndex + 1);
-        } else {
-            fileType = fileTypeOrName;
-        }
+        String fileType = toFileType(fileTypeOrName);
         
         try (FileInputStream fis = new FileInputStream(file)) {
             return getTextExtractFromStream(fis, fileType);
         }
     }
 
+    /**
+     * As {@link #getTextExtractFromFile(File, String)} but bounding the resources used, so that
+     * huge or pathological files cannot exhaust the heap or tie up the caller indefinitely.
+     *
+     * @param file           File to extract text from
+     * @param fileTypeOrName File type (pdf, docx, doc, txt) or full file name
+     * @param limits         Limits on the resources used
+     * @return Extracted text, truncated to the maximum text length
+     * @throws TextExtractLimitException If the file is too big or extraction takes too long
+     * @throws IOException If there is a problem reading the file
+     */
+    public static @Nullable String getTextExtractFromFile(
+        File file, @Nullable String fileTypeOrName, @NonNull TextExtractLimits limits)
+        throws IOException {
+
+        if (file.length() > limits.maxFileBytes()) {
+            throw new TextExtractLimitException("File of " + file.length()
+                + " bytes exceeds the text extraction limit of " + limits.maxFileBytes());
+        }
+
+        String fileType = toFileType(fileTypeOrName);
+
+        String s;
+        if ("pdf".equals(fileType) || "application/pdf".equals(fileType)) {
+            s = removeNullBytes(getTextFromPDFFile(file, limits));
+        } else {
+            try (FileInputStream fis = new FileInputStream(file)) {
+                s = getTextExtractFromStream(fis, fileType);
+            }
+        }
+
+        if (s != null && s.length() > limits.maxTextLength()) {
+            s = s.substring(0, limits.maxTextLength());
+        }
+        return s;
+    }
+
+    private static @Nullable String toFileType(@Nullable String fileTypeOrName) {
+        //MIME types, eg of docx, can contain dots
+        int dotIndex = fileTypeOrName == null || fileTypeOrName.contains("/")
+            ? -1 : fileTypeOrName.lastIndexOf(".");
+        if (dotIndex > 0) {
+            return fileTypeOrName.substring(dotIndex + 1);
+        } else {
+            return fileTypeOrName;
+        }
+    }
+
     public static String getTextExtractFromStream(InputStream inputStream, String fileType)
         throws IOException {
         if (fileType == null) {
@@ -126,6 +205,10 @@ public class TextExtractHelper {
             default -> null;
         };
         
+        return removeNullBytes(s);
+    }
+
+    private static @Nullable String removeNullBytes(@Nullable String s) {
         if (s != null) {
             // Remove any null bytes to avoid problems like
             // PSQLException: ERROR: invalid byte sequence for encoding "UTF8"
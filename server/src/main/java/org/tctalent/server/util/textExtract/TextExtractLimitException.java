@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.util.textExtract;
+
+import java.io.IOException;
+
+/**
+ * Thrown when text extraction is abandoned because the file exceeds one of the
+ * {@link TextExtractLimits}. Retrying will not help.
+ */
+public class TextExtractLimitException extends IOException {
+
+    public TextExtractLimitException(String message) {
+        super(message);
+    }
+}
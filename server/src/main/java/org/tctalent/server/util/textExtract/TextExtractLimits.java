@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.util.textExtract;
+
+import java.time.Duration;
+import org.springframework.lang.NonNull;
+
+/**
+ * Limits on the resources used extracting text from a single file.
+ *
+ * @param maxFileBytes Files larger than this are rejected without being parsed
+ * @param maxMainMemoryBytes Heap that PDFBox may use while parsing a PDF. Anything over this is
+ *                           buffered in temporary files.
+ * @param maxTextLength Extracted text is truncated to this many characters
+ * @param timeout Extraction is abandoned if it takes longer than this. Only enforced while
+ *                stripping text from PDFs, page by page - other file types are only bounded by
+ *                their size.
+ */
+public record TextExtractLimits(
+    long maxFileBytes, long maxMainMemoryBytes, int maxTextLength, @NonNull Duration timeout) {
+
+}
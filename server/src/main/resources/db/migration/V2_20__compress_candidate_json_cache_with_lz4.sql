@@ -0,0 +1,17 @@
+-- Large candidate JSON values are compressed by Postgres (TOAST) when stored.
+-- lz4 compresses and, more importantly, decompresses much faster than the default pglz,
+-- and candidate_json_cache is read far more often than it is written.
+-- Only rows written after this change use lz4 - existing rows are converted as they are
+-- recomputed. lz4 is only available if Postgres was built with it, so check first.
+DO $$
+    BEGIN
+        IF EXISTS (
+            SELECT 1
+            FROM pg_settings
+            WHERE name = 'default_toast_compression'
+              AND 'lz4' = ANY (enumvals)
+        ) THEN
+            ALTER TABLE candidate_json_cache ALTER COLUMN json SET COMPRESSION lz4;
+        END IF;
+    END
+$$;
@@ -0,0 +1,62 @@
+-- Pre-aggregated candidate counts used to answer unfiltered candidate stats without scanning
+-- and joining the candidate table on every request.
+--
+-- candidate_stats_fact holds one narrow row per candidate, recording the data_version it was
+-- taken from, so that changed candidates can be found and their contribution to the rollup
+-- adjusted incrementally. counted is false for candidates which are never counted in stats
+-- (inactive users, users without a created date and test candidates).
+create table if not exists candidate_stats_fact (
+    candidate_id     bigint primary key,
+    data_version     bigint not null,
+    counted          boolean not null,
+    created_day      date,
+    partner_id       bigint,
+    country_id       bigint,
+    nationality_id   bigint,
+    gender           text,
+    status           text
+);
+
+-- Number of counted candidates per registration day, partner, source country, nationality,
+-- gender and status.
+create table if not exists candidate_stats_rollup (
+    created_day      date not null,
+    partner_id       bigint,
+    country_id       bigint,
+    nationality_id   bigint,
+    gender           text,
+    status           text,
+    people_count     bigint not null
+);
+
+create unique index if not exists candidate_stats_rollup_cell_idx
+    on candidate_stats_rollup (created_day, partner_id, country_id, nationality_id, gender, status)
+    nulls not distinct;
+
+-- Initial population. Afterwards the rollup is maintained by the server.
+insert into candidate_stats_fact (candidate_id, data_version, counted, created_day, partner_id,
+                                  country_id, nationality_id, gender, status)
+select c.id,
+       c.data_version,
+       coalesce(u.status = 'active' and u.created_date is not null, false)
+           and not exists (
+               select 1 from candidate_saved_list csl
+                   join saved_list sl on sl.id = csl.saved_list_id
+               where csl.candidate_id = c.id and sl.name = 'TestCandidates' and sl.global = true),
+       date(u.created_date),
+       u.partner_id,
+       c.country_id,
+       c.nationality_id,
+       c.gender,
+       c.status
+from candidate c
+    left join users u on u.id = c.user_id
+on conflict do nothing;
+
+insert into candidate_stats_rollup (created_day, partner_id, country_id, nationality_id, gender,
+                                    status, people_count)
+select created_day, partner_id, country_id, nationality_id, gender, status, count(*)
+from candidate_stats_fact
+where counted
+group by created_day, partner_id, country_id, nationality_id, gender, status
+on conflict do nothing;
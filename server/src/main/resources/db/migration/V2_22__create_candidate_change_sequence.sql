@@ -0,0 +1,30 @@
+-- Global candidate change watermark.
+-- candidate_change_seq advances after every statement which changes candidates, list
+-- membership or saved search review statuses. Changes to other candidate data are already propagated to the candidate table
+-- by the data_version triggers. Caches of search results record the value they were computed
+-- at and are discarded when it moves on.
+create sequence if not exists candidate_change_seq;
+
+create or replace function bump_candidate_change_seq() returns trigger
+    language plpgsql
+as $$
+begin
+    perform nextval('candidate_change_seq');
+    return null;
+end;
+$$;
+
+drop trigger if exists candidate_change_seq_bump on candidate;
+create trigger candidate_change_seq_bump
+    after insert or update or delete or truncate on candidate
+    for each statement execute function bump_candidate_change_seq();
+
+drop trigger if exists candidate_saved_list_change_seq_bump on candidate_saved_list;
+create trigger candidate_saved_list_change_seq_bump
+    after insert or update or delete or truncate on candidate_saved_list
+    for each statement execute function bump_candidate_change_seq();
+
+drop trigger if exists candidate_review_item_change_seq_bump on candidate_review_item;
+create trigger candidate_review_item_change_seq_bump
+    after insert or update or delete or truncate on candidate_review_item
+    for each statement execute function bump_candidate_change_seq();
@@ -0,0 +1,7 @@
+-- Watched saved search notification watermark.
+-- The nightly watcher job only looks for candidates created after the time each watched search
+-- was last checked, rather than rerunning the whole search, so it needs an index on
+-- candidate.created_date to find those candidates cheaply.
+alter table saved_search add column if not exists watcher_checked_date timestamp with time zone;
+
+create index if not exists candidate_created_date_idx on candidate (created_date);
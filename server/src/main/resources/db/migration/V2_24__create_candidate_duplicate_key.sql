@@ -0,0 +1,83 @@
+-- Blocking key for potential duplicate candidate detection.
+-- Candidates with the same duplicate_key (normalized first name, last name and date of birth)
+-- are potential duplicates of each other. The key is kept up to date by triggers, so that
+-- potential duplicate flags can be recomputed with set based updates and the duplicates of a
+-- candidate found with an index probe, rather than by partitioning all candidates by name.
+
+create or replace function candidate_duplicate_key(first_name text, last_name text, dob date)
+    returns text
+    language sql
+    stable
+as $$
+    select case
+        when nullif(trim(first_name), '') is null
+            or nullif(trim(last_name), '') is null
+            or dob is null then null
+        else lower(trim(first_name)) || '|' || lower(trim(last_name)) || '|'
+            || to_char(dob, 'YYYY-MM-DD')
+    end
+$$;
+
+alter table candidate add column if not exists duplicate_key text;
+
+-- Populate existing keys without bumping data_version, which would make all cached candidate
+-- JSON stale.
+alter table candidate disable trigger candidate_bump_version;
+
+update candidate c
+set duplicate_key = candidate_duplicate_key(u.first_name, u.last_name, c.dob)
+from users u
+where u.id = c.user_id
+  and candidate_duplicate_key(u.first_name, u.last_name, c.dob) is not null;
+
+alter table candidate enable trigger candidate_bump_version;
+
+-- Recompute the key when a candidate's date of birth or user changes
+create or replace function set_candidate_duplicate_key() returns trigger
+    language plpgsql
+as $$
+begin
+    select candidate_duplicate_key(u.first_name, u.last_name, new.dob)
+    into new.duplicate_key
+    from users u
+    where u.id = new.user_id;
+
+    return new;
+end;
+$$;
+
+drop trigger if exists candidate_set_duplicate_key on candidate;
+create trigger candidate_set_duplicate_key
+    before insert or update of user_id, dob on candidate
+    for each row execute function set_candidate_duplicate_key();
+
+-- Recompute the key when a candidate's name changes
+create or replace function update_candidate_duplicate_key_on_user_change() returns trigger
+    language plpgsql
+as $$
+begin
+    update candidate
+    set duplicate_key = candidate_duplicate_key(new.first_name, new.last_name, dob)
+    where user_id = new.id
+      and duplicate_key is distinct from candidate_duplicate_key(new.first_name, new.last_name, dob);
+
+    return null;
+end;
+$$;
+
+drop trigger if exists user_update_candidate_duplicate_key on users;
+create trigger user_update_candidate_duplicate_key
+    after update of first_name, last_name on users
+    for each row
+    when (old.first_name is distinct from new.first_name
+        or old.last_name is distinct from new.last_name)
+    execute function update_candidate_duplicate_key_on_user_change();
+
+-- Only candidates with these statuses are checked for duplicates - must match the queries in
+-- CandidateRepository.
+create index if not exists candidate_duplicate_key_idx on candidate (duplicate_key)
+    where duplicate_key is not null
+        and status in ('active', 'unreachable', 'incomplete', 'pending');
+
+create index if not exists candidate_unhcr_number_idx on candidate (unhcr_number)
+    where unhcr_number is not null;
@@ -0,0 +1,17 @@
+-- Durable work queue of CV attachments waiting for text extraction.
+-- Text is extracted from uploaded CVs by background workers rather than on the upload request
+-- thread. A task is claimed by pushing its not_before time out by a lease, so a task whose worker
+-- dies simply becomes due again, and is deleted once its text has been stored.
+-- Tasks which have used up their attempts are kept, with their last error, for diagnosis.
+create table if not exists text_extraction_task (
+    id bigserial primary key,
+    candidate_attachment_id bigint not null unique
+        references candidate_attachment (id) on delete cascade,
+    attempts integer not null default 0,
+    not_before timestamp with time zone not null default now(),
+    last_error text,
+    created_date timestamp with time zone not null default now()
+);
+
+create index if not exists text_extraction_task_not_before_idx
+    on text_extraction_task (not_before);
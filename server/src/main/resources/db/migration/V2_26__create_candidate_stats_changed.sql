@@ -0,0 +1,49 @@
+-- Candidates whose stats rollup cell may have changed since the rollup was last refreshed.
+-- Maintained by triggers, so that CandidateStatsRollupDao.refresh only has to look at these
+-- candidates rather than comparing the data_version of every candidate with its stats fact.
+-- Changes to users are propagated to candidate.data_version, so also fire these triggers.
+create table if not exists candidate_stats_changed (
+    candidate_id     bigint primary key
+);
+
+create or replace function mark_candidate_stats_changed() returns trigger
+    language plpgsql
+as $$
+begin
+    insert into candidate_stats_changed (candidate_id)
+    select id from changed_rows
+    on conflict do nothing;
+
+    return null;
+end;
+$$;
+
+drop trigger if exists candidate_stats_changed_insert on candidate;
+create trigger candidate_stats_changed_insert
+    after insert on candidate
+    referencing new table as changed_rows
+    for each statement execute function mark_candidate_stats_changed();
+
+drop trigger if exists candidate_stats_changed_update on candidate;
+create trigger candidate_stats_changed_update
+    after update on candidate
+    referencing new table as changed_rows
+    for each statement execute function mark_candidate_stats_changed();
+
+drop trigger if exists candidate_stats_changed_delete on candidate;
+create trigger candidate_stats_changed_delete
+    after delete on candidate
+    referencing old table as changed_rows
+    for each statement execute function mark_candidate_stats_changed();
+
+-- Pick up anything which changed before the triggers existed
+insert into candidate_stats_changed (candidate_id)
+select c.id
+from candidate c
+    left join candidate_stats_fact f on f.candidate_id = c.id
+where f.candidate_id is null or f.data_version <> c.data_version
+union
+select f.candidate_id
+from candidate_stats_fact f
+where not exists (select 1 from candidate c where c.id = f.candidate_id)
+on conflict do nothing;
@@ -124,6 +124,7 @@ import org.tctalent.server.util.dto.DtoBuilder;
 class CandidateAdminApiTest extends ApiTestBase {
     private static final String BASE_PATH = "/api/admin/candidate";
     private static final String SEARCH_PATH = "/search";
+    private static final String SEARCH_STREAM_PATH = "/search-stream";
     private static final String FIND_BY_EMAIL_PATH = "/findbyemail";
     private static final String FIND_BY_EMAIL_PHONE_OR_WHATSAPP_PATH = "/findbyemailphoneorwhatsapp";
     private static final String FIND_BY_NUMBER_OR_NAME_PATH = "/findbynumberorname";
@@ -248,6 +249,19 @@ class CandidateAdminApiTest extends ApiTestBase {
         verify(savedSearchService).searchCandidateDtos(any(SearchCandidateRequest.class));
     }
 
+    @Test
+    @DisplayName("search stream succeeds")
+    void searchStreamSucceeds() throws Exception {
+        SearchCandidateRequest request = new SearchCandidateRequest();
+
+        given(savedSearchService
+                .searchCandidateDtos(any(SearchCandidateRequest.class)))
+                .willReturn(candidateDtos);
+
+        postSearchRequestAndVerifyResponse(SEARCH_STREAM_PATH, objectMapper.writeValueAsString(request));
+        verify(savedSearchService).searchCandidateDtos(any(SearchCandidateRequest.class));
+    }
+
     @Test
     @DisplayName("find by email succeeds")
     void findByEmailSucceeds() throws Exception {
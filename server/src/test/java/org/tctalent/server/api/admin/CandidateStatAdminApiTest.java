@@ -22,6 +22,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
@@ -54,6 +55,7 @@ import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -65,6 +67,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.tctalent.server.model.db.Country;
 import org.tctalent.server.model.db.Gender;
+import org.tctalent.server.model.db.SavedList;
 import org.tctalent.server.model.db.Stat;
 import org.tctalent.server.model.db.Status;
 import org.tctalent.server.repository.db.CountryRepository;
@@ -2038,4 +2041,76 @@ class CandidateStatAdminApiTest extends ApiTestBase {
             .computeSpokenLanguageLevelStats(eq(Gender.female), eq("French"), any(), any(), any(), any(), any());
   }
 
+  @Test
+  @DisplayName("get all stats for list - constrains by list subquery")
+  void getAllStatsForListConstrainsByListSubquery() throws Exception {
+
+    request.setListId(7L);
+    request.setSelectedStats(List.of(Stat.gender));
+
+    SavedList list = new SavedList();
+    list.setId(7L);
+    given(savedListService.get(7L)).willReturn(list);
+
+    String constraint = "candidate.id in (select candidate_id from candidate_saved_list"
+        + " where saved_list_id = 7)";
+    given(candidateStatsService
+        .computeGenderStats(any(), any(), isNull(), any(), eq(constraint)))
+        .willReturn(getGenderStats());
+
+    mockMvc.perform(post(BASE_PATH + ALL_STATS_PATH)
+            .with(csrf())
+            .header("Authorization", "Bearer " + "jwt-token")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request))
+            .accept(MediaType.APPLICATION_JSON))
+
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].name", is("Gender")))
+        .andExpect(jsonPath("$[0].rows", hasSize(3)));
+
+    verify(candidateStatsService).computeGenderStats(any(), any(), isNull(), any(), eq(constraint));
+  }
+
+  @Test
+  @DisplayName("get all stats for elastic search - loads candidate ids once")
+  @SuppressWarnings("unchecked")
+  void getAllStatsForElasticSearchLoadsCandidateIdsOnce() throws Exception {
+
+    request.setSearchId(3L);
+    request.setSelectedStats(List.of(Stat.gender, Stat.languages));
+
+    Set<Long> candidateIds = Set.of(11L, 22L);
+    String constraint = "candidate.id in (select id from stats_candidate_ids)";
+    given(savedSearchService.includesElasticSearch(3L)).willReturn(true);
+    given(savedSearchService.searchCandidates(3L)).willReturn(candidateIds);
+    given(candidateStatsService.computeForCandidateIds(eq(candidateIds), any()))
+        .willAnswer(invocation ->
+            ((Function<String, ?>) invocation.getArgument(1)).apply(constraint));
+    given(candidateStatsService
+        .computeGenderStats(any(), any(), isNull(), any(), eq(constraint)))
+        .willReturn(getGenderStats());
+    given(candidateStatsService
+        .computeLanguageStats(isNull(), any(), any(), isNull(), any(), eq(constraint)))
+        .willReturn(getLanguageStats());
+
+    mockMvc.perform(post(BASE_PATH + ALL_STATS_PATH)
+            .with(csrf())
+            .header("Authorization", "Bearer " + "jwt-token")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request))
+            .accept(MediaType.APPLICATION_JSON))
+
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)));
+
+    verify(candidateStatsService).computeForCandidateIds(eq(candidateIds), any());
+    verify(candidateStatsService).computeGenderStats(any(), any(), isNull(), any(), eq(constraint));
+    verify(candidateStatsService)
+        .computeLanguageStats(isNull(), any(), any(), isNull(), any(), eq(constraint));
+  }
+
 }
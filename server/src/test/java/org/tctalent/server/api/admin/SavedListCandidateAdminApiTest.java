@@ -71,10 +71,14 @@ import org.tctalent.server.model.db.Candidate;
 import org.tctalent.server.model.db.SavedList;
 import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
 import org.tctalent.server.request.candidate.SavedListGetRequest;
+import org.tctalent.server.request.list.CandidateSetOperation;
+import org.tctalent.server.request.list.CandidateSetRequest;
+import org.tctalent.server.request.list.CandidateSetRequest.CandidateSet;
 import org.tctalent.server.request.list.UpdateExplicitSavedListContentsRequest;
 import org.tctalent.server.service.db.CandidateDtoService;
 import org.tctalent.server.service.db.CandidateSavedListService;
 import org.tctalent.server.service.db.CandidateService;
+import org.tctalent.server.service.db.CandidateSetService;
 import org.tctalent.server.service.db.SavedListService;
 import org.tctalent.server.service.db.SavedSearchService;
 import org.tctalent.server.util.dto.DtoBuilder;
@@ -91,6 +95,7 @@ class SavedListCandidateAdminApiTest extends ApiTestBase {
     private static final String LIST_PATH = "/list";
     private static final String MERGE_PATH = "/merge";
     private static final String MERGE_FROM_FILE_PATH = "/merge-from-file";
+    private static final String MERGE_SET_PATH = "/merge-set";
     private static final String REMOVE_PATH = "/remove";
     private static final String REPLACE_PATH = "/replace";
     private static final String SEARCH_PATH = "/search";
@@ -130,6 +135,8 @@ class SavedListCandidateAdminApiTest extends ApiTestBase {
     @MockitoBean
     CandidateSavedListService candidateSavedListService;
     @MockitoBean
+    CandidateSetService candidateSetService;
+    @MockitoBean
     CandidateService candidateService;
     @MockitoBean
     CandidateDtoService candidateDtoService;
@@ -246,6 +253,26 @@ class SavedListCandidateAdminApiTest extends ApiTestBase {
         verify(savedListService).mergeSavedListFromInputStream(anyLong(), any(InputStream.class));
     }
 
+    @Test
+    void mergeSet() throws Exception {
+        CandidateSetRequest request = new CandidateSetRequest(CandidateSetOperation.difference,
+            List.of(CandidateSet.ofSearch(1L), CandidateSet.ofList(2L)));
+
+        mockMvc.perform(
+                put(BASE_PATH + "/123" + MERGE_SET_PATH)
+                    .with(csrf())
+                    .header("Authorization", "Bearer " + "jwt-token")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request))
+            )
+
+            .andDo(print())
+            .andExpect(status().isOk())
+        ;
+
+        verify(candidateSetService).addCandidatesToList(eq(123L), any(CandidateSetRequest.class));
+    }
+
     @Test
     void remove() throws Exception {
         UpdateExplicitSavedListContentsRequest request = new UpdateExplicitSavedListContentsRequest();
@@ -405,7 +432,7 @@ class SavedListCandidateAdminApiTest extends ApiTestBase {
         ;
 
         verify(savedListService).get(anyLong());
-        verify(candidateService).exportToCsv(any(SavedList.class),
+        verify(savedListService).exportToCsv(any(SavedList.class),
             any(SavedListGetRequest.class), any(PrintWriter.class));
     }
 
@@ -96,6 +96,7 @@ class SavedSearchAdminApiTest extends ApiTestBase {
   private static final String BASE_PATH = "/api/admin/saved-search";
   private static final String SEARCH_PATH = "/search";
   private static final String SEARCH_PAGED_PATH = "/search-paged";
+  private static final String SEARCH_PAGED_STREAM_PATH = "/search-paged-stream";
   private static final SavedSearch savedSearch = getSavedSearch();
   private static final SavedList savedList = getSavedList();
   private static final List<SavedSearch> savedSearchList = getListOfSavedSearches();
@@ -305,6 +306,38 @@ class SavedSearchAdminApiTest extends ApiTestBase {
     verify(savedSearchService).searchPaged(any(SearchSavedSearchRequest.class));
   }
 
+  @Test
+  @DisplayName("search paged stream saved searches succeeds")
+  void searchPagedStreamSavedSearchesSucceeds() throws Exception {
+    SearchSavedSearchRequest request = new SearchSavedSearchRequest();
+
+    given(savedSearchService.
+        searchPaged(any(SearchSavedSearchRequest.class)))
+        .willReturn(savedSearchPage);
+
+    mockMvc.perform(post(BASE_PATH + SEARCH_PAGED_STREAM_PATH)
+            .with(csrf())
+            .header("Authorization", "Bearer " + "jwt-token")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request))
+            .accept(MediaType.APPLICATION_JSON))
+
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.numberOfElements", is(3)))
+        .andExpect(jsonPath("$.totalPages", is(1)))
+        .andExpect(jsonPath("$.hasPrevious", is(false)))
+        .andExpect(jsonPath("$.hasNext", is(false)))
+        .andExpect(jsonPath("$.content[0].name", is("My Search")))
+        .andExpect(jsonPath("$.content[1].name", is("Saved Search 2")))
+        .andExpect(jsonPath("$.content[2].name", is("Saved Search 3")))
+        .andExpect(jsonPath("$.content[2].occupationIds", is("8577,8484"))
+        );
+
+    verify(savedSearchService).searchPaged(any(SearchSavedSearchRequest.class));
+  }
+
   @Test
   @DisplayName("update saved search succeeds")
   void updateSavedSearchSucceeds() throws Exception {
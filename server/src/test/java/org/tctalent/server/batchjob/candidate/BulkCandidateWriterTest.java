@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.batchjob.candidate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.model.db.CandidateStatus;
+import org.tctalent.server.model.db.User;
+import org.tctalent.server.service.db.cache.CacheService;
+
+@ExtendWith(MockitoExtension.class)
+class BulkCandidateWriterTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private CacheService cacheService;
+
+  private final List<CandidateColumn> columns = List.of(
+      CandidateColumn.of("text", Candidate::getText),
+      CandidateColumn.of("status", Candidate::getStatus)
+  );
+
+  @Test
+  void buildUpdateSqlOnlyUpdatesChangedColumns() {
+    assertEquals(
+        "update candidate set text = ?, status = ? where id = ?"
+            + " and (text is distinct from ? or status is distinct from ?)",
+        BulkCandidateWriter.buildUpdateSql(columns)
+    );
+  }
+
+  @Test
+  void writeBatchUpdatesChunkAndEvictsUpdatedUsers() throws Exception {
+    Candidate first = candidate(1L, "first text");
+    Candidate second = candidate(2L, "second text");
+    first.setUser(user("first"));
+    second.setUser(user("second"));
+    given(jdbcTemplate.batchUpdate(anyString(), anyList())).willReturn(new int[] {1, 0});
+
+    BulkCandidateWriter writer = new BulkCandidateWriter(jdbcTemplate, columns, cacheService);
+    writer.write(new Chunk<>(List.of(first, second)));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Object[]>> argsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(
+        eq(BulkCandidateWriter.buildUpdateSql(columns)), argsCaptor.capture());
+
+    List<Object[]> args = argsCaptor.getValue();
+    assertEquals(2, args.size());
+    //Enums are written as their names
+    assertArrayEquals(new Object[] {"first text", "active", 1L, "first text", "active"},
+        args.get(0));
+    assertArrayEquals(new Object[] {"second text", "active", 2L, "second text", "active"},
+        args.get(1));
+
+    //Only the user of the updated candidate is evicted
+    verify(cacheService).evictUsers(List.of("first"));
+  }
+
+  @Test
+  void writeDoesNotEvictUsersWhenNothingChanged() throws Exception {
+    given(jdbcTemplate.batchUpdate(anyString(), anyList())).willReturn(new int[] {0});
+
+    BulkCandidateWriter writer = new BulkCandidateWriter(jdbcTemplate, columns, cacheService);
+    writer.write(new Chunk<>(List.of(candidate(1L, "text"))));
+
+    verify(cacheService, never()).evictUsers(anyList());
+  }
+
+  @Test
+  void writeDoesNothingForEmptyChunk() throws Exception {
+    BulkCandidateWriter writer = new BulkCandidateWriter(jdbcTemplate, columns, cacheService);
+    writer.write(new Chunk<>());
+
+    verifyNoInteractions(jdbcTemplate, cacheService);
+  }
+
+  @Test
+  void columnsMaintainedByDatabaseAreRejected() {
+    assertThrows(IllegalArgumentException.class,
+        () -> CandidateColumn.of("data_version", Candidate::getId));
+    assertThrows(IllegalArgumentException.class,
+        () -> CandidateColumn.of("text; drop table candidate", Candidate::getText));
+  }
+
+  private static Candidate candidate(long id, String text) {
+    Candidate candidate = new Candidate();
+    candidate.setId(id);
+    candidate.setText(text);
+    candidate.setStatus(CandidateStatus.active);
+    return candidate;
+  }
+
+  private static User user(String username) {
+    User user = new User();
+    user.setUsername(username);
+    return user;
+  }
+}
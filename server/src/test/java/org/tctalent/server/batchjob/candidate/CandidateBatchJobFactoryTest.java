@@ -29,14 +29,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.tctalent.server.model.db.Candidate;
 import org.tctalent.server.model.db.SavedList;
 import org.tctalent.server.model.db.SavedSearch;
 import org.tctalent.server.repository.db.CandidateRepository;
+import org.tctalent.server.repository.db.CandidateSavedListRepository;
 import org.tctalent.server.request.candidate.SearchCandidateRequest;
 import org.tctalent.server.service.db.CandidateService;
 import org.tctalent.server.service.db.SavedSearchService;
+import org.tctalent.server.service.db.cache.CacheService;
 
 @ExtendWith(MockitoExtension.class)
 class CandidateBatchJobFactoryTest {
@@ -56,6 +59,15 @@ class CandidateBatchJobFactoryTest {
   @Mock
   private SavedSearchService savedSearchService;
 
+  @Mock
+  private CandidateSavedListRepository candidateSavedListRepository;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private CacheService cacheService;
+
   @Mock
   private SavedSearch savedSearch;
 
@@ -73,7 +85,10 @@ class CandidateBatchJobFactoryTest {
         jobRepository,
         candidateRepository,
         candidateService,
-        savedSearchService
+        savedSearchService,
+        candidateSavedListRepository,
+        jdbcTemplate,
+        cacheService
     );
   }
 
@@ -244,4 +259,49 @@ class CandidateBatchJobFactoryTest {
 
     assertEquals("No saved search or saved list specified", exception.getMessage());
   }
-}
\ No newline at end of file
+
+  @Test
+  void keysetPagingAndBulkUpdateReturnSameBuilderAndBuildJob() {
+    CandidateBatchJobFactory.CandidateBatchJobBuilder builder =
+        factory.builder("bulkJob", savedSearch, processor);
+
+    assertSame(builder, builder.keysetPaging());
+    assertSame(builder, builder.bulkUpdate(CandidateColumn.of("text", Candidate::getText)));
+
+    Job job = builder.build();
+
+    assertNotNull(job);
+    assertEquals("bulkJob", job.getName());
+  }
+
+  @Test
+  void buildThrowsWhenBulkUpdateHasNoColumns() {
+    CandidateBatchJobFactory.CandidateBatchJobBuilder builder =
+        factory.builder("noColumnsJob", savedList, processor)
+            .bulkUpdate();
+
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        builder::build
+    );
+
+    assertEquals("No candidate columns specified for bulk update", exception.getMessage());
+  }
+
+  @Test
+  void buildThrowsWhenNoCandidateSourceIsSpecifiedWithKeysetPaging() {
+    CandidateBatchJobFactory.CandidateBatchJobBuilder builder =
+        factory.new CandidateBatchJobBuilder(
+            "missingSourceKeysetJob",
+            (SavedList) null,
+            processor
+        ).keysetPaging();
+
+    IllegalArgumentException exception = assertThrows(
+        IllegalArgumentException.class,
+        builder::build
+    );
+
+    assertEquals("No saved search or saved list specified", exception.getMessage());
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.batchjob.candidate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.model.db.SavedList;
+import org.tctalent.server.model.db.SavedSearch;
+import org.tctalent.server.repository.db.CandidateRepository;
+import org.tctalent.server.repository.db.CandidateSavedListRepository;
+import org.tctalent.server.request.candidate.SearchCandidateRequest;
+import org.tctalent.server.service.db.SavedSearchService;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetCandidateReaderTest {
+
+  @Mock
+  private CandidateRepository candidateRepository;
+
+  @Mock
+  private CandidateSavedListRepository candidateSavedListRepository;
+
+  @Mock
+  private SavedSearchService savedSearchService;
+
+  @Mock
+  private StepExecution stepExecution;
+
+  @Test
+  void savedListReaderSeeksPastLastIdAndReturnsCandidatesInIdOrder() throws Exception {
+    SavedList savedList = new SavedList();
+    savedList.setId(7L);
+    Candidate first = candidate(1L);
+    Candidate second = candidate(2L);
+    Candidate third = candidate(5L);
+
+    given(candidateSavedListRepository.findCandidateIdsAfter(7L, 0L, 2))
+        .willReturn(List.of(1L, 2L));
+    given(candidateSavedListRepository.findCandidateIdsAfter(7L, 2L, 2))
+        .willReturn(List.of(5L));
+    //Entities come back unsorted
+    given(candidateRepository.findByIds(List.of(1L, 2L))).willReturn(List.of(second, first));
+    given(candidateRepository.findByIds(List.of(5L))).willReturn(List.of(third));
+
+    KeysetCandidateReader reader = new KeysetCandidateReader(
+        savedList, 2, candidateSavedListRepository, candidateRepository, false);
+
+    assertSame(first, reader.read());
+    assertSame(second, reader.read());
+    assertSame(third, reader.read());
+    assertNull(reader.read());
+
+    //Short batch means no more ids are fetched
+    verify(candidateSavedListRepository, never()).findCandidateIdsAfter(7L, 5L, 2);
+  }
+
+  @Test
+  void savedSearchReaderLoadsCandidatesReadOnly() throws Exception {
+    SavedSearch savedSearch = new SavedSearch();
+    savedSearch.setId(3L);
+    SearchCandidateRequest request = new SearchCandidateRequest();
+    Candidate first = candidate(10L);
+
+    given(savedSearchService.loadSavedSearch(3L)).willReturn(request);
+    given(savedSearchService.fetchCandidateIdsAfter(request, null, 2)).willReturn(List.of(10L));
+    given(candidateRepository.findByIdsReadOnly(List.of(10L))).willReturn(List.of(first));
+
+    KeysetCandidateReader reader = new KeysetCandidateReader(
+        savedSearch, 2, savedSearchService, candidateRepository, true);
+
+    assertSame(first, reader.read());
+    assertNull(reader.read());
+
+    verify(candidateRepository, never()).findByIds(any());
+  }
+
+  @Test
+  void readerSkipsBatchesWhoseCandidatesHaveAllBeenDeleted() throws Exception {
+    SearchCandidateRequest request = new SearchCandidateRequest();
+    Candidate third = candidate(3L);
+
+    given(savedSearchService.fetchCandidateIdsAfter(request, null, 2))
+        .willReturn(List.of(1L, 2L));
+    given(savedSearchService.fetchCandidateIdsAfter(request, 2L, 2))
+        .willReturn(List.of(3L));
+    given(candidateRepository.findByIds(List.of(1L, 2L))).willReturn(List.of());
+    given(candidateRepository.findByIds(List.of(3L))).willReturn(List.of(third));
+
+    KeysetCandidateReader reader = new KeysetCandidateReader(
+        request, 2, savedSearchService, candidateRepository, false);
+
+    assertSame(third, reader.read());
+    assertNull(reader.read());
+  }
+
+  @Test
+  void beforeStepResetsReaderToStart() throws Exception {
+    SearchCandidateRequest request = new SearchCandidateRequest();
+    Candidate first = candidate(1L);
+
+    given(savedSearchService.fetchCandidateIdsAfter(request, null, 2)).willReturn(List.of(1L));
+    given(candidateRepository.findByIds(List.of(1L))).willReturn(List.of(first));
+
+    KeysetCandidateReader reader = new KeysetCandidateReader(
+        request, 2, savedSearchService, candidateRepository, false);
+
+    assertSame(first, reader.read());
+    assertNull(reader.read());
+
+    reader.beforeStep(stepExecution);
+
+    assertSame(first, reader.read());
+    assertEquals(ExitStatus.COMPLETED,
+        reader.afterStep(stepExecution));
+  }
+
+  private static Candidate candidate(long id) {
+    Candidate candidate = new Candidate();
+    candidate.setId(id);
+    return candidate;
+  }
+}
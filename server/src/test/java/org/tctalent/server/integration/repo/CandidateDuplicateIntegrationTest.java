@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.integration.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tctalent.server.integration.helper.TestDataFactory.createAndSaveCandidate;
+import static org.tctalent.server.integration.helper.TestDataFactory.createUser;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.tctalent.server.integration.helper.BaseJpaIntegrationTest;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.model.db.CandidateStatus;
+import org.tctalent.server.model.db.User;
+import org.tctalent.server.repository.db.CandidateRepository;
+import org.tctalent.server.repository.db.UserRepository;
+
+/**
+ * Integration tests for potential duplicate candidate detection: the duplicate_key maintained by
+ * the triggers in V2_24 and the bulk updates which set and clear candidate.potential_duplicate.
+ */
+class CandidateDuplicateIntegrationTest extends BaseJpaIntegrationTest {
+
+  private static final LocalDate DOB = LocalDate.of(1990, 4, 12);
+
+  @Autowired private CandidateRepository candidateRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private EntityManager entityManager;
+
+  /**
+   * Unique last name so that the candidates created by each test only match each other
+   */
+  private String lastName;
+
+  @BeforeEach
+  void setUp() {
+    assertTrue(isContainerInitialised(), "Database container should be initialized");
+    lastName = "Dup" + UUID.randomUUID().toString().replace("-", "");
+  }
+
+  @Test
+  void marksCandidatesWithSameNormalizedNameAndDob() {
+    Candidate first = candidate("Amira", lastName, DOB, CandidateStatus.active);
+    Candidate second = candidate("  AMIRA ", lastName.toUpperCase(), DOB, CandidateStatus.pending);
+    Candidate otherDob = candidate("Amira", lastName, DOB.plusDays(1), CandidateStatus.active);
+    Candidate otherName = candidate("Amina", lastName, DOB, CandidateStatus.active);
+
+    List<String> flaggedUsernames = candidateRepository.markPotentialDuplicates();
+
+    assertTrue(isPotentialDuplicate(first));
+    assertTrue(isPotentialDuplicate(second));
+    assertFalse(isPotentialDuplicate(otherDob));
+    assertFalse(isPotentialDuplicate(otherName));
+    assertTrue(flaggedUsernames.containsAll(List.of(username(first), username(second))));
+    assertFalse(flaggedUsernames.contains(username(otherDob)));
+    assertFalse(flaggedUsernames.contains(username(otherName)));
+
+    assertFalse(candidateRepository.markPotentialDuplicates().contains(username(first)),
+        "Candidates already flagged are not returned again");
+  }
+
+  @Test
+  void ignoresCandidatesWithExcludedStatuses() {
+    Candidate active = candidate("Omar", lastName, DOB, CandidateStatus.active);
+    Candidate deleted = candidate("Omar", lastName, DOB, CandidateStatus.deleted);
+
+    candidateRepository.markPotentialDuplicates();
+
+    assertFalse(isPotentialDuplicate(active));
+    assertFalse(isPotentialDuplicate(deleted));
+  }
+
+  @Test
+  void clearsFlagsOnceDuplicatesAreResolved() {
+    Candidate kept = candidate("Layla", lastName, DOB, CandidateStatus.active);
+    Candidate removed = candidate("Layla", lastName, DOB, CandidateStatus.active);
+    Candidate stillDuplicate = candidate("Sami", lastName, DOB, CandidateStatus.active);
+    Candidate stillDuplicate2 = candidate("Sami", lastName, DOB, CandidateStatus.incomplete);
+    candidateRepository.markPotentialDuplicates();
+    assertTrue(isPotentialDuplicate(kept));
+
+    removed = candidateRepository.findById(removed.getId()).orElseThrow();
+    removed.setStatus(CandidateStatus.deleted);
+    candidateRepository.saveAndFlush(removed);
+
+    List<String> clearedUsernames = candidateRepository.clearResolvedPotentialDuplicates();
+
+    assertFalse(isPotentialDuplicate(kept));
+    assertFalse(isPotentialDuplicate(removed));
+    assertTrue(isPotentialDuplicate(stillDuplicate));
+    assertTrue(isPotentialDuplicate(stillDuplicate2));
+    assertTrue(clearedUsernames.containsAll(List.of(username(kept), username(removed))));
+    assertFalse(clearedUsernames.contains(username(stillDuplicate)));
+    assertFalse(clearedUsernames.contains(username(stillDuplicate2)));
+  }
+
+  @Test
+  void keyFollowsChangesToDobAndName() {
+    Candidate first = candidate("Yusuf", lastName, DOB, CandidateStatus.active);
+    Candidate changedDob = candidate("Yusuf", lastName, DOB.minusYears(1), CandidateStatus.active);
+    Candidate changedName = candidate("Yosef", lastName, DOB, CandidateStatus.active);
+
+    changedDob = candidateRepository.findById(changedDob.getId()).orElseThrow();
+    changedDob.setDob(DOB);
+    candidateRepository.saveAndFlush(changedDob);
+
+    User user = userRepository.findById(changedName.getUser().getId()).orElseThrow();
+    user.setFirstName("yusuf");
+    userRepository.saveAndFlush(user);
+
+    candidateRepository.markPotentialDuplicates();
+
+    assertTrue(isPotentialDuplicate(first));
+    assertTrue(isPotentialDuplicate(changedDob));
+    assertTrue(isPotentialDuplicate(changedName));
+  }
+
+  @Test
+  void everyCandidateKeyMatchesItsNameAndDob() {
+    candidate("Nour", lastName, DOB, CandidateStatus.active);
+
+    Number mismatches = (Number) entityManager.createNativeQuery("""
+        select count(*)
+        from candidate c
+            join users u on u.id = c.user_id
+        where c.duplicate_key is distinct from
+            candidate_duplicate_key(u.first_name, u.last_name, c.dob)
+        """).getSingleResult();
+
+    assertEquals(0, mismatches.intValue());
+  }
+
+  private Candidate candidate(
+      String firstName, String lastName, LocalDate dob, CandidateStatus status) {
+    User user = createUser(null);
+    user.setUsername("dup-" + UUID.randomUUID());
+    user.setFirstName(firstName);
+    user.setLastName(lastName);
+    user = userRepository.saveAndFlush(user);
+
+    Candidate candidate = createAndSaveCandidate(candidateRepository, user);
+    candidate.setDob(dob);
+    candidate.setStatus(status);
+    return candidateRepository.saveAndFlush(candidate);
+  }
+
+  private String username(Candidate candidate) {
+    return candidate.getUser().getUsername();
+  }
+
+  private boolean isPotentialDuplicate(Candidate candidate) {
+    entityManager.flush();
+    entityManager.clear();
+    return candidateRepository.findById(candidate.getId()).orElseThrow().getPotentialDuplicate();
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.integration.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tctalent.server.integration.helper.TestDataFactory.createAndSaveCandidate;
+import static org.tctalent.server.integration.helper.TestDataFactory.createUser;
+
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.tctalent.server.integration.helper.BaseJpaIntegrationTest;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.model.db.CandidateStatus;
+import org.tctalent.server.model.db.Country;
+import org.tctalent.server.model.db.DataRow;
+import org.tctalent.server.model.db.Gender;
+import org.tctalent.server.model.db.Status;
+import org.tctalent.server.model.db.User;
+import org.tctalent.server.repository.db.CandidateRepository;
+import org.tctalent.server.repository.db.UserRepository;
+import org.tctalent.server.repository.db.read.sql.CandidateStatsRollupDao;
+import org.tctalent.server.service.db.impl.CandidateStatsServiceImpl;
+
+/**
+ * Checks that stats answered from candidate_stats_rollup, as maintained by
+ * {@link CandidateStatsRollupDao} and the candidate_stats_changed triggers, match the live stats
+ * queries as candidates are added, changed and deleted.
+ */
+@Import({CandidateStatsRollupDao.class, CandidateStatsServiceImpl.class})
+class CandidateStatsRollupIntegrationTest extends BaseJpaIntegrationTest {
+
+  /**
+   * Registration day of the test candidates. No other candidates register on it, so the stats
+   * for it only count the test candidates.
+   */
+  private static final LocalDate DAY = LocalDate.of(2099, 6, 15);
+
+  @Autowired private CandidateStatsRollupDao rollupDao;
+  @Autowired private CandidateStatsServiceImpl statsService;
+  @Autowired private CandidateRepository candidateRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private EntityManager entityManager;
+
+  private Country country;
+
+  @BeforeEach
+  void setUp() {
+    assertTrue(isContainerInitialised(), "Database container should be initialized");
+    Number countryId = (Number) entityManager.createNativeQuery(
+        "select id from country order by id limit 1").getSingleResult();
+    country = entityManager.find(Country.class, countryId.longValue());
+    rollupDao.rebuild();
+  }
+
+  @Test
+  void rollupMatchesLiveStatsAfterInsertsUpdatesAndDeletes() {
+    Candidate male = candidate(Gender.male, CandidateStatus.active);
+    Candidate female = candidate(Gender.female, CandidateStatus.pending);
+    Candidate draft = candidate(Gender.female, CandidateStatus.draft);
+    Candidate other = candidate(Gender.other, CandidateStatus.active);
+
+    assertRollupMatchesLiveStats(4);
+    assertEquals(Map.of("male", BigDecimal.ONE, "female", BigDecimal.ONE,
+        "other", BigDecimal.ONE), rollupStats(this::genderStats));
+
+    female = candidateRepository.findById(female.getId()).orElseThrow();
+    female.setGender(Gender.male);
+    female.setStatus(CandidateStatus.active);
+    candidateRepository.saveAndFlush(female);
+    draft = candidateRepository.findById(draft.getId()).orElseThrow();
+    draft.setStatus(CandidateStatus.ineligible);
+    candidateRepository.saveAndFlush(draft);
+
+    //User changes must also be picked up
+    User user = userRepository.findById(male.getUser().getId()).orElseThrow();
+    user.setStatus(Status.inactive);
+    userRepository.saveAndFlush(user);
+
+    assertRollupMatchesLiveStats(3);
+    assertEquals(Map.of("male", BigDecimal.ONE, "other", BigDecimal.ONE),
+        rollupStats(this::genderStats));
+
+    entityManager.flush();
+    entityManager.clear();
+    entityManager.createNativeQuery("delete from candidate where id = :id")
+        .setParameter("id", other.getId())
+        .executeUpdate();
+
+    assertRollupMatchesLiveStats(1);
+    assertEquals(Map.of("male", BigDecimal.ONE), rollupStats(this::genderStats));
+  }
+
+  @Test
+  void rebuildMatchesRefreshedRollup() {
+    candidate(Gender.male, CandidateStatus.active);
+    candidate(Gender.female, CandidateStatus.incomplete);
+    entityManager.flush();
+    rollupDao.refresh();
+    Map<String, BigDecimal> refreshed = rollupStats(this::statusStats);
+
+    rollupDao.rebuild();
+
+    assertEquals(refreshed, rollupStats(this::statusStats));
+    assertEquals(Map.of("active", BigDecimal.ONE, "incomplete", BigDecimal.ONE), refreshed);
+  }
+
+  /**
+   * Refreshes the rollup, then checks that each stat computed from it matches the live query.
+   *
+   * @param expectedChanges Number of changed candidates the refresh should pick up
+   */
+  private void assertRollupMatchesLiveStats(int expectedChanges) {
+    entityManager.flush();
+    assertEquals(expectedChanges, rollupDao.refresh());
+
+    for (Supplier<List<DataRow>> stats : List.<Supplier<List<DataRow>>>of(
+        this::genderStats, this::statusStats, this::sourceCountryStats,
+        this::registrationStats)) {
+      assertEquals(liveStats(stats), rollupStats(stats));
+    }
+  }
+
+  private List<DataRow> genderStats() {
+    return statsService.computeGenderStats(DAY, DAY.plusDays(1), null, null, null);
+  }
+
+  private List<DataRow> statusStats() {
+    return statsService.computeStatusStats(
+        null, null, DAY, DAY.plusDays(1), null, null, null);
+  }
+
+  private List<DataRow> sourceCountryStats() {
+    return statsService.computeSourceCountryStats(null, DAY, DAY.plusDays(1), null, null, null);
+  }
+
+  private List<DataRow> registrationStats() {
+    return statsService.computeRegistrationStats(DAY, DAY.plusDays(1), null, null, null);
+  }
+
+  private Map<String, BigDecimal> liveStats(Supplier<List<DataRow>> stats) {
+    ReflectionTestUtils.setField(statsService, "rollupEnabled", false);
+    try {
+      return toMap(stats.get());
+    } finally {
+      ReflectionTestUtils.setField(statsService, "rollupEnabled", true);
+    }
+  }
+
+  private Map<String, BigDecimal> rollupStats(Supplier<List<DataRow>> stats) {
+    return toMap(stats.get());
+  }
+
+  /**
+   * Rows with equal counts can come back in either order, so compare them as maps.
+   */
+  private static Map<String, BigDecimal> toMap(List<DataRow> rows) {
+    return rows.stream().collect(Collectors.toMap(DataRow::getLabel, DataRow::getValue));
+  }
+
+  private Candidate candidate(Gender gender, CandidateStatus status) {
+    User user = createUser(null);
+    user.setUsername("stats-" + UUID.randomUUID());
+    user.setCreatedDate(OffsetDateTime.of(DAY.atTime(12, 0), ZoneOffset.UTC));
+    user = userRepository.saveAndFlush(user);
+
+    Candidate candidate = createAndSaveCandidate(candidateRepository, user);
+    candidate.setGender(gender);
+    candidate.setStatus(status);
+    candidate.setCountry(country);
+    return candidateRepository.saveAndFlush(candidate);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.tctalent.server.repository.db.read.cache.CandidateRedisCache.VersionedJson;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateJsonCacheDaoTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    @InjectMocks
+    private CandidateJsonCacheDao dao;
+
+    @Test
+    void upsertAllWritesOneBatchInCandidateIdOrder() {
+        dao.upsertAll(List.of(
+            new VersionedJson(3L, 30L, "{\"id\":3}"),
+            new VersionedJson(1L, 10L, "{\"id\":1}"),
+            new VersionedJson(2L, 20L, "{\"id\":2}")
+        ));
+
+        ArgumentCaptor<SqlParameterSource[]> captor =
+            ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbc).batchUpdate(anyString(), captor.capture());
+
+        SqlParameterSource[] batch = captor.getValue();
+        assertEquals(3, batch.length);
+        assertEquals(1L, batch[0].getValue("candidateId"));
+        assertEquals(10L, batch[0].getValue("dataVersion"));
+        assertEquals("{\"id\":1}", batch[0].getValue("json"));
+        assertEquals(2L, batch[1].getValue("candidateId"));
+        assertEquals(3L, batch[2].getValue("candidateId"));
+    }
+
+    @Test
+    void upsertAllIgnoresEmptyInput() {
+        dao.upsertAll(List.of());
+        dao.upsertAll(null);
+
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void upsertAllRejectsBlankJsonBeforeWritingAnything() {
+        List<VersionedJson> rows = List.of(
+            new VersionedJson(1L, 10L, "{\"id\":1}"),
+            new VersionedJson(2L, 20L, " ")
+        );
+
+        assertThrows(IllegalStateException.class, () -> dao.upsertAll(rows));
+
+        verifyNoInteractions(jdbc);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.tctalent.server.configuration.properties.CandidateCacheProperties;
+import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
+
+class CandidateNearCacheTest {
+
+    private CandidateCacheProperties properties;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CandidateCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void returnsOnlyEntriesWithMatchingVersion() {
+        CandidateNearCache cache = new CandidateNearCache(properties, meterRegistry);
+
+        cache.put(CandidateJsonProjection.FULL, 1L, 100L, dto(1L), 100);
+        cache.put(CandidateJsonProjection.FULL, 2L, 200L, dto(2L), 100);
+
+        Map<Long, CandidateReadDto> result = cache.getAll(CandidateJsonProjection.FULL, Map.of(1L, 100L, 2L, 201L, 3L, 300L));
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(1L).getId());
+    }
+
+    @Test
+    void projectionsAreCachedSeparately() {
+        CandidateNearCache cache = new CandidateNearCache(properties, meterRegistry);
+
+        cache.put(CandidateJsonProjection.SEARCH_GRID, 1L, 100L, dto(1L), 100);
+
+        assertTrue(cache.getAll(CandidateJsonProjection.FULL, Map.of(1L, 100L)).isEmpty());
+        assertEquals(1, cache.getAll(CandidateJsonProjection.SEARCH_GRID, Map.of(1L, 100L)).size());
+    }
+
+    @Test
+    void returnsCopiesSoTransientFieldsAreNotShared() {
+        CandidateNearCache cache = new CandidateNearCache(properties, meterRegistry);
+        CandidateReadDto shared = dto(1L);
+        cache.put(CandidateJsonProjection.FULL, 1L, 100L, shared, 100);
+
+        CandidateReadDto first = cache.getAll(CandidateJsonProjection.FULL, Map.of(1L, 100L)).get(1L);
+        first.setRank(0.5);
+        first.setSelected(true);
+
+        CandidateReadDto second = cache.getAll(CandidateJsonProjection.FULL, Map.of(1L, 100L)).get(1L);
+
+        assertNotSame(shared, first);
+        assertNotSame(first, second);
+        assertNull(second.getRank());
+        assertFalse(second.isSelected());
+        assertNull(shared.getRank());
+    }
+
+    @Test
+    void disabledCacheNeverReturnsEntries() {
+        properties.getNear().setEnabled(false);
+        CandidateNearCache cache = new CandidateNearCache(properties, meterRegistry);
+
+        cache.put(CandidateJsonProjection.FULL, 1L, 100L, dto(1L), 100);
+
+        assertTrue(cache.getAll(CandidateJsonProjection.FULL, Map.of(1L, 100L)).isEmpty());
+    }
+
+    @Test
+    void publishesHitAndMissMetrics() {
+        CandidateNearCache cache = new CandidateNearCache(properties, meterRegistry);
+
+        cache.put(CandidateJsonProjection.FULL, 1L, 100L, dto(1L), 100);
+        cache.getAll(CandidateJsonProjection.FULL, Map.of(1L, 100L, 2L, 200L));
+
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+            .tag("cache", CandidateNearCache.CACHE_NAME)
+            .tag("result", "hit")
+            .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+            .tag("cache", CandidateNearCache.CACHE_NAME)
+            .tag("result", "miss")
+            .functionCounter().count());
+    }
+
+    private static CandidateReadDto dto(long id) {
+        return CandidateReadDto.builder().id(id).build();
+    }
+}
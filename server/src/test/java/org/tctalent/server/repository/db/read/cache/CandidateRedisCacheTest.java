@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.tctalent.server.configuration.properties.CandidateCacheProperties;
+import org.tctalent.server.repository.db.read.cache.CandidateRedisCache.VersionedJson;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
+
+class CandidateRedisCacheTest {
+
+    private StringRedisTemplate redisTemplate;
+    private CandidateCacheProperties properties;
+    private MeterRegistry meterRegistry;
+    private CandidateRedisCache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        properties = new CandidateCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    void syncPutAllWritesWholeBatchInOnePipeline() {
+        properties.getRedisWrite().setAsync(false);
+        cache = newCache();
+
+        cache.putAll(CandidateJsonProjection.FULL, rows(1L, 2L, 3L));
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void putAllIgnoresEmptyInput() {
+        cache = newCache();
+
+        cache.putAll(CandidateJsonProjection.FULL, Map.of());
+        cache.putAll(CandidateJsonProjection.FULL, null);
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void asyncPutAllWritesInBackgroundAndCountsQueuedEntries() {
+        cache = newCache();
+
+        cache.putAll(CandidateJsonProjection.FULL, rows(1L, 2L));
+
+        verify(redisTemplate, timeout(1000)).executePipelined(any(RedisCallback.class));
+        assertEquals(2.0, count("queued"));
+        assertEquals(0.0, count("dropped"));
+    }
+
+    @Test
+    void asyncPutAllDropsBatchesWhenQueueIsFull() throws Exception {
+        properties.getRedisWrite().setQueueCapacity(1);
+        cache = newCache();
+
+        CountDownLatch writerStarted = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(inv -> {
+            writerStarted.countDown();
+            releaseWriter.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        //First batch occupies the writer thread, second fills the queue, third is dropped.
+        cache.putAll(CandidateJsonProjection.FULL, rows(1L));
+        assertTrue(writerStarted.await(5, TimeUnit.SECONDS));
+        cache.putAll(CandidateJsonProjection.FULL, rows(2L));
+        cache.putAll(CandidateJsonProjection.FULL, rows(3L, 4L));
+
+        releaseWriter.countDown();
+
+        verify(redisTemplate, timeout(1000).times(2)).executePipelined(any(RedisCallback.class));
+        assertEquals(2.0, count("queued"));
+        assertEquals(2.0, count("dropped"));
+    }
+
+    @Test
+    void multiGetDecodesEachValueByItsFormatMarker() {
+        cache = newCache();
+        String json1 = "{\"id\":1}";
+        String json2 = "{\"id\":2,\"name\":\"compressed\"}";
+
+        //Plain (pre codec) entry, compressed entry, missing entry and unknown format
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(Arrays.asList(
+            json1.getBytes(StandardCharsets.UTF_8),
+            new DeflateJsonCodec().encode(json2),
+            null,
+            new byte[] {0x7F, 0x01}
+        ));
+
+        Map<Long, Long> idToVersion = new LinkedHashMap<>();
+        idToVersion.put(1L, 10L);
+        idToVersion.put(2L, 20L);
+        idToVersion.put(3L, 30L);
+        idToVersion.put(4L, 40L);
+
+        Map<Long, String> result = cache.multiGet(CandidateJsonProjection.FULL, idToVersion);
+
+        assertEquals(Map.of(1L, json1, 2L, json2), result);
+    }
+
+    @Test
+    void putAllWritesPlainJsonByDefault() {
+        properties.getRedisWrite().setAsync(false);
+        cache = newCache();
+
+        cache.putAll(CandidateJsonProjection.FULL, rows(1L));
+
+        assertEquals(1, meterRegistry.get(CandidateRedisCache.BYTES_SAVED_METRIC)
+            .tag("codec", PlainJsonCodec.NAME)
+            .summary().count());
+    }
+
+    @Test
+    void putAllRecordsBytesSavedByCodec() {
+        properties.getRedisWrite().setAsync(false);
+        properties.setRedisCodec(DeflateJsonCodec.NAME);
+        cache = newCache();
+
+        cache.putAll(CandidateJsonProjection.FULL, rows(1L, 2L, 3L));
+
+        DistributionSummary saved = meterRegistry.get(CandidateRedisCache.BYTES_SAVED_METRIC)
+            .tag("codec", DeflateJsonCodec.NAME)
+            .summary();
+        assertEquals(1, saved.count());
+        assertEquals(1, meterRegistry.get(CandidateRedisCache.CODEC_METRIC)
+            .tag("operation", "encode")
+            .timer().count());
+    }
+
+    @Test
+    void fullKeysAreUnchangedAndPartialProjectionsHaveTheirOwnKeys() {
+        cache = newCache();
+
+        assertEquals("candidate:json:1:v:10",
+            cache.key(CandidateJsonProjection.FULL, 1L, 10L));
+        assertEquals("candidate:json:search-grid:1:v:10",
+            cache.key(CandidateJsonProjection.SEARCH_GRID, 1L, 10L));
+    }
+
+    @Test
+    void unknownWriteCodecIsRejected() {
+        properties.setRedisCodec("no-such-codec");
+
+        assertThrows(IllegalStateException.class, this::newCache);
+    }
+
+    private CandidateRedisCache newCache() {
+        return new CandidateRedisCache(redisTemplate, properties,
+            List.of(new PlainJsonCodec(), new DeflateJsonCodec()), meterRegistry);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get(CandidateRedisCache.WRITES_METRIC)
+            .tag("outcome", outcome)
+            .counter().count();
+    }
+
+    private static Map<Long, VersionedJson> rows(Long... ids) {
+        Map<Long, VersionedJson> rows = new HashMap<>();
+        for (Long id : ids) {
+            rows.put(id, new VersionedJson(id, 1L, "{\"id\":" + id + "}"));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class DeflateJsonCodecTest {
+
+    private final DeflateJsonCodec codec = new DeflateJsonCodec();
+
+    @Test
+    void roundTripsJsonAndWritesMarker() {
+        String json = "{\"id\":1,\"name\":\"Zoë\",\"notes\":["
+            + "{\"title\":\"note\"},".repeat(200)
+            + "{\"title\":\"last\"}]}";
+
+        byte[] encoded = codec.encode(json);
+
+        assertEquals(codec.marker(), encoded[0]);
+        assertTrue(encoded.length < json.getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(json, codec.decode(encoded));
+    }
+
+    @Test
+    void corruptDataDecodesToNull() {
+        byte[] encoded = codec.encode("{\"id\":1,\"name\":\"something long enough\"}");
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+
+        assertNull(codec.decode(truncated));
+    }
+}
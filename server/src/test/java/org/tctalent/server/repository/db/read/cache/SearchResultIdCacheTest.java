@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties;
+import org.tctalent.server.util.textExtract.IdAndRank;
+
+class SearchResultIdCacheTest {
+
+    private CandidateSearchProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CandidateSearchProperties();
+    }
+
+    @Test
+    void returnsOnlyResultsComputedAtCurrentWatermark() {
+        SearchResultIdCache cache = new SearchResultIdCache(properties, new SimpleMeterRegistry());
+
+        cache.put("select id from candidate", ids(10L));
+
+        assertNotNull(cache.get("select id from candidate", 10L));
+        assertNull(cache.get("select id from candidate", 11L));
+    }
+
+    @Test
+    void keysIgnoreWhitespaceDifferences() {
+        SearchResultIdCache cache = new SearchResultIdCache(properties, new SimpleMeterRegistry());
+
+        cache.put("select id\n  from candidate ", ids(10L));
+
+        assertNotNull(cache.get("select id from candidate", 10L));
+        assertNull(cache.get("select id from candidate c", 10L));
+    }
+
+    @Test
+    void tooLargeSearchesAreNotCacheable() {
+        SearchResultIdCache cache = new SearchResultIdCache(properties, new SimpleMeterRegistry());
+
+        assertTrue(cache.isCacheable("select id from candidate"));
+        cache.markTooLarge("select id from candidate");
+
+        assertFalse(cache.isCacheable("select id from candidate"));
+        assertTrue(cache.isCacheable("select id from candidate c"));
+    }
+
+    @Test
+    void disabledCacheIsNeverUsed() {
+        properties.getResultCache().setEnabled(false);
+        SearchResultIdCache cache = new SearchResultIdCache(properties, new SimpleMeterRegistry());
+
+        cache.put("select id from candidate", ids(10L));
+
+        assertFalse(cache.isCacheable("select id from candidate"));
+        assertNull(cache.get("select id from candidate", 10L));
+    }
+
+    @Test
+    void onlyPopulatesSearchesCountedToFit() {
+        properties.getResultCache().setMaxIds(10);
+        SearchResultIdCache cache = new SearchResultIdCache(properties, new SimpleMeterRegistry());
+
+        assertFalse(cache.shouldPopulate("select id from candidate"));
+
+        cache.recordCount("select id from candidate", 10);
+        assertTrue(cache.shouldPopulate("select id\n from candidate"));
+
+        cache.recordCount("select id from candidate", 11);
+        assertFalse(cache.shouldPopulate("select id from candidate"));
+        assertFalse(cache.isCacheable("select id from candidate"));
+    }
+
+    @Test
+    void countsHitsStaleHitsAndMisses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SearchResultIdCache cache = new SearchResultIdCache(properties, registry);
+
+        cache.get("select id from candidate", 10L);
+        cache.put("select id from candidate", ids(10L));
+        cache.get("select id from candidate", 10L);
+        cache.get("select id from candidate", 10L);
+        cache.get("select id from candidate", 11L);
+
+        assertEquals(2.0, lookups(registry, "hit"));
+        assertEquals(1.0, lookups(registry, "stale"));
+        assertEquals(1.0, lookups(registry, "miss"));
+    }
+
+    private static double lookups(SimpleMeterRegistry registry, String result) {
+        return registry.get(SearchResultIdCache.LOOKUP_METRIC).tag("result", result)
+            .counter().count();
+    }
+
+    private static SearchResultIds ids(long watermark) {
+        return SearchResultIds.of(List.of(new IdAndRank(1L, null)), watermark);
+    }
+}
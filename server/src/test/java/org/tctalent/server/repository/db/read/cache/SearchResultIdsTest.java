@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.tctalent.server.util.textExtract.IdAndRank;
+
+class SearchResultIdsTest {
+
+    @Test
+    void roundTripsUnorderedIdsIncludingLargeGaps() {
+        List<IdAndRank> results = List.of(
+            new IdAndRank(500L, null),
+            new IdAndRank(3L, null),
+            new IdAndRank(9_000_000_000L, null),
+            new IdAndRank(1L, null));
+
+        SearchResultIds ids = SearchResultIds.of(results, 7L);
+
+        assertEquals(7L, ids.getWatermark());
+        assertEquals(4, ids.size());
+        assertEquals(results, ids.slice(0, 10));
+    }
+
+    @Test
+    void slicesPagesAndKeepsRanks() {
+        List<IdAndRank> results = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            results.add(new IdAndRank(id * 3, id / 100.0));
+        }
+
+        SearchResultIds ids = SearchResultIds.of(results, 1L);
+
+        assertEquals(results.subList(10, 20), ids.slice(10, 10));
+        assertEquals(results.subList(20, 25), ids.slice(20, 10));
+        assertTrue(ids.slice(30, 10).isEmpty());
+    }
+
+    @Test
+    void doesNotStoreRanksWhenUnranked() {
+        SearchResultIds ids = SearchResultIds.of(List.of(new IdAndRank(1L, null)), 1L);
+
+        assertNull(ids.slice(0, 1).get(0).rank());
+    }
+
+    @Test
+    void usesFewBytesPerId() {
+        List<IdAndRank> results = new ArrayList<>();
+        for (long id = 100_000; id < 110_000; id++) {
+            results.add(new IdAndRank(id, null));
+        }
+
+        SearchResultIds ids = SearchResultIds.of(results, 1L);
+
+        assertTrue(ids.weight() < 3 * results.size());
+    }
+}
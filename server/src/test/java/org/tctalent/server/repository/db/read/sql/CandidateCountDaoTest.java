@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties.CountMode;
+import org.tctalent.server.repository.db.read.sql.CandidateCountDao.CandidateCount;
+import org.tctalent.server.repository.db.read.sql.CandidateCountDao.CountSource;
+
+class CandidateCountDaoTest {
+
+    private static final String IDS_SQL = "select distinct candidate.id from candidate";
+    private static final String COUNT_SQL = "select count(distinct candidate.id) from candidate";
+    private static final String EXPLAIN_SQL = "EXPLAIN (FORMAT JSON) " + IDS_SQL;
+
+    private JdbcTemplate jdbc;
+    private CandidateSearchProperties properties;
+    private MeterRegistry meterRegistry;
+    private CandidateCountDao dao;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(JdbcTemplate.class);
+        properties = new CandidateSearchProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dao != null) {
+            dao.shutdown();
+        }
+    }
+
+    private CandidateCountDao createDao() {
+        NamedParameterJdbcTemplate namedJdbc = mock(NamedParameterJdbcTemplate.class);
+        when(namedJdbc.getJdbcTemplate()).thenReturn(jdbc);
+        dao = new CandidateCountDao(namedJdbc, new ObjectMapper(), properties, meterRegistry);
+        return dao;
+    }
+
+    @Test
+    void exactModeAlwaysRunsCount() {
+        when(jdbc.queryForObject(COUNT_SQL, Long.class)).thenReturn(42L);
+        CandidateCountDao dao = createDao();
+
+        PageRequest page = PageRequest.of(0, 20);
+        assertEquals(new CandidateCount(42L, CountSource.EXACT), dao.count(IDS_SQL, COUNT_SQL, page));
+        assertEquals(new CandidateCount(42L, CountSource.EXACT), dao.count(IDS_SQL, COUNT_SQL, page));
+
+        verify(jdbc, times(2)).queryForObject(COUNT_SQL, Long.class);
+        verify(jdbc, never()).queryForObject(eq(EXPLAIN_SQL), eq(String.class));
+        assertEquals(2, meterRegistry.get(CandidateCountDao.COUNT_METRIC)
+            .tag("source", "exact").timer().count());
+    }
+
+    @Test
+    void cachedModeReusesCountOfSameSearch() {
+        properties.getCount().setMode(CountMode.CACHED);
+        when(jdbc.queryForObject(COUNT_SQL, Long.class)).thenReturn(42L);
+        CandidateCountDao dao = createDao();
+
+        assertEquals(CountSource.EXACT,
+            dao.count(IDS_SQL, COUNT_SQL, PageRequest.of(0, 20)).source());
+        assertEquals(new CandidateCount(42L, CountSource.CACHED),
+            dao.count(IDS_SQL, COUNT_SQL, PageRequest.of(1, 20)));
+
+        verify(jdbc, times(1)).queryForObject(COUNT_SQL, Long.class);
+    }
+
+    @Test
+    void estimatedModeUsesPlannerEstimateForFirstPageOfLargeResults() {
+        properties.getCount().setMode(CountMode.ESTIMATED);
+        when(jdbc.queryForObject(EXPLAIN_SQL, String.class))
+            .thenReturn("[{\"Plan\": {\"Node Type\": \"Unique\", \"Plan Rows\": 123456}}]");
+        when(jdbc.queryForObject(COUNT_SQL, Long.class)).thenReturn(120000L);
+        CandidateCountDao dao = createDao();
+
+        assertEquals(new CandidateCount(123456L, CountSource.ESTIMATED),
+            dao.count(IDS_SQL, COUNT_SQL, PageRequest.of(0, 20)));
+        verify(jdbc, never()).queryForObject(COUNT_SQL, Long.class);
+
+        //Later pages get an exact count
+        assertEquals(new CandidateCount(120000L, CountSource.EXACT),
+            dao.count(IDS_SQL, COUNT_SQL, PageRequest.of(1, 20)));
+
+        //... which is then preferred to the estimate
+        assertEquals(new CandidateCount(120000L, CountSource.CACHED),
+            dao.count(IDS_SQL, COUNT_SQL, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void estimatedModeCountsSmallResultsExactly() {
+        properties.getCount().setMode(CountMode.ESTIMATED);
+        when(jdbc.queryForObject(EXPLAIN_SQL, String.class))
+            .thenReturn("[{\"Plan\": {\"Plan Rows\": 50}}]");
+        when(jdbc.queryForObject(COUNT_SQL, Long.class)).thenReturn(48L);
+        CandidateCountDao dao = createDao();
+
+        assertEquals(new CandidateCount(48L, CountSource.EXACT),
+            dao.count(IDS_SQL, COUNT_SQL, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void failedEstimateFallsBackToExactCount() {
+        properties.getCount().setMode(CountMode.ESTIMATED);
+        when(jdbc.queryForObject(EXPLAIN_SQL, String.class))
+            .thenThrow(new DataAccessResourceFailureException("boom"));
+        when(jdbc.queryForObject(COUNT_SQL, Long.class)).thenReturn(7L);
+        CandidateCountDao dao = createDao();
+
+        assertEquals(new CandidateCount(7L, CountSource.EXACT),
+            dao.count(IDS_SQL, COUNT_SQL, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void countAsyncRunsOnCountThread() throws Exception {
+        AtomicReference<String> countThread = new AtomicReference<>();
+        when(jdbc.queryForObject(COUNT_SQL, Long.class)).thenAnswer(invocation -> {
+            countThread.set(Thread.currentThread().getName());
+            return 3L;
+        });
+        CandidateCountDao dao = createDao();
+
+        assertEquals(3L, dao.countAsync(IDS_SQL, COUNT_SQL, PageRequest.of(0, 20)).get().total());
+        assertTrue(countThread.get().startsWith("candidate-search-count-"));
+    }
+
+    @Test
+    void countAsyncRunsOnCallerThreadWhenNotParallel() throws Exception {
+        properties.getCount().setParallel(false);
+        AtomicReference<String> countThread = new AtomicReference<>();
+        when(jdbc.queryForObject(COUNT_SQL, Long.class)).thenAnswer(invocation -> {
+            countThread.set(Thread.currentThread().getName());
+            return 3L;
+        });
+        CandidateCountDao dao = createDao();
+
+        assertEquals(3L, dao.countAsync(IDS_SQL, COUNT_SQL, PageRequest.of(0, 20)).get().total());
+        assertEquals(Thread.currentThread().getName(), countThread.get());
+    }
+}
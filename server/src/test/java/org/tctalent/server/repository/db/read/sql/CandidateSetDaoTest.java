@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.tctalent.server.request.list.CandidateSetOperation;
+
+class CandidateSetDaoTest {
+
+    private static final String LIST_1 =
+        "select candidate_id from candidate_saved_list where saved_list_id = 1";
+    private static final String LIST_2 =
+        "select candidate_id from candidate_saved_list where saved_list_id = 2";
+
+    private JdbcTemplate jdbc;
+    private CandidateSetDao dao;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(JdbcTemplate.class);
+        NamedParameterJdbcTemplate namedJdbc = mock(NamedParameterJdbcTemplate.class);
+        when(namedJdbc.getJdbcTemplate()).thenReturn(jdbc);
+        dao = new CandidateSetDao(namedJdbc);
+    }
+
+    @Test
+    void combinesSetsWithSqlSetOperators() {
+        assertEquals(LIST_1, CandidateSetDao.savedListSql(1));
+        assertEquals("(" + LIST_1 + ") union (" + LIST_2 + ")",
+            CandidateSetDao.combineSql(CandidateSetOperation.union, List.of(LIST_1, LIST_2)));
+        assertEquals("(" + LIST_1 + ") intersect (" + LIST_2 + ")",
+            CandidateSetDao.combineSql(CandidateSetOperation.intersection, List.of(LIST_1, LIST_2)));
+        assertEquals("(" + LIST_1 + ") except (" + LIST_2 + ")",
+            CandidateSetDao.combineSql(CandidateSetOperation.difference, List.of(LIST_1, LIST_2)));
+    }
+
+    @Test
+    void singleSetIsNotCombined() {
+        assertEquals(LIST_1,
+            CandidateSetDao.combineSql(CandidateSetOperation.intersection, List.of(LIST_1)));
+    }
+
+    @Test
+    void combiningNoSetsIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> CandidateSetDao.combineSql(CandidateSetOperation.union, List.of()));
+    }
+
+    @Test
+    void candidateIdsAreSelectedWithArrayLiteral() {
+        assertEquals("select id from candidate where id = any('{3,4}'::bigint[])",
+            CandidateSetDao.candidateIdsSql(List.of(3L, 4L)));
+    }
+
+    @Test
+    void fetchesCandidateIdsOfSet() {
+        when(jdbc.queryForList(LIST_1, Long.class)).thenReturn(List.of(3L, 4L));
+
+        assertEquals(Set.of(3L, 4L), dao.fetchCandidateIds(LIST_1));
+    }
+
+    @Test
+    void addsSetToListIgnoringExistingMembers() {
+        when(jdbc.update(
+            "insert into candidate_saved_list (candidate_id, saved_list_id, context_note)"
+                + " select s.id, 9, null from (" + LIST_1 + ") as s(id)"
+                + " on conflict do nothing"))
+            .thenReturn(2);
+
+        assertEquals(2, dao.addToList(9, LIST_1, null));
+    }
+
+    @Test
+    void addsSetToListCopyingContextNotesFromSourceList() {
+        dao.addToList(9, LIST_1, 1L);
+
+        verify(jdbc).update(
+            "insert into candidate_saved_list (candidate_id, saved_list_id, context_note)"
+                + " select s.id, 9, src.context_note from (" + LIST_1 + ") as s(id)"
+                + " left join candidate_saved_list src on src.candidate_id = s.id"
+                + " and src.saved_list_id = 1"
+                + " on conflict do nothing");
+    }
+
+    @Test
+    void lookingUpNoIdentifiersRunsNoQuery() {
+        assertEquals(Map.of(), dao.findIdsByCandidateNumbers(List.of()));
+        assertEquals(Map.of(), dao.findIdsByPublicIds(List.of()));
+
+        verifyNoInteractions(jdbc);
+    }
+}
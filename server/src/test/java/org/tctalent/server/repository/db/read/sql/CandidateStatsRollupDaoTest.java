@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateStatsRollupDaoTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private CandidateStatsRollupDao dao;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbc.getJdbcTemplate()).thenReturn(jdbcTemplate);
+    }
+
+    @Test
+    void refreshAppliesDeltasBeforeReplacingFacts() {
+        //create temporary table, claim changes, apply deltas, delete facts, insert facts, clean up,
+        //drop temporary table
+        when(jdbcTemplate.update(anyString())).thenReturn(0, 3, 10, 3, 3, 1, 0);
+
+        assertEquals(3, dao.refresh());
+
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(7)).update(sqlCaptor.capture());
+        List<String> sqls = sqlCaptor.getAllValues();
+
+        assertTrue(sqls.get(0).startsWith("create temporary table stats_rollup_changed"));
+        assertTrue(sqls.get(1).contains("delete from candidate_stats_changed"));
+        assertTrue(sqls.get(1).contains("insert into stats_rollup_changed"));
+        assertTrue(sqls.get(2).startsWith("insert into candidate_stats_rollup"));
+        assertTrue(sqls.get(2).contains("-1 as delta from candidate_stats_fact"));
+        assertTrue(sqls.get(2).contains("on conflict"));
+        assertTrue(sqls.get(3).startsWith("delete from candidate_stats_fact"));
+        assertTrue(sqls.get(4).contains("insert into candidate_stats_fact"));
+        assertTrue(sqls.get(5).contains("where people_count = 0"));
+        assertEquals("drop table stats_rollup_changed", sqls.get(6));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForList(startsWith("select pg_advisory_xact_lock"));
+        inOrder.verify(jdbcTemplate).update(startsWith("create temporary table"));
+    }
+
+    @Test
+    void refreshWithNoChangesOnlyClaimsChanges() {
+        when(jdbcTemplate.update(anyString())).thenReturn(0);
+
+        assertEquals(0, dao.refresh());
+
+        verify(jdbcTemplate, times(3)).update(anyString());
+    }
+
+    @Test
+    void rebuildDeletesAndRecomputesFactsAndRollup() {
+        when(jdbcTemplate.update(anyString())).thenReturn(5, 40, 30, 42, 7);
+
+        assertEquals(42, dao.rebuild());
+
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(5)).update(sqlCaptor.capture());
+        List<String> sqls = sqlCaptor.getAllValues();
+
+        //Never truncate, which would block stats reads until the rebuild commits
+        assertTrue(sqls.stream().noneMatch(sql -> sql.contains("truncate")));
+        assertEquals("delete from candidate_stats_changed", sqls.get(0));
+        assertEquals("delete from candidate_stats_fact", sqls.get(1));
+        assertEquals("delete from candidate_stats_rollup", sqls.get(2));
+        assertTrue(sqls.get(3).contains("insert into candidate_stats_fact"));
+        assertTrue(sqls.get(4).contains("from candidate_stats_fact where counted"));
+    }
+}
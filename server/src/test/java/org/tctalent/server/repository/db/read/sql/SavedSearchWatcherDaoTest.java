@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties;
+import org.tctalent.server.repository.db.read.sql.SavedSearchWatcherDao.CheckResult;
+
+class SavedSearchWatcherDaoTest {
+
+    private static final String UPDATE_SQL =
+        "update saved_search set watcher_checked_date = ? where id = any(?)";
+
+    private JdbcTemplate jdbc;
+    private SavedSearchWatcherDao dao;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(JdbcTemplate.class);
+        NamedParameterJdbcTemplate namedJdbc = mock(NamedParameterJdbcTemplate.class);
+        when(namedJdbc.getJdbcTemplate()).thenReturn(jdbc);
+        CandidateSearchProperties properties = new CandidateSearchProperties();
+        properties.getWatcher().setThreads(2);
+        dao = new SavedSearchWatcherDao(namedJdbc, properties);
+    }
+
+    @Test
+    void returnsSearchesWithNewCandidatesWithoutRecordingCheckedDates() {
+        when(jdbc.queryForObject("sql1", Boolean.class)).thenReturn(true);
+        when(jdbc.queryForObject("sql2", Boolean.class)).thenReturn(false);
+        when(jdbc.queryForObject("sql3", Boolean.class)).thenReturn(true);
+
+        Map<Long, String> sqls = new LinkedHashMap<>();
+        sqls.put(1L, "sql1");
+        sqls.put(2L, "sql2");
+        sqls.put(3L, "sql3");
+        CheckResult result = dao.checkSearches(sqls);
+
+        assertEquals(Set.of(1L, 3L), result.searchesWithNewCandidates());
+        assertTrue(result.failures().isEmpty());
+        verify(jdbc, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void failedSearchIsReportedAndOtherSearchesContinue() {
+        DataAccessResourceFailureException failure =
+            new DataAccessResourceFailureException("boom");
+        when(jdbc.queryForObject("sql1", Boolean.class)).thenThrow(failure);
+        when(jdbc.queryForObject("sql2", Boolean.class)).thenReturn(true);
+
+        Map<Long, String> sqls = new LinkedHashMap<>();
+        sqls.put(1L, "sql1");
+        sqls.put(2L, "sql2");
+        CheckResult result = dao.checkSearches(sqls);
+
+        assertEquals(Set.of(2L), result.searchesWithNewCandidates());
+        assertSame(failure, result.failures().get(1L));
+    }
+
+    @Test
+    void recordsCheckedDatesOfGivenSearches() {
+        OffsetDateTime checkedDate = OffsetDateTime.now();
+
+        dao.recordCheckedDates(List.of(1L, 3L), checkedDate);
+
+        ArgumentCaptor<Object> idsCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(jdbc).update(eq(UPDATE_SQL), eq(checkedDate), idsCaptor.capture());
+        assertArrayEquals(new Long[] {1L, 3L}, (Long[]) idsCaptor.getValue());
+    }
+
+    @Test
+    void recordingNoSearchesDoesNothing() {
+        dao.recordCheckedDates(List.of(), OffsetDateTime.now());
+
+        verify(jdbc, never()).update(anyString(), any(Object[].class));
+    }
+}
@@ -19,7 +19,11 @@ package org.tctalent.server.repository.db.read.sql;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.Setter;
 import org.junit.jupiter.api.BeforeEach;
@@ -133,4 +137,41 @@ class SqlJsonQueryBuilderTest {
             .contains("cje.candidate_id = c.id");
     }
 
+    @Test
+    void root_field_filter_omits_rejected_fields() {
+        String sql = sqlJsonQueryBuilder.buildByIdsQuery(
+            SampleDto.class, "ids", fieldName -> !fieldName.equals("names"));
+
+        assertThat(sql)
+            .contains("'somethingElse', c.something_else")
+            .doesNotContain("'names'");
+    }
+
+    @Test
+    void search_grid_projection_omits_unused_one_to_many_subqueries() {
+        String sql = sqlJsonQueryBuilder.buildByIdsQuery(
+            CandidateReadDto.class, "ids", CandidateJsonProjection.SEARCH_GRID.fieldFilter());
+
+        assertThat(sql)
+            .contains("from candidate_attachment")
+            .contains("from candidate_dependant")
+            .doesNotContain("from candidate_note")
+            .doesNotContain("from candidate_job_experience")
+            .doesNotContain("from candidate_skill");
+    }
+
+    @Test
+    void projections_only_name_fields_of_candidate_dto() {
+        Set<String> fieldNames = Arrays.stream(CandidateReadDto.class.getDeclaredFields())
+            .map(Field::getName)
+            .collect(Collectors.toSet());
+
+        for (CandidateJsonProjection projection : CandidateJsonProjection.values()) {
+            if (projection.getIncludedFields() != null) {
+                assertThat(fieldNames).containsAll(projection.getIncludedFields());
+            }
+            assertThat(fieldNames).containsAll(projection.getExcludedFields());
+        }
+    }
+
 }
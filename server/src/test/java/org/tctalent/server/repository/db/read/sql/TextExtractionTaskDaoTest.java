@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.repository.db.read.sql;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.tctalent.server.model.db.AttachmentType;
+
+class TextExtractionTaskDaoTest {
+
+    private static final String STORE_TEXT_SQL =
+        "update candidate_attachment set text_extract = ? where id = ? and upload_type = 'cv'";
+    private static final String DELETE_TASK_SQL = "delete from text_extraction_task where id = ?";
+
+    private static final TextExtractionTask TASK = new TextExtractionTask(
+        1L, 11L, 111L, AttachmentType.googlefile, "url", null, "pdf", true, 1);
+
+    private JdbcTemplate jdbc;
+    private TextExtractionTaskDao dao;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(JdbcTemplate.class);
+        NamedParameterJdbcTemplate namedJdbc = mock(NamedParameterJdbcTemplate.class);
+        when(namedJdbc.getJdbcTemplate()).thenReturn(jdbc);
+        dao = new TextExtractionTaskDao(namedJdbc);
+    }
+
+    @Test
+    void completeStoresTextAndRecomputesCandidateText() {
+        when(jdbc.update(STORE_TEXT_SQL, "cv text", 11L)).thenReturn(1);
+        when(jdbc.update(startsWith("with new_text as"), eq(111L))).thenReturn(1);
+
+        assertTrue(dao.complete(TASK, "cv text"));
+
+        verify(jdbc).update(DELETE_TASK_SQL, 1L);
+    }
+
+    @Test
+    void completeLeavesCandidateTextIfAttachmentIsNoLongerCv() {
+        when(jdbc.update(STORE_TEXT_SQL, "cv text", 11L)).thenReturn(0);
+
+        assertFalse(dao.complete(TASK, "cv text"));
+
+        verify(jdbc, never()).update(startsWith("with new_text as"), eq(111L));
+        verify(jdbc).update(DELETE_TASK_SQL, 1L);
+    }
+
+    @Test
+    void failedTaskIsRetriedAfterDelay() {
+        dao.fail(1L, "error", Duration.ofMinutes(5));
+
+        verify(jdbc).update(startsWith("update text_extraction_task"),
+            eq("error"), eq(300_000L), eq(1L));
+    }
+}
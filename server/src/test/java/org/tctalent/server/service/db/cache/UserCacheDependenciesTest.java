@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.model.db.Country;
+import org.tctalent.server.model.db.PartnerImpl;
+import org.tctalent.server.model.db.SavedList;
+import org.tctalent.server.model.db.User;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheDependenciesTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private UserCacheDependencies dependencies;
+
+  @BeforeEach
+  void setUp() {
+    dependencies = new UserCacheDependencies(jdbcTemplate);
+  }
+
+  @Test
+  void usersAndCandidatesEvictTheirOwnUsersWithoutQueries() {
+    Candidate candidate = new Candidate();
+    candidate.setUser(user("candidate"));
+
+    UserCacheKeys keys = dependencies.keysFor(List.of(user("admin"), candidate, new Candidate()));
+
+    assertFalse(keys.isAll());
+    assertEquals(Set.of("admin", "candidate"), keys.getUsernames());
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void partnerEvictsItsUsers() {
+    PartnerImpl partner = new PartnerImpl();
+    partner.setId(7L);
+    given(jdbcTemplate.queryForList("select username from users where partner_id = any(?)",
+        String.class, (Object) new Long[] {7L}))
+        .willReturn(List.of("partner-admin", "partner-candidate"));
+
+    UserCacheKeys keys = dependencies.keysFor(partner);
+
+    assertEquals(Set.of("partner-admin", "partner-candidate"), keys.getUsernames());
+  }
+
+  @Test
+  void savedListEvictsSharedUsersInDatabaseAndInMemory() {
+    SavedList savedList = new SavedList();
+    savedList.setId(3L);
+    savedList.getUsers().add(user("newly-shared"));
+    given(jdbcTemplate.queryForList(
+        "select u.username from users u join user_saved_list s on s.user_id = u.id"
+            + " where s.saved_list_id = any(?)",
+        String.class, (Object) new Long[] {3L}))
+        .willReturn(List.of("previously-shared"));
+
+    UserCacheKeys keys = dependencies.keysFor(savedList);
+
+    assertEquals(Set.of("newly-shared", "previously-shared"), keys.getUsernames());
+  }
+
+  @Test
+  void entitiesWithUnknownDependenciesEvictEverything() {
+    assertSame(UserCacheKeys.ALL, dependencies.keysFor(new Country()));
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void nothingIsEvictedForNull() {
+    assertTrue(dependencies.keysFor(null).getUsernames().isEmpty());
+  }
+
+  private static User user(String username) {
+    User user = new User();
+    user.setUsername(username);
+    return user;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.cache;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.model.db.User;
+import org.tctalent.server.repository.db.CandidateRepository;
+import org.tctalent.server.repository.db.UserRepository;
+
+/**
+ * Checks the "users" cache annotations on the repositories: users are looked up by whatever
+ * username was typed at login, so saving or deleting a user must evict its cache entry however
+ * the username was cased when it was cached.
+ */
+@SpringJUnitConfig
+class UserCacheEvictionTest {
+
+  @Configuration
+  @EnableCaching
+  static class Config {
+
+    @Bean
+    CacheManager cacheManager() {
+      SimpleCacheManager cacheManager = new SimpleCacheManager();
+      cacheManager.setCaches(List.of(new UserCache(
+          new ConcurrentMapCache(UserCache.NAME), new SimpleMeterRegistry())));
+      return cacheManager;
+    }
+
+    @Bean
+    UserCacheDependencies userCacheDependencies() {
+      return new UserCacheDependencies(mock(JdbcTemplate.class));
+    }
+
+    @Bean
+    UserRepository userRepository() {
+      return mock(UserRepository.class);
+    }
+
+    @Bean
+    CandidateRepository candidateRepository() {
+      return mock(CandidateRepository.class);
+    }
+  }
+
+  @Autowired private UserRepository userRepository;
+  @Autowired private CandidateRepository candidateRepository;
+  @Autowired private CacheManager cacheManager;
+
+  private UserRepository userRepositoryMock;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager.getCache(UserCache.NAME).clear();
+
+    //The caching proxy wraps the mock - unwrap it to stub and verify calls reaching the database
+    userRepositoryMock = AopTestUtils.getTargetObject(userRepository);
+    reset(userRepositoryMock);
+
+    user = new User();
+    user.setId(1L);
+    user.setUsername("John");
+    when(userRepositoryMock.findByUsernameIgnoreCase("JOHN")).thenReturn(user);
+  }
+
+  @Test
+  void lookupsDifferingOnlyInCaseShareCacheEntry() {
+    userRepository.findByUsernameIgnoreCase("JOHN");
+    userRepository.findByUsernameIgnoreCase("john");
+
+    verify(userRepositoryMock, times(1)).findByUsernameIgnoreCase("JOHN");
+    verify(userRepositoryMock, times(0)).findByUsernameIgnoreCase("john");
+  }
+
+  @Test
+  void savingUserEvictsMixedCaseCachedEntry() {
+    userRepository.findByUsernameIgnoreCase("JOHN");
+
+    userRepository.save(user);
+    userRepository.findByUsernameIgnoreCase("JOHN");
+
+    verify(userRepositoryMock, times(2)).findByUsernameIgnoreCase("JOHN");
+  }
+
+  @Test
+  void savingRenamedUserEvictsEntryUnderOldUsername() {
+    //As if loaded by Hibernate
+    ReflectionTestUtils.invokeMethod(user, "recordLoadedUsername");
+    userRepository.findByUsernameIgnoreCase("JOHN");
+
+    user.setUsername("Johnny");
+    userRepository.save(user);
+    userRepository.findByUsernameIgnoreCase("JOHN");
+
+    //The old login must not still find the cached user
+    verify(userRepositoryMock, times(2)).findByUsernameIgnoreCase("JOHN");
+  }
+
+  @Test
+  void deletingUserEvictsMixedCaseCachedEntry() {
+    userRepository.findByUsernameIgnoreCase("JOHN");
+
+    userRepository.delete(user);
+    userRepository.findByUsernameIgnoreCase("JOHN");
+
+    verify(userRepositoryMock, times(2)).findByUsernameIgnoreCase("JOHN");
+  }
+
+  @Test
+  void savingCandidateEvictsMixedCaseCachedEntry() {
+    Candidate candidate = new Candidate();
+    candidate.setUser(user);
+    userRepository.findByUsernameIgnoreCase("JOHN");
+
+    candidateRepository.save(candidate);
+    userRepository.findByUsernameIgnoreCase("JOHN");
+
+    verify(userRepositoryMock, times(2)).findByUsernameIgnoreCase("JOHN");
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class UserCacheTest {
+
+  private ConcurrentMapCache delegate;
+  private MeterRegistry meterRegistry;
+  private UserCache cache;
+
+  @BeforeEach
+  void setUp() {
+    delegate = new ConcurrentMapCache(UserCache.NAME);
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new UserCache(delegate, meterRegistry);
+    for (String username : List.of("alice", "bob", "carol")) {
+      cache.put(username, username + "-user");
+    }
+  }
+
+  @Test
+  void evictsEachUsernameOfUserCacheKeys() {
+    cache.evict(UserCacheKeys.of(Arrays.asList("alice", null, "carol")));
+
+    assertNull(cache.get("alice"));
+    assertNotNull(cache.get("bob"));
+    assertNull(cache.get("carol"));
+    assertEquals(2.0, invalidations("key"));
+    assertEquals(0.0, invalidations("all"));
+  }
+
+  @Test
+  void allKeysClearsCache() {
+    cache.evict(UserCacheKeys.ALL);
+
+    assertNull(cache.get("bob"));
+    assertEquals(1.0, invalidations("all"));
+  }
+
+  @Test
+  void noKeysEvictsNothing() {
+    cache.evict(UserCacheKeys.NONE);
+
+    assertNotNull(cache.get("alice"));
+    assertNotNull(cache.get("bob"));
+    assertNotNull(cache.get("carol"));
+  }
+
+  @Test
+  void otherKeysArePassedThrough() {
+    cache.evict("bob");
+
+    assertNull(delegate.get("bob"));
+    assertNotNull(delegate.get("alice"));
+    assertEquals(1.0, invalidations("key"));
+  }
+
+  @Test
+  void combinedKeysIncludeBothSetsOfUsernames() {
+    UserCacheKeys keys = UserCacheKeys.of(List.of("alice")).and(UserCacheKeys.of(List.of("bob")));
+
+    assertEquals(List.of("alice", "bob"), List.copyOf(keys.getUsernames()));
+    assertEquals(UserCacheKeys.ALL, keys.and(UserCacheKeys.ALL));
+  }
+
+  @Test
+  void evictsEntriesCachedUnderLowerCaseKeyWhateverTheCaseOfTheUsername() {
+    cache.put(UserCacheKeys.key("DAVE"), "dave-user");
+
+    cache.evict(UserCacheKeys.of(List.of("Dave")));
+
+    assertNull(cache.get("dave"));
+  }
+
+  private double invalidations(String scope) {
+    return meterRegistry.get(UserCache.INVALIDATIONS_METRIC).tag("scope", scope).counter().count();
+  }
+}
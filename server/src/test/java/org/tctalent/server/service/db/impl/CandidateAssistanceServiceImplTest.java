@@ -16,7 +16,6 @@
 
 package org.tctalent.server.service.db.impl;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,7 +39,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -81,7 +79,6 @@ class CandidateAssistanceServiceImplTest {
 
     //TODO JC I don't think we need a mockCandidate. Just use a normal candidate object.
     @Mock private Candidate mockCandidate;
-    @Mock private Page<Candidate> mockCandidatePage;
     @Mock private CandidateRepository candidateRepository;
     @Mock private PartnerService partnerService;
     @Mock private CountryRepository countryRepository;
@@ -172,86 +169,6 @@ class CandidateAssistanceServiceImplTest {
         verify(persistenceContextHelper, never()).flushAndClearEntityManager();
     }
 
-    @Test
-    @DisplayName("cleanUpResolvedDuplicates clears potentialDuplicate on resolved candidates")
-    void cleanUpResolvedDuplicatesWhenIdsDiffer() {
-        long resolvedCandidateId = 42L;
-
-        // Given: candidate ID was previously marked but is not in the new list
-        given(candidateRepository.findIdsOfPotentialDuplicateCandidates(null))
-            .willReturn(List.of()); // newCandidateIds (empty)
-        given(candidateRepository.findIdsOfCandidatesMarkedPotentialDuplicates())
-            .willReturn(List.of(resolvedCandidateId)); // previousCandidateIds (1)
-
-        // doReturn() works better for spies than given() - avoids method call altogether.
-        doReturn(mockCandidate).when(candidateService).getCandidate(resolvedCandidateId);
-
-        candidateService.cleanUpResolvedDuplicates(); // Act
-
-        // Check that candidate has flag cleared and is saved:
-        verify(mockCandidate).setPotentialDuplicate(false);
-        verify(candidateService).save(mockCandidate);
-    }
-
-    @Test
-    @DisplayName("cleanUpResolvedDuplicates - no action if no duplicates resolved")
-    void cleanUpResolvedDuplicatesNoActionIfNoneResolved() {
-        long candidateId1 = 101L;
-        long candidateId2 = 102L;
-
-        List<Long> currentDuplicates = List.of(candidateId1, candidateId2);
-        List<Long> previouslyMarkedDuplicates = List.of(candidateId1, candidateId2);
-
-        given(candidateRepository.findIdsOfPotentialDuplicateCandidates(null))
-            .willReturn(currentDuplicates);
-        given(candidateRepository.findIdsOfCandidatesMarkedPotentialDuplicates())
-            .willReturn(previouslyMarkedDuplicates);
-
-        candidateService.cleanUpResolvedDuplicates(); // Act
-
-        verify(candidateService, never()).getCandidate(anyLong());
-        verify(candidateService, never()).save(any());
-    }
-
-    @Test
-    @DisplayName("cleanUpResolvedDuplicates handles empty lists")
-    void cleanUpResolvedDuplicatesHandlesEmptyLists() {
-        List<Long> emptyList = List.of();
-        given(candidateRepository.findIdsOfPotentialDuplicateCandidates(null))
-            .willReturn(emptyList);
-        given(candidateRepository.findIdsOfCandidatesMarkedPotentialDuplicates())
-            .willReturn(emptyList);
-
-        assertDoesNotThrow(() -> candidateService.cleanUpResolvedDuplicates()); // Act & Assert
-    }
-
-    @Test
-    @DisplayName("processPotentialDuplicatePage marks as duplicates all candidates on page")
-    void processPotentialDuplicatePageMarksAsDuplicatesAllCandidatesOnPage() {
-        Candidate mockCandidate = mock(Candidate.class);
-
-        List<Candidate> mockCandidateList = List.of(mockCandidate, mockCandidate, mockCandidate);
-
-        given(mockCandidatePage.getContent()).willReturn(mockCandidateList);
-
-        candidateService.processPotentialDuplicatePage(mockCandidatePage); // Act
-
-        verify(mockCandidate, times(3)).setPotentialDuplicate(true);
-        verify(candidateService, times(3))
-            .save(mockCandidate);
-    }
-
-    @Test
-    @DisplayName("processPotentialDuplicatePage skips empty page w no exceptions")
-    void processPotentialDuplicatePageSkipsEmptyPage() {
-        Page<Candidate> spyCandidatePage = Mockito.spy(new PageImpl<>(List.of()));
-
-        // Act & Assert
-        assertDoesNotThrow(() -> candidateService.processPotentialDuplicatePage(spyCandidatePage));
-
-        verify(spyCandidatePage, never()).getContent();
-    }
-
     @Test
     @DisplayName("should not reassign registered candidate")
     void reassignPartnerIfNeeded_shouldNotReassignButShouldNotify() {
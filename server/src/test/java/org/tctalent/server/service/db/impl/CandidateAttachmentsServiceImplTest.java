@@ -77,6 +77,7 @@ import org.tctalent.server.security.AuthService;
 import org.tctalent.server.service.db.CandidateService;
 import org.tctalent.server.service.db.FileSystemService;
 import org.tctalent.server.service.db.PublicIDService;
+import org.tctalent.server.service.db.TextExtractionService;
 import org.tctalent.server.util.filesystem.GoogleFileSystemBaseEntity;
 import org.tctalent.server.util.filesystem.GoogleFileSystemDrive;
 import org.tctalent.server.util.filesystem.GoogleFileSystemFile;
@@ -115,6 +116,7 @@ public class CandidateAttachmentsServiceImplTest {
     @Mock private OutputStream outputStream;
     @Mock private PublicIDService publicIDService;
     @Mock private TcInstanceService tcInstanceService;
+    @Mock private TextExtractionService textExtractionService;
 
     @Captor private ArgumentCaptor<CandidateAttachment> attachmentCaptor;
 
@@ -325,6 +327,27 @@ public class CandidateAttachmentsServiceImplTest {
         assertEquals(FILE_TYPE, attachment.getFileType());
     }
 
+    @Test
+    @DisplayName("should queue text extraction of google file cv without text")
+    void createCandidateAttachment_shouldQueueTextExtractionOfGoogleFileCv() throws IOException {
+        createRequest.setType(AttachmentType.googlefile);
+        createRequest.setUploadType(UploadType.cv);
+        createRequest.setFileType(FILE_TYPE);
+
+        given(authService.getLoggedInUser()).willReturn(Optional.of(ADMIN_USER));
+        given(candidateRepository.findById(createRequest.getCandidateId()))
+            .willReturn(Optional.of(candidate));
+        given(candidateAttachmentRepository.save(any(CandidateAttachment.class)))
+            .willAnswer(invocation -> invocation.getArgument(0));
+
+        CandidateAttachment created =
+            candidateAttachmentsService.createCandidateAttachment(createRequest);
+
+        //Candidate text is updated by the extraction once it completes
+        verify(textExtractionService).queueExtraction(created);
+        verify(candidateService).save(candidate, false);
+    }
+
     @Test
     @DisplayName("should throw when logged in user not found")
     void deleteCandidateAttachment_shouldThrow_whenUserNotFound() {
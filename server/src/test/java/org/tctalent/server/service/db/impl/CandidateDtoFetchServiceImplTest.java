@@ -1,12 +1,16 @@
 package org.tctalent.server.service.db.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
@@ -14,21 +18,28 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.tctalent.server.repository.db.read.sql.CandidateJsonProjection.FULL;
+import static org.tctalent.server.repository.db.read.sql.CandidateJsonProjection.SEARCH_GRID;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -36,9 +47,16 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.tctalent.server.exception.NoSuchObjectException;
 import org.tctalent.server.repository.db.read.cache.CandidateJsonCache;
 import org.tctalent.server.repository.db.read.cache.CandidateJsonCacheDao;
+import org.tctalent.server.repository.db.read.cache.CandidateNearCache;
 import org.tctalent.server.repository.db.read.cache.CandidateRedisCache;
+import org.tctalent.server.repository.db.read.cache.CandidateRedisCache.VersionedJson;
 import org.tctalent.server.repository.db.read.cache.CandidateVersionDao;
+import org.tctalent.server.repository.db.read.cache.SearchResultIdCache;
+import org.tctalent.server.repository.db.read.cache.SearchResultIds;
 import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateCountDao;
+import org.tctalent.server.repository.db.read.sql.CandidateCountDao.CandidateCount;
+import org.tctalent.server.repository.db.read.sql.CandidateCountDao.CountSource;
 import org.tctalent.server.repository.db.read.sql.CandidateJsonDao;
 import org.tctalent.server.util.CandidateSearchUtils;
 import org.tctalent.server.util.textExtract.IdAndRank;
@@ -58,12 +76,24 @@ class CandidateDtoFetchServiceImplTest {
   @Mock
   private CandidateJsonCacheDao pgCacheDao;
 
+  @Mock
+  private CandidateNearCache nearCache;
+
   @Mock
   private CandidateRedisCache redisCache;
 
   @Mock
   private CandidateVersionDao versionDao;
 
+  @Mock
+  private CandidateCountDao countDao;
+
+  @Mock
+  private SearchResultIdCache resultIdCache;
+
+  @Spy
+  private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
   @InjectMocks
   private CandidateDtoFetchServiceImpl service;
 
@@ -100,11 +130,11 @@ class CandidateDtoFetchServiceImplTest {
 
   @Test
   void fetchByIdsReturnsDtosFromRedisOnly() throws Exception {
-    CandidateReadDto dto = mock(CandidateReadDto.class);
+    CandidateReadDto dto = dto(1L);
 
     when(versionDao.fetchCandidateVersions(List.of(1L)))
         .thenReturn(Map.of(1L, 100L));
-    when(redisCache.multiGet(Map.of(1L, 100L)))
+    when(redisCache.multiGet(FULL, Map.of(1L, 100L)))
         .thenReturn(Map.of(1L, "{\"id\":1}"));
     when(objectMapper.readValue("{\"id\":1}", CandidateReadDto.class))
         .thenReturn(dto);
@@ -112,22 +142,44 @@ class CandidateDtoFetchServiceImplTest {
     Map<Long, CandidateReadDto> result = service.fetchByIds(List.of(1L));
 
     assertEquals(1, result.size());
-    assertSame(dto, result.get(1L));
+    assertCopyOf(dto, result.get(1L));
 
+    verify(nearCache).put(FULL, 1L, 100L, dto, "{\"id\":1}".length());
     verify(pgCacheDao, never()).findByIds(any());
-    verify(jsonDao, never()).loadJsonByIds(any());
-    verify(pgCacheDao, never()).upsert(anyLong(), anyLong(), anyString());
-    verify(redisCache, never()).putAll(any());
+    verify(jsonDao, never()).loadJsonByIds(any(), any());
+    verify(pgCacheDao, never()).upsertAll(any());
+    verify(redisCache, never()).putAll(any(), any());
+  }
+
+  @Test
+  void fetchByIdsReturnsDtosFromNearCacheWithoutRedis() throws Exception {
+    CandidateReadDto dto = dto(1L);
+
+    when(versionDao.fetchCandidateVersions(List.of(1L)))
+        .thenReturn(Map.of(1L, 100L));
+    when(nearCache.getAll(FULL, Map.of(1L, 100L)))
+        .thenReturn(Map.of(1L, dto));
+
+    Map<Long, CandidateReadDto> result = service.fetchByIds(List.of(1L));
+
+    assertEquals(1, result.size());
+    assertSame(dto, result.get(1L));
+
+    verify(nearCache, never()).put(any(), anyLong(), anyLong(), any(), anyInt());
+    verifyNoInteractions(objectMapper);
+    verifyNoInteractions(redisCache);
+    verifyNoInteractions(pgCacheDao);
+    verifyNoInteractions(jsonDao);
   }
 
   @Test
   void fetchByIdsUsesPostgresCacheForRedisMissAndWarmsRedis() throws Exception {
-    CandidateReadDto dto = mock(CandidateReadDto.class);
+    CandidateReadDto dto = dto(1L);
     CandidateJsonCache pgHit = validPgCacheHit(1L, 100L, "{\"id\":1}");
 
     when(versionDao.fetchCandidateVersions(List.of(1L)))
         .thenReturn(Map.of(1L, 100L));
-    when(redisCache.multiGet(Map.of(1L, 100L)))
+    when(redisCache.multiGet(FULL, Map.of(1L, 100L)))
         .thenReturn(Map.of());
     when(pgCacheDao.findByIds(List.of(1L))).thenReturn(List.of(pgHit));
     when(objectMapper.readValue("{\"id\":1}", CandidateReadDto.class))
@@ -136,24 +188,24 @@ class CandidateDtoFetchServiceImplTest {
     Map<Long, CandidateReadDto> result = service.fetchByIds(List.of(1L));
 
     assertEquals(1, result.size());
-    assertSame(dto, result.get(1L));
+    assertCopyOf(dto, result.get(1L));
 
-    verify(redisCache).putAll(any());
-    verify(jsonDao, never()).loadJsonByIds(any());
-    verify(pgCacheDao, never()).upsert(anyLong(), anyLong(), anyString());
+    verify(redisCache).putAll(any(), any());
+    verify(jsonDao, never()).loadJsonByIds(any(), any());
+    verify(pgCacheDao, never()).upsertAll(any());
   }
 
   @Test
   void fetchByIdsIgnoresPostgresCacheMissAndRecomputesJson() throws Exception {
-    CandidateReadDto dto = mock(CandidateReadDto.class);
+    CandidateReadDto dto = dto(1L);
     CandidateJsonCache pgMiss = pgCacheMiss();
 
     when(versionDao.fetchCandidateVersions(List.of(1L)))
         .thenReturn(Map.of(1L, 100L));
-    when(redisCache.multiGet(Map.of(1L, 100L)))
+    when(redisCache.multiGet(FULL, Map.of(1L, 100L)))
         .thenReturn(Map.of());
     when(pgCacheDao.findByIds(List.of(1L))).thenReturn(List.of(pgMiss));
-    when(jsonDao.loadJsonByIds(List.of(1L)))
+    when(jsonDao.loadJsonByIds(List.of(1L), FULL))
         .thenReturn(Map.of(1L, "{\"id\":1}"));
     when(objectMapper.readValue("{\"id\":1}", CandidateReadDto.class))
         .thenReturn(dto);
@@ -161,10 +213,36 @@ class CandidateDtoFetchServiceImplTest {
     Map<Long, CandidateReadDto> result = service.fetchByIds(List.of(1L));
 
     assertEquals(1, result.size());
-    assertSame(dto, result.get(1L));
+    assertCopyOf(dto, result.get(1L));
 
-    verify(pgCacheDao).upsert(1L, 100L, "{\"id\":1}");
-    verify(redisCache).putAll(any());
+    verify(pgCacheDao).upsertAll(
+        argThat(rows -> rows.size() == 1
+            && rows.contains(new VersionedJson(1L, 100L, "{\"id\":1}"))));
+    verify(redisCache).putAll(any(), any());
+  }
+
+  @Test
+  void fetchByIdsForPartialProjectionBypassesPostgresCache() throws Exception {
+    CandidateReadDto dto = dto(1L);
+
+    when(versionDao.fetchCandidateVersions(List.of(1L)))
+        .thenReturn(Map.of(1L, 100L));
+    when(redisCache.multiGet(SEARCH_GRID, Map.of(1L, 100L)))
+        .thenReturn(Map.of());
+    when(jsonDao.loadJsonByIds(List.of(1L), SEARCH_GRID))
+        .thenReturn(Map.of(1L, "{\"id\":1}"));
+    when(objectMapper.readValue("{\"id\":1}", CandidateReadDto.class))
+        .thenReturn(dto);
+
+    Map<Long, CandidateReadDto> result = service.fetchByIds(List.of(1L), SEARCH_GRID);
+
+    assertEquals(1, result.size());
+    assertCopyOf(dto, result.get(1L));
+
+    verify(nearCache).getAll(SEARCH_GRID, Map.of(1L, 100L));
+    verify(nearCache).put(SEARCH_GRID, 1L, 100L, dto, "{\"id\":1}".length());
+    verify(redisCache).putAll(SEARCH_GRID, Map.of(1L, new VersionedJson(1L, 100L, "{\"id\":1}")));
+    verifyNoInteractions(pgCacheDao);
   }
 
   @Test
@@ -173,14 +251,14 @@ class CandidateDtoFetchServiceImplTest {
 
     when(versionDao.fetchCandidateVersions(List.of(1L)))
         .thenReturn(Map.of(1L, 100L));
-    when(redisCache.multiGet(Map.of(1L, 100L)))
+    when(redisCache.multiGet(FULL, Map.of(1L, 100L)))
         .thenReturn(Map.of());
     when(pgCacheDao.findByIds(List.of(1L))).thenReturn(List.of(badPgHit));
 
     assertThrows(IllegalStateException.class,
         () -> service.fetchByIds(List.of(1L)));
 
-    verify(jsonDao, never()).loadJsonByIds(any());
+    verify(jsonDao, never()).loadJsonByIds(any(), any());
     verify(objectMapper, never()).readValue(any(String.class), any(Class.class));
   }
 
@@ -188,17 +266,17 @@ class CandidateDtoFetchServiceImplTest {
   void fetchByIdsThrowsWhenRecomputedJsonIsBlank() throws JsonProcessingException {
     when(versionDao.fetchCandidateVersions(List.of(1L)))
         .thenReturn(Map.of(1L, 100L));
-    when(redisCache.multiGet(Map.of(1L, 100L)))
+    when(redisCache.multiGet(FULL, Map.of(1L, 100L)))
         .thenReturn(Map.of());
     when(pgCacheDao.findByIds(List.of(1L))).thenReturn(List.of());
-    when(jsonDao.loadJsonByIds(List.of(1L)))
+    when(jsonDao.loadJsonByIds(List.of(1L), FULL))
         .thenReturn(Map.of(1L, " "));
 
     assertThrows(IllegalStateException.class,
         () -> service.fetchByIds(List.of(1L)));
 
-    verify(pgCacheDao, never()).upsert(anyLong(), anyLong(), anyString());
-    verify(redisCache, never()).putAll(any());
+    verify(pgCacheDao, never()).upsertAll(any());
+    verify(redisCache, never()).putAll(any(), any());
     verify(objectMapper, never()).readValue(any(String.class), any(Class.class));
   }
 
@@ -206,7 +284,7 @@ class CandidateDtoFetchServiceImplTest {
   void fetchByIdsWrapsJsonProcessingException() throws Exception {
     when(versionDao.fetchCandidateVersions(List.of(1L)))
         .thenReturn(Map.of(1L, 100L));
-    when(redisCache.multiGet(Map.of(1L, 100L)))
+    when(redisCache.multiGet(FULL, Map.of(1L, 100L)))
         .thenReturn(Map.of(1L, "bad-json"));
     when(objectMapper.readValue("bad-json", CandidateReadDto.class))
         .thenThrow(JsonMappingException.fromUnexpectedIOE(new IOException("bad json")));
@@ -219,18 +297,18 @@ class CandidateDtoFetchServiceImplTest {
 
   @Test
   void fetchByIdsHandlesMixedRedisPostgresAndRecomputeSources() throws Exception {
-    CandidateReadDto redisDto = mock(CandidateReadDto.class);
-    CandidateReadDto pgDto = mock(CandidateReadDto.class);
-    CandidateReadDto recomputedDto = mock(CandidateReadDto.class);
+    CandidateReadDto redisDto = dto(1L);
+    CandidateReadDto pgDto = dto(2L);
+    CandidateReadDto recomputedDto = dto(3L);
 
     CandidateJsonCache pgHit = validPgCacheHit(2L, 200L, "{\"id\":2}");
 
     when(versionDao.fetchCandidateVersions(List.of(1L, 2L, 3L)))
         .thenReturn(Map.of(1L, 100L, 2L, 200L, 3L, 300L));
-    when(redisCache.multiGet(Map.of(1L, 100L, 2L, 200L, 3L, 300L)))
+    when(redisCache.multiGet(FULL, Map.of(1L, 100L, 2L, 200L, 3L, 300L)))
         .thenReturn(Map.of(1L, "{\"id\":1}"));
     when(pgCacheDao.findByIds(List.of(2L, 3L))).thenReturn(List.of(pgHit));
-    when(jsonDao.loadJsonByIds(List.of(3L)))
+    when(jsonDao.loadJsonByIds(List.of(3L), FULL))
         .thenReturn(Map.of(3L, "{\"id\":3}"));
 
     when(objectMapper.readValue("{\"id\":1}", CandidateReadDto.class))
@@ -243,14 +321,34 @@ class CandidateDtoFetchServiceImplTest {
     Map<Long, CandidateReadDto> result = service.fetchByIds(List.of(1L, 2L, 3L));
 
     assertEquals(3, result.size());
-    assertSame(redisDto, result.get(1L));
-    assertSame(pgDto, result.get(2L));
-    assertSame(recomputedDto, result.get(3L));
+    assertCopyOf(redisDto, result.get(1L));
+    assertCopyOf(pgDto, result.get(2L));
+    assertCopyOf(recomputedDto, result.get(3L));
 
     verify(pgCacheDao).findByIds(List.of(2L, 3L));
-    verify(jsonDao).loadJsonByIds(List.of(3L));
-    verify(pgCacheDao).upsert(3L, 300L, "{\"id\":3}");
-    verify(redisCache, times(2)).putAll(any());
+    verify(jsonDao).loadJsonByIds(List.of(3L), FULL);
+    verify(pgCacheDao).upsertAll(
+        argThat(rows -> rows.size() == 1
+            && rows.contains(new VersionedJson(3L, 300L, "{\"id\":3}"))));
+    verify(redisCache, times(2)).putAll(any(), any());
+  }
+
+  @Test
+  void refreshCachedJsonRecomputesAndWritesSharedCachesSkippingBlankJson() {
+    when(versionDao.fetchCandidateVersions(List.of(1L, 2L, 3L)))
+        .thenReturn(Map.of(1L, 100L, 2L, 200L));
+    when(jsonDao.loadJsonByIds(Set.of(1L, 2L), FULL))
+        .thenReturn(Map.of(1L, "{\"id\":1}", 2L, " "));
+
+    int refreshed = service.refreshCachedJson(List.of(1L, 2L, 3L));
+
+    assertEquals(1, refreshed);
+    verify(pgCacheDao).upsertAll(
+        argThat(rows -> rows.size() == 1
+            && rows.contains(new VersionedJson(1L, 100L, "{\"id\":1}"))));
+    verify(redisCache).putAll(FULL, Map.of(1L, new VersionedJson(1L, 100L, "{\"id\":1}")));
+    verifyNoInteractions(nearCache);
+    verifyNoInteractions(objectMapper);
   }
 
   @Test
@@ -259,7 +357,6 @@ class CandidateDtoFetchServiceImplTest {
     String countSql = "select count(*) from candidate";
 
     Query idsQuery = mock(Query.class);
-    Query countQuery = mock(Query.class);
 
     PageRequest pageRequest = PageRequest.of(1, 2);
     List<Object> rawRows = List.of(new Object(), new Object());
@@ -268,17 +365,17 @@ class CandidateDtoFetchServiceImplTest {
         new IdAndRank(1L, null)
     );
 
-    CandidateReadDto dtoOne = mock(CandidateReadDto.class);
-    CandidateReadDto dtoTwo = mock(CandidateReadDto.class);
+    CandidateReadDto dtoOne = dto(1L);
+    CandidateReadDto dtoTwo = dto(2L);
 
     when(entityManager.createNativeQuery(fetchIdsSql)).thenReturn(idsQuery);
-    when(entityManager.createNativeQuery(countSql)).thenReturn(countQuery);
     when(idsQuery.getResultList()).thenReturn(rawRows);
-    when(countQuery.getSingleResult()).thenReturn(22L);
+    when(countDao.countAsync(fetchIdsSql, countSql, pageRequest)).thenReturn(
+        CompletableFuture.completedFuture(new CandidateCount(22L, CountSource.EXACT)));
 
     when(versionDao.fetchCandidateVersions(List.of(2L, 1L)))
         .thenReturn(Map.of(1L, 100L, 2L, 200L));
-    when(redisCache.multiGet(Map.of(1L, 100L, 2L, 200L)))
+    when(redisCache.multiGet(FULL, Map.of(1L, 100L, 2L, 200L)))
         .thenReturn(Map.of(1L, "{\"id\":1}", 2L, "{\"id\":2}"));
     when(objectMapper.readValue("{\"id\":1}", CandidateReadDto.class))
         .thenReturn(dtoOne);
@@ -296,16 +393,220 @@ class CandidateDtoFetchServiceImplTest {
 
       assertEquals(22L, result.getTotalElements());
       assertEquals(2, result.getContent().size());
-      assertSame(dtoTwo, result.getContent().get(0));
-      assertSame(dtoOne, result.getContent().get(1));
+      assertCopyOf(dtoTwo, result.getContent().get(0));
+      assertCopyOf(dtoOne, result.getContent().get(1));
 
-      verify(dtoTwo).setRank(0.75);
-      verify(dtoOne, never()).setRank(any());
+      assertEquals(0.75, result.getContent().get(0).getRank());
+      assertNull(result.getContent().get(1).getRank());
       verify(idsQuery).setFirstResult(2);
       verify(idsQuery).setMaxResults(2);
+      assertEquals(1, meterRegistry.get(CandidateDtoFetchServiceImpl.FETCH_PAGE_METRIC)
+          .tag("phase", "fetchIds").timer().count());
+    }
+  }
+
+  @Test
+  void fetchPageRethrowsCountFailure() {
+    String fetchIdsSql = "select id from candidate";
+    String countSql = "select count(*) from candidate";
+    PageRequest pageRequest = PageRequest.of(0, 2);
+
+    Query idsQuery = mock(Query.class);
+    when(entityManager.createNativeQuery(fetchIdsSql)).thenReturn(idsQuery);
+    when(idsQuery.getResultList()).thenReturn(List.of());
+    when(countDao.countAsync(fetchIdsSql, countSql, pageRequest)).thenReturn(
+        CompletableFuture.failedFuture(new IllegalStateException("count failed")));
+
+    try (MockedStatic<CandidateSearchUtils> utilities =
+        mockStatic(CandidateSearchUtils.class)) {
+      utilities.when(() -> CandidateSearchUtils.processIdRankSearchResults(
+              List.of(), pageRequest.getSort()))
+          .thenReturn(List.of());
+
+      IllegalStateException ex = assertThrows(IllegalStateException.class,
+          () -> service.fetchPage(fetchIdsSql, countSql, pageRequest));
+      assertEquals("count failed", ex.getMessage());
+    }
+  }
+
+  @Test
+  void fetchPageSlicesCachedResultsWithoutSearchOrCount() throws Exception {
+    String fetchIdsSql = "select id from candidate";
+    String countSql = "select count(*) from candidate";
+    PageRequest pageRequest = PageRequest.of(1, 2);
+
+    SearchResultIds cached = SearchResultIds.of(List.of(
+        new IdAndRank(5L, 0.9),
+        new IdAndRank(4L, 0.8),
+        new IdAndRank(2L, 0.75),
+        new IdAndRank(1L, 0.5),
+        new IdAndRank(3L, 0.25)
+    ), 42L);
+
+    CandidateReadDto dtoOne = dto(1L);
+    CandidateReadDto dtoTwo = dto(2L);
+
+    when(resultIdCache.isCacheable(fetchIdsSql)).thenReturn(true);
+    when(versionDao.fetchChangeWatermark()).thenReturn(42L);
+    when(resultIdCache.get(fetchIdsSql, 42L)).thenReturn(cached);
+    when(versionDao.fetchCandidateVersions(List.of(2L, 1L)))
+        .thenReturn(Map.of(1L, 100L, 2L, 200L));
+    when(nearCache.getAll(FULL, Map.of(1L, 100L, 2L, 200L)))
+        .thenReturn(Map.of(1L, dtoOne, 2L, dtoTwo));
+
+    Page<CandidateReadDto> result = service.fetchPage(fetchIdsSql, countSql, pageRequest);
+
+    assertEquals(5L, result.getTotalElements());
+    assertEquals(List.of(2L, 1L),
+        result.getContent().stream().map(CandidateReadDto::getId).toList());
+    assertEquals(0.75, result.getContent().get(0).getRank());
+    assertEquals(0.5, result.getContent().get(1).getRank());
+
+    verifyNoInteractions(entityManager);
+    verifyNoInteractions(countDao);
+    verify(resultIdCache, never()).put(any(), any());
+  }
+
+  @Test
+  void fetchPageCachesAllResultsOnMiss() {
+    String fetchIdsSql = "select id from candidate";
+    String countSql = "select count(*) from candidate";
+    PageRequest pageRequest = PageRequest.of(0, 2);
+
+    Query idsQuery = mock(Query.class);
+    List<Object> rawRows = List.of(new Object());
+
+    when(resultIdCache.isCacheable(fetchIdsSql)).thenReturn(true);
+    when(resultIdCache.shouldPopulate(fetchIdsSql)).thenReturn(true);
+    when(resultIdCache.getMaxIds()).thenReturn(100);
+    when(versionDao.fetchChangeWatermark()).thenReturn(42L);
+    when(entityManager.createNativeQuery(fetchIdsSql)).thenReturn(idsQuery);
+    when(idsQuery.getResultList()).thenReturn(rawRows);
+    when(versionDao.fetchCandidateVersions(List.of(7L))).thenReturn(Map.of(7L, 700L));
+    when(nearCache.getAll(FULL, Map.of(7L, 700L))).thenReturn(Map.of(7L, dto(7L)));
+
+    try (MockedStatic<CandidateSearchUtils> utilities =
+        mockStatic(CandidateSearchUtils.class)) {
+      utilities.when(() -> CandidateSearchUtils.processIdRankSearchResults(
+              rawRows, pageRequest.getSort()))
+          .thenReturn(List.of(new IdAndRank(7L, null)));
+
+      Page<CandidateReadDto> result = service.fetchPage(fetchIdsSql, countSql, pageRequest);
+
+      assertEquals(1L, result.getTotalElements());
+      verify(idsQuery).setMaxResults(101);
+      verify(idsQuery, never()).setFirstResult(anyInt());
+      verify(resultIdCache).put(
+          eq(fetchIdsSql),
+          argThat(ids -> ids.size() == 1 && ids.getWatermark() == 42L));
+      verifyNoInteractions(countDao);
     }
   }
 
+  @Test
+  void fetchPageFallsBackWhenSearchHasTooManyResultsToCache() {
+    String fetchIdsSql = "select id from candidate";
+    String countSql = "select count(*) from candidate";
+    PageRequest pageRequest = PageRequest.of(0, 2);
+
+    Query allIdsQuery = mock(Query.class);
+    Query pageIdsQuery = mock(Query.class);
+
+    when(resultIdCache.isCacheable(fetchIdsSql)).thenReturn(true);
+    when(resultIdCache.shouldPopulate(fetchIdsSql)).thenReturn(true);
+    when(resultIdCache.getMaxIds()).thenReturn(1);
+    when(versionDao.fetchChangeWatermark()).thenReturn(42L);
+    when(entityManager.createNativeQuery(fetchIdsSql)).thenReturn(allIdsQuery, pageIdsQuery);
+    when(allIdsQuery.getResultList()).thenReturn(List.of(new Object(), new Object()));
+    when(pageIdsQuery.getResultList()).thenReturn(List.of());
+    when(countDao.countAsync(fetchIdsSql, countSql, pageRequest)).thenReturn(
+        CompletableFuture.completedFuture(new CandidateCount(2L, CountSource.EXACT)));
+
+    try (MockedStatic<CandidateSearchUtils> utilities =
+        mockStatic(CandidateSearchUtils.class)) {
+      utilities.when(() -> CandidateSearchUtils.processIdRankSearchResults(
+              List.of(), pageRequest.getSort()))
+          .thenReturn(List.of());
+
+      Page<CandidateReadDto> result = service.fetchPage(fetchIdsSql, countSql, pageRequest);
+
+      assertEquals(2L, result.getTotalElements());
+      verify(resultIdCache).markTooLarge(fetchIdsSql);
+      verify(resultIdCache, never()).put(any(), any());
+      verify(pageIdsQuery).setMaxResults(2);
+    }
+  }
+
+  @Test
+  void fetchPageOnlyRecordsCountOnFirstMiss() {
+    String fetchIdsSql = "select id from candidate";
+    String countSql = "select count(*) from candidate";
+    PageRequest pageRequest = PageRequest.of(0, 2);
+
+    Query pageIdsQuery = mock(Query.class);
+
+    when(resultIdCache.isCacheable(fetchIdsSql)).thenReturn(true);
+    when(versionDao.fetchChangeWatermark()).thenReturn(42L);
+    when(entityManager.createNativeQuery(fetchIdsSql)).thenReturn(pageIdsQuery);
+    when(pageIdsQuery.getResultList()).thenReturn(List.of());
+    when(countDao.countAsync(fetchIdsSql, countSql, pageRequest)).thenReturn(
+        CompletableFuture.completedFuture(new CandidateCount(2L, CountSource.EXACT)));
+
+    try (MockedStatic<CandidateSearchUtils> utilities =
+        mockStatic(CandidateSearchUtils.class)) {
+      utilities.when(() -> CandidateSearchUtils.processIdRankSearchResults(
+              List.of(), pageRequest.getSort()))
+          .thenReturn(List.of());
+
+      Page<CandidateReadDto> result = service.fetchPage(fetchIdsSql, countSql, pageRequest);
+
+      assertEquals(2L, result.getTotalElements());
+      verify(pageIdsQuery).setMaxResults(2);
+      verify(resultIdCache, never()).getMaxIds();
+      verify(resultIdCache, never()).put(any(), any());
+      verify(resultIdCache).recordCount(fetchIdsSql, 2L);
+    }
+  }
+
+  @Test
+  void fetchPageDoesNotRecordEstimatedCounts() {
+    String fetchIdsSql = "select id from candidate";
+    String countSql = "select count(*) from candidate";
+    PageRequest pageRequest = PageRequest.of(0, 2);
+
+    Query pageIdsQuery = mock(Query.class);
+
+    when(resultIdCache.isCacheable(fetchIdsSql)).thenReturn(false);
+    when(entityManager.createNativeQuery(fetchIdsSql)).thenReturn(pageIdsQuery);
+    when(pageIdsQuery.getResultList()).thenReturn(List.of());
+    when(countDao.countAsync(fetchIdsSql, countSql, pageRequest)).thenReturn(
+        CompletableFuture.completedFuture(new CandidateCount(5L, CountSource.ESTIMATED)));
+
+    try (MockedStatic<CandidateSearchUtils> utilities =
+        mockStatic(CandidateSearchUtils.class)) {
+      utilities.when(() -> CandidateSearchUtils.processIdRankSearchResults(
+              List.of(), pageRequest.getSort()))
+          .thenReturn(List.of());
+
+      service.fetchPage(fetchIdsSql, countSql, pageRequest);
+
+      verify(resultIdCache, never()).recordCount(any(), anyLong());
+    }
+  }
+
+  private static CandidateReadDto dto(long id) {
+    return CandidateReadDto.builder().id(id).build();
+  }
+
+  /**
+   * DTOs returned from deserialization are shared via the near cache, so callers should
+   * only ever see copies of them.
+   */
+  private static void assertCopyOf(CandidateReadDto expected, CandidateReadDto actual) {
+    assertNotSame(expected, actual);
+    assertEquals(expected.getId(), actual.getId());
+  }
+
   private static CandidateJsonCache validPgCacheHit(Long id, Long version, String json) {
     CandidateJsonCache cache = mock(CandidateJsonCache.class);
     when(cache.isCacheHit()).thenReturn(true);
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.tctalent.server.model.db.User;
+import org.tctalent.server.repository.db.CandidateSavedListRepository;
+import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
+import org.tctalent.server.security.AuthService;
+import org.tctalent.server.service.db.CandidateDtoFetchService;
+import org.tctalent.server.service.db.CandidateService;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateExportServiceImplTest {
+
+  private static final String SQL = "select distinct candidate.id from candidate order by id";
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private Query query;
+
+  @Mock
+  private CandidateDtoFetchService candidateDtoFetchService;
+
+  @Mock
+  private CandidateSavedListRepository candidateSavedListRepository;
+
+  @Mock
+  private CandidateService candidateService;
+
+  @Mock
+  private AuthService authService;
+
+  private final User loggedInUser = new User();
+
+  /**
+   * Ids which fetchByIds does not return - eg candidates deleted during the export
+   */
+  private final Set<Long> missingIds = new HashSet<>();
+
+  @Spy
+  private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @InjectMocks
+  private CandidateExportServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(service, "entityManager", entityManager);
+
+    when(authService.getLoggedInUser()).thenReturn(Optional.of(loggedInUser));
+    when(entityManager.createNativeQuery(SQL)).thenReturn(query);
+    when(candidateService.getExportTitles()).thenReturn(new String[] {"Candidate Number"});
+    when(candidateDtoFetchService.fetchByIds(anyList(), eq(CandidateJsonProjection.EXPORT)))
+        .thenAnswer(invocation -> {
+          List<Long> ids = invocation.getArgument(0);
+          Map<Long, CandidateReadDto> dtos = new HashMap<>();
+          for (Long id : ids) {
+            if (missingIds.contains(id)) {
+              continue;
+            }
+            dtos.put(id, CandidateReadDto.builder().id(id).candidateNumber("C" + id).build());
+          }
+          return dtos;
+        });
+    when(candidateService.getExportCandidateStrings(
+        eq(loggedInUser), any(CandidateReadDto.class)))
+        .thenAnswer(invocation -> {
+          CandidateReadDto dto = invocation.getArgument(1);
+          return new String[] {dto.getCandidateNumber(), dto.getContextNote()};
+        });
+  }
+
+  @Test
+  void streamsAllRowsInBatchesInQueryOrder() throws Exception {
+    List<Object> rows = new ArrayList<>();
+    for (long id = 1000; id > 0; id--) {
+      rows.add(new Object[] {id, "sort value"});
+    }
+    when(query.getResultStream()).thenReturn(rows.stream());
+
+    StringWriter out = new StringWriter();
+    long count = service.exportToCsv(SQL, Sort.unsorted(), null, new PrintWriter(out));
+
+    assertEquals(1000, count);
+    String[] lines = out.toString().split("\n");
+    assertEquals(1001, lines.length);
+    assertEquals("\"Candidate Number\"", lines[0]);
+    assertEquals("\"C1000\",", lines[1]);
+    assertEquals("\"C1\",", lines[1000]);
+
+    verify(query).setHint(HibernateHints.HINT_FETCH_SIZE,
+        CandidateExportServiceImpl.EXPORT_BATCH_SIZE);
+    verify(candidateSavedListRepository, never()).findContextNotes(any(), any());
+    assertEquals(1000.0,
+        meterRegistry.get(CandidateExportServiceImpl.EXPORT_ROWS_METRIC).counter().count());
+    assertEquals(1,
+        meterRegistry.get(CandidateExportServiceImpl.EXPORT_METRIC).timer().count());
+    verify(authService, times(1)).getLoggedInUser();
+  }
+
+  @Test
+  void skipsCandidatesWhichAreNoLongerFound() throws Exception {
+    when(query.getResultStream()).thenReturn(Stream.of(3L, 2L, 1L));
+    missingIds.add(2L);
+
+    StringWriter out = new StringWriter();
+    long count = service.exportToCsv(SQL, Sort.unsorted(), null, new PrintWriter(out));
+
+    assertEquals(2, count);
+    String[] lines = out.toString().split("\n");
+    assertEquals(3, lines.length);
+    assertEquals("\"C3\",", lines[1]);
+    assertEquals("\"C1\",", lines[2]);
+    assertEquals(2.0,
+        meterRegistry.get(CandidateExportServiceImpl.EXPORT_ROWS_METRIC).counter().count());
+  }
+
+  @Test
+  void addsContextNotesFromContextList() throws Exception {
+    when(query.getResultStream()).thenReturn(Stream.of(2L, 1L));
+    when(candidateSavedListRepository.findContextNotes(20L, List.of(2L, 1L)))
+        .thenReturn(List.<Object[]>of(new Object[] {1L, "Note"}));
+
+    StringWriter out = new StringWriter();
+    service.exportToCsv(SQL, Sort.unsorted(), 20L, new PrintWriter(out));
+
+    String[] lines = out.toString().split("\n");
+    assertEquals(3, lines.length);
+    assertEquals("\"C2\",", lines[1]);
+    assertEquals("\"C1\",\"Note\"", lines[2]);
+  }
+}
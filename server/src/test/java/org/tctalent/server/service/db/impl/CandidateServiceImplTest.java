@@ -16,7 +16,6 @@
 
 package org.tctalent.server.service.db.impl;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
@@ -43,8 +42,6 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
@@ -139,6 +136,13 @@ import org.tctalent.server.repository.db.OccupationRepository;
 import org.tctalent.server.repository.db.SurveyTypeRepository;
 import org.tctalent.server.repository.db.TaskAssignmentRepository;
 import org.tctalent.server.repository.db.UserRepository;
+import org.tctalent.server.repository.db.read.dto.CandidateLanguageReadDto;
+import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.dto.CountryReadDto;
+import org.tctalent.server.repository.db.read.dto.LanguageLevelReadDto;
+import org.tctalent.server.repository.db.read.dto.LanguageReadDto;
+import org.tctalent.server.repository.db.read.dto.PartnerReadDto;
+import org.tctalent.server.repository.db.read.dto.UserReadDto;
 import org.tctalent.server.request.LoginRequest;
 import org.tctalent.server.request.PagedSearchRequest;
 import org.tctalent.server.request.RegisterCandidateByPartnerRequest;
@@ -191,6 +195,7 @@ import org.tctalent.server.service.db.RootRequestService;
 import org.tctalent.server.service.db.SalesforceService;
 import org.tctalent.server.service.db.SystemNotificationService;
 import org.tctalent.server.service.db.UserService;
+import org.tctalent.server.service.db.cache.CacheService;
 import org.tctalent.server.service.db.email.EmailHelper;
 import org.tctalent.server.service.db.util.DocxHelper;
 import org.tctalent.server.service.db.util.GoogleDocHelper;
@@ -213,7 +218,6 @@ class CandidateServiceImplTest {
 
   @Mock private PersistenceContextHelper persistenceContextHelper;
   @Mock private Candidate mockCandidate;
-  @Mock private Page<Candidate> mockCandidatePage;
   @Mock private CandidateRepository candidateRepository;
   @Mock private PartnerService partnerService;
   @Mock private CountryService countryService;
@@ -235,6 +239,7 @@ class CandidateServiceImplTest {
   @Mock private Query query;
   @Mock private EmailHelper emailHelper;
   @Mock private TaskAssignmentRepository taskAssignmentRepository;
+  @Mock private CacheService cacheService;
   @Mock private UserMapper userMapper;
   @Mock private CandidateMapper candidateMapper;
   @Mock private CandidateNumberGenerator candidateNumberGenerator;
@@ -761,35 +766,67 @@ class CandidateServiceImplTest {
       }
 
       @Test
-      void exportToCsvWritesHeaderAndCandidateRows() throws Exception {
-        SavedList savedList = new SavedList();
-        savedList.setId(55L);
-
-        SavedListGetRequest request = mock(SavedListGetRequest.class);
-
-        Page<Candidate> page = new PageImpl<>(
-            List.of(candidate),
-            PageRequest.of(1, 10),
-            100
-        );
-
-        StringWriter output = new StringWriter();
+      void getExportCandidateStringsFromDtoHidesContactAndLocationForLimitedRole() {
+        loggedInUser.setRole(Role.limited);
+        String[] row = candidateService.getExportCandidateStrings(loggedInUser, exportDto(10L));
 
-        given(request.getPageSize()).willReturn(500);
+        assertEquals("123456", row[0]);
+        assertEquals("Hidden", row[1]);
+        assertEquals("Hidden", row[4]);
+        assertEquals("Hidden", row[5]);
+        assertEquals("Hidden", row[7]);
+        assertEquals("Advanced\n", row[11]);
+        assertEquals("Context", row[13]);
+      }
 
-        doReturn(page).when(candidateService).getSavedListCandidates(savedList, request);
-        doReturn(new String[] {"candidate-row"})
-            .when(candidateService).getExportCandidateStrings(candidate);
+      @Test
+      void getExportCandidateStringsFromDtoTreatsOtherPartnerCandidatesAsSemiLimited() {
+        String[] row = candidateService.getExportCandidateStrings(loggedInUser, exportDto(22L));
 
-        candidateService.exportToCsv(savedList, request, new PrintWriter(output));
+        assertEquals("Hidden", row[1]);
+        assertEquals("Afghanistan", row[4]);
+        assertEquals("Ukraine", row[5]);
+        assertEquals("Hidden", row[8]);
+      }
 
-        String csv = output.toString();
+      @Test
+      void getExportCandidateStringsFromDtoShowsAllFieldsForSamePartnerUser() {
+        String[] row = candidateService.getExportCandidateStrings(loggedInUser, exportDto(10L));
 
-        assertTrue(csv.contains("Candidate Number"));
-        assertTrue(csv.contains("candidate-row"));
+        assertEquals("Candidate", row[1]);
+        assertEquals("User", row[2]);
+        assertEquals("Afghanistan", row[4]);
+        assertEquals("candidate@example.org", row[7]);
+        assertEquals("+123", row[8]);
+      }
 
-        verify(request).setPageNumber(0);
-        verify(request).setPageSize(500);
+      private CandidateReadDto exportDto(long partnerId) {
+        PartnerReadDto partner = new PartnerReadDto();
+        partner.setId(partnerId);
+
+        LanguageReadDto english = new LanguageReadDto();
+        english.setName("English");
+        LanguageLevelReadDto advanced = new LanguageLevelReadDto();
+        advanced.setName("Advanced");
+        CandidateLanguageReadDto language = new CandidateLanguageReadDto();
+        language.setLanguage(english);
+        language.setSpokenLevel(advanced);
+
+        CandidateReadDto dto = CandidateReadDto.builder()
+            .candidateNumber("123456")
+            .user(UserReadDto.builder()
+                .firstName("Candidate")
+                .lastName("User")
+                .email("candidate@example.org")
+                .partner(partner)
+                .build())
+            .country(CountryReadDto.builder().name("Afghanistan").build())
+            .nationality(CountryReadDto.builder().name("Ukraine").build())
+            .whatsapp("+123")
+            .candidateLanguages(List.of(language))
+            .build();
+        dto.setContextNote("Context");
+        return dto;
       }
     }
 
@@ -889,16 +926,10 @@ class CandidateServiceImplTest {
 
       @Test
       void fetchPotentialDuplicatesClearsFlagWhenNoDuplicatesRemain() {
-        User candidateUser = new User();
-        candidateUser.setFirstName("Ali");
-        candidateUser.setLastName("Ahmadi");
-        candidate.setUser(candidateUser);
-        candidate.setDob(LocalDate.of(2000, 1, 1));
         candidate.setPotentialDuplicate(true);
 
         doReturn(candidate).when(candidateService).getCandidate(1L);
-        given(candidateRepository.findPotentialDuplicatesOfGivenCandidate(
-            any(), eq(candidate.getDob()), eq("ahmadi"), eq("ali"), eq(1L)))
+        given(candidateRepository.findPotentialDuplicatesOfGivenCandidate(1L))
             .willReturn(List.of());
         doReturn(candidate).when(candidateService).save(candidate);
 
@@ -1162,83 +1193,35 @@ class CandidateServiceImplTest {
   }
 
   @Test
-  @DisplayName("cleanUpResolvedDuplicates clears potentialDuplicate on resolved candidates")
-  void cleanUpResolvedDuplicatesWhenIdsDiffer() {
-    long resolvedCandidateId = 42L;
-
-    // Given: candidate ID was previously marked but is not in the new list
-    given(candidateRepository.findIdsOfPotentialDuplicateCandidates(null))
-        .willReturn(List.of()); // newCandidateIds (empty)
-    given(candidateRepository.findIdsOfCandidatesMarkedPotentialDuplicates())
-        .willReturn(List.of(resolvedCandidateId)); // previousCandidateIds (1)
-
-    // doReturn() works better for spies than given() - avoids method call altogether.
-    doReturn(mockCandidate).when(candidateService).getCandidate(resolvedCandidateId);
-
-    candidateService.cleanUpResolvedDuplicates(); // Act
-
-    // Check that candidate has flag cleared and is saved:
-    verify(mockCandidate).setPotentialDuplicate(false);
-    verify(candidateService).save(mockCandidate);
-  }
-
-  @Test
-  @DisplayName("cleanUpResolvedDuplicates - no action if no duplicates resolved")
-  void cleanUpResolvedDuplicatesNoActionIfNoneResolved() {
-    long candidateId1 = 101L;
-    long candidateId2 = 102L;
-
-    List<Long> currentDuplicates = List.of(candidateId1, candidateId2);
-    List<Long> previouslyMarkedDuplicates = List.of(candidateId1, candidateId2);
-
-    given(candidateRepository.findIdsOfPotentialDuplicateCandidates(null))
-        .willReturn(currentDuplicates);
-    given(candidateRepository.findIdsOfCandidatesMarkedPotentialDuplicates())
-        .willReturn(previouslyMarkedDuplicates);
+  @DisplayName("potential duplicates are cleared and marked with bulk updates, "
+      + "without loading or saving candidates")
+  void potentialDuplicatesAreMaintainedWithBulkUpdates() {
+    given(candidateRepository.clearResolvedPotentialDuplicates())
+        .willReturn(List.of("resolved1", "resolved2"));
+    given(candidateRepository.markPotentialDuplicates()).willReturn(List.of("duplicate"));
 
     candidateService.cleanUpResolvedDuplicates(); // Act
+    candidateService.markPotentialDuplicates(); // Act
 
+    verify(candidateRepository).clearResolvedPotentialDuplicates();
+    verify(candidateRepository).markPotentialDuplicates();
     verify(candidateService, never()).getCandidate(anyLong());
     verify(candidateService, never()).save(any());
   }
 
   @Test
-  @DisplayName("cleanUpResolvedDuplicates handles empty lists")
-  void cleanUpResolvedDuplicatesHandlesEmptyLists() {
-    List<Long> emptyList = List.of();
-    given(candidateRepository.findIdsOfPotentialDuplicateCandidates(null))
-        .willReturn(emptyList);
-    given(candidateRepository.findIdsOfCandidatesMarkedPotentialDuplicates())
-        .willReturn(emptyList);
-
-    assertDoesNotThrow(() -> candidateService.cleanUpResolvedDuplicates()); // Act & Assert
-  }
-
-  @Test
-  @DisplayName("processPotentialDuplicatePage marks as duplicates all candidates on page")
-  void processPotentialDuplicatePageMarksAsDuplicatesAllCandidatesOnPage() {
-    Candidate mockCandidate = mock(Candidate.class);
-
-    List<Candidate> mockCandidateList = List.of(mockCandidate, mockCandidate, mockCandidate);
-
-    given(mockCandidatePage.getContent()).willReturn(mockCandidateList);
-
-    candidateService.processPotentialDuplicatePage(mockCandidatePage); // Act
-
-    verify(mockCandidate, times(3)).setPotentialDuplicate(true);
-    verify(candidateService, times(3))
-        .save(mockCandidate);
-  }
-
-  @Test
-  @DisplayName("processPotentialDuplicatePage skips empty page w no exceptions")
-  void processPotentialDuplicatePageSkipsEmptyPage() {
-    Page<Candidate> spyCandidatePage = Mockito.spy(new PageImpl<>(List.of()));
+  @DisplayName("only the users of candidates whose duplicate flags change are evicted from the cache")
+  void potentialDuplicateUpdatesEvictOnlyChangedUsers() {
+    given(candidateRepository.clearResolvedPotentialDuplicates())
+        .willReturn(List.of("resolved1", "resolved2"));
+    given(candidateRepository.markPotentialDuplicates()).willReturn(List.of());
 
-    // Act & Assert
-    assertDoesNotThrow(() -> candidateService.processPotentialDuplicatePage(spyCandidatePage));
+    candidateService.cleanUpResolvedDuplicates(); // Act
+    candidateService.markPotentialDuplicates(); // Act
 
-    verify(spyCandidatePage, never()).getContent();
+    verify(cacheService).evictUsers(List.of("resolved1", "resolved2"));
+    verify(cacheService, times(1)).evictUsers(any());
+    verify(cacheService, never()).flushUserCache();
   }
 
   @Test
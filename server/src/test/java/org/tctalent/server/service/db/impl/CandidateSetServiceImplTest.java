@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.tctalent.server.exception.InvalidRequestException;
+import org.tctalent.server.exception.NoSuchObjectException;
+import org.tctalent.server.model.db.SavedList;
+import org.tctalent.server.repository.db.read.sql.CandidateSetDao;
+import org.tctalent.server.request.list.CandidateSetOperation;
+import org.tctalent.server.request.list.CandidateSetRequest;
+import org.tctalent.server.request.list.CandidateSetRequest.CandidateSet;
+import org.tctalent.server.service.db.SavedListService;
+import org.tctalent.server.service.db.SavedSearchService;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateSetServiceImplTest {
+
+  private static final String SEARCH_SQL = "select distinct candidate.id from candidate";
+
+  @Mock private CandidateSetDao candidateSetDao;
+  @Mock private SavedListService savedListService;
+  @Mock private SavedSearchService savedSearchService;
+
+  private CandidateSetServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    service = new CandidateSetServiceImpl(candidateSetDao, savedListService, savedSearchService);
+  }
+
+  @Test
+  void buildSetSqlCombinesNestedSets() {
+    when(savedListService.get(1L)).thenReturn(savedList(1L));
+    when(savedListService.get(2L)).thenReturn(savedList(2L));
+    when(savedSearchService.extractCandidateIdsSQL(3L)).thenReturn(SEARCH_SQL);
+
+    //(list 1 union list 2) except search 3
+    CandidateSetRequest request = new CandidateSetRequest(CandidateSetOperation.difference,
+        List.of(
+            CandidateSet.of(new CandidateSetRequest(CandidateSetOperation.union,
+                List.of(CandidateSet.ofList(1L), CandidateSet.ofList(2L)))),
+            CandidateSet.ofSearch(3L)));
+
+    assertEquals(
+        "((" + CandidateSetDao.savedListSql(1L) + ") union ("
+            + CandidateSetDao.savedListSql(2L) + ")) except (" + SEARCH_SQL + ")",
+        service.buildSetSql(request));
+  }
+
+  @Test
+  void buildSetSqlThrowsWhenListDoesNotExist() {
+    when(savedListService.get(1L))
+        .thenThrow(new NoSuchObjectException(SavedList.class, 1L));
+
+    CandidateSetRequest request = new CandidateSetRequest(CandidateSetOperation.union,
+        List.of(CandidateSet.ofList(1L)));
+
+    assertThrows(NoSuchObjectException.class, () -> service.buildSetSql(request));
+  }
+
+  @Test
+  void buildSetSqlRejectsMissingOperation() {
+    CandidateSetRequest request = new CandidateSetRequest(null, List.of(CandidateSet.ofList(1L)));
+
+    assertThrows(InvalidRequestException.class, () -> service.buildSetSql(request));
+  }
+
+  @Test
+  void buildSetSqlRejectsEmptySet() {
+    CandidateSetRequest request = new CandidateSetRequest(CandidateSetOperation.union,
+        List.of(new CandidateSet()));
+
+    assertThrows(InvalidRequestException.class, () -> service.buildSetSql(request));
+  }
+
+  @Test
+  void fetchCandidateIdsRunsSetSql() {
+    when(savedListService.get(1L)).thenReturn(savedList(1L));
+    when(candidateSetDao.fetchCandidateIds(CandidateSetDao.savedListSql(1L)))
+        .thenReturn(Set.of(10L, 11L));
+
+    Set<Long> ids = service.fetchCandidateIds(new CandidateSetRequest(
+        CandidateSetOperation.intersection, List.of(CandidateSet.ofList(1L))));
+
+    assertEquals(Set.of(10L, 11L), ids);
+  }
+
+  @Test
+  void addCandidatesToListMergesSetIntoList() {
+    when(savedSearchService.extractCandidateIdsSQL(3L)).thenReturn(SEARCH_SQL);
+
+    service.addCandidatesToList(9L, new CandidateSetRequest(
+        CandidateSetOperation.union, List.of(CandidateSet.ofSearch(3L))));
+
+    verify(savedListService).mergeCandidateSet(eq(9L), eq(SEARCH_SQL), isNull());
+  }
+
+  private static SavedList savedList(long id) {
+    SavedList savedList = new SavedList();
+    savedList.setId(id);
+    return savedList;
+  }
+}
@@ -43,6 +43,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.tctalent.server.model.db.DataRow;
 import org.tctalent.server.model.db.Gender;
 
@@ -250,6 +251,96 @@ class CandidateStatsServiceImplUnitTest {
     assertFalse(rows.stream().anyMatch(row -> "Other".equals(row.getLabel())));
   }
 
+  @Test
+  void computeForCandidateIdsLoadsIdsOnceAndPassesTableConstraint() {
+    when(query.executeUpdate()).thenReturn(0, 0, 2, 0);
+
+    List<List<DataRow>> results = service.computeForCandidateIds(CANDIDATE_IDS,
+        constraint -> List.of(
+            service.computeGenderStats(DATE_FROM, DATE_TO, null, null, constraint),
+            service.computeLanguageStats(null, DATE_FROM, DATE_TO, null, null, constraint)));
+
+    assertEquals(2, results.size());
+    results.forEach(CandidateStatsServiceImplUnitTest::assertDefaultRows);
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(entityManager, times(6)).createNativeQuery(sqlCaptor.capture());
+    List<String> sqls = sqlCaptor.getAllValues();
+
+    assertTrue(sqls.get(0).startsWith("create temporary table if not exists stats_candidate_ids"));
+    assertTrue(sqls.get(2).contains("unnest(cast(:candidateIds as bigint[]))"));
+    assertTrue(sqls.get(3).startsWith("analyze"));
+    for (String sql : sqls.subList(4, 6)) {
+      assertTrue(sql.contains("and candidate.id in (select id from stats_candidate_ids)"));
+      assertFalse(sql.contains("candidate.id in (:candidateIds)"));
+    }
+
+    ArgumentCaptor<Object> idsCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(query).setParameter(eq("candidateIds"), idsCaptor.capture());
+    String ids = (String) idsCaptor.getValue();
+    assertTrue(ids.equals("{11,22}") || ids.equals("{22,11}"));
+  }
+
+  @Test
+  void unfilteredStatsAreComputedFromRollupWhenEnabled() {
+    ReflectionTestUtils.setField(service, "rollupEnabled", true);
+
+    List<DataRow> rows = service.computeNationalityStats(
+        Gender.female, "jordan", DATE_FROM, DATE_TO, null, SOURCE_COUNTRY_IDS, null);
+
+    assertDefaultRows(rows);
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(entityManager).createNativeQuery(sqlCaptor.capture());
+
+    String sql = sqlCaptor.getValue();
+
+    assertTrue(sql.contains("from candidate_stats_rollup r"));
+    assertTrue(sql.contains("cast(sum(r.people_count) as bigint)"));
+    assertTrue(sql.contains("r.created_day >= :dateFrom and r.created_day < :dateTo"));
+    assertTrue(sql.contains("r.status != 'draft'"));
+    assertTrue(sql.contains("r.status != 'ineligible'"));
+    assertTrue(sql.contains("r.country_id in (:sourceCountryIds)"));
+    assertFalse(sql.contains("from candidate left join users"));
+
+    verify(query).setParameter("dateFrom", DATE_FROM);
+    verify(query).setParameter("dateTo", DATE_TO);
+    verify(query).setParameter("sourceCountryIds", SOURCE_COUNTRY_IDS);
+    verify(query).setParameter("gender", Gender.female.toString());
+    verify(query).setParameter("country", "jordan");
+  }
+
+  @Test
+  void registrationStatsFromRollupIncludeDrafts() {
+    ReflectionTestUtils.setField(service, "rollupEnabled", true);
+
+    service.computeRegistrationStats(DATE_FROM, DATE_TO, null, null, null);
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(entityManager).createNativeQuery(sqlCaptor.capture());
+
+    String sql = sqlCaptor.getValue();
+
+    assertTrue(sql.contains("group by r.created_day order by r.created_day asc"));
+    assertFalse(sql.contains("'draft'"));
+    assertFalse(sql.contains(":sourceCountryIds"));
+  }
+
+  @Test
+  void filteredStatsIgnoreRollup() {
+    ReflectionTestUtils.setField(service, "rollupEnabled", true);
+
+    service.computeGenderStats(DATE_FROM, DATE_TO, null, null, CONSTRAINT);
+    service.computeStatusStats(null, null, DATE_FROM, DATE_TO, CANDIDATE_IDS, null, null);
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(entityManager, times(2)).createNativeQuery(sqlCaptor.capture());
+
+    for (String sql : sqlCaptor.getAllValues()) {
+      assertFalse(sql.contains("candidate_stats_rollup"));
+    }
+  }
+
   private static List<Object[]> defaultResultRows() {
     return List.of(
         new Object[] {"alpha", 2L},
@@ -26,10 +26,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
@@ -43,6 +46,8 @@ import com.opencsv.exceptions.CsvValidationException;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.time.OffsetDateTime;
@@ -85,6 +90,8 @@ import org.tctalent.server.repository.db.CandidateSavedListRepository;
 import org.tctalent.server.repository.db.SavedListRepository;
 import org.tctalent.server.repository.db.UserRepository;
 import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
+import org.tctalent.server.repository.db.read.sql.CandidateSetDao;
 import org.tctalent.server.request.IdsRequest;
 import org.tctalent.server.request.candidate.PublishListRequest;
 import org.tctalent.server.request.candidate.PublishedDocColumnType;
@@ -101,6 +108,7 @@ import org.tctalent.server.request.list.UpdateSavedListContentsRequest;
 import org.tctalent.server.request.list.UpdateSavedListInfoRequest;
 import org.tctalent.server.request.search.UpdateSharingRequest;
 import org.tctalent.server.service.db.CandidateDtoFetchService;
+import org.tctalent.server.service.db.CandidateExportService;
 import org.tctalent.server.service.db.CandidateOpportunityService;
 import org.tctalent.server.service.db.DocPublisherService;
 import org.tctalent.server.service.db.ExportColumnsService;
@@ -110,6 +118,7 @@ import org.tctalent.server.service.db.SalesforceJobOppService;
 import org.tctalent.server.service.db.SalesforceService;
 import org.tctalent.server.service.db.TaskAssignmentService;
 import org.tctalent.server.service.db.UserService;
+import org.tctalent.server.util.CandidateSearchCursor;
 import org.tctalent.server.util.filesystem.GoogleFileSystemDrive;
 import org.tctalent.server.util.filesystem.GoogleFileSystemFile;
 import org.tctalent.server.util.filesystem.GoogleFileSystemFolder;
@@ -119,6 +128,7 @@ class SavedListServiceImplTest {
 
   @Mock private CandidateRepository candidateRepository;
   @Mock private CandidateDtoFetchService candidateDtoFetchService;
+  @Mock private CandidateExportService candidateExportService;
   @Mock private CandidateSavedListRepository candidateSavedListRepository;
   @Mock private CandidateOpportunityService candidateOpportunityService;
   @Mock private ExportColumnsService exportColumnsService;
@@ -132,6 +142,7 @@ class SavedListServiceImplTest {
   @Mock private TaskAssignmentService taskAssignmentService;
   @Mock private UserRepository userRepository;
   @Mock private UserService userService;
+  @Mock private CandidateSetDao candidateSetDao;
 
   private SavedListServiceImpl service;
   private User user;
@@ -141,6 +152,7 @@ class SavedListServiceImplTest {
     service = new SavedListServiceImpl(
         candidateRepository,
         candidateDtoFetchService,
+        candidateExportService,
         candidateSavedListRepository,
         candidateOpportunityService,
         exportColumnsService,
@@ -153,7 +165,8 @@ class SavedListServiceImplTest {
         salesforceJobOppService,
         taskAssignmentService,
         userRepository,
-        userService
+        userService,
+        candidateSetDao
     );
 
     user = user(10L);
@@ -568,7 +581,8 @@ class SavedListServiceImplTest {
     request.setPageSize(10);
 
     Page<CandidateReadDto> page = new PageImpl<>(List.of(mock(CandidateReadDto.class)));
-    given(candidateDtoFetchService.fetchPage(anyString(), anyString(), eq(request.getPageRequest())))
+    given(candidateDtoFetchService.fetchPage(anyString(), anyString(), eq(request.getPageRequest()),
+        eq(CandidateJsonProjection.SEARCH_GRID), eq(false)))
         .willReturn(page);
 
     Page<CandidateReadDto> result = service.getSavedListCandidateDtos(list, request);
@@ -580,7 +594,9 @@ class SavedListServiceImplTest {
     verify(candidateDtoFetchService).fetchPage(
         fetchSql.capture(),
         countSql.capture(),
-        eq(request.getPageRequest())
+        eq(request.getPageRequest()),
+        eq(CandidateJsonProjection.SEARCH_GRID),
+        eq(false)
     );
 
     assertTrue(fetchSql.getValue().startsWith("select distinct candidate.id"));
@@ -590,6 +606,57 @@ class SavedListServiceImplTest {
     assertTrue(countSql.getValue().startsWith("select count(distinct candidate.id)"));
   }
 
+  @Test
+  @DisplayName("exportToCsv streams ordered list SQL with list context, ignoring any cursor")
+  void exportToCsvStreamsOrderedListSql() throws Exception {
+    SavedList list = savedList(1L, "List", user);
+
+    SavedListGetRequest request = new SavedListGetRequest();
+    request.setCursor("stale-cursor");
+
+    PrintWriter writer = new PrintWriter(new StringWriter());
+
+    service.exportToCsv(list, request, writer);
+
+    ArgumentCaptor<String> fetchSql = ArgumentCaptor.forClass(String.class);
+    verify(candidateExportService).exportToCsv(
+        fetchSql.capture(), eq(request.getSort()), eq(1L), same(writer));
+
+    assertTrue(fetchSql.getValue().startsWith("select distinct candidate.id"));
+    assertTrue(fetchSql.getValue().contains("saved_list_id = 1"));
+    assertTrue(fetchSql.getValue().contains(" order by "));
+    assertNull(request.getCursor());
+  }
+
+  @Test
+  @DisplayName("getSavedListCandidateDtos with cursor adds keyset clause to fetch SQL only")
+  void getSavedListCandidateDtosWithCursorUsesKeyset() {
+    SavedList list = savedList(1L, "List", user);
+
+    SavedListGetRequest request = new SavedListGetRequest();
+    request.setPageNumber(1);
+    request.setPageSize(2);
+    request.setCursor(new CandidateSearchCursor(" order by candidate.id DESC",
+        List.of(new CandidateSearchCursor.Key(CandidateSearchCursor.KeyType.NUMBER, "123")))
+        .encode());
+
+    Page<CandidateReadDto> page = new PageImpl<>(List.of(mock(CandidateReadDto.class)));
+    given(candidateDtoFetchService.fetchPage(anyString(), anyString(), eq(request.getPageRequest()),
+        eq(CandidateJsonProjection.SEARCH_GRID), eq(true)))
+        .willReturn(page);
+
+    assertSame(page, service.getSavedListCandidateDtos(list, request));
+
+    ArgumentCaptor<String> fetchSql = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<String> countSql = ArgumentCaptor.forClass(String.class);
+    verify(candidateDtoFetchService).fetchPage(fetchSql.capture(), countSql.capture(),
+        eq(request.getPageRequest()), eq(CandidateJsonProjection.SEARCH_GRID), eq(true));
+
+    assertTrue(fetchSql.getValue().contains("((candidate.id < 123))"));
+    assertTrue(fetchSql.getValue().endsWith(" order by candidate.id DESC"));
+    assertFalse(countSql.getValue().contains("candidate.id < 123"));
+  }
+
   @Test
   @DisplayName("isEmpty returns true when list has no candidates")
   void isEmptyReturnsTrue() {
@@ -616,70 +683,225 @@ class SavedListServiceImplTest {
   void mergeSavedListThrowsWhenMissing() {
     UpdateExplicitSavedListContentsRequest request = new UpdateExplicitSavedListContentsRequest();
 
-    given(savedListRepository.findByIdLoadCandidates(99L)).willReturn(Optional.empty());
+    given(savedListRepository.findById(99L)).willReturn(Optional.empty());
 
     assertThrows(NoSuchObjectException.class, () -> service.mergeSavedList(99L, request));
   }
 
   @Test
-  @DisplayName("mergeSavedList adds fetched candidates")
-  void mergeSavedListAddsFetchedCandidates() {
+  @DisplayName("mergeSavedList throws when candidate missing")
+  void mergeSavedListThrowsWhenCandidateMissing() {
+    UpdateExplicitSavedListContentsRequest request = new UpdateExplicitSavedListContentsRequest();
+    request.setCandidateIds(Set.of(2L, 3L));
+
+    given(candidateSetDao.findMissingCandidateIds(Set.of(2L, 3L)))
+        .willReturn(new HashSet<>(Set.of(3L)));
+
+    assertThrows(NoSuchObjectException.class, () -> service.mergeSavedList(1L, request));
+    verify(candidateSetDao, never()).addToList(anyLong(), anyString(), any());
+  }
+
+  @Test
+  @DisplayName("mergeSavedList adds candidates in bulk without loading them")
+  void mergeSavedListAddsCandidatesInBulk() {
     SavedList list = savedList(1L, "Destination", user);
-    Candidate candidate = candidate(2L, "1002");
 
     UpdateExplicitSavedListContentsRequest request = new UpdateExplicitSavedListContentsRequest();
     request.setCandidateIds(Set.of(2L));
     request.setUpdateType(ContentUpdateType.add);
+    request.setSourceListId(5L);
 
-    given(savedListRepository.findByIdLoadCandidates(1L)).willReturn(Optional.of(list));
-    given(candidateRepository.findById(2L)).willReturn(Optional.of(candidate));
+    given(savedListRepository.findById(1L)).willReturn(Optional.of(list));
+    given(savedListRepository.existsById(5L)).willReturn(true);
     given(userService.getLoggedInUser()).willReturn(user);
     given(savedListRepository.save(list)).willReturn(list);
 
     service.mergeSavedList(1L, request);
 
-    assertEquals(Set.of(candidate), list.getCandidates());
+    verify(candidateSetDao).addToList(1L, CandidateSetDao.candidateIdsSql(Set.of(2L)), 5L);
+    verify(candidateRepository, never()).findByIds(any());
     verify(savedListRepository).save(list);
   }
 
+  @Test
+  @DisplayName("mergeSavedList loads only new candidates when adding to lists with tasks")
+  void mergeSavedListLoadsNewCandidatesForListWithTasks() {
+    SavedList list = savedList(1L, "Destination", user);
+    TaskImpl task = task(3L);
+    list.setTasks(new HashSet<>(Set.of(task)));
+    Candidate candidate = candidate(2L, "1002");
+
+    UpdateExplicitSavedListContentsRequest request = new UpdateExplicitSavedListContentsRequest();
+    request.setCandidateIds(Set.of(2L));
+
+    String setSql = CandidateSetDao.candidateIdsSql(Set.of(2L));
+    given(savedListRepository.findById(1L)).willReturn(Optional.of(list));
+    given(candidateSetDao.fetchCandidateIds(
+        "(" + setSql + ") except (" + CandidateSetDao.savedListSql(1L) + ")"))
+        .willReturn(Set.of(2L));
+    given(candidateRepository.findByIds(Set.of(2L))).willReturn(List.of(candidate));
+    given(userService.getLoggedInUser()).willReturn(user);
+    given(savedListRepository.save(list)).willReturn(list);
+
+    service.mergeSavedList(1L, request);
+
+    assertEquals(Set.of(candidate), list.getCandidates());
+    verify(candidateSetDao).addToList(1L, CandidateSetDao.candidateIdsSql(List.of(2L)), null);
+    verify(taskAssignmentService).assignTaskToCandidates(user, task, List.of(candidate), list);
+  }
+
+  @Test
+  @DisplayName("addCandidatesToList adds new candidates in bulk, with one opp update for a submission list")
+  void addCandidatesToListAddsNewCandidatesInBulk() {
+    SavedList list = savedList(1L, "Submission", user);
+    TaskImpl task = task(3L);
+    list.setTasks(new HashSet<>(Set.of(task)));
+    SalesforceJobOpp jobOpp = jobOpp(4L, "SF-4", "Job");
+    list.setRegisteredJob(true);
+    list.setSfJobOpp(jobOpp);
+
+    Candidate existing = candidate(5L, "1005");
+    addCandidateToSavedList(list, existing);
+    Candidate first = candidate(6L, "1006");
+    Candidate second = candidate(7L, "1007");
+
+    given(candidateSavedListRepository.findCandidateIdsInList(
+        SystemAdminConfiguration.PENDING_TERMS_ACCEPTANCE_LIST_ID, List.of(6L, 7L)))
+        .willReturn(List.of());
+    given(userService.getLoggedInUser()).willReturn(user);
+
+    service.addCandidatesToList(list, List.of(existing, first, second, first), null);
+
+    assertEquals(Set.of(existing, first, second), list.getCandidates());
+    verify(candidateSetDao).addToList(1L, CandidateSetDao.candidateIdsSql(List.of(6L, 7L)), null);
+    verify(taskAssignmentService)
+        .assignTaskToCandidates(user, task, List.of(first, second), list);
+    verify(candidateOpportunityService)
+        .createUpdateCandidateOpportunities(List.of(first, second), jobOpp, null);
+    verify(taskAssignmentService, never())
+        .assignTaskToCandidate(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("addCandidatesToList rejects all pending-terms candidates before adding any to a submission list")
+  void addCandidatesToListRejectsPendingTermsCandidates() {
+    SavedList list = savedList(1L, "Submission", user);
+    list.setRegisteredJob(true);
+    list.setSfJobOpp(jobOpp(4L, "SF-4", "Job"));
+
+    Candidate first = candidate(6L, "1006");
+    Candidate second = candidate(7L, "1007");
+    Candidate third = candidate(8L, "1008");
+
+    given(candidateSavedListRepository.findCandidateIdsInList(
+        SystemAdminConfiguration.PENDING_TERMS_ACCEPTANCE_LIST_ID, List.of(6L, 7L, 8L)))
+        .willReturn(List.of(6L, 8L));
+
+    InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+        () -> service.addCandidatesToList(list, List.of(first, second, third), null));
+
+    assertTrue(ex.getMessage().contains("1006, 1008"));
+    verify(candidateSetDao, never()).addToList(anyLong(), anyString(), any());
+    verify(candidateOpportunityService, never())
+        .createUpdateCandidateOpportunities(anyList(), any(), any());
+  }
+
+  @Test
+  @DisplayName("addCandidatesToList copies context notes from source list")
+  void addCandidatesToListCopiesContextNotesFromSourceList() {
+    SavedList source = savedList(1L, "Source", user);
+    SavedList destination = savedList(2L, "Destination", user);
+    Candidate candidate = candidate(3L, "1003");
+
+    given(candidateSavedListRepository.findContextNotes(1L, List.of(3L)))
+        .willReturn(List.<Object[]>of(new Object[] {3L, "copied context"}));
+
+    service.addCandidatesToList(destination, List.of(candidate), source);
+
+    verify(candidateSetDao).addToList(2L, CandidateSetDao.candidateIdsSql(List.of(3L)), 1L);
+    CandidateSavedList destinationCsl = destination.getCandidateSavedLists().iterator().next();
+    assertEquals("copied context", destinationCsl.getContextNote());
+  }
+
+  @Test
+  @DisplayName("mergeCandidateSet throws when source list missing")
+  void mergeCandidateSetThrowsWhenSourceListMissing() {
+    SavedList list = savedList(1L, "Destination", user);
+
+    given(savedListRepository.findById(1L)).willReturn(Optional.of(list));
+    given(savedListRepository.existsById(5L)).willReturn(false);
+
+    assertThrows(NoSuchObjectException.class,
+        () -> service.mergeCandidateSet(1L, "select 1", 5L));
+  }
+
   @Test
   @DisplayName("mergeSavedListFromInputStream imports candidate numbers and public ids")
   void mergeSavedListFromInputStreamImportsCandidateNumbersAndPublicIds() throws IOException {
     SavedList list = savedList(1L, "Destination", user);
-    Candidate numberCandidate = candidate(2L, "123");
-    Candidate publicIdCandidate = candidate(3L, "456");
-    publicIdCandidate.setPublicId("abcdefghijklmnopqrstuv");
 
-    String csv = "Candidate Number\n123\nabcdefghijklmnopqrstuv\n";
+    String csv = "Candidate Number\n0123\nabcdefghijklmnopqrstuv\n";
 
-    given(candidateRepository.findByCandidateNumber("123")).willReturn(numberCandidate);
-    given(candidateRepository.findByPublicId("abcdefghijklmnopqrstuv"))
-        .willReturn(Optional.of(publicIdCandidate));
-    given(savedListRepository.findByIdLoadCandidates(1L)).willReturn(Optional.of(list));
-    given(candidateRepository.findById(2L)).willReturn(Optional.of(numberCandidate));
-    given(candidateRepository.findById(3L)).willReturn(Optional.of(publicIdCandidate));
+    given(candidateSetDao.findIdsByCandidateNumbers(Set.of("123")))
+        .willReturn(Map.of("123", 2L));
+    given(candidateSetDao.findIdsByPublicIds(Set.of("abcdefghijklmnopqrstuv")))
+        .willReturn(Map.of("abcdefghijklmnopqrstuv", 3L));
+    given(savedListRepository.findById(1L)).willReturn(Optional.of(list));
     given(userService.getLoggedInUser()).willReturn(user);
     given(savedListRepository.save(list)).willReturn(list);
 
     service.mergeSavedListFromInputStream(1L, inputStream(csv));
 
-    assertEquals(Set.of(numberCandidate, publicIdCandidate), list.getCandidates());
+    verify(candidateSetDao).addToList(1L, CandidateSetDao.candidateIdsSql(List.of(2L, 3L)), null);
+    verify(candidateRepository, never()).findByCandidateNumber(anyString());
+    verify(candidateRepository, never()).findByPublicId(anyString());
   }
 
   @Test
-  @DisplayName("mergeSavedListFromInputStream throws when candidate does not exist")
-  void mergeSavedListFromInputStreamThrowsWhenCandidateMissing() {
-    given(candidateRepository.findByCandidateNumber("999")).willReturn(null);
+  @DisplayName("mergeSavedListFromInputStream reports all unknown candidates at once")
+  void mergeSavedListFromInputStreamReportsAllUnknownCandidates() {
+    SavedList list = savedList(1L, "Destination", user);
 
-    assertThrows(
+    given(savedListRepository.findById(1L)).willReturn(Optional.of(list));
+    given(candidateSetDao.findIdsByCandidateNumbers(Set.of("123", "998", "999")))
+        .willReturn(Map.of("123", 2L));
+
+    NoSuchObjectException ex = assertThrows(
         NoSuchObjectException.class,
-        () -> service.mergeSavedListFromInputStream(1L, inputStream("999\n"))
+        () -> service.mergeSavedListFromInputStream(1L, inputStream("998\n123\n999\nxyz\n"))
     );
+
+    assertTrue(ex.getMessage().contains("xyz, 998, 999"));
+    verify(candidateSetDao, never()).addToList(anyLong(), anyString(), any());
+  }
+
+  @Test
+  @DisplayName("mergeSavedListFromInputStream only lists the first unknown candidates")
+  void mergeSavedListFromInputStreamCapsReportedUnknownCandidates() {
+    SavedList list = savedList(1L, "Destination", user);
+
+    given(savedListRepository.findById(1L)).willReturn(Optional.of(list));
+
+    StringBuilder csv = new StringBuilder("Candidate Number\n");
+    for (int i = 1; i <= 25; i++) {
+      csv.append("bad").append(i).append('\n');
+    }
+
+    NoSuchObjectException ex = assertThrows(
+        NoSuchObjectException.class,
+        () -> service.mergeSavedListFromInputStream(1L, inputStream(csv.toString()))
+    );
+
+    assertTrue(ex.getMessage().contains("bad1, bad2"));
+    assertTrue(ex.getMessage().endsWith("bad20 and 5 more"));
+    assertFalse(ex.getMessage().contains("bad21"));
   }
 
   @Test
   @DisplayName("mergeSavedListFromInputStream wraps CSV validation exception")
   void mergeSavedListFromInputStreamWrapsCsvValidationException() throws Exception {
+    given(savedListRepository.findById(1L))
+        .willReturn(Optional.of(savedList(1L, "Destination", user)));
     try (MockedConstruction<CSVReader> ignored =
         Mockito.mockConstruction(CSVReader.class, (reader, context) ->
             given(reader.readNext()).willThrow(new CsvValidationException("bad csv")))) {
@@ -1329,12 +1551,15 @@ class SavedListServiceImplTest {
   }
 
   @Test
-  @DisplayName("fetchIntersectionCandidateIds computes intersection")
+  @DisplayName("fetchIntersectionCandidateIds computes intersection in a single query")
   void fetchIntersectionCandidateIdsComputesIntersection() {
-    given(savedListRepository.findUnionOfCandidates(List.of(1L))).willReturn(new HashSet<>(Set.of(10L, 11L)));
-    given(savedListRepository.findUnionOfCandidates(List.of(2L))).willReturn(new HashSet<>(Set.of(11L, 12L)));
+    given(candidateSetDao.fetchCandidateIds(
+        "(" + CandidateSetDao.savedListSql(1L) + ") intersect ("
+            + CandidateSetDao.savedListSql(2L) + ")"))
+        .willReturn(new HashSet<>(Set.of(11L)));
 
     assertEquals(Set.of(11L), service.fetchIntersectionCandidateIds(List.of(1L, 2L)));
+    verify(savedListRepository, never()).findUnionOfCandidates(anyList());
   }
 
   @Test
@@ -1350,16 +1575,26 @@ class SavedListServiceImplTest {
   }
 
   @Test
-  @DisplayName("fetchIntersectionCandidatePublicIds computes intersection")
+  @DisplayName("fetchIntersectionCandidatePublicIds computes intersection in a single query")
   void fetchIntersectionCandidatePublicIdsComputesIntersection() {
-    given(savedListRepository.findCandidatePublicIdsBySavedListPublicIds(List.of("a")))
-        .willReturn(new HashSet<>(Set.of("x", "y")));
-    given(savedListRepository.findCandidatePublicIdsBySavedListPublicIds(List.of("b")))
-        .willReturn(new HashSet<>(Set.of("y", "z")));
+    given(savedListRepository.findIdsByPublicIds(Set.of("a", "b"))).willReturn(List.of(1L, 2L));
+    given(candidateSetDao.fetchCandidatePublicIds(
+        "(" + CandidateSetDao.savedListSql(1L) + ") intersect ("
+            + CandidateSetDao.savedListSql(2L) + ")"))
+        .willReturn(new HashSet<>(Set.of("y")));
 
     assertEquals(Set.of("y"), service.fetchIntersectionCandidatePublicIds(List.of("a", "b")));
   }
 
+  @Test
+  @DisplayName("fetchIntersectionCandidatePublicIds returns empty set when a list is unknown")
+  void fetchIntersectionCandidatePublicIdsReturnsEmptySetForUnknownList() {
+    given(savedListRepository.findIdsByPublicIds(Set.of("a", "b"))).willReturn(List.of(1L));
+
+    assertEquals(Set.of(), service.fetchIntersectionCandidatePublicIds(List.of("a", "b")));
+    verify(candidateSetDao, never()).fetchCandidatePublicIds(anyString());
+  }
+
   @Test
   @DisplayName("fetchSourceList returns null when source id is null")
   void fetchSourceListReturnsNull() {
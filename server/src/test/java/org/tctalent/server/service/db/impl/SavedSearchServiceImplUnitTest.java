@@ -25,12 +25,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -42,21 +46,28 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.math.BigInteger;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.tctalent.server.configuration.properties.CandidateSearchProperties;
 import org.tctalent.server.exception.CircularReferencedException;
 import org.tctalent.server.exception.EntityExistsException;
 import org.tctalent.server.exception.ExportFailedException;
@@ -83,7 +94,6 @@ import org.tctalent.server.model.db.Status;
 import org.tctalent.server.model.db.UnhcrStatus;
 import org.tctalent.server.model.db.User;
 import org.tctalent.server.repository.db.CandidateRepository;
-import org.tctalent.server.repository.db.CandidateReviewStatusRepository;
 import org.tctalent.server.repository.db.CountryRepository;
 import org.tctalent.server.repository.db.EducationLevelRepository;
 import org.tctalent.server.repository.db.EducationMajorRepository;
@@ -97,6 +107,8 @@ import org.tctalent.server.repository.db.SearchJoinRepository;
 import org.tctalent.server.repository.db.SurveyTypeRepository;
 import org.tctalent.server.repository.db.UserRepository;
 import org.tctalent.server.repository.db.read.dto.CandidateReadDto;
+import org.tctalent.server.repository.db.read.sql.CandidateJsonProjection;
+import org.tctalent.server.repository.db.read.sql.SavedSearchWatcherDao;
 import org.tctalent.server.request.IdsRequest;
 import org.tctalent.server.request.candidate.SavedSearchGetRequest;
 import org.tctalent.server.request.candidate.SearchCandidateRequest;
@@ -111,6 +123,7 @@ import org.tctalent.server.request.search.UpdateSharingRequest;
 import org.tctalent.server.request.search.UpdateWatchingRequest;
 import org.tctalent.server.security.AuthService;
 import org.tctalent.server.service.db.CandidateDtoFetchService;
+import org.tctalent.server.service.db.CandidateExportService;
 import org.tctalent.server.service.db.CandidateSavedListService;
 import org.tctalent.server.service.db.CandidateService;
 import org.tctalent.server.service.db.LanguageService;
@@ -120,7 +133,6 @@ import org.tctalent.server.service.db.SalesforceJobOppService;
 import org.tctalent.server.service.db.SavedListService;
 import org.tctalent.server.service.db.UserService;
 import org.tctalent.server.service.db.email.EmailHelper;
-import org.tctalent.server.util.PersistenceContextHelper;
 
 @ExtendWith(MockitoExtension.class)
 class SavedSearchServiceImplUnitTest {
@@ -128,7 +140,7 @@ class SavedSearchServiceImplUnitTest {
   @Mock private CandidateRepository candidateRepository;
   @Mock private CandidateService candidateService;
   @Mock private CandidateDtoFetchService candidateDtoFetchService;
-  @Mock private CandidateReviewStatusRepository candidateReviewStatusRepository;
+  @Mock private CandidateExportService candidateExportService;
   @Mock private CandidateSavedListService candidateSavedListService;
   @Mock private PartnerService partnerService;
   @Mock private EmailHelper emailHelper;
@@ -149,22 +161,26 @@ class SavedSearchServiceImplUnitTest {
   @Mock private SurveyTypeRepository surveyTypeRepository;
   @Mock private EducationMajorRepository educationMajorRepository;
   @Mock private EducationLevelRepository educationLevelRepository;
-  @Mock private PersistenceContextHelper persistenceContextHelper;
   @Mock private AuthService authService;
+  @Mock private SavedSearchWatcherDao savedSearchWatcherDao;
   @Mock private EntityManager entityManager;
   @Mock private Query idsQuery;
   @Mock private Query countQuery;
+  @Captor private ArgumentCaptor<Map<Long, String>> sqlsCaptor;
 
   private SavedSearchServiceImpl service;
   private User user;
 
+  private CandidateSearchProperties searchProperties;
+
   @BeforeEach
   void setUp() {
+    searchProperties = new CandidateSearchProperties();
     service = new SavedSearchServiceImpl(
         candidateRepository,
         candidateService,
         candidateDtoFetchService,
-        candidateReviewStatusRepository,
+        candidateExportService,
         candidateSavedListService,
         partnerService,
         emailHelper,
@@ -185,8 +201,9 @@ class SavedSearchServiceImplUnitTest {
         surveyTypeRepository,
         educationMajorRepository,
         educationLevelRepository,
-        persistenceContextHelper,
-        authService
+        authService,
+        savedSearchWatcherDao,
+        searchProperties
     );
 
     setPrivateField(service, "entityManager", entityManager);
@@ -1060,11 +1077,12 @@ class SavedSearchServiceImplUnitTest {
   void extractFetchSqlIncludesMajorFilters() {
     SearchCandidateRequest request = richSearchRequest();
     request.setSavedSearchId(1L);
+    request.setReviewStatusFilter(List.of(ReviewStatus.rejected, ReviewStatus.unverified));
 
-    Candidate excluded = candidate(99L);
     User restrictedUser = user(10L);
+    given(savedListRepository.existsById(300L)).willReturn(true);
 
-    String sql = service.extractFetchSQL(request, restrictedUser, Set.of(excluded), true);
+    String sql = service.extractFetchSQL(request, restrictedUser, true, true);
 
     assertTrue(sql.startsWith("select distinct candidate.id"));
     assertTrue(sql.contains("candidate.status in ('active','pending')"));
@@ -1072,7 +1090,11 @@ class SavedSearchServiceImplUnitTest {
     assertTrue(sql.contains("candidate_occupation.occupation_id in (11,12)"));
     assertTrue(sql.contains("candidate_occupation.years_experience >= 2"));
     assertTrue(sql.contains("candidate_occupation.years_experience <= 7"));
-    assertTrue(sql.contains("candidate.id not in (99)"));
+    assertTrue(sql.contains("not exists (select 1 from candidate_saved_list excluded"
+        + " where excluded.candidate_id = candidate.id and excluded.saved_list_id = 300)"));
+    assertTrue(sql.contains("not exists (select 1 from candidate_review_item reviewed"
+        + " where reviewed.candidate_id = candidate.id and reviewed.saved_search_id = 1"
+        + " and reviewed.review_status in ('rejected','unverified'))"));
     assertTrue(sql.contains("candidate.nationality_id not in (21,22)"));
     assertTrue(sql.contains("candidate.country_id in (31,32)"));
     assertTrue(sql.contains("users.partner_id in (41)"));
@@ -1097,6 +1119,32 @@ class SavedSearchServiceImplUnitTest {
     assertTrue(sql.contains("exists (select 1 from candidate_language"));
   }
 
+  @Test
+  @DisplayName("extractFetchSQL only applies exclusions when asked to")
+  void extractFetchSqlOnlyAppliesExclusionsWhenAsked() {
+    SearchCandidateRequest request = richSearchRequest();
+    request.setSavedSearchId(1L);
+    request.setReviewStatusFilter(List.of(ReviewStatus.rejected));
+
+    String sql = service.extractFetchSQL(request, null, false, false);
+
+    assertFalse(sql.contains("candidate_review_item"));
+    assertFalse(sql.contains("excluded.saved_list_id"));
+    verify(savedListService, never()).get(anyLong());
+    verify(savedListRepository, never()).existsById(anyLong());
+  }
+
+  @Test
+  @DisplayName("extractFetchSQL throws for unknown exclusion list")
+  void extractFetchSqlThrowsForUnknownExclusionList() {
+    SearchCandidateRequest request = richSearchRequest();
+    given(savedListRepository.existsById(300L)).willReturn(false);
+
+    assertThrows(NoSuchObjectException.class,
+        () -> service.extractFetchSQL(request, null, true, false));
+    verify(savedListService, never()).get(anyLong());
+  }
+
   @Test
   @DisplayName("extractFetchSQL uses source countries when request has no countries")
   void extractFetchSqlUsesUserSourceCountries() {
@@ -1107,7 +1155,7 @@ class SavedSearchServiceImplUnitTest {
     User restrictedUser = user(10L);
     restrictedUser.setSourceCountries(Set.of(country(1L), country(2L)));
 
-    String sql = service.extractFetchSQL(request, restrictedUser, null, false);
+    String sql = service.extractFetchSQL(request, restrictedUser, false, false);
 
     assertTrue(
         sql.contains("candidate.country_id in (1,2)")
@@ -1210,6 +1258,46 @@ class SavedSearchServiceImplUnitTest {
     assertSame(page, service.searchCandidates(1L, request));
   }
 
+  @Test
+  @DisplayName("searchCandidates by saved search id streams ids without loading candidates")
+  void searchCandidateIdsBySavedSearchStreamsIds() {
+    SavedSearch savedSearch = savedSearch(1L, "Search", user);
+    savedSearch.setSearchJoins(new HashSet<>());
+
+    given(savedSearchRepository.findByIdLoadSearchJoins(1L)).willReturn(Optional.of(savedSearch));
+    given(userService.getLoggedInUser()).willReturn(null);
+    given(entityManager.createNativeQuery(startsWith("select distinct candidate.id from candidate")))
+        .willReturn(idsQuery);
+    given(idsQuery.getResultStream()).willReturn(Stream.of(10L, BigInteger.valueOf(11L)));
+
+    assertEquals(Set.of(10L, 11L), service.searchCandidates(1L));
+
+    verify(idsQuery).setHint(eq(HibernateHints.HINT_FETCH_SIZE), anyInt());
+    verify(idsQuery, never()).setMaxResults(anyInt());
+    verify(candidateRepository, never()).findByIds(anyList());
+  }
+
+  @Test
+  @DisplayName("fetchCandidateIdsAfter seeks past the given id in id order without counting")
+  void fetchCandidateIdsAfterSeeksPastId() {
+    SearchCandidateRequest request = new SearchCandidateRequest();
+    request.setSortFields(new String[] {"updatedDate"});
+
+    given(userService.getLoggedInUser()).willReturn(null);
+    given(entityManager.createNativeQuery(anyString())).willReturn(idsQuery);
+    given(idsQuery.getResultList()).willReturn(List.of(6L, BigInteger.valueOf(9L)));
+
+    assertEquals(List.of(6L, 9L), service.fetchCandidateIdsAfter(request, 5L, 2));
+
+    ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(entityManager).createNativeQuery(sqlCaptor.capture());
+    String sql = sqlCaptor.getValue();
+    assertTrue(sql.contains("id > 5"));
+    assertTrue(sql.endsWith("order by candidate.id ASC"));
+    verify(idsQuery).setMaxResults(2);
+    verify(candidateRepository, never()).findByIds(anyList());
+  }
+
   @Test
   @DisplayName("searchCandidateDtos by saved search uses reviewed dto branch")
   void searchCandidateDtosBySavedSearchUsesReviewedBranch() {
@@ -1269,32 +1357,33 @@ class SavedSearchServiceImplUnitTest {
     Page<CandidateReadDto> page = new PageImpl<>(List.of(mock(CandidateReadDto.class)));
 
     given(userService.getLoggedInUser()).willReturn(null);
-    given(candidateDtoFetchService.fetchPage(anyString(), anyString(), eq(request.getPageRequest())))
+    given(candidateDtoFetchService.fetchPage(anyString(), anyString(), eq(request.getPageRequest()),
+        eq(CandidateJsonProjection.SEARCH_GRID), eq(false)))
         .willReturn(page);
 
     assertSame(page, service.searchCandidateDtos(request));
   }
 
   @Test
-  @DisplayName("exportToCsv writes title and candidate rows")
-  void exportToCsvWritesRows() throws ExportFailedException {
+  @DisplayName("exportToCsv streams ordered search sql with the user's selection list context")
+  void exportToCsvStreamsOrderedSearchSql() throws ExportFailedException {
     SearchCandidateRequest request = new SearchCandidateRequest();
     request.setSavedSearchId(1L);
     request.setIncludePendingTermsCandidates(true);
+    request.setCursor("some-cursor");
 
-    Candidate candidate = candidate(10L);
-
-    stubSqlCandidateSearch(List.of(10L), List.of(candidate), 1L);
-
-    given(candidateService.getExportTitles()).willReturn(new String[] {"id"});
-    given(candidateService.getExportCandidateStrings(candidate)).willReturn(new String[] {"10"});
+    SavedList selectionList = savedList(20L, "Selection", user);
+    given(userService.getLoggedInUser()).willReturn(user);
+    given(savedListRepository.findSelectionList(1L, 10L)).willReturn(Optional.of(selectionList));
 
-    StringWriter stringWriter = new StringWriter();
+    PrintWriter writer = new PrintWriter(new StringWriter());
 
-    service.exportToCsv(request, new PrintWriter(stringWriter));
+    service.exportToCsv(request, writer);
 
-    assertTrue(stringWriter.toString().contains("id"));
-    assertTrue(stringWriter.toString().contains("10"));
+    assertNull(request.getCursor());
+    verify(candidateExportService).exportToCsv(
+        startsWith("select distinct candidate.id"), eq(request.getSort()), eq(20L), same(writer));
+    verify(entityManager, never()).createNativeQuery(anyString());
   }
 
   @Test
@@ -1308,6 +1397,107 @@ class SavedSearchServiceImplUnitTest {
     verify(emailHelper).sendAlert(contains("Watcher notification failure"), any(RuntimeException.class));
   }
 
+  @Test
+  @DisplayName("notifySearchWatchers checks searches for candidates created since last checked")
+  void notifySearchWatchersChecksNewCandidatesSinceLastChecked() {
+    OffsetDateTime lastChecked = OffsetDateTime.parse("2026-01-01T00:01:00Z");
+    SavedSearch checked = savedSearch(1L, "Checked", user);
+    checked.setWatcherUserIds(Set.of(10L));
+    SavedSearch unchecked = savedSearch(2L, "Unchecked", user);
+    unchecked.setWatcherUserIds(Set.of(10L));
+
+    given(savedSearchRepository.findByWatcherIdsIsNotNull())
+        .willReturn(new LinkedHashSet<>(List.of(checked, unchecked)));
+    given(savedSearchWatcherDao.fetchCheckedDates()).willReturn(Map.of(1L, lastChecked));
+    given(savedSearchWatcherDao.checkSearches(anyMap()))
+        .willReturn(new SavedSearchWatcherDao.CheckResult(Set.of(1L), Map.of()));
+    given(userRepository.findById(10L)).willReturn(Optional.of(user));
+
+    service.notifySearchWatchers();
+
+    verify(savedSearchWatcherDao).checkSearches(sqlsCaptor.capture());
+    Map<Long, String> sqls = sqlsCaptor.getValue();
+    assertTrue(sqls.get(1L).startsWith("select exists (select 1 from candidate"));
+    assertTrue(sqls.get(1L).contains("candidate.created_date > '" + lastChecked + "'"));
+    assertTrue(sqls.get(2L).contains("candidate.created_date > '"));
+    assertFalse(sqls.get(2L).contains(lastChecked.toString()));
+
+    verify(emailHelper).sendWatcherEmail(same(user), argThat(links -> links.size() == 1));
+    verify(entityManager, never()).createNativeQuery(anyString());
+    verify(savedSearchWatcherDao).recordCheckedDates(eq(Set.of(2L)), any(OffsetDateTime.class));
+    verify(savedSearchWatcherDao).recordCheckedDates(eq(Set.of(1L)), any(OffsetDateTime.class));
+  }
+
+  @Test
+  @DisplayName("notifySearchWatchers does not record checked dates when not incremental")
+  void notifySearchWatchersNonIncrementalDoesNotRecordCheckedDates() {
+    searchProperties.getWatcher().setIncremental(false);
+    SavedSearch search = savedSearch(1L, "Search", user);
+    search.setWatcherUserIds(Set.of(10L));
+
+    given(savedSearchRepository.findByWatcherIdsIsNotNull()).willReturn(Set.of(search));
+    given(savedSearchWatcherDao.checkSearches(anyMap()))
+        .willReturn(new SavedSearchWatcherDao.CheckResult(Set.of(), Map.of()));
+
+    service.notifySearchWatchers();
+
+    verify(savedSearchWatcherDao, never()).fetchCheckedDates();
+    verify(savedSearchWatcherDao, never()).recordCheckedDates(any(), any());
+    verify(emailHelper, never()).sendWatcherEmail(any(), anyList());
+  }
+
+  @Test
+  @DisplayName("notifySearchWatchers alerts on failed searches and still notifies the rest")
+  void notifySearchWatchersAlertsOnFailedSearch() {
+    SavedSearch failing = savedSearch(1L, "Failing", user);
+    failing.setWatcherUserIds(Set.of(10L));
+    SavedSearch working = savedSearch(2L, "Working", user);
+    working.setWatcherUserIds(Set.of(10L));
+    RuntimeException failure = new RuntimeException("boom");
+
+    given(savedSearchRepository.findByWatcherIdsIsNotNull())
+        .willReturn(new LinkedHashSet<>(List.of(failing, working)));
+    given(savedSearchWatcherDao.fetchCheckedDates()).willReturn(Map.of());
+    given(savedSearchWatcherDao.checkSearches(anyMap()))
+        .willReturn(new SavedSearchWatcherDao.CheckResult(Set.of(2L), Map.of(1L, failure)));
+    given(userRepository.findById(10L)).willReturn(Optional.of(user));
+
+    service.notifySearchWatchers();
+
+    verify(emailHelper).sendAlert(contains("Failing (1)"), same(failure));
+    verify(emailHelper).sendWatcherEmail(same(user), anyList());
+    verify(savedSearchWatcherDao).recordCheckedDates(eq(Set.of()), any(OffsetDateTime.class));
+    verify(savedSearchWatcherDao).recordCheckedDates(eq(Set.of(2L)), any(OffsetDateTime.class));
+  }
+
+  @Test
+  @DisplayName("notifySearchWatchers keeps checked dates of searches whose watchers could not be emailed")
+  void notifySearchWatchersKeepsCheckedDateWhenEmailFails() {
+    User otherUser = user(11L);
+    SavedSearch unsent = savedSearch(1L, "Unsent", user);
+    unsent.setWatcherUserIds(Set.of(10L));
+    SavedSearch sent = savedSearch(2L, "Sent", user);
+    sent.setWatcherUserIds(Set.of(11L));
+    RuntimeException failure = new RuntimeException("boom");
+
+    given(savedSearchRepository.findByWatcherIdsIsNotNull())
+        .willReturn(new LinkedHashSet<>(List.of(unsent, sent)));
+    given(savedSearchWatcherDao.fetchCheckedDates()).willReturn(Map.of());
+    given(savedSearchWatcherDao.checkSearches(anyMap()))
+        .willReturn(new SavedSearchWatcherDao.CheckResult(Set.of(1L, 2L), Map.of()));
+    given(userRepository.findById(10L)).willReturn(Optional.of(user));
+    given(userRepository.findById(11L)).willReturn(Optional.of(otherUser));
+    willThrow(failure).given(emailHelper).sendWatcherEmail(same(user), anyList());
+
+    service.notifySearchWatchers();
+
+    verify(emailHelper).sendWatcherEmail(same(otherUser), anyList());
+    verify(emailHelper).sendAlert(contains("user 10"), same(failure));
+    verify(savedSearchWatcherDao).recordCheckedDates(eq(Set.of(2L)), any(OffsetDateTime.class));
+    verify(savedSearchWatcherDao, never())
+        .recordCheckedDates(argThat(ids -> ids.contains(1L)), any(OffsetDateTime.class));
+  }
+
   @Test
   @DisplayName("updateSuggestedSearchesNames renames suggested searches")
   void updateSuggestedSearchesNamesRenamesSearches() {
@@ -1333,7 +1523,7 @@ class SavedSearchServiceImplUnitTest {
 
     // Important:
     // First page returns the test ids.
-    // All later pages return empty results, so exportToCsv can terminate.
+    // All later pages return empty results.
     given(idsQuery.getResultList()).willReturn(ids, List.of());
 
     given(candidateRepository.findByIds(anyList())).willAnswer(invocation -> {
@@ -21,6 +21,7 @@ import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -155,6 +156,33 @@ class TaskAssignmentServiceImplTest {
     verify(eventPublisher).publishEvent(any(Object.class));
   }
 
+  @Test
+  void assignTaskToCandidatesSavesNewAssignmentsTogetherSkippingActiveAssignees() {
+    User user = new User();
+    Candidate assigned = candidate(1L, "CAND-001");
+    Candidate unassigned = candidate(2L, "CAND-002");
+    SavedList savedList = new SavedList();
+
+    TaskImpl task = mock(TaskImpl.class);
+    when(task.getId()).thenReturn(9L);
+    when(task.getTaskType()).thenReturn(TaskType.Simple);
+
+    when(taskAssignmentRepository.findCandidateIdsWithActiveTask(9L, Set.of(1L, 2L)))
+        .thenReturn(List.of(1L));
+    when(taskAssignmentRepository.saveAll(any()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<TaskAssignmentImpl> result = service.assignTaskToCandidates(
+        user, task, List.of(assigned, unassigned, unassigned), savedList);
+
+    assertEquals(1, result.size());
+    assertSame(unassigned, result.get(0).getCandidate());
+    assertSame(savedList, result.get(0).getRelatedList());
+    assertEquals(Status.active, result.get(0).getStatus());
+    verify(taskAssignmentRepository, never()).save(any(TaskAssignmentImpl.class));
+    verify(eventPublisher).publishEvent(any(Object.class));
+  }
+
   @Test
   void getReturnsTaskAssignmentWhenFound() {
     TaskAssignmentImpl taskAssignment = new TaskAssignmentImpl();
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.service.db.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import org.tctalent.server.configuration.properties.TextExtractionProperties;
+import org.tctalent.server.model.db.AttachmentType;
+import org.tctalent.server.model.db.CandidateAttachment;
+import org.tctalent.server.repository.db.read.sql.TextExtractionTask;
+import org.tctalent.server.repository.db.read.sql.TextExtractionTaskDao;
+import org.tctalent.server.service.db.FileSystemService;
+import org.tctalent.server.storage.StorageService;
+import org.tctalent.server.util.filesystem.GoogleFileSystemFile;
+
+@ExtendWith(MockitoExtension.class)
+class TextExtractionServiceImplTest {
+
+    private static final String CV_TEXT = "Experienced software engineer";
+    private static final Duration LEASE = Duration.ofMinutes(10);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(5);
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock private TextExtractionTaskDao taskDao;
+    @Mock private FileSystemService fileSystemService;
+    @Mock private StorageService storageService;
+
+    private TextExtractionServiceImpl textExtractionService;
+
+    @BeforeEach
+    void setUp() {
+        TextExtractionProperties properties = new TextExtractionProperties();
+        properties.setMaxFileSize(DataSize.ofBytes(1000));
+        properties.setLease(LEASE);
+        properties.setRetryDelay(RETRY_DELAY);
+        properties.setMaxAttempts(MAX_ATTEMPTS);
+
+        textExtractionService = new TextExtractionServiceImpl(taskDao, fileSystemService,
+            storageService, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        textExtractionService.shutdown();
+    }
+
+    @Test
+    void extractsGoogleFileAndCompletesTask() throws IOException {
+        TextExtractionTask task = task(AttachmentType.googlefile, true);
+        given(taskDao.claimNext(MAX_ATTEMPTS, LEASE)).willReturn(task, (TextExtractionTask) null);
+        willAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class)
+                .write(CV_TEXT.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(fileSystemService).downloadFile(any(GoogleFileSystemFile.class),
+            any(OutputStream.class));
+
+        assertEquals(1, textExtractionService.processQueuedExtractions());
+
+        verify(taskDao).complete(task, CV_TEXT);
+    }
+
+    @Test
+    void extractsGrnFileFromStorage() {
+        TextExtractionTask task = task(AttachmentType.grnfile, true);
+        given(taskDao.claimNext(MAX_ATTEMPTS, LEASE)).willReturn(task, (TextExtractionTask) null);
+        given(storageService.openStream("key"))
+            .willReturn(new ByteArrayInputStream(CV_TEXT.getBytes(StandardCharsets.UTF_8)));
+
+        textExtractionService.processQueuedExtractions();
+
+        verify(taskDao).complete(task, CV_TEXT);
+    }
+
+    @Test
+    void deletesTaskOfAttachmentWhichIsNoLongerCv() {
+        TextExtractionTask task = task(AttachmentType.googlefile, false);
+        given(taskDao.claimNext(MAX_ATTEMPTS, LEASE)).willReturn(task, (TextExtractionTask) null);
+
+        textExtractionService.processQueuedExtractions();
+
+        verify(taskDao).delete(task.id());
+        verify(taskDao, never()).complete(any(), any());
+    }
+
+    @Test
+    void failedDownloadIsRetriedLater() throws IOException {
+        TextExtractionTask task = task(AttachmentType.googlefile, true);
+        given(taskDao.claimNext(MAX_ATTEMPTS, LEASE)).willReturn(task, (TextExtractionTask) null);
+        willThrow(new IOException("Drive unavailable")).given(fileSystemService)
+            .downloadFile(any(GoogleFileSystemFile.class), any(OutputStream.class));
+
+        textExtractionService.processQueuedExtractions();
+
+        verify(taskDao).fail(eq(task.id()), anyString(), eq(RETRY_DELAY));
+        verify(taskDao, never()).complete(any(), any());
+    }
+
+    @Test
+    void fileOverMaxSizeIsAbandoned() {
+        TextExtractionTask task = task(AttachmentType.grnfile, true);
+        given(taskDao.claimNext(MAX_ATTEMPTS, LEASE)).willReturn(task, (TextExtractionTask) null);
+        given(storageService.openStream("key"))
+            .willReturn(new ByteArrayInputStream(new byte[2000]));
+
+        textExtractionService.processQueuedExtractions();
+
+        verify(taskDao).abandon(eq(task.id()), anyString(), eq(MAX_ATTEMPTS));
+        verify(taskDao, never()).complete(any(), any());
+    }
+
+    @Test
+    void queueExtractionEnqueuesAttachment() {
+        CandidateAttachment attachment = new CandidateAttachment();
+        attachment.setId(11L);
+
+        textExtractionService.queueExtraction(attachment);
+
+        verify(taskDao).enqueue(11L);
+    }
+
+    private static TextExtractionTask task(AttachmentType type, boolean cv) {
+        return new TextExtractionTask(1L, 11L, 111L, type,
+            "https://drive.google.com/file/d/abc/view", "key", "cv.txt", cv, 1);
+    }
+}
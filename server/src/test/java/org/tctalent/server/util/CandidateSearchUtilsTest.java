@@ -16,10 +16,12 @@
 
 package org.tctalent.server.util;
 
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Sort;
+import org.tctalent.server.exception.InvalidRequestException;
 
 class CandidateSearchUtilsTest {
 
@@ -56,6 +58,77 @@ class CandidateSearchUtilsTest {
         Assertions.assertEquals(" order by rank ASC,candidate.id DESC", s);
     }
 
+    @Test
+    void buildNextCursorOnlyForFullPages() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "user.firstName");
+
+        Assertions.assertNull(CandidateSearchUtils.buildNextCursor(List.of(), sort, 2));
+        Assertions.assertNull(CandidateSearchUtils.buildNextCursor(
+            List.<Object>of(new Object[] {1L, "Ann"}), sort, 2));
+        Assertions.assertNotNull(CandidateSearchUtils.buildNextCursor(
+            List.of(new Object[] {1L, "Ann"}, new Object[] {2L, "Bob"}), sort, 2));
+    }
+
+    @Test
+    void buildKeysetClauseFromNextCursor() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "user.firstName");
+        String cursor = CandidateSearchUtils.buildNextCursor(
+            List.of(new Object[] {7L, "Ann"}, new Object[] {3L, "O'Hara"}), sort, 2);
+
+        String s = CandidateSearchUtils.buildKeysetClause(
+            sort, null, CandidateSearchCursor.decode(cursor));
+        Assertions.assertEquals("(((users.first_name > 'O''Hara' or users.first_name is null))"
+            + " or (users.first_name = 'O''Hara' and candidate.id < 3))", s);
+    }
+
+    @Test
+    void buildKeysetClauseWithNullSortValue() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "user.firstName");
+        String cursor = CandidateSearchUtils.buildNextCursor(
+            List.of(new Object[] {7L, "Ann"}, new Object[] {3L, null}), sort, 2);
+
+        //Nulls sort last when ascending, so only other null names with lower ids follow
+        String s = CandidateSearchUtils.buildKeysetClause(
+            sort, null, CandidateSearchCursor.decode(cursor));
+        Assertions.assertEquals("((users.first_name is null and candidate.id < 3))", s);
+    }
+
+    @Test
+    void buildKeysetClauseWithTextMatchRank() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "text_match");
+        String cursor = CandidateSearchUtils.buildNextCursor(
+            List.<Object>of(new Object[] {7L, 0.5f}), sort, 1);
+
+        String s = CandidateSearchUtils.buildKeysetClause(
+            sort, "nurse", CandidateSearchCursor.decode(cursor));
+        String rank = "ts_rank(" + CandidateSearchUtils.CANDIDATE_TS_TEXT_FIELD
+            + ",to_tsquery('english','nurse'))";
+        Assertions.assertEquals("((" + rank + " < '0.5'::real)"
+            + " or (" + rank + " = '0.5'::real and candidate.id < 7))", s);
+    }
+
+    @Test
+    void buildKeysetClauseRejectsCursorForDifferentSort() {
+        String cursor = CandidateSearchUtils.buildNextCursor(
+            List.<Object>of(new Object[] {7L, "Ann"}), Sort.by("user.firstName"), 1);
+
+        Assertions.assertThrows(InvalidRequestException.class,
+            () -> CandidateSearchUtils.buildKeysetClause(
+                Sort.by("user.lastName"), null, CandidateSearchCursor.decode(cursor)));
+    }
+
+    @Test
+    void decodeRejectsInvalidCursors() {
+        Assertions.assertThrows(InvalidRequestException.class,
+            () -> CandidateSearchCursor.decode("not a cursor"));
+
+        String injected = new CandidateSearchCursor(" order by candidate.id DESC",
+            List.of(new CandidateSearchCursor.Key(
+                CandidateSearchCursor.KeyType.NUMBER, "1) or (1=1"))).encode();
+        Assertions.assertThrows(InvalidRequestException.class,
+            () -> CandidateSearchCursor.decode(injected));
+    }
+
     @Test
     void buildNonIdFieldList() {
         String s;
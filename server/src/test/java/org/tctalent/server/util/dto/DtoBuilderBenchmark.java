@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.util.dto;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.tctalent.server.data.CandidateTestData.getCandidate;
+import static org.tctalent.server.data.CandidateTestData.getCandidateCitizenship;
+import static org.tctalent.server.data.CandidateTestData.getCandidateDependant;
+import static org.tctalent.server.data.CandidateTestData.getCandidateDestination;
+import static org.tctalent.server.data.CandidateTestData.getCandidateExam;
+import static org.tctalent.server.data.CandidateTestData.getCandidateJobExperience;
+import static org.tctalent.server.data.CandidateTestData.getCandidateNote;
+import static org.tctalent.server.data.CandidateTestData.getCandidateReviewStatusItem;
+import static org.tctalent.server.data.CandidateTestData.getCandidateSkill;
+import static org.tctalent.server.data.CandidateTestData.getCandidateVisaCheck;
+import static org.tctalent.server.data.CandidateTestData.getListOfCandidateCertifications;
+import static org.tctalent.server.data.CandidateTestData.getListOfCandidateEducations;
+import static org.tctalent.server.data.CandidateTestData.getListOfCandidateLanguages;
+import static org.tctalent.server.data.CandidateTestData.getListOfCandidateOccupations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.tctalent.server.api.dto.CandidateBuilderSelector;
+import org.tctalent.server.api.dto.DtoType;
+import org.tctalent.server.data.UserTestData;
+import org.tctalent.server.model.db.Candidate;
+import org.tctalent.server.service.db.CandidateOpportunityService;
+import org.tctalent.server.service.db.CountryService;
+import org.tctalent.server.service.db.OccupationService;
+import org.tctalent.server.service.db.UserService;
+
+/**
+ * JMH benchmark of {@link DtoBuilder} on a fully populated {@link Candidate}, using the
+ * {@link DtoType#API} candidate builder - the builder with the most properties.
+ * <p/>
+ * Compares reading candidate properties using Commons BeanUtils {@link PropertyUtils} (which
+ * DtoBuilder used to use) with the cached {@link PropertyAccessors}.
+ * <p/>
+ * Benchmarks take minutes to run so they are excluded from the Gradle build. Run
+ * {@link #runBenchmarks()} manually, eg from your IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoBuilderBenchmark {
+
+    /**
+     * Top level candidate properties extracted by the candidate builders.
+     */
+    private static final List<String> CANDIDATE_PROPERTIES = List.of(
+        "id", "status", "muted", "candidateNumber", "publicId", "allNotifications", "gender",
+        "dob", "phone", "whatsapp", "address1", "city", "state", "externalId",
+        "externalIdSource", "partnerRef", "unhcrRegistered", "unhcrNumber", "unhcrStatus",
+        "unhcrConsent", "unrwaRegistered", "unrwaNumber", "mediaWillingness", "linkedInLink",
+        "folderlink", "sflink", "videolink", "surveyComment", "createdDate", "updatedDate",
+        "maritalStatus", "drivingLicense", "englishAssessmentScoreIelts",
+        "englishAssessmentScoreDet", "frenchAssessmentScoreNclc", "residenceStatus",
+        "ieltsScore", "numberDependants", "regoPartnerParam", "regoReferrerParam",
+        "regoUtmCampaign", "regoUtmContent", "regoUtmMedium", "regoUtmSource", "regoUtmTerm",
+        "maxEducationLevel", "surveyType", "country", "nationality", "registeredBy", "user",
+        "candidateReviewStatusItems", "candidateAttachments", "taskAssignments",
+        "candidateExams", "candidateOpportunities", "candidateLanguages",
+        "candidateDestinations", "candidateOccupations", "candidateJobExperiences",
+        "candidateSkills", "candidateEducations", "candidateCertifications", "candidateNotes"
+    );
+
+    private Candidate candidate;
+    private DtoBuilder builder;
+
+    @Setup
+    public void setUp() {
+        candidate = getCandidate();
+        candidate.setCandidateCertifications(getListOfCandidateCertifications());
+        candidate.setCandidateCitizenships(List.of(getCandidateCitizenship()));
+        candidate.setCandidateDependants(List.of(getCandidateDependant()));
+        candidate.setCandidateDestinations(List.of(getCandidateDestination()));
+        candidate.setCandidateEducations(getListOfCandidateEducations());
+        candidate.setCandidateExams(List.of(getCandidateExam()));
+        candidate.setCandidateJobExperiences(List.of(getCandidateJobExperience()));
+        candidate.setCandidateLanguages(getListOfCandidateLanguages());
+        candidate.setCandidateNotes(List.of(getCandidateNote()));
+        candidate.setCandidateOccupations(getListOfCandidateOccupations());
+        candidate.setCandidateReviewStatusItems(Set.of(getCandidateReviewStatusItem()));
+        candidate.setCandidateSkills(List.of(getCandidateSkill()));
+        candidate.setCandidateVisaChecks(List.of(getCandidateVisaCheck(true)));
+
+        UserService userService = mock(UserService.class);
+        when(userService.getLoggedInUser()).thenReturn(UserTestData.getSystemAdminUser());
+        CountryService countryService = mock(CountryService.class);
+        when(countryService.selectBuilder()).thenReturn(new DtoBuilder().add("id").add("name"));
+        OccupationService occupationService = mock(OccupationService.class);
+        when(occupationService.selectBuilder()).thenReturn(new DtoBuilder().add("id").add("name"));
+
+        builder = new CandidateBuilderSelector(mock(CandidateOpportunityService.class),
+            countryService, occupationService, userService).selectBuilder(DtoType.API);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildCandidateDto() {
+        return builder.build(candidate);
+    }
+
+    @Benchmark
+    public void readPropertiesWithPropertyUtils(Blackhole blackhole) throws Exception {
+        for (String property : CANDIDATE_PROPERTIES) {
+            blackhole.consume(PropertyUtils.getProperty(candidate, property));
+        }
+    }
+
+    @Benchmark
+    public void readPropertiesWithAccessors(Blackhole blackhole) {
+        for (String property : CANDIDATE_PROPERTIES) {
+            blackhole.consume(PropertyAccessors.getProperty(candidate, property));
+        }
+    }
+
+    @Test
+    @Tag("skip-test-in-gradle-build")
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(DtoBuilderBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -18,7 +18,13 @@ package org.tctalent.server.util.dto;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -200,6 +206,28 @@ class DtoBuilderTest {
         assertEquals(item.getQuantity(), dtoItem.get(OrderItem.Fields.quantity));
 
     }
+    @Test
+    void writePage_MatchesBuildPage() throws IOException {
+        Order o = createStandardOrder();
+        DtoBuilder orderDtoBuilder = createOrderDto(createStandardOrderItemDto(i -> i.getPrice() > 1.0))
+            .add(Order.Fields.customer, new DtoBuilder().add(Customer.Fields.name))
+            //Properties added twice (eg via merge) are only written once, last one wins
+            .add(Order.Fields.customer, new DtoBuilder().add(Customer.Fields.id));
+        Page<Order> page = new PageImpl<>(List.of(o, o), Pageable.ofSize(25), 100);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = objectMapper.createGenerator(writer)) {
+            orderDtoBuilder.writePage(page, generator);
+        }
+
+        JsonNode streamed = objectMapper.readTree(writer.toString());
+        JsonNode built = objectMapper.valueToTree(orderDtoBuilder.buildPage(page));
+        assertEquals(built, streamed);
+        assertEquals("T1", streamed.at("/content/0/customer/id").asText());
+        assertTrue(streamed.at("/content/0/customer/name").isMissingNode());
+    }
+
     private void doCommonTest(
         ClassWithDiscriminator cwd, SubClass cwd2,
         List<ClassWithDiscriminator> cwdList) {
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.util.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+import org.tctalent.server.model.db.Translatable;
+
+class PropertyAccessorsTest {
+
+    @Test
+    void readsSimpleProperties() {
+        Bean bean = new Bean();
+        bean.setName("Tim");
+        bean.setCount(3);
+        bean.setActive(true);
+
+        assertEquals("Tim", PropertyAccessors.getProperty(bean, "name"));
+        assertEquals(3, PropertyAccessors.getProperty(bean, "count"));
+        assertEquals(true, PropertyAccessors.getProperty(bean, "active"));
+        assertNull(PropertyAccessors.getProperty(bean, "child"));
+    }
+
+    @Test
+    void readsNestedPropertiesAndMapsLikePropertyUtils() {
+        Bean child = new Bean();
+        child.setName("child");
+        Bean bean = new Bean();
+        bean.setChild(child);
+
+        assertEquals("child", PropertyAccessors.getProperty(bean, "child.name"));
+        assertEquals("value", PropertyAccessors.getProperty(Map.of("key", "value"), "key"));
+    }
+
+    @Test
+    void readsPropertiesOfNonPublicClassThroughPublicInterface() {
+        assertEquals("hidden", PropertyAccessors.getProperty(new HiddenNamed(), "name"));
+    }
+
+    @Test
+    void unknownPropertyThrows() {
+        DtoBuilderException ex = assertThrows(DtoBuilderException.class,
+            () -> PropertyAccessors.getProperty(new Bean(), "noSuchProperty"));
+
+        assertTrue(ex.getMessage().contains("does not exist"));
+    }
+
+    @Test
+    void exceptionThrownByGetterIsWrapped() {
+        DtoBuilderException ex = assertThrows(DtoBuilderException.class,
+            () -> PropertyAccessors.getProperty(new Bean(), "broken"));
+
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    @Test
+    void findsInheritedTranslatableAnnotation() {
+        Translatable translatable = PropertyAccessors.getTranslatable(TranslatableSubBean.class);
+
+        assertEquals("name", translatable.value());
+        assertEquals("translatedName", translatable.translation());
+        assertNull(PropertyAccessors.getTranslatable(Bean.class));
+    }
+
+    @Getter
+    @Setter
+    public static class Bean {
+        private String name;
+        private int count;
+        private boolean active;
+        private Bean child;
+
+        public String getBroken() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    @Translatable(value = "name", translation = "translatedName")
+    public static class TranslatableBean extends Bean {
+    }
+
+    public static class TranslatableSubBean extends TranslatableBean {
+    }
+
+    public interface Named {
+        String getName();
+    }
+
+    private static class HiddenNamed implements Named {
+        @Override
+        public String getName() {
+            return "hidden";
+        }
+    }
+}
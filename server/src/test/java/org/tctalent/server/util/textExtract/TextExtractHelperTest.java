@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Talent Catalog.
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see https://www.gnu.org/licenses/.
+ */
+
+package org.tctalent.server.util.textExtract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class TextExtractHelperTest {
+
+    private static final File PDF = new File("src/test/resources/text/EnglishPdf.pdf");
+    private static final File DOCX = new File("src/test/resources/text/EnglishDocx.docx");
+    private static final File TXT = new File("src/test/resources/text/EnglishTxt.txt");
+
+    private static final TextExtractLimits GENEROUS_LIMITS =
+        new TextExtractLimits(10_000_000, 1_000_000, 1_000_000, Duration.ofMinutes(1));
+
+    @Test
+    void extractsPdfWithinLimits() throws IOException {
+        String text = TextExtractHelper.getTextExtractFromFile(PDF, "pdf", GENEROUS_LIMITS);
+
+        assertEquals(TextExtractHelper.getTextExtractFromFile(PDF, "pdf"), text);
+        assertFalse(text.isEmpty());
+    }
+
+    @Test
+    void acceptsMimeTypesContainingDots() throws IOException {
+        String text = TextExtractHelper.getTextExtractFromFile(DOCX,
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            GENEROUS_LIMITS);
+
+        assertEquals(TextExtractHelper.getTextExtractFromFile(DOCX, "docx"), text);
+    }
+
+    @Test
+    void rejectsFilesOverMaxSize() {
+        TextExtractLimits limits = new TextExtractLimits(
+            PDF.length() - 1, 1_000_000, 1_000_000, Duration.ofMinutes(1));
+
+        assertThrows(TextExtractLimitException.class,
+            () -> TextExtractHelper.getTextExtractFromFile(PDF, "pdf", limits));
+    }
+
+    @Test
+    void abandonsPdfExtractionAfterTimeout() {
+        TextExtractLimits limits = new TextExtractLimits(
+            10_000_000, 1_000_000, 1_000_000, Duration.ofNanos(-1));
+
+        assertThrows(TextExtractLimitException.class,
+            () -> TextExtractHelper.getTextExtractFromFile(PDF, "pdf", limits));
+    }
+
+    @Test
+    void truncatesTextToMaxLength() throws IOException {
+        TextExtractLimits limits = new TextExtractLimits(
+            10_000_000, 1_000_000, 10, Duration.ofMinutes(1));
+
+        String text = TextExtractHelper.getTextExtractFromFile(TXT, "EnglishTxt.txt", limits);
+
+        assertEquals(10, text.length());
+        assertTrue(TextExtractHelper.getTextExtractFromFile(TXT, "txt").startsWith(text));
+    }
+}